@@ -0,0 +1,84 @@
+package com.app.yolla.benchmark;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.app.yolla.modules.market.dto.MarketDTO;
+import com.app.yolla.modules.market.entity.Market;
+import com.app.yolla.modules.market.mapper.MarketMapper;
+import com.app.yolla.modules.market.mapper.MarketMapperImpl;
+import com.app.yolla.modules.order.dto.OrderCreateRequest;
+import com.app.yolla.modules.order.dto.OrderItemRequest;
+import com.app.yolla.modules.order.entity.Order;
+import com.app.yolla.modules.order.mapper.OrderMapper;
+import com.app.yolla.modules.order.mapper.OrderMapperImpl;
+
+/**
+ * Köhnə reflektiv ModelMapper ilə build zamanı yaradılan MapStruct mapper-lərinin müqayisəsi.
+ * <p>
+ * Hər iki yol servislərdəki real çağırışları təkrarlayır: Market -> MarketDTO və
+ * OrderCreateRequest -> Order. İşə salmaq: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MappingBenchmark {
+
+	private ModelMapper modelMapper;
+	private MarketMapper marketMapper;
+	private OrderMapper orderMapper;
+
+	private Market market;
+	private OrderCreateRequest request;
+
+	@Setup
+	public void setUp() {
+		modelMapper = new ModelMapper();
+		marketMapper = new MarketMapperImpl();
+		orderMapper = new OrderMapperImpl();
+
+		market = new Market(UUID.randomUUID(), "System Market", "Yasamal");
+
+		request = new OrderCreateRequest();
+		request.setDeliveryAddress("Bakı, Nizami küç. 10");
+		request.setNotes("Təcili çatdırılma");
+		request.setMarketId(market.getId());
+		request.setItems(List.of(new OrderItemRequest(UUID.randomUUID(), 2), new OrderItemRequest(UUID.randomUUID(), 1)));
+	}
+
+	@Benchmark
+	public MarketDTO marketModelMapper() {
+		MarketDTO dto = new MarketDTO();
+		modelMapper.map(market, dto);
+		return dto;
+	}
+
+	@Benchmark
+	public MarketDTO marketMapStruct() {
+		return marketMapper.toDTO(market);
+	}
+
+	@Benchmark
+	public Order orderModelMapper() {
+		Order order = new Order();
+		modelMapper.map(request, order);
+		return order;
+	}
+
+	@Benchmark
+	public Order orderMapStruct() {
+		Order order = new Order();
+		orderMapper.updateFromRequest(request, order);
+		return order;
+	}
+}
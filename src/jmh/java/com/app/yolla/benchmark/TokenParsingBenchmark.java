@@ -0,0 +1,66 @@
+package com.app.yolla.benchmark;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.app.yolla.shared.security.JwtUtil;
+import com.app.yolla.shared.security.TokenClaims;
+
+/**
+ * Filter-in hər sorğuda etdiyi token yoxlaması: keşsiz tək keçid (decode + HMAC)
+ * və artıq yoxlanmış token-un keşdən oxunması. İşə salmaq: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenParsingBenchmark {
+
+	private JwtUtil uncached;
+	private JwtUtil cached;
+	private String token;
+
+	@Setup
+	public void setUp() throws Exception {
+		uncached = jwtUtil(0);
+		cached = jwtUtil(10_000);
+		token = uncached.generateToken("+994557894561", "PREPARER", UUID.randomUUID(), UUID.randomUUID());
+		cached.parse(token);
+	}
+
+	@Benchmark
+	public TokenClaims parseUncached() {
+		return uncached.parse(token);
+	}
+
+	@Benchmark
+	public TokenClaims parseCached() {
+		return cached.parse(token);
+	}
+
+	private static JwtUtil jwtUtil(long cacheSize) throws Exception {
+		JwtUtil util = new JwtUtil();
+		set(util, "jwtSecret", "benchmark_secret_key");
+		set(util, "jwtExpirationMs", 86_400_000L);
+		set(util, "tokenCacheSize", cacheSize);
+		Method init = JwtUtil.class.getDeclaredMethod("init");
+		init.setAccessible(true);
+		init.invoke(util);
+		return util;
+	}
+
+	private static void set(Object target, String name, Object value) throws Exception {
+		Field field = target.getClass().getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(target, value);
+	}
+}
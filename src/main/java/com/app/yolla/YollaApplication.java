@@ -3,6 +3,7 @@ package com.app.yolla;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Yolla Sifariş İdarəetməsi Sisteminin əsas başlanğıc sinfi
@@ -11,6 +12,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
  */
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
 //@EnableJpaRepositories(basePackages = {"com.app.yolla.modules.user.repository"})
 //@EntityScan(basePackages = {"com.app.yolla.modules.user.entity"})
 public class YollaApplication {
@@ -0,0 +1,32 @@
+package com.app.yolla.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Keş konfiqurasiyası (Caffeine)
+ * <p>
+ * Keşlər başlanğıcda yaradılır ki, actuator (/actuator/caches, cache.* metrikləri)
+ * onları dərhal görsün. Statistika (hit/miss/eviction) həmişə yığılır.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+	public static final String USERS_BY_PHONE = "usersByPhone";
+	public static final String USERS_BY_ID = "usersById";
+
+	@Value("${cache.caffeine.spec:maximumSize=10000,expireAfterWrite=5m}")
+	private String spec;
+
+	@Bean
+	public CacheManager cacheManager() {
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager(USERS_BY_PHONE, USERS_BY_ID);
+		cacheManager.setCacheSpecification(spec.contains("recordStats") ? spec : spec + ",recordStats");
+		return cacheManager;
+	}
+}
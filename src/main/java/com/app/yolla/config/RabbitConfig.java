@@ -0,0 +1,77 @@
+package com.app.yolla.config;
+
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * RabbitMQ konfiqurasiyası - asinxron sifariş qəbulu növbəsi, partiya konsumerləri və
+ * sifariş hadisələri exchange-i (outbox relay-i buraya göndərir)
+ */
+@Configuration
+public class RabbitConfig {
+
+	@Value("${app.orders.intake.queue:orders.intake}")
+	private String intakeQueue;
+
+	@Value("${app.orders.intake.concurrency:2}")
+	private int concurrency;
+
+	@Value("${app.orders.intake.max-concurrency:8}")
+	private int maxConcurrency;
+
+	@Value("${app.orders.intake.batch-size:20}")
+	private int batchSize;
+
+	@Value("${app.orders.intake.batch-receive-timeout-ms:200}")
+	private long batchReceiveTimeoutMs;
+
+	@Value("${app.orders.outbox.exchange:orders.events}")
+	private String eventsExchange;
+
+	@Bean
+	public Queue orderIntakeQueue() {
+		return QueueBuilder.durable(intakeQueue).build();
+	}
+
+	/**
+	 * Sifariş hadisələri - konsumerlər öz növbələrini "order.*" və ya konkret növ ilə bağlayır
+	 */
+	@Bean
+	public TopicExchange orderEventsExchange() {
+		return new TopicExchange(eventsExchange, true, false);
+	}
+
+	@Bean
+	public MessageConverter jsonMessageConverter(ObjectMapper objectMapper) {
+		return new Jackson2JsonMessageConverter(objectMapper);
+	}
+
+	/**
+	 * Partiya konsumerləri: hər konsumer batch-size qədər mesajı bir çağırışda alır
+	 */
+	@Bean
+	public SimpleRabbitListenerContainerFactory orderIntakeContainerFactory(ConnectionFactory connectionFactory,
+			SimpleRabbitListenerContainerFactoryConfigurer configurer) {
+		SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+		configurer.configure(factory, connectionFactory);
+		factory.setBatchListener(true);
+		factory.setConsumerBatchEnabled(true);
+		factory.setBatchSize(batchSize);
+		factory.setReceiveTimeout(batchReceiveTimeoutMs);
+		factory.setPrefetchCount(batchSize * 2);
+		factory.setConcurrentConsumers(concurrency);
+		factory.setMaxConcurrentConsumers(maxConcurrency);
+		return factory;
+	}
+}
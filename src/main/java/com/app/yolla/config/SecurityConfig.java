@@ -4,6 +4,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -21,8 +22,17 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.app.yolla.modules.auth.service.TokenRevocationService;
+import com.app.yolla.shared.idempotency.IdempotencyFilter;
+import com.app.yolla.shared.idempotency.IdempotencyStore;
+import com.app.yolla.shared.ratelimit.RateLimitFilter;
+import com.app.yolla.shared.ratelimit.RateLimitProperties;
 import com.app.yolla.shared.security.JwtAuthenticationEntryPoint;
 import com.app.yolla.shared.security.JwtAuthenticationFilter;
+import com.app.yolla.shared.security.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.DispatcherType;
 
 /**
  * Təhlükəsizlik Konfiqurasiya Sinfi
@@ -36,6 +46,7 @@ import com.app.yolla.shared.security.JwtAuthenticationFilter;
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true) // Metod səviyyəsində icazələr üçün
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
     @Autowired
@@ -44,6 +55,21 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RateLimitProperties rateLimitProperties;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     /**
      * Parol şifreləmə bean-i
      * BCrypt istifadə edirik - ən təhlükəsiz üsullardan biri
@@ -117,6 +143,8 @@ public class SecurityConfig {
 
                 // URL icazələri - şimdilik hamısını açıq buraxaq
                 .authorizeHttpRequests(authz -> authz
+                        // Axınla cavablar (ixrac) async dispatch ilə bitir - sorğu artıq yoxlanılıb
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         // Bütün URL-ləri açıq burax (development üçün)
                 		.requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
                         .requestMatchers(
@@ -134,10 +162,18 @@ public class SecurityConfig {
 						.anyRequest().authenticated())
 				.headers(headers -> headers.frameOptions(frameOptions -> frameOptions.disable()));
 
+        // Sorğu limiti - autentifikasiyadan və servis qatından əvvəl rədd edir
+        http.addFilterBefore(new RateLimitFilter(rateLimitProperties, jwtUtil, tokenRevocationService, objectMapper),
+                UsernamePasswordAuthenticationFilter.class);
+
         // JWT filter əlavə et
         http.addFilterBefore(jwtAuthenticationFilter,
                 UsernamePasswordAuthenticationFilter.class);
 
+        // Idempotency-Key filter - istifadəçi müəyyən olunduqdan sonra işləyir
+        http.addFilterAfter(new IdempotencyFilter(idempotencyStore, objectMapper),
+                JwtAuthenticationFilter.class);
+
         return http.build();
     }
 }
\ No newline at end of file
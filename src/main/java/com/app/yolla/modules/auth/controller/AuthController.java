@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.app.yolla.modules.auth.dto.AuthResponse;
 import com.app.yolla.modules.auth.dto.LoginRequest;
+import com.app.yolla.modules.auth.dto.LogoutRequest;
 import com.app.yolla.modules.auth.dto.OtpVerificationRequest;
 import com.app.yolla.modules.auth.service.AuthService;
 import com.app.yolla.shared.dto.ApiResponse;
@@ -128,10 +129,11 @@ public class AuthController {
         }
     }
 
-	@Operation(summary = "Çıxış et", description = "İstifadəçini sistemdən çıxarır və token-ı blacklist edir.")
+	@Operation(summary = "Çıxış et", description = "İstifadəçini sistemdən çıxarır, access və refresh token-ları blacklist edir.")
     @PostMapping("/logout")
     public ResponseEntity<ApiResponse<String>> logout(
-            @RequestHeader("Authorization") String token) {
+            @RequestHeader("Authorization") String token,
+            @RequestBody(required = false) LogoutRequest request) {
 
         logger.info("Çıxış sorğusu");
 
@@ -140,7 +142,7 @@ public class AuthController {
                 token = token.substring(7);
             }
 
-            authService.logout(token);
+            authService.logout(token, request != null ? request.getRefreshToken() : null);
 
             ApiResponse<String> response = ApiResponse.success(
                     "Uğurla çıxış etdiniz",
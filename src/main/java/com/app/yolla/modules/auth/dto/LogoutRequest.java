@@ -0,0 +1,31 @@
+package com.app.yolla.modules.auth.dto;
+
+/**
+ * Logout Request DTO
+ * <p>
+ * Çıxış zamanı access token ilə birlikdə ləğv ediləcək refresh token
+ */
+public class LogoutRequest {
+
+    private String refreshToken;
+
+    public LogoutRequest() {
+    }
+
+    public LogoutRequest(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    @Override
+    public String toString() {
+        return "LogoutRequest{refreshToken='[GİZLİ]'}";
+    }
+}
@@ -17,6 +17,7 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
@@ -32,16 +33,18 @@ import lombok.Data;
  * etibarlıdır və yalnız bir dəfə istifadə oluna bilər.
  */
 @Entity
-@Table(name = "otp_codes")
+@Table(name = "otp_codes", indexes = {
+		@Index(name = "idx_otp_codes_created_at", columnList = "created_at"),
+		@Index(name = "idx_otp_codes_phone_type_used_created", columnList = "phone_number, otp_type, is_used, created_at") })
 @Data
 @EntityListeners(AuditingEntityListener.class)
 public class OtpCode {
 
 	@Id
-	@GeneratedValue(generator = "uuid2")
-	@GenericGenerator(name = "uuid2", strategy = "org.hibernate.id.UUIDGenerator")
-	@Column(name = "id", columnDefinition = "VARCHAR(36)", nullable = false, updatable = false)
-	@JdbcTypeCode(SqlTypes.CHAR)
+	@GeneratedValue(generator = "uuid7")
+	@GenericGenerator(name = "uuid7", strategy = "com.app.yolla.shared.persistence.TimeOrderedUuidGenerator")
+	@Column(name = "id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
+	@JdbcTypeCode(SqlTypes.BINARY)
 	private UUID id;
 
     /**
@@ -0,0 +1,42 @@
+package com.app.yolla.modules.auth.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ləğv edilmiş (logout olunmuş) token
+ * <p>
+ * Açıq token saxlanmır - id token-un SHA-256 hash-idir. Sətir token-un öz
+ * bitmə vaxtına qədər lazımdır, ondan sonra token onsuz da etibarsızdır və silinir.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+		@Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"),
+		@Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at") })
+public class RevokedToken {
+
+	@Id
+	@Column(name = "id", length = 64, nullable = false, updatable = false)
+	private String id;
+
+	@Column(name = "phone_number", length = 20)
+	private String phoneNumber;
+
+	@Column(name = "expires_at", nullable = false)
+	private LocalDateTime expiresAt;
+
+	@Column(name = "revoked_at", nullable = false)
+	private LocalDateTime revokedAt;
+}
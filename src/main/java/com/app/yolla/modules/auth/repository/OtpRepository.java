@@ -1,19 +1,25 @@
 package com.app.yolla.modules.auth.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.app.yolla.modules.auth.entity.OtpCode;
 import com.app.yolla.modules.auth.entity.OtpType;
 
+import jakarta.persistence.LockModeType;
+
 /**
  * OTP Repository İnterfeysi
  * <p>
@@ -28,6 +34,16 @@ public interface OtpRepository extends JpaRepository<OtpCode, UUID> {
     Optional<OtpCode> findTopByPhoneNumberAndOtpTypeAndIsUsedFalseOrderByCreatedAtDesc(
             String phoneNumber, OtpType otpType);
 
+    /**
+     * Ən son aktiv OTP-ni sətir kilidi ilə gətirir (SELECT ... FOR UPDATE).
+     * Eyni kod üçün paralel doğrulamalar növbə ilə gedir - cəhd sayğacı itmir, kod iki dəfə qəbul olunmur.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM OtpCode o WHERE o.phoneNumber = :phoneNumber AND o.otpType = :otpType "
+            + "AND o.isUsed = false ORDER BY o.createdAt DESC")
+    List<OtpCode> findActiveForUpdate(@Param("phoneNumber") String phoneNumber, @Param("otpType") OtpType otpType,
+                                      Pageable pageable);
+
     /**
      * Telefon nömrəsi və OTP növünə görə bütün aktiv OTP-ləri tapır
      */
@@ -58,11 +74,19 @@ public interface OtpRepository extends JpaRepository<OtpCode, UUID> {
                                               @Param("otpType") OtpType otpType);
 
     /**
-     * Müəyyən vaxtdan əvvəl yaradılmış OTP-ləri silir
+     * Müəyyən vaxtdan əvvəl yaradılmış ən köhnə OTP-lərin id-lərini səhifə ölçüsü qədər qaytarır
+     */
+    @Query("SELECT o.id FROM OtpCode o WHERE o.createdAt < :createdBefore ORDER BY o.createdAt")
+    List<UUID> findIdsCreatedBefore(@Param("createdBefore") LocalDateTime createdBefore, Pageable pageable);
+
+    /**
+     * Verilmiş id-lərə aid OTP-ləri silir.
+     * Hər çağırış öz qısa tranzaksiyasıdır - kilid yalnız bir hissənin sətirlərini tutur.
      */
+    @Transactional
     @Modifying
-    @Query("DELETE FROM OtpCode o WHERE o.createdAt < :createdBefore")
-    int deleteByCreatedAtBefore(@Param("createdBefore") LocalDateTime createdBefore);
+    @Query("DELETE FROM OtpCode o WHERE o.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<UUID> ids);
 
     /**
      * Vaxtı bitmiş OTP-ləri tapır
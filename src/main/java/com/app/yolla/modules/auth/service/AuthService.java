@@ -2,12 +2,14 @@ package com.app.yolla.modules.auth.service;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.app.yolla.modules.auth.dto.AuthResponse;
@@ -21,6 +23,7 @@ import com.app.yolla.shared.exception.DuplicateResourceException;
 import com.app.yolla.shared.exception.OtpException;
 import com.app.yolla.shared.exception.ResourceNotFoundException;
 import com.app.yolla.shared.security.JwtUtil;
+import com.app.yolla.shared.security.TokenClaims;
 
 /**
  * Authentication Service Sinfi
@@ -46,17 +49,21 @@ public class AuthService {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
 
     /**
      * OTP göndərir - həm mövcud istifadəçilər, həm də yeni qeydiyyat üçün
      */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public Map<String, Object> sendOtp(String phoneNumber, String ipAddress) {
         logger.info("OTP göndərmə prosesi başlayır: telefon={}", phoneNumber);
 
-        // Rate limiting yoxla
-        if (!otpService.canRequestOtp(phoneNumber, OtpType.LOGIN)) {
+        // Rate limiting yoxla - rədd edilən sorğu nə tranzaksiya açır, nə də bazaya gedir
+        if (!otpService.canRequestOtp(phoneNumber, ipAddress)) {
             throw new OtpException("Çox tez-tez OTP sorğusu. Bir az gözləyin", "RATE_LIMIT_EXCEEDED");
         }
 
@@ -112,7 +119,8 @@ public class AuthService {
         String accessToken = jwtUtil.generateToken(
                 user.getPhoneNumber(),
                 user.getRole().name(),
-                user.getId()
+                user.getId(),
+                marketIdOf(user)
         );
 
         String refreshToken = jwtUtil.generateRefreshToken(user.getPhoneNumber());
@@ -138,12 +146,13 @@ public class AuthService {
 
         try {
             // Refresh token-ın etibarlı olub-olmadığını yoxla
-            if (!jwtUtil.isTokenValid(refreshToken) || !jwtUtil.isRefreshToken(refreshToken)) {
+            TokenClaims claims = jwtUtil.parse(refreshToken);
+            if (claims == null || !claims.isRefreshToken() || tokenRevocationService.isRevoked(claims)) {
                 throw new OtpException("Refresh token etibarsızdır", "INVALID_REFRESH_TOKEN");
             }
 
             // Token-dan istifadəçi məlumatlarını çıxar
-            String phoneNumber = jwtUtil.getPhoneNumberFromToken(refreshToken);
+            String phoneNumber = claims.getPhoneNumber();
             UserDTO user = userService.findByPhoneNumber(phoneNumber);
 
             // İstifadəçinin aktiv olub-olmadığını yoxla
@@ -155,7 +164,8 @@ public class AuthService {
             String newAccessToken = jwtUtil.generateToken(
                     user.getPhoneNumber(),
                     user.getRole().name(),
-                    user.getId()
+                    user.getId(),
+                    marketIdOf(user)
             );
 
             // AuthResponse yaradırıq
@@ -176,24 +186,34 @@ public class AuthService {
     }
 
     /**
-     * İstifadəçini sistemdən çıxarır
+     * İstifadəçini sistemdən çıxarır: access token və (verilibsə) eyni istifadəçinin refresh token-u ləğv edilir
      */
-    public void logout(String token) {
+    public void logout(String accessToken, String refreshToken) {
         logger.info("Çıxış prosesi");
 
-        try {
-            // Token-dan istifadəçi məlumatlarını əldə et
-            String phoneNumber = jwtUtil.getPhoneNumberFromToken(token);
-
-            // Burada token-ı blacklist-ə əlavə edə bilərik (Redis və ya verilənlər bazası)
-            // Hal-hazırda sadə log yazırıq
-
-            logger.info("İstifadəçi uğurla çıxış etdi: telefon={}", phoneNumber);
+        // Etibarsız və ya vaxtı bitmiş token-u ləğv etməyə ehtiyac yoxdur
+        TokenClaims claims = jwtUtil.parse(accessToken);
+        if (claims == null) {
+            logger.debug("Çıxış: token artıq etibarsızdır");
+            return;
+        }
 
-        } catch (Exception e) {
-            logger.warn("Çıxış zamanı xəta: {}", e.getMessage());
-            // Çıxış zamanı xəta kritik deyil, yenə də uğurlu sayılır
+        // Ləğv yazılmasa token etibarlı qalır - xəta udulmur, controller-ə ötürülür
+        tokenRevocationService.revoke(claims);
+
+        // Refresh token qalsa, onunla yeni access token almaq olar - o da ləğv edilir
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            TokenClaims refreshClaims = jwtUtil.parse(refreshToken);
+            if (refreshClaims == null || !refreshClaims.isRefreshToken()) {
+                logger.debug("Çıxış: refresh token artıq etibarsızdır");
+            } else if (!claims.getPhoneNumber().equals(refreshClaims.getPhoneNumber())) {
+                logger.warn("Çıxış: refresh token başqa istifadəçiyə aiddir, telefon={}", claims.getPhoneNumber());
+            } else {
+                tokenRevocationService.revoke(refreshClaims);
+            }
         }
+
+        logger.info("İstifadəçi uğurla çıxış etdi: telefon={}", claims.getPhoneNumber());
     }
 
     /**
@@ -201,7 +221,8 @@ public class AuthService {
      */
     public boolean validateToken(String token) {
         try {
-            return jwtUtil.isTokenValid(token) && jwtUtil.isAccessToken(token);
+            TokenClaims claims = jwtUtil.parse(token);
+            return claims != null && claims.isAccessToken() && !tokenRevocationService.isRevoked(claims);
         } catch (Exception e) {
             logger.warn("Token doğrulama xətası: {}", e.getMessage());
             return false;
@@ -243,6 +264,13 @@ public class AuthService {
 		}
     }
 
+    /**
+     * Token-a yazılan market claim-i (yalnız marketə bağlı istifadəçilər üçün)
+     */
+    private UUID marketIdOf(UserDTO user) {
+        return user.getMarket() != null ? user.getMarket().getId() : null;
+    }
+
     /**
      * UserDTO-nu UserInfo-ya çevirir
      */
@@ -9,11 +9,16 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.app.yolla.modules.auth.entity.OtpCode;
 import com.app.yolla.modules.auth.entity.OtpType;
 import com.app.yolla.modules.auth.repository.OtpRepository;
+import com.app.yolla.modules.auth.service.otp.OtpPurgeJob;
+import com.app.yolla.modules.auth.service.otp.OtpRequestLimiter;
+import com.app.yolla.modules.auth.service.otp.OtpStore;
+import com.app.yolla.modules.auth.service.otp.OtpVerification;
 import com.app.yolla.shared.exception.OtpException;
 
 /**
@@ -38,6 +43,15 @@ public class OtpService {
     @Autowired
     private SmsService smsService;
 
+    @Autowired
+    private OtpStore otpStore;
+
+    @Autowired
+    private OtpRequestLimiter otpRequestLimiter;
+
+    @Autowired
+    private OtpPurgeJob otpPurgeJob;
+
     @Value("${otp.expiration-minutes:5}")
     private int defaultExpirationMinutes;
 
@@ -50,9 +64,6 @@ public class OtpService {
 	public String generateAndSendOtp(String phoneNumber, OtpType otpType, String ipAddress) {
         logger.info("OTP yaradılır: telefon={}, növ={}", phoneNumber, otpType);
 
-        // Əvvəlki aktiv OTP-ləri ləğv et
-        invalidateActiveOtps(phoneNumber, otpType);
-
         // Yeni OTP kodu yaradırıq
         String otpCode = generateOtpCode();
 
@@ -70,15 +81,15 @@ public class OtpService {
         otp.setIsUsed(false);
         otp.setAttemptCount(0);
 
-        // Verilənlər bazasına saxlayırıq
-        otpRepository.save(otp);
+        // Store-a saxlayırıq (əvvəlki aktiv OTP-lər ləğv olunur)
+        otpStore.save(otp);
 
-        // SMS göndəririk
+        // SMS növbəyə qoyulur - provayder gecikməsi tranzaksiyanı və cavabı gözlətmir
         try {
             String message = otpType.createSmsMessage(otpCode);
             smsService.sendSms(phoneNumber, message);
 
-            logger.info("OTP uğurla göndərildi: telefon={}", phoneNumber);
+            logger.info("OTP SMS növbəyə qoyuldu: telefon={}", phoneNumber);
 
         } catch (Exception e) {
             logger.error("SMS göndərmə xətası: telefon={}", phoneNumber, e);
@@ -93,64 +104,35 @@ public class OtpService {
     public void verifyOtp(String phoneNumber, String otpCode, OtpType otpType) {
         logger.info("OTP doğrulanır: telefon={}, növ={}", phoneNumber, otpType);
 
-        // Ən son aktiv OTP-ni tapırıq
-        Optional<OtpCode> otpOptional = otpRepository
-                .findTopByPhoneNumberAndOtpTypeAndIsUsedFalseOrderByCreatedAtDesc(
-                        phoneNumber, otpType);
-
-        if (otpOptional.isEmpty()) {
-            logger.warn("Aktiv OTP tapılmadı: telefon={}", phoneNumber);
-            throw new OtpException("OTP kodu tapılmadı və ya vaxtı bitib", "OTP_NOT_FOUND");
-        }
-
-        OtpCode otp = otpOptional.get();
-
-        // Cəhd sayını artır
-        otp.incrementAttemptCount();
-        otpRepository.save(otp);
-
-        // Maksimum cəhd sayını yoxla
-        if (otp.hasExceededMaxAttempts(otpType.getMaxAttempts())) {
-            logger.warn("Maksimum cəhd sayı aşıldı: telefon={}, cəhd={}",
-                    phoneNumber, otp.getAttemptCount());
-            throw new OtpException("Çox yanlış cəhd. Yeni kod tələb edin", "MAX_ATTEMPTS_EXCEEDED");
-        }
-
-        // Vaxtın bitib-bitmədiyini yoxla
-        if (otp.isExpired()) {
-            logger.warn("OTP vaxtı bitib: telefon={}, bitmə_vaxtı={}",
-                    phoneNumber, otp.getExpiresAt());
-            throw new OtpException("OTP kodunun vaxtı bitib", "OTP_EXPIRED");
+        // Cəhd sayının artırılması, yoxlama və istifadə olunmuş kimi qeyd store-da bir addımdır:
+        // database store-da kodun sətri kilidlənir, memory store-da keşin compute-u daxilində gedir
+        OtpVerification result = otpStore.verify(phoneNumber, otpType, otpCode, otpType.getMaxAttempts());
+
+        switch (result) {
+            case NOT_FOUND:
+                logger.warn("Aktiv OTP tapılmadı: telefon={}", phoneNumber);
+                throw new OtpException("OTP kodu tapılmadı və ya vaxtı bitib", "OTP_NOT_FOUND");
+            case MAX_ATTEMPTS_EXCEEDED:
+                logger.warn("Maksimum cəhd sayı aşıldı: telefon={}", phoneNumber);
+                throw new OtpException("Çox yanlış cəhd. Yeni kod tələb edin", "MAX_ATTEMPTS_EXCEEDED");
+            case EXPIRED:
+                logger.warn("OTP vaxtı bitib: telefon={}", phoneNumber);
+                throw new OtpException("OTP kodunun vaxtı bitib", "OTP_EXPIRED");
+            case INVALID:
+                logger.warn("Yanlış OTP kodu: telefon={}", phoneNumber);
+                throw new OtpException("OTP kodu yanlışdır", "INVALID_OTP");
+            default:
+                logger.info("OTP uğurla doğrulandı: telefon={}", phoneNumber);
         }
-
-        // OTP kodunu yoxla
-        if (!otp.getOtpCode().equals(otpCode)) {
-            logger.warn("Yanlış OTP kodu: telefon={}", phoneNumber);
-            throw new OtpException("OTP kodu yanlışdır", "INVALID_OTP");
-        }
-
-        // OTP doğrudur - istifadə olunmuş kimi qeyd et
-        otp.markAsUsed();
-        otpRepository.save(otp);
-
-        logger.info("OTP uğurla doğrulandı: telefon={}", phoneNumber);
     }
 
     /**
-     * Rate limiting - eyni telefon üçün tez-tez OTP sorğusunu məhdudlaşdırır
+     * Rate limiting - telefon, IP və qlobal səviyyədə tez-tez OTP sorğusunu məhdudlaşdırır.
+     * Yaddaşdakı sürüşən pəncərələrlə işləyir, bazaya müraciət etmir.
      */
-    public boolean canRequestOtp(String phoneNumber, OtpType otpType) {
-        LocalDateTime oneMinuteAgo = LocalDateTime.now().minusMinutes(1);
-
-        long recentOtpCount = otpRepository.countByPhoneNumberAndOtpTypeAndCreatedAtAfter(
-                phoneNumber, otpType, oneMinuteAgo);
-
-        if (recentOtpCount >= 3) { // 1 dəqiqədə maksimum 3 OTP
-            logger.warn("Rate limit aşıldı: telefon={}, say={}", phoneNumber, recentOtpCount);
-            return false;
-        }
-
-        return true;
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean canRequestOtp(String phoneNumber, String ipAddress) {
+        return otpRequestLimiter.tryAcquire(phoneNumber, ipAddress);
     }
 
     /**
@@ -158,8 +140,7 @@ public class OtpService {
      */
     @Transactional(readOnly = true)
     public Optional<OtpCode> getOtpInfo(String phoneNumber, OtpType otpType) {
-        return otpRepository.findTopByPhoneNumberAndOtpTypeAndIsUsedFalseOrderByCreatedAtDesc(
-                phoneNumber, otpType);
+        return otpStore.findActive(phoneNumber, otpType);
     }
 
     /**
@@ -171,23 +152,12 @@ public class OtpService {
     }
 
     /**
-     * Əvvəlki aktiv OTP kodlarını ləğv edir
-     */
-    private void invalidateActiveOtps(String phoneNumber, OtpType otpType) {
-        otpRepository.markAllAsUsedByPhoneNumberAndOtpType(phoneNumber, otpType);
-        logger.debug("Əvvəlki OTP kodları ləğv edildi: telefon={}, növ={}", phoneNumber, otpType);
-    }
-
-    /**
-     * Köhnə OTP kodlarını təmizləyir (scheduled task kimi çalışa bilər)
+     * Köhnə OTP kodlarını təmizləyir (OtpPurgeJob periodik olaraq da çağırır).
+     * Hissələr öz tranzaksiyalarında silinir - xarici tranzaksiya açılmır.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void cleanupExpiredOtps() {
-        LocalDateTime oneDayAgo = LocalDateTime.now().minusDays(1);
-        int deletedCount = otpRepository.deleteByCreatedAtBefore(oneDayAgo);
-
-        if (deletedCount > 0) {
-            logger.info("Köhnə OTP kodları təmizləndi: say={}", deletedCount);
-        }
+        otpPurgeJob.purge();
     }
 
     /**
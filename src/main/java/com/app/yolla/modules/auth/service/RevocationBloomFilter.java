@@ -0,0 +1,62 @@
+package com.app.yolla.modules.auth.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Ləğv edilmiş token id-ləri üçün Bloom filter
+ * <p>
+ * "Yox" cavabı dəqiqdir, "ola bilər" cavabı dəqiq set ilə təsdiqlənir. Token id artıq
+ * SHA-256 hash olduğu üçün ayrıca hash funksiyası lazım deyil - ilk 128 bit ikiqat
+ * hash (h1 + i*h2) üçün istifadə olunur. Bitlər AtomicLongArray-də lock-suz yazılır.
+ */
+final class RevocationBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    RevocationBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) >>> 6));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * ln2));
+    }
+
+    void put(String tokenId) {
+        long h1 = h1(tokenId);
+        long h2 = h2(tokenId);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(index);
+            while ((current & mask) == 0 && !words.compareAndSet(index, current, current | mask)) {
+                current = words.get(index);
+            }
+        }
+    }
+
+    boolean mightContain(String tokenId) {
+        long h1 = h1(tokenId);
+        long h2 = h2(tokenId);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long h1(String tokenId) {
+        return Long.parseUnsignedLong(tokenId, 0, 16, 16);
+    }
+
+    private static long h2(String tokenId) {
+        // Tək ədəd - bütün k indeks bir-birindən fərqli olsun
+        return Long.parseUnsignedLong(tokenId, 16, 32, 16) | 1L;
+    }
+}
@@ -2,14 +2,18 @@ package com.app.yolla.modules.auth.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.app.yolla.modules.auth.service.sms.SmsDispatcher;
+
 /**
  * SMS Xidmət Sinfi
  * <p>
  * Bu sinif SMS göndərmə əməliyyatlarını idarə edir.
- * Test rejimində konsola yazır, məhsul rejimində həqiqi SMS göndərir.
+ * Mesajlar asinxron növbə ilə seçilmiş provayderə (sms.provider) göndərilir;
+ * test rejimində konsola yazılır.
  * <p>
  * Analogi: Bu sinif bir "poçtçı" kimidir - mesajları düzgün ünvana çatdırır.
  */
@@ -18,105 +22,25 @@ public class SmsService {
 
     private static final Logger logger = LoggerFactory.getLogger(SmsService.class);
 
+    @Autowired
+    private SmsDispatcher smsDispatcher;
+
     @Value("${sms.provider:test}")
     private String smsProvider;
 
     @Value("${sms.test-mode:true}")
     private boolean testMode;
 
-    // Twilio və ya digər SMS provayderlər üçün konfiqurasiya
-    @Value("${sms.twilio.account-sid:}")
-    private String twilioAccountSid;
-
-    @Value("${sms.twilio.auth-token:}")
-    private String twilioAuthToken;
-
-    @Value("${sms.twilio.from-number:}")
-    private String twilioFromNumber;
-
     /**
-     * SMS göndərir
+     * SMS-i göndərmə növbəsinə qoyur və dərhal qayıdır.
+     * Göndərmə, təkrar cəhdlər və çatdırılmayanların qeydi SmsDispatcher-dədir.
+     * Növbə doludursa IllegalStateException atılır.
      */
     public void sendSms(String phoneNumber, String message) {
-        logger.info("SMS göndərilir: telefon={}, provayider={}, test_rejimi={}",
+        logger.info("SMS növbəyə qoyulur: telefon={}, provayider={}, test_rejimi={}",
                 phoneNumber, smsProvider, testMode);
 
-        try {
-            if (testMode) {
-                sendTestSms(phoneNumber, message);
-                return;
-            }
-
-            switch (smsProvider.toLowerCase()) {
-                case "twilio":
-                    sendTwilioSms(phoneNumber, message);
-                    return;
-                case "local":
-                    sendLocalSms(phoneNumber, message);
-                    return;
-                default:
-                    logger.warn("Naməlum SMS provayderi: {}", smsProvider);
-                    sendTestSms(phoneNumber, message);
-            }
-
-        } catch (Exception e) {
-            logger.error("SMS göndərmə xətası: telefon={}", phoneNumber, e);
-        }
-    }
-
-    /**
-     * Test rejimi - SMS-i konsola yazır
-     */
-    private void sendTestSms(String phoneNumber, String message) {
-        logger.info("=== TEST SMS ===");
-        logger.info("Telefon: {}", phoneNumber);
-        logger.info("Mesaj: {}", message);
-        logger.info("================");
-
-        // Test rejimində həmişə uğurlu sayırıq
-    }
-
-    /**
-     * Twilio ilə SMS göndərir (məhsul üçün)
-     */
-    private void sendTwilioSms(String phoneNumber, String message) {
-        // Burada Twilio SDK istifadə edəcəksiniz
-        logger.info("Twilio ilə SMS göndərilir...");
-
-        try {
-            /*
-            // Twilio SDK kodu (dependency əlavə etdikdən sonra):
-            Twilio.init(twilioAccountSid, twilioAuthToken);
-
-            Message.creator(
-                new PhoneNumber(phoneNumber),
-                new PhoneNumber(twilioFromNumber),
-                message
-            ).create();
-            */
-
-            logger.info("Twilio SMS uğurla göndərildi: telefon={}", phoneNumber);
-
-        } catch (Exception e) {
-            logger.error("Twilio SMS xətası: telefon={}", phoneNumber, e);
-        }
-    }
-
-    /**
-     * Yerli SMS provayderə göndərir (Azərbaycan provayderləri)
-     */
-    private void sendLocalSms(String phoneNumber, String message) {
-        logger.info("Yerli provayder ilə SMS göndərilir...");
-
-        try {
-            // Burada yerli SMS provayder API-sini istifadə edəcəksiniz
-            // Məsələn: Nar, Azercell, Bakcell API-ları
-
-            logger.info("Yerli SMS uğurla göndərildi: telefon={}", phoneNumber);
-
-        } catch (Exception e) {
-            logger.error("Yerli SMS xətası: telefon={}", phoneNumber, e);
-        }
+        smsDispatcher.enqueue(phoneNumber, message);
     }
 
     /**
@@ -0,0 +1,172 @@
+package com.app.yolla.modules.auth.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.app.yolla.modules.auth.entity.RevokedToken;
+import com.app.yolla.modules.auth.repository.RevokedTokenRepository;
+import com.app.yolla.shared.security.TokenClaims;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Token Revokasiya Xidməti
+ * <p>
+ * Logout olunmuş token-lar revoked_tokens cədvəlinə yazılır və yaddaşda Bloom filter +
+ * dəqiq set kimi saxlanılır. Hər sorğuda yoxlama bazaya getmir: ləğv yoxdursa və ya Bloom
+ * filter "yox" deyirsə, cavab bir neçə bit əməliyyatı ilə verilir.
+ * <p>
+ * Qeydlər token-un öz bitmə vaxtında həm yaddaşdan, həm cədvəldən silinir. Digər
+ * instansiyalarda edilən ləğvlər periodik olaraq cədvəldən oxunur.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    /**
+     * Instansiyalar arası saat fərqi üçün periodik oxunuşda geriyə ehtiyat
+     */
+    private static final long REFRESH_OVERLAP_SECONDS = 5;
+
+    @Autowired
+    private RevokedTokenRepository repository;
+
+    @Value("${app.security.revocation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.security.revocation.expected-insertions:100000}")
+    private long expectedInsertions;
+
+    @Value("${app.security.revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    /**
+     * token id -> bitmə vaxtı (epoch ms)
+     */
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private volatile RevocationBloomFilter bloomFilter;
+
+    private volatile long bloomCapacity;
+
+    private volatile LocalDateTime lastRefresh;
+
+    @PostConstruct
+    void init() {
+        bloomFilter = new RevocationBloomFilter(expectedInsertions, falsePositiveRate);
+        bloomCapacity = expectedInsertions;
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            // Yalnız hələ etibarlı token-lar yüklənir - sətir sayı son jwt.expiration müddətindəki logout-lar qədərdir
+            repository.findByExpiresAtAfter(now).forEach(this::remember);
+            lastRefresh = now;
+            logger.info("Ləğv edilmiş token-lar yükləndi: say={}", revoked.size());
+        } catch (Exception e) {
+            logger.warn("Ləğv edilmiş token-lar yüklənmədi: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Token-u bitmə vaxtına qədər ləğv edir
+     */
+    public void revoke(TokenClaims claims) {
+        if (!enabled || claims.isExpired(System.currentTimeMillis())) {
+            return;
+        }
+        RevokedToken token = new RevokedToken(claims.getTokenId(), claims.getPhoneNumber(),
+                toLocalDateTime(claims.getExpiresAt()), LocalDateTime.now());
+        repository.save(token);
+        remember(token);
+
+        logger.info("Token ləğv edildi: telefon={}", claims.getPhoneNumber());
+    }
+
+    /**
+     * Autentifikasiya hot path-i: bazaya müraciət etmir
+     */
+    public boolean isRevoked(TokenClaims claims) {
+        if (!enabled || revoked.isEmpty()) {
+            return false;
+        }
+        String tokenId = claims.getTokenId();
+        if (!bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        return revoked.containsKey(tokenId);
+    }
+
+    /**
+     * Digər instansiyalarda edilmiş ləğvləri oxuyur və vaxtı bitmiş qeydləri yaddaşdan çıxarır
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation.refresh-interval-ms:30000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastRefresh != null ? lastRefresh.minusSeconds(REFRESH_OVERLAP_SECONDS) : now.minusYears(1);
+        List<RevokedToken> recent = repository.findByRevokedAtAfterAndExpiresAtAfter(since, now);
+        recent.forEach(this::remember);
+        lastRefresh = now;
+
+        long nowMillis = System.currentTimeMillis();
+        boolean removed = revoked.values().removeIf(expiresAt -> expiresAt < nowMillis);
+        if (removed || revoked.size() > bloomCapacity) {
+            rebuildBloomFilter();
+        }
+    }
+
+    /**
+     * Vaxtı bitmiş qeydləri cədvəldən silir
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        if (!enabled) {
+            return;
+        }
+        int deleted = repository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.info("Vaxtı bitmiş ləğv qeydləri silindi: say={}", deleted);
+        }
+    }
+
+    private void remember(RevokedToken token) {
+        long expiresAt = token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        // Əvvəlcə set, sonra Bloom filter: filter "ola bilər" deyəndə set artıq doludur
+        revoked.put(token.getId(), expiresAt);
+        bloomFilter.put(token.getId());
+    }
+
+    /**
+     * Bloom filter-dən silmək mümkün deyil - vaxtı bitmiş id-lər çıxandan sonra yenidən qurulur.
+     * Tutum ləğv sayından geri qalanda iki dəfə artırılır ki, yalançı müsbət nisbəti artmasın.
+     */
+    private synchronized void rebuildBloomFilter() {
+        long capacity = Math.max(expectedInsertions, revoked.size() * 2L);
+        RevocationBloomFilter rebuilt = new RevocationBloomFilter(capacity, falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+        bloomCapacity = capacity;
+        // Qurulma zamanı əlavə edilmiş id-lər köhnə filter-də qalmasın deyə yenidən yazılır
+        revoked.keySet().forEach(rebuilt::put);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
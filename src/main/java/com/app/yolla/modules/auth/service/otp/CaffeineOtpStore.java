@@ -0,0 +1,140 @@
+package com.app.yolla.modules.auth.service.otp;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.app.yolla.modules.auth.entity.OtpCode;
+import com.app.yolla.modules.auth.entity.OtpType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Kodları Caffeine keşində saxlayan store
+ * <p>
+ * Açar telefon + növdür, hər element kodun öz bitmə vaxtında silinir. Doğrulama
+ * asMap().compute daxilində gedir - eyni telefon üçün paralel cəhdlər sayğacı itirmir
+ * və bir kod iki dəfə qəbul oluna bilmir. Bazaya yalnız OtpAuditWriter partiya ilə yazır.
+ * <p>
+ * Kodlar instansiyanın yaddaşındadır: bir neçə instansiya üçün sticky session və ya
+ * otp.store=database lazımdır.
+ */
+@Component
+@ConditionalOnProperty(name = "otp.store", havingValue = "memory")
+public class CaffeineOtpStore implements OtpStore {
+
+    @Autowired
+    private OtpAuditWriter auditWriter;
+
+    @Value("${otp.memory.maximum-size:100000}")
+    private long maximumSize;
+
+    private Cache<String, Entry> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return untilExpiry(entry);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return untilExpiry(entry);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .removalListener((String key, Entry entry, RemovalCause cause) -> {
+                    // Vaxtı bitən və ya sıxışdırılan kodlar da audit-ə düşür
+                    if (entry != null && cause.wasEvicted()) {
+                        entry.audit(auditWriter);
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public void save(OtpCode otp) {
+        cache.asMap().compute(key(otp.getPhoneNumber(), otp.getOtpType()), (key, previous) -> {
+            if (previous != null) {
+                // Əvəz olunan kod etibarsızdır - son vəziyyəti ilə audit-ə yazılır
+                previous.audit(auditWriter);
+            }
+            return new Entry(otp);
+        });
+    }
+
+    @Override
+    public OtpVerification verify(String phoneNumber, OtpType otpType, String otpCode, int maxAttempts) {
+        OtpVerification[] result = { OtpVerification.NOT_FOUND };
+        cache.asMap().computeIfPresent(key(phoneNumber, otpType), (key, entry) -> {
+            OtpCode otp = entry.otp;
+            if (Boolean.TRUE.equals(otp.getIsUsed())) {
+                return entry;
+            }
+            otp.incrementAttemptCount();
+            result[0] = OtpCodeChecks.check(otp, otpCode, maxAttempts);
+            if (result[0] == OtpVerification.VERIFIED) {
+                otp.markAsUsed();
+                entry.audit(auditWriter);
+            }
+            return entry;
+        });
+        return result[0];
+    }
+
+    @Override
+    public Optional<OtpCode> findActive(String phoneNumber, OtpType otpType) {
+        Entry entry = cache.getIfPresent(key(phoneNumber, otpType));
+        if (entry == null || Boolean.TRUE.equals(entry.otp.getIsUsed())) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.otp);
+    }
+
+    private static String key(String phoneNumber, OtpType otpType) {
+        return phoneNumber + ':' + otpType.name();
+    }
+
+    private static long untilExpiry(Entry entry) {
+        Duration remaining = Duration.between(LocalDateTime.now(), entry.otp.getExpiresAt());
+        return Math.max(0, remaining.toNanos());
+    }
+
+    private static final class Entry {
+
+        private final OtpCode otp;
+
+        private volatile boolean audited;
+
+        private Entry(OtpCode otp) {
+            this.otp = otp;
+        }
+
+        /**
+         * Hər kod audit-ə yalnız bir dəfə düşür
+         */
+        private synchronized void audit(OtpAuditWriter writer) {
+            if (!audited) {
+                audited = true;
+                writer.append(otp);
+            }
+        }
+    }
+}
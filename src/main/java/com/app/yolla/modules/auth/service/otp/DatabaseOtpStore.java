@@ -0,0 +1,64 @@
+package com.app.yolla.modules.auth.service.otp;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.yolla.modules.auth.entity.OtpCode;
+import com.app.yolla.modules.auth.entity.OtpType;
+import com.app.yolla.modules.auth.repository.OtpRepository;
+
+/**
+ * Kodları birbaşa otp_codes cədvəlində saxlayan store.
+ * Bir neçə instansiya sticky session olmadan işləyəndə bu variant seçilməlidir.
+ * <p>
+ * Doğrulama kodun sətrini kilidləyir - paralel cəhdlər eyni attempt_count-u oxuyub
+ * limiti keçə bilmir və iki düzgün cəhddən yalnız biri VERIFIED alır.
+ */
+@Component
+@ConditionalOnProperty(name = "otp.store", havingValue = "database", matchIfMissing = true)
+public class DatabaseOtpStore implements OtpStore {
+
+    @Autowired
+    private OtpRepository otpRepository;
+
+    @Override
+    @Transactional
+    public void save(OtpCode otp) {
+        otpRepository.markAllAsUsedByPhoneNumberAndOtpType(otp.getPhoneNumber(), otp.getOtpType());
+        otpRepository.save(otp);
+    }
+
+    @Override
+    @Transactional
+    public OtpVerification verify(String phoneNumber, OtpType otpType, String otpCode, int maxAttempts) {
+        List<OtpCode> active = otpRepository.findActiveForUpdate(phoneNumber, otpType, PageRequest.of(0, 1));
+        if (active.isEmpty()) {
+            return OtpVerification.NOT_FOUND;
+        }
+
+        OtpCode otp = active.get(0);
+        if (Boolean.TRUE.equals(otp.getIsUsed())) {
+            return OtpVerification.NOT_FOUND;
+        }
+        otp.incrementAttemptCount();
+        otpRepository.save(otp);
+
+        OtpVerification result = OtpCodeChecks.check(otp, otpCode, maxAttempts);
+        if (result == OtpVerification.VERIFIED) {
+            otp.markAsUsed();
+            otpRepository.save(otp);
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<OtpCode> findActive(String phoneNumber, OtpType otpType) {
+        return otpRepository.findTopByPhoneNumberAndOtpTypeAndIsUsedFalseOrderByCreatedAtDesc(phoneNumber, otpType);
+    }
+}
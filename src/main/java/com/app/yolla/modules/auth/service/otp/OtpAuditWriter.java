@@ -0,0 +1,81 @@
+package com.app.yolla.modules.auth.service.otp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.app.yolla.modules.auth.entity.OtpCode;
+import com.app.yolla.modules.auth.repository.OtpRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Yaddaşdakı OTP store üçün write-behind audit.
+ * <p>
+ * Hər kod üçün yalnız bir sətir yazılır - kod son vəziyyətinə çatanda (doğrulandı,
+ * yenisi ilə əvəz olundu və ya vaxtı bitdi). Sətirlər növbədə toplanır və periodik
+ * olaraq JDBC batch ilə otp_codes cədvəlinə yazılır, statistika sorğuları onlardan işləyir.
+ */
+@Component
+@ConditionalOnProperty(name = "otp.store", havingValue = "memory")
+public class OtpAuditWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(OtpAuditWriter.class);
+
+    @Autowired
+    private OtpRepository otpRepository;
+
+    @Value("${otp.audit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${otp.audit.batch-size:500}")
+    private int batchSize;
+
+    private final Queue<OtpCode> pending = new ConcurrentLinkedQueue<>();
+
+    public void append(OtpCode otp) {
+        if (enabled) {
+            pending.add(otp);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${otp.audit.flush-interval-ms:5000}")
+    public void flush() {
+        List<OtpCode> batch = new ArrayList<>(batchSize);
+        OtpCode next;
+        while ((next = pending.poll()) != null) {
+            batch.add(next);
+            if (batch.size() >= batchSize) {
+                write(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private void write(List<OtpCode> batch) {
+        try {
+            otpRepository.saveAll(batch);
+            logger.debug("OTP audit sətirləri yazıldı: say={}", batch.size());
+        } catch (Exception e) {
+            // Audit itkisi girişə təsir etmir - kodlar yaddaşda yoxlanılır
+            logger.warn("OTP audit sətirləri yazılmadı: say={}, xəta={}", batch.size(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.app.yolla.modules.auth.service.otp;
+
+import com.app.yolla.modules.auth.entity.OtpCode;
+
+/**
+ * Hər iki store üçün eyni yoxlama ardıcıllığı: cəhd limiti, vaxt, kodun özü.
+ * Cəhd sayı çağırışdan əvvəl artırılmış olmalıdır.
+ */
+final class OtpCodeChecks {
+
+    private OtpCodeChecks() {
+    }
+
+    static OtpVerification check(OtpCode otp, String otpCode, int maxAttempts) {
+        if (otp.hasExceededMaxAttempts(maxAttempts)) {
+            return OtpVerification.MAX_ATTEMPTS_EXCEEDED;
+        }
+        if (otp.isExpired()) {
+            return OtpVerification.EXPIRED;
+        }
+        if (!otp.getOtpCode().equals(otpCode)) {
+            return OtpVerification.INVALID;
+        }
+        return OtpVerification.VERIFIED;
+    }
+}
@@ -0,0 +1,131 @@
+package com.app.yolla.modules.auth.service.otp;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.app.yolla.modules.auth.repository.OtpRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Köhnə OTP kodlarının periodik silinməsi
+ * <p>
+ * Silmə chunk-size sətirlik hissələrlə, hər biri ayrı qısa tranzaksiyada aparılır; hissələr
+ * arasında pause-ms gözlənilir ki, replikasiya və canlı sorğular geri qalmasın. Bir çağırış
+ * max-run-ms-dən çox çəkmir - qalan sətirlər növbəti çağırışda silinir.
+ */
+@Component
+public class OtpPurgeJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(OtpPurgeJob.class);
+
+    @Autowired
+    private OtpRepository otpRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${otp.purge.enabled:true}")
+    private boolean enabled;
+
+    @Value("${otp.purge.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${otp.purge.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${otp.purge.pause-ms:100}")
+    private long pauseMs;
+
+    @Value("${otp.purge.max-run-ms:30000}")
+    private long maxRunMs;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private Counter deletedRows;
+    private Counter chunks;
+    private Timer runDuration;
+
+    @PostConstruct
+    void init() {
+        deletedRows = Counter.builder("otp.purge.deleted")
+                .description("Silinmiş köhnə OTP sətirləri")
+                .register(meterRegistry);
+        chunks = Counter.builder("otp.purge.chunks")
+                .description("İcra olunmuş DELETE hissələri")
+                .register(meterRegistry);
+        runDuration = Timer.builder("otp.purge.duration")
+                .description("Bir silmə çağırışının müddəti")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${otp.purge.initial-delay-ms:60000}",
+            fixedDelayString = "${otp.purge.interval-ms:3600000}")
+    public void scheduledPurge() {
+        if (enabled) {
+            purge();
+        }
+    }
+
+    /**
+     * retention-hours-dan köhnə kodları vaxt büdcəsi daxilində silir və silinən sayı qaytarır.
+     * Eyni anda ikinci çağırış heç nə etmir.
+     */
+    public int purge() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(maxRunMs);
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        int total = 0;
+        try {
+            while (true) {
+                // Əvvəl id-lər seçilir, sonra id ilə silinir - DELETE ... LIMIT hər bazada yoxdur
+                List<UUID> ids = otpRepository.findIdsCreatedBefore(cutoff, PageRequest.of(0, chunkSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                int deleted = otpRepository.deleteByIds(ids);
+                chunks.increment();
+                deletedRows.increment(deleted);
+                total += deleted;
+
+                if (ids.size() < chunkSize) {
+                    break;
+                }
+                if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pauseMs) >= deadline) {
+                    logger.info("OTP təmizləmə vaxt büdcəsi bitdi, qalanı növbəti dəfə: silindi={}", total);
+                    break;
+                }
+                Thread.sleep(pauseMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("OTP təmizləmə xətası: silindi={}, xəta={}", total, e.getMessage());
+        } finally {
+            runDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            running.set(false);
+        }
+
+        if (total > 0) {
+            logger.info("Köhnə OTP kodları təmizləndi: say={}", total);
+        }
+        return total;
+    }
+}
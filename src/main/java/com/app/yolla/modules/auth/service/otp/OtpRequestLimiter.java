@@ -0,0 +1,128 @@
+package com.app.yolla.modules.auth.service.otp;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * OTP göndərişləri üçün prosesdaxili limit: telefon, IP və qlobal
+ * <p>
+ * Hər açar üçün SlidingWindow saxlanılır; açarlar məhdud ölçülü Caffeine keşindədir və
+ * iki pəncərə müddəti istifadə olunmayanda silinir. Yoxlama bazaya getmir - kampaniya
+ * zamanı gələn abuse trafiki ən ucuz yerdə kəsilir.
+ */
+@Component
+public class OtpRequestLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(OtpRequestLimiter.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${otp.rate-limit.phone.limit:3}")
+    private int phoneLimit;
+
+    @Value("${otp.rate-limit.phone.window-seconds:60}")
+    private long phoneWindowSeconds;
+
+    @Value("${otp.rate-limit.ip.limit:60}")
+    private int ipLimit;
+
+    @Value("${otp.rate-limit.ip.window-seconds:60}")
+    private long ipWindowSeconds;
+
+    @Value("${otp.rate-limit.global.limit:200}")
+    private int globalLimit;
+
+    @Value("${otp.rate-limit.global.window-seconds:1}")
+    private long globalWindowSeconds;
+
+    @Value("${otp.rate-limit.maximum-keys:100000}")
+    private long maximumKeys;
+
+    private Cache<String, SlidingWindow> phoneWindows;
+    private Cache<String, SlidingWindow> ipWindows;
+    private SlidingWindow globalWindow;
+
+    private Counter phoneRejected;
+    private Counter ipRejected;
+    private Counter globalRejected;
+
+    @PostConstruct
+    void init() {
+        phoneWindows = windows(phoneWindowSeconds);
+        ipWindows = windows(ipWindowSeconds);
+        globalWindow = new SlidingWindow(System.currentTimeMillis(), globalWindowSeconds * 1000);
+
+        phoneRejected = rejectedCounter("phone");
+        ipRejected = rejectedCounter("ip");
+        globalRejected = rejectedCounter("global");
+    }
+
+    /**
+     * İcazə verilirsə hər üç limitdən bir yer götürür.
+     * Ən dar açar (telefon) birinci yoxlanır ki, tək nömrəyə hücum IP və qlobal limiti yeməsin.
+     * Sonrakı limit rədd edərsə əvvəl götürülmüş yerlər qaytarılır - IP və ya qlobal axın
+     * başqa istifadəçilərin telefon limitini yeyə bilməz.
+     */
+    public boolean tryAcquire(String phoneNumber, String ipAddress) {
+        return tryAcquire(phoneNumber, ipAddress, System.currentTimeMillis());
+    }
+
+    boolean tryAcquire(String phoneNumber, String ipAddress, long now) {
+        SlidingWindow phone = window(phoneWindows, phoneNumber, now, phoneWindowSeconds);
+        if (!phone.tryAcquire(now, phoneWindowSeconds * 1000, phoneLimit)) {
+            phoneRejected.increment();
+            logger.warn("OTP limiti aşıldı (telefon): telefon={}", phoneNumber);
+            return false;
+        }
+        SlidingWindow ip = ipAddress != null ? window(ipWindows, ipAddress, now, ipWindowSeconds) : null;
+        if (ip != null && !ip.tryAcquire(now, ipWindowSeconds * 1000, ipLimit)) {
+            phone.release(now, phoneWindowSeconds * 1000);
+            ipRejected.increment();
+            logger.warn("OTP limiti aşıldı (IP): ip={}", ipAddress);
+            return false;
+        }
+        if (!globalWindow.tryAcquire(now, globalWindowSeconds * 1000, globalLimit)) {
+            phone.release(now, phoneWindowSeconds * 1000);
+            if (ip != null) {
+                ip.release(now, ipWindowSeconds * 1000);
+            }
+            globalRejected.increment();
+            logger.warn("OTP limiti aşıldı (qlobal)");
+            return false;
+        }
+        return true;
+    }
+
+    private static SlidingWindow window(Cache<String, SlidingWindow> windows, String key, long now,
+                                        long windowSeconds) {
+        return windows.get(key, k -> new SlidingWindow(now, windowSeconds * 1000));
+    }
+
+    private Cache<String, SlidingWindow> windows(long windowSeconds) {
+        // İki pəncərədən sonra əvvəlki say da sıfıra düşür - açarı saxlamağa ehtiyac qalmır
+        return Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(Duration.ofSeconds(windowSeconds * 2))
+                .build();
+    }
+
+    private Counter rejectedCounter(String scope) {
+        return Counter.builder("otp.rate_limit.rejected")
+                .description("Limit səbəbindən rədd edilən OTP sorğuları")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,31 @@
+package com.app.yolla.modules.auth.service.otp;
+
+import java.util.Optional;
+
+import com.app.yolla.modules.auth.entity.OtpCode;
+import com.app.yolla.modules.auth.entity.OtpType;
+
+/**
+ * OTP kodlarının saxlanma yeri
+ * <p>
+ * otp.store=database - hər əməliyyat otp_codes cədvəlinə yazılır (köhnə davranış).
+ * otp.store=memory - kodlar və cəhd sayğacları yaddaşda saxlanır, cədvələ yalnız
+ * partiya ilə audit sətirləri düşür.
+ */
+public interface OtpStore {
+
+    /**
+     * Yeni kodu saxlayır; eyni telefon və növ üçün əvvəlki aktiv kod etibarsız olur
+     */
+    void save(OtpCode otp);
+
+    /**
+     * Cəhd sayını artırır və kodu yoxlayır. Bir telefon + növ üçün atomik icra olunur.
+     */
+    OtpVerification verify(String phoneNumber, OtpType otpType, String otpCode, int maxAttempts);
+
+    /**
+     * Ən son aktiv kod
+     */
+    Optional<OtpCode> findActive(String phoneNumber, OtpType otpType);
+}
@@ -0,0 +1,20 @@
+package com.app.yolla.modules.auth.service.otp;
+
+/**
+ * OTP doğrulamasının nəticəsi
+ */
+public enum OtpVerification {
+
+    VERIFIED,
+
+    /**
+     * Aktiv (istifadə olunmamış) kod yoxdur
+     */
+    NOT_FOUND,
+
+    MAX_ATTEMPTS_EXCEEDED,
+
+    EXPIRED,
+
+    INVALID
+}
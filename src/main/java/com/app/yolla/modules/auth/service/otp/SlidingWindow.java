@@ -0,0 +1,81 @@
+package com.app.yolla.modules.auth.service.otp;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-suz sürüşən pəncərə sayğacı (sliding window counter)
+ * <p>
+ * Cari və əvvəlki sabit pəncərələrin sayları saxlanılır; əvvəlki pəncərə keçən
+ * vaxta mütənasib çəki ilə hesablanır. Vəziyyət dəyişməz obyektdir və CAS ilə
+ * əvəz olunur - rədd edilən sorğu heç nə yazmır.
+ */
+final class SlidingWindow {
+
+    private final AtomicReference<State> state;
+
+    SlidingWindow(long nowMillis, long windowMillis) {
+        this.state = new AtomicReference<>(new State(nowMillis / windowMillis, 0, 0));
+    }
+
+    boolean tryAcquire(long nowMillis, long windowMillis, int limit) {
+        long windowId = nowMillis / windowMillis;
+        double elapsed = (double) (nowMillis % windowMillis) / windowMillis;
+
+        while (true) {
+            State current = state.get();
+            State rolled = current.rollTo(windowId);
+
+            double estimate = rolled.previous * (1 - elapsed) + rolled.current;
+            if (estimate + 1 > limit) {
+                return false;
+            }
+            if (state.compareAndSet(current, new State(windowId, rolled.current + 1, rolled.previous))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * acquiredAtMillis anında götürülmüş yeri geri qaytarır (sonrakı limit rədd etdikdə).
+     * Yer artıq əvvəlki pəncərəyə keçibsə oradan çıxılır; daha köhnədirsə heç nə etmir.
+     */
+    void release(long acquiredAtMillis, long windowMillis) {
+        long acquiredWindowId = acquiredAtMillis / windowMillis;
+        while (true) {
+            State current = state.get();
+            State released;
+            if (current.windowId == acquiredWindowId && current.current > 0) {
+                released = new State(current.windowId, current.current - 1, current.previous);
+            } else if (current.windowId == acquiredWindowId + 1 && current.previous > 0) {
+                released = new State(current.windowId, current.current, current.previous - 1);
+            } else {
+                return;
+            }
+            if (state.compareAndSet(current, released)) {
+                return;
+            }
+        }
+    }
+
+    private static final class State {
+
+        private final long windowId;
+        private final int current;
+        private final int previous;
+
+        private State(long windowId, int current, int previous) {
+            this.windowId = windowId;
+            this.current = current;
+            this.previous = previous;
+        }
+
+        private State rollTo(long targetWindowId) {
+            if (targetWindowId == windowId) {
+                return this;
+            }
+            // Bir pəncərə keçibsə cari sayı əvvəlkiyə düşür, daha çox keçibsə hər ikisi sıfırlanır
+            int carried = targetWindowId == windowId + 1 ? current : 0;
+            return new State(targetWindowId, 0, carried);
+        }
+    }
+}
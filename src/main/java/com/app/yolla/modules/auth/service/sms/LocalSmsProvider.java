@@ -0,0 +1,49 @@
+package com.app.yolla.modules.auth.service.sms;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Yerli SMS provayderə göndərir (Azərbaycan provayderləri)
+ * <p>
+ * Yerli aqreqatorların çoxu bir sorğuda bir neçə alıcı qəbul edir - toplu endpoint qoşulana
+ * qədər sendBatch mesajları tək-tək göndərir.
+ */
+@Component
+public class LocalSmsProvider implements SmsProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalSmsProvider.class);
+
+    @Value("${sms.local.max-concurrency:5}")
+    private int maxConcurrency;
+
+    @Value("${sms.local.batch-size:1}")
+    private int batchSize;
+
+    @Override
+    public String getName() {
+        return "local";
+    }
+
+    @Override
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public int getMaxBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public void send(SmsMessage message) {
+        logger.info("Yerli provayder ilə SMS göndərilir...");
+
+        // Burada yerli SMS provayder API-sini istifadə edəcəksiniz
+        // Məsələn: Nar, Azercell, Bakcell API-ları
+
+        logger.info("Yerli SMS uğurla göndərildi: telefon={}", message.getPhoneNumber());
+    }
+}
@@ -0,0 +1,34 @@
+package com.app.yolla.modules.auth.service.sms;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Test rejimi - SMS-i konsola yazır
+ */
+@Component
+public class LoggingSmsProvider implements SmsProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingSmsProvider.class);
+
+    @Override
+    public String getName() {
+        return "test";
+    }
+
+    @Override
+    public int getMaxConcurrency() {
+        return 4;
+    }
+
+    @Override
+    public void send(SmsMessage message) {
+        logger.info("=== TEST SMS ===");
+        logger.info("Telefon: {}", message.getPhoneNumber());
+        logger.info("Mesaj: {}", message.getText());
+        logger.info("================");
+
+        // Test rejimində həmişə uğurlu sayırıq
+    }
+}
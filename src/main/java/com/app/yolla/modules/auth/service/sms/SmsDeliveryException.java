@@ -0,0 +1,11 @@
+package com.app.yolla.modules.auth.service.sms;
+
+/**
+ * Provayderin mesajı qəbul etmədiyini bildirir - dispatcher təkrar cəhd edir
+ */
+public class SmsDeliveryException extends RuntimeException {
+
+    public SmsDeliveryException(String message) {
+        super(message);
+    }
+}
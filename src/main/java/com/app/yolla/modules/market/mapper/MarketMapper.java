@@ -0,0 +1,15 @@
+package com.app.yolla.modules.market.mapper;
+
+import org.mapstruct.Mapper;
+
+import com.app.yolla.modules.market.dto.MarketDTO;
+import com.app.yolla.modules.market.entity.Market;
+import com.app.yolla.shared.mapping.MappingConfig;
+
+@Mapper(config = MappingConfig.class)
+public interface MarketMapper {
+
+	MarketDTO toDTO(Market market);
+
+	Market toEntity(MarketDTO dto);
+}
@@ -4,6 +4,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.app.yolla.modules.market.dto.MarketAddRequest;
@@ -23,6 +24,9 @@ public class MarketService {
 	@Autowired
 	private MarketRepository repository;
 
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
 
 	public MarketDTO convertToDTO(Market market) {
 		return new MarketDTO(market.getId(), market.getName(), market.getAddress());
@@ -55,6 +59,8 @@ public class MarketService {
 			m.setAddress(req.getAddress());
 		}
 		repository.save(m);
+		// İstifadəçi keşi marketin adını və ünvanını saxlayır - commit-dən sonra təmizlənir
+		eventPublisher.publishEvent(new MarketUpdatedEvent(m.getId()));
 		return convertToDTO(m);
 	}
 
@@ -0,0 +1,19 @@
+package com.app.yolla.modules.market.service;
+
+import java.util.UUID;
+
+/**
+ * Marketin adı və ya ünvanı dəyişdi - marketi özündə saxlayan keşlər təmizlənməlidir
+ */
+public class MarketUpdatedEvent {
+
+	private final UUID marketId;
+
+	public MarketUpdatedEvent(UUID marketId) {
+		this.marketId = marketId;
+	}
+
+	public UUID getMarketId() {
+		return marketId;
+	}
+}
@@ -1,14 +1,17 @@
 package com.app.yolla.modules.order.controller;
 
+import java.time.LocalDate;
 import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,15 +20,31 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.app.yolla.modules.order.dto.OrderBulkStatusRequest;
+import com.app.yolla.modules.order.dto.OrderBulkStatusResponse;
+import com.app.yolla.modules.order.dto.OrderClaimResponse;
 import com.app.yolla.modules.order.dto.OrderCreateRequest;
+import com.app.yolla.modules.order.dto.OrderCursorResponse;
 import com.app.yolla.modules.order.dto.OrderDTO;
+import com.app.yolla.modules.order.dto.OrderIntakeDTO;
 import com.app.yolla.modules.order.dto.OrderResponse;
+import com.app.yolla.modules.order.dto.OrderStatusRequest;
 import com.app.yolla.modules.order.dto.OrderUpdateRequest;
+import com.app.yolla.modules.order.entity.ExportFormat;
+import com.app.yolla.modules.order.service.OrderExportService;
+import com.app.yolla.modules.order.service.OrderIntakeService;
 import com.app.yolla.modules.order.service.OrderService;
+import com.app.yolla.modules.order.service.OrderStreamBroadcaster;
+import com.app.yolla.modules.user.service.UserService;
 import com.app.yolla.shared.dto.ApiResponse;
+import com.app.yolla.shared.exception.ResourceNotFoundException;
+import com.app.yolla.shared.security.CurrentUser;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -43,6 +62,18 @@ public class OrderController {
     @Autowired
 	private OrderService service;
 
+	@Autowired
+	private OrderIntakeService intakeService;
+
+	@Autowired
+	private OrderExportService exportService;
+
+	@Autowired
+	private OrderStreamBroadcaster streamBroadcaster;
+
+	@Autowired
+	private UserService userService;
+
     @PostMapping
 	@PreAuthorize("hasRole('ADMIN') or hasRole('CUSTOMER')")
 	@Operation(summary = "Yeni sifariş yarat", description = "İstifadəçidən alınan məlumatlara əsasən yeni sifariş yaradılır. Bu əməliyyatı ADMIN və ya CUSTOMER rolu olan istifadəçilər həyata keçirə bilər.")
@@ -58,6 +89,40 @@ public class OrderController {
 		}
 	}
 
+	@PostMapping(params = "async=true")
+	@PreAuthorize("hasRole('ADMIN') or hasRole('CUSTOMER')")
+	@Operation(summary = "Sifarişi asinxron qəbul et", description = "Sorğu yoxlanılır və növbəyə yazılır, cavabda qəbul id-si və PENDING_INTAKE statusu qaytarılır. Nəticəni /orders/intake/{id} ilə izləmək olar.")
+	public ResponseEntity<ApiResponse<OrderIntakeDTO>> createdOrderAsync(@Valid @RequestBody OrderCreateRequest request) {
+		try {
+			OrderIntakeDTO intake = intakeService.submit(request);
+			ApiResponse<OrderIntakeDTO> response = new ApiResponse<>(true, "Sifariş qəbul edildi", intake);
+			return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+		} catch (Exception e) {
+			ApiResponse<OrderIntakeDTO> response = new ApiResponse<>(false,
+					"Sifariş qəbul edilərkən xəta baş verdi: " + e.getMessage(), null);
+			return ResponseEntity.badRequest().body(response);
+		}
+	}
+
+	@GetMapping(path = "/intake/{id}")
+	@PreAuthorize("hasRole('ADMIN') or hasRole('CUSTOMER')")
+	@Operation(summary = "Asinxron qəbulun statusu", description = "Qəbul id-si üzrə sifarişin vəziyyətini qaytarır: PENDING_INTAKE, COMPLETED (sifariş id-si ilə) və ya FAILED (səbəb ilə). Naməlum və ya başqa istifadəçiyə aid id üçün 404 qaytarılır.")
+	public ResponseEntity<ApiResponse<OrderIntakeDTO>> getIntakeStatus(
+			@Parameter(description = "Qəbul id-si") @PathVariable("id") UUID id) {
+		try {
+			OrderIntakeDTO intake = intakeService.getStatus(id);
+			ApiResponse<OrderIntakeDTO> response = new ApiResponse<>(true, "Qəbul statusu", intake);
+			return ResponseEntity.ok(response);
+		} catch (ResourceNotFoundException e) {
+			ApiResponse<OrderIntakeDTO> response = new ApiResponse<>(false, e.getMessage(), null);
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+		} catch (Exception e) {
+			ApiResponse<OrderIntakeDTO> response = new ApiResponse<>(false,
+					"Qəbul statusu gətirilərkən xəta baş verdi: " + e.getMessage(), null);
+			return ResponseEntity.badRequest().body(response);
+		}
+	}
+
 	@GetMapping(path = "/begin/{begin}/length/{length}")
 	@PreAuthorize("hasRole('ADMIN') or hasRole('CUSTOMER')")
 	@Operation(summary = "Sifarişləri siyahıla", description = "Verilmiş aralıqda bütün sifarişləri gətirir. Bu əməliyyatı ADMIN və ya CUSTOMER rolu olan istifadəçilər görə bilər.")
@@ -75,6 +140,103 @@ public class OrderController {
 		}
 	}
 
+	@GetMapping(path = "/cursor")
+	@PreAuthorize("hasRole('ADMIN') or hasRole('CUSTOMER')")
+	@Operation(summary = "Sifarişləri kursorla siyahıla", description = "Sifarişləri (createdAt, id) üzrə kursorla, ən yenidən köhnəyə doğru gətirir. Cavabdakı nextCursor növbəti səhifə üçün göndərilir; son səhifədə boşdur.")
+	public ResponseEntity<ApiResponse<OrderCursorResponse>> getPage(
+			@Parameter(description = "Əvvəlki cavabdan alınan kursor") @RequestParam(name = "cursor", required = false) String cursor,
+			@Parameter(description = "Gətiriləcək element sayı (maks. 100)") @RequestParam(name = "limit", required = false) Integer limit) {
+		try {
+			OrderCursorResponse resp = service.getPage(cursor, limit);
+			ApiResponse<OrderCursorResponse> response = new ApiResponse<>(true, "Sifarisler", resp);
+			return ResponseEntity.ok(response);
+		} catch (Exception e) {
+			ApiResponse<OrderCursorResponse> response = new ApiResponse<>(false,
+					"Sifarisler getirilerken xəta baş verdi: " + e.getMessage(), null);
+			return ResponseEntity.badRequest().body(response);
+		}
+	}
+
+	@GetMapping(path = "/export")
+	@PreAuthorize("hasRole('ADMIN') or hasRole('PREPARER')")
+	@Operation(summary = "Sifarişləri ixrac et", description = "Marketin verilmiş tarix aralığındakı sifarişlərini NDJSON və ya CSV formatında axınla qaytarır. ADMIN istənilən marketi, PREPARER yalnız öz marketini ixrac edə bilər.")
+	public ResponseEntity<?> export(
+			@Parameter(description = "Marketin ID-si") @RequestParam("marketId") UUID marketId,
+			@Parameter(description = "Başlanğıc tarixi (daxil)") @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@Parameter(description = "Son tarix (daxil)") @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@Parameter(description = "Format: NDJSON və ya CSV") @RequestParam(name = "format", defaultValue = "NDJSON") ExportFormat format) {
+		try {
+			exportService.checkAccess(marketId, from, to);
+		} catch (Exception e) {
+			ApiResponse<String> response = new ApiResponse<>(false,
+					"Sifarişlər ixrac edilərkən xəta baş verdi: " + e.getMessage(), null);
+			return ResponseEntity.badRequest().body(response);
+		}
+
+		StreamingResponseBody body = out -> exportService.export(marketId, from, to, format, out);
+		String fileName = "orders-" + marketId + "-" + from + "-" + to + "." + format.getExtension();
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(format.getContentType()))
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+				.body(body);
+	}
+
+	@GetMapping(path = "/stream")
+	@PreAuthorize("hasRole('PREPARER')")
+	@Operation(summary = "Marketin sifariş axını (SSE)", description = "Hazırlayıcının marketində yaradılan, təsdiqlənən və ləğv olunan sifarişləri Server-Sent Events ilə göndərir. Yenidən qoşulanda Last-Event-ID header-i ilə buraxılmış hadisələr alınır; 'reset' hadisəsi gələrsə siyahı yenidən yüklənməlidir.")
+	public ResponseEntity<?> stream(
+			@Parameter(description = "Son alınmış hadisənin id-si") @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+		CurrentUser currentUser;
+		try {
+			currentUser = userService.currentUser();
+		} catch (Exception e) {
+			ApiResponse<String> response = new ApiResponse<>(false,
+					"Sifariş axını açılarkən xəta baş verdi: " + e.getMessage(), null);
+			return ResponseEntity.badRequest().body(response);
+		}
+		if (currentUser.getMarketId() == null) {
+			ApiResponse<String> response = new ApiResponse<>(false,
+					"Sifariş axını açılarkən xəta baş verdi: istifadəçi heç bir marketə bağlı deyil", null);
+			return ResponseEntity.badRequest().body(response);
+		}
+		return ResponseEntity.ok(streamBroadcaster.subscribe(currentUser.getMarketId(), lastEventId));
+	}
+
+	@PostMapping(path = "/claims")
+	@PreAuthorize("hasRole('PREPARER')")
+	@Operation(summary = "Hazırlamaq üçün sifariş götür", description = "Hazırlayıcının marketindəki ən köhnə CONFIRMED sifarişlərdən limit qədərini ona müvəqqəti (lease) təhkim edir. Başqa hazırlayıcının götürdüyü sifarişlər verilmir; təkrar sorğu mövcud götürmələrin müddətini uzadır.")
+	public ResponseEntity<ApiResponse<OrderClaimResponse>> claimOrders(
+			@Parameter(description = "Götürüləcək sifariş sayı") @RequestParam(name = "limit", required = false) Integer limit) {
+		try {
+			CurrentUser currentUser = userService.currentUser();
+			OrderClaimResponse claims = service.claimOrders(currentUser, limit);
+			ApiResponse<OrderClaimResponse> response = new ApiResponse<>(true, "Sifarişlər götürüldü", claims);
+			return ResponseEntity.ok(response);
+		} catch (Exception e) {
+			ApiResponse<OrderClaimResponse> response = new ApiResponse<>(false,
+					"Sifarişlər götürülərkən xəta baş verdi: " + e.getMessage(), null);
+			return ResponseEntity.badRequest().body(response);
+		}
+	}
+
+	@PutMapping(path = "/bulk/status")
+	@PreAuthorize("hasRole('ADMIN') or hasRole('PREPARER') or hasRole('CUSTOMER')")
+	@Operation(summary = "Sifarişlərin statusunu toplu dəyiş", description = "Verilmiş sifarişləri bir əməliyyatla eyni statusa (məsələn, SHIPPED, DELIVERED və ya CANCELLED) keçirir. Keçid qaydaları və market aidiyyəti hər sifariş üçün yoxlanılır; cavabda hər sifarişin nəticəsi qaytarılır. Rolların icazələri PUT /orders/{id}/status ilə eynidir.")
+	public ResponseEntity<ApiResponse<OrderBulkStatusResponse>> bulkStatus(
+			@Valid @RequestBody OrderBulkStatusRequest request) {
+		try {
+			CurrentUser currentUser = userService.currentUser();
+			OrderBulkStatusResponse result = service.bulkTransition(currentUser, request);
+			ApiResponse<OrderBulkStatusResponse> response = new ApiResponse<>(true,
+					"Sifarişlərin statusu dəyişdirildi: " + result.getUpdated() + "/" + result.getResults().size(), result);
+			return ResponseEntity.ok(response);
+		} catch (Exception e) {
+			ApiResponse<OrderBulkStatusResponse> response = new ApiResponse<>(false,
+					"Sifarişlərin statusu dəyişdirilərkən xəta baş verdi: " + e.getMessage(), null);
+			return ResponseEntity.badRequest().body(response);
+		}
+	}
+
 	@DeleteMapping(path = "/{id}")
 	@PreAuthorize("hasRole('ADMIN') or hasRole('CUSTOMER')")
 	@Operation(summary = "Sifarişi sil", description = "Verilmiş ID-yə uyğun sifarişi silir. Bu əməliyyatı yalnız ADMIN və ya CUSTOMER rolu olan istifadəçilər həyata keçirə bilər.")
@@ -108,15 +270,32 @@ public class OrderController {
 		}
 	}
 
+	@PutMapping("/{id}/status")
+	@PreAuthorize("hasRole('ADMIN') or hasRole('PREPARER') or hasRole('CUSTOMER')")
+	@Operation(summary = "Sifarişin statusunu dəyiş", description = "Sifarişi keçid qaydalarının icazə verdiyi statusa keçirir: PENDING -> CONFIRMED (ADMIN, sahibi olan CUSTOMER), CONFIRMED -> SHIPPED (ADMIN, marketin PREPARER-i), SHIPPED -> DELIVERED (ADMIN, marketin PREPARER-i), PENDING/CONFIRMED -> CANCELLED (ADMIN, sahibi olan CUSTOMER).")
+	public ResponseEntity<ApiResponse<OrderDTO>> changeStatus(
+			@Parameter(description = "Sifarişin ID-si") @PathVariable("id") UUID id,
+			@Valid @RequestBody OrderStatusRequest request) {
+		try {
+			CurrentUser currentUser = userService.currentUser();
+			OrderDTO updatedOrder = service.changeStatus(id, request.getStatus(), currentUser);
+			ApiResponse<OrderDTO> response = new ApiResponse<>(true, "Sifarişin statusu dəyişdirildi", updatedOrder);
+			return ResponseEntity.ok(response);
+		} catch (Exception e) {
+			ApiResponse<OrderDTO> response = new ApiResponse<>(false,
+					"Sifarişin statusu dəyişdirilərkən xəta baş verdi: " + e.getMessage(), null);
+			return ResponseEntity.badRequest().body(response);
+		}
+	}
+
 	@PutMapping("/{id}/confirm")
 	@PreAuthorize("hasRole('ADMIN') or hasRole('CUSTOMER')")
 	@Operation(summary = "Sifarişi təsdiqlə", description = "Verilmiş ID-yə uyğun sifarişi təsdiqləyir. Yalnız uyğun statusda olan sifarişlər təsdiqlənə bilər. Bu əməliyyatı ADMIN və ya CUSTOMER rolu olan istifadəçilər yerinə yetirə bilər.")
 	public ResponseEntity<ApiResponse<OrderDTO>> confirmOrder(
-			@Parameter(description = "Təsdiqlənəcək sifarişin ID-si") @PathVariable("id") UUID id,
-			Authentication authentication) {
-		String currentUserPhone = authentication.getName();
+			@Parameter(description = "Təsdiqlənəcək sifarişin ID-si") @PathVariable("id") UUID id) {
 		try {
-			OrderDTO updatedOrder = service.confirmOrder(id, currentUserPhone);
+			CurrentUser currentUser = userService.currentUser();
+			OrderDTO updatedOrder = service.confirmOrder(id, currentUser);
 			ApiResponse<OrderDTO> response = new ApiResponse<>(true, "Sifariş təsdiqləndi", updatedOrder);
 			return ResponseEntity.ok(response);
 		} catch (Exception e) {
@@ -130,11 +309,10 @@ public class OrderController {
 	@PreAuthorize("hasRole('ADMIN') or hasRole('PREPARER')")
 	@Operation(summary = "Sifarişi göndər", description = "Verilmiş ID-yə uyğun sifarişi 'shipped' statusuna keçirir. Bu əməliyyatı yalnız ADMIN və ya PREPARER rolu olan istifadəçilər edə bilər.")
 	public ResponseEntity<ApiResponse<OrderDTO>> shipOrder(
-			@Parameter(description = "Göndəriləcək sifarişin ID-si") @PathVariable("id") UUID id,
-			Authentication authentication) {
-		String currentUserPhone = authentication.getName();
+			@Parameter(description = "Göndəriləcək sifarişin ID-si") @PathVariable("id") UUID id) {
 		try {
-			OrderDTO updatedOrder = service.shipOrder(id, currentUserPhone);
+			CurrentUser currentUser = userService.currentUser();
+			OrderDTO updatedOrder = service.shipOrder(id, currentUser);
 			ApiResponse<OrderDTO> response = new ApiResponse<>(true, "Sifariş göndərildi (shipped)", updatedOrder);
 			return ResponseEntity.ok(response);
 		} catch (Exception e) {
@@ -148,11 +326,10 @@ public class OrderController {
 	@PreAuthorize("hasRole('ADMIN') or hasRole('PREPARER')")
 	@Operation(summary = "Sifarişi çatdır", description = "Verilmiş ID-yə uyğun sifarişi 'delivered' statusuna keçirir. Bu əməliyyatı yalnız ADMIN və ya PREPARER rolu olan istifadəçilər edə bilər.")
 	public ResponseEntity<ApiResponse<OrderDTO>> deliverOrder(
-			@Parameter(description = "Çatdırılacaq sifarişin ID-si") @PathVariable("id") UUID id,
-			Authentication authentication) {
-		String currentUserPhone = authentication.getName();
+			@Parameter(description = "Çatdırılacaq sifarişin ID-si") @PathVariable("id") UUID id) {
 		try {
-			OrderDTO updatedOrder = service.deliverOrder(id, currentUserPhone);
+			CurrentUser currentUser = userService.currentUser();
+			OrderDTO updatedOrder = service.deliverOrder(id, currentUser);
 			ApiResponse<OrderDTO> response = new ApiResponse<>(true, "Sifariş çatdırıldı (delivered)", updatedOrder);
 			return ResponseEntity.ok(response);
 		} catch (Exception e) {
@@ -166,11 +343,10 @@ public class OrderController {
 	@PreAuthorize("hasRole('ADMIN') or hasRole('CUSTOMER')")
 	@Operation(summary = "Sifarişi ləğv et", description = "Verilmiş ID-yə uyğun sifarişi 'cancelled' statusuna keçirir. Yalnız müəyyən statuslarda ləğv edilə bilər. Bu əməliyyatı yalnız ADMIN və ya CUSTOMER rolu olan istifadəçilər yerinə yetirə bilər.")
 	public ResponseEntity<ApiResponse<OrderDTO>> cancelOrder(
-			@Parameter(description = "Ləğv ediləcək sifarişin ID-si") @PathVariable("id") UUID id,
-			Authentication authentication) {
-		String currentUserPhone = authentication.getName();
+			@Parameter(description = "Ləğv ediləcək sifarişin ID-si") @PathVariable("id") UUID id) {
 		try {
-			OrderDTO updatedOrder = service.cancelOrder(id, currentUserPhone);
+			CurrentUser currentUser = userService.currentUser();
+			OrderDTO updatedOrder = service.cancelOrder(id, currentUser);
 			ApiResponse<OrderDTO> response = new ApiResponse<>(true, "Sifariş ləğv olundu (cancelled)", updatedOrder);
 			return ResponseEntity.ok(response);
 		} catch (Exception e) {
@@ -0,0 +1,29 @@
+package com.app.yolla.modules.order.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.app.yolla.modules.order.entity.OrderStatus;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * PUT /orders/bulk/status - bir neçə sifarişin eyni statusa keçirilməsi
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBulkStatusRequest {
+
+	@NotEmpty(message = "Sifariş siyahısı boş ola bilməz")
+	@Size(max = 500, message = "Bir sorğuda ən çox 500 sifariş ola bilər")
+	private List<UUID> orderIds;
+
+	@NotNull(message = "Status boş ola bilməz")
+	private OrderStatus status;
+}
@@ -0,0 +1,20 @@
+package com.app.yolla.modules.order.dto;
+
+import java.util.List;
+
+import com.app.yolla.modules.order.entity.OrderStatus;
+
+import lombok.Data;
+
+@Data
+public class OrderBulkStatusResponse {
+
+	private OrderStatus status;
+	private int updated;
+	private int failed;
+
+	/**
+	 * Sorğudakı sıra ilə hər sifarişin nəticəsi
+	 */
+	private List<OrderBulkStatusResult> results;
+}
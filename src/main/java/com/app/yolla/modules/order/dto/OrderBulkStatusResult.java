@@ -0,0 +1,24 @@
+package com.app.yolla.modules.order.dto;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Toplu status keçidində bir sifarişin nəticəsi
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBulkStatusResult {
+
+	private UUID orderId;
+	private boolean success;
+
+	/**
+	 * Uğursuzluğun səbəbi; uğurlu nəticədə null
+	 */
+	private String message;
+}
@@ -0,0 +1,20 @@
+package com.app.yolla.modules.order.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class OrderClaimResponse {
+
+	/**
+	 * Hazırlayıcıda olan bütün aktiv götürmələr (əvvəlkilər + yeni götürülənlər)
+	 */
+	private List<OrderDTO> list;
+
+	/**
+	 * Yeni götürülən sifarişlərin götürmə müddətinin bitmə vaxtı
+	 */
+	private LocalDateTime leaseExpiresAt;
+}
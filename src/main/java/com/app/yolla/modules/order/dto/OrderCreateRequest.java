@@ -3,8 +3,6 @@ package com.app.yolla.modules.order.dto;
 import java.util.List;
 import java.util.UUID;
 
-import com.app.yolla.modules.order.entity.OrderStatus;
-
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
@@ -18,10 +16,6 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class OrderCreateRequest {
 
-
-	@NotNull(message = "Sifariş statusu boş ola bilməz")
-	private OrderStatus status = OrderStatus.PENDING;
-
 	@NotBlank(message = "Çatdırılma ünvanı boş ola bilməz")
 	@Size(max = 255, message = "Çatdırılma ünvanı 255 simvoldan uzun ola bilməz")
 	private String deliveryAddress;
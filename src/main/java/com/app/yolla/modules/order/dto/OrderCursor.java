@@ -0,0 +1,46 @@
+package com.app.yolla.modules.order.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.app.yolla.shared.exception.MyException;
+
+/**
+ * Keyset səhifələmə kursoru - (createdAt, id) cütü.
+ * Müştəriyə qeyri-şəffaf Base64 sətri kimi verilir.
+ */
+public final class OrderCursor {
+
+	private final LocalDateTime createdAt;
+	private final UUID id;
+
+	public OrderCursor(LocalDateTime createdAt, UUID id) {
+		this.createdAt = createdAt;
+		this.id = id;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public UUID getId() {
+		return id;
+	}
+
+	public String encode() {
+		String raw = createdAt + "|" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static OrderCursor decode(String cursor) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int sep = raw.indexOf('|');
+			return new OrderCursor(LocalDateTime.parse(raw.substring(0, sep)), UUID.fromString(raw.substring(sep + 1)));
+		} catch (RuntimeException e) {
+			throw new MyException("Kursor etibarsızdır");
+		}
+	}
+}
@@ -0,0 +1,15 @@
+package com.app.yolla.modules.order.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class OrderCursorResponse {
+	private List<OrderDTO> list;
+
+	/**
+	 * Növbəti səhifə üçün kursor; son səhifədə null
+	 */
+	private String nextCursor;
+}
@@ -0,0 +1,29 @@
+package com.app.yolla.modules.order.dto;
+
+import java.util.UUID;
+
+import com.app.yolla.modules.order.entity.OrderIntakeStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderIntakeDTO {
+
+	private UUID id;
+
+	private OrderIntakeStatus status;
+
+	/**
+	 * Yaradılmış sifarişin id-si (status COMPLETED olduqda)
+	 */
+	private UUID orderId;
+
+	/**
+	 * Xəta mesajı (status FAILED olduqda)
+	 */
+	private String error;
+}
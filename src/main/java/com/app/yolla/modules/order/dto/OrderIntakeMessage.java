@@ -0,0 +1,22 @@
+package com.app.yolla.modules.order.dto;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Növbəyə göndərilən sifariş sorğusu
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderIntakeMessage {
+
+	private UUID intakeId;
+
+	private String userPhone;
+
+	private OrderCreateRequest request;
+}
@@ -0,0 +1,31 @@
+package com.app.yolla.modules.order.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.app.yolla.modules.order.entity.OrderEventType;
+import com.app.yolla.modules.order.entity.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * orders.events exchange-inə göndərilən hadisə
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLifecycleEvent {
+
+	private UUID eventId;
+	private OrderEventType type;
+	private UUID orderId;
+	private UUID marketId;
+	private UUID userId;
+	private OrderStatus status;
+	private OrderStatus previousStatus;
+	private BigDecimal totalAmount;
+	private LocalDateTime occurredAt;
+}
@@ -0,0 +1,20 @@
+package com.app.yolla.modules.order.dto;
+
+import com.app.yolla.modules.order.entity.OrderStatus;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * PUT /orders/{id}/status - sifarişin yeni statusu
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusRequest {
+
+	@NotNull(message = "Status boş ola bilməz")
+	private OrderStatus status;
+}
@@ -0,0 +1,27 @@
+package com.app.yolla.modules.order.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.app.yolla.modules.order.entity.OrderEventType;
+import com.app.yolla.modules.order.entity.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * GET /orders/stream ilə göndərilən yığcam hadisə - detallar lazım olduqda sifariş ayrıca oxunur
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStreamEvent {
+
+	private UUID orderId;
+	private OrderEventType type;
+	private OrderStatus status;
+	private BigDecimal totalAmount;
+	private LocalDateTime occurredAt;
+}
@@ -21,9 +21,12 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -33,18 +36,20 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+		@Index(name = "idx_orders_user_created_id", columnList = "user_id, created_at, id"),
+		@Index(name = "idx_orders_market_status_created", columnList = "market_id, status, created_at") })
 @EntityListeners(AuditingEntityListener.class) // Avtomatik tarix yazmaq üçün
 public class Order {
 	@Id
-	@GeneratedValue(generator = "uuid2")
-	@GenericGenerator(name = "uuid2", strategy = "org.hibernate.id.UUIDGenerator")
-	@Column(name = "id", columnDefinition = "VARCHAR(36)", nullable = false, updatable = false)
-	@JdbcTypeCode(SqlTypes.CHAR)
+	@GeneratedValue(generator = "uuid7")
+	@GenericGenerator(name = "uuid7", strategy = "com.app.yolla.shared.persistence.TimeOrderedUuidGenerator")
+	@Column(name = "id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
+	@JdbcTypeCode(SqlTypes.BINARY)
 	private UUID id;
 
-	@Column(name = "user_id", columnDefinition = "VARCHAR(36)", nullable = false)
-	@JdbcTypeCode(SqlTypes.CHAR)
+	@Column(name = "user_id", columnDefinition = "BINARY(16)", nullable = false)
+	@JdbcTypeCode(SqlTypes.BINARY)
 	private UUID userId;
 
 	@Enumerated(EnumType.STRING)
@@ -55,6 +60,7 @@ public class Order {
 	private BigDecimal totalAmount;
 
 	@CreationTimestamp
+	@Column(name = "created_at")
 	private LocalDateTime createdAt;
 
 	private String notes;
@@ -68,7 +74,28 @@ public class Order {
 	private LocalDateTime deliveryTime;
 
 	@ManyToOne
+	@JoinColumn(name = "market_id", columnDefinition = "BINARY(16)")
 	private Market market;
 
+	/**
+	 * Sifarişi hazırlamaq üçün götürmüş PREPARER (POST /orders/claims)
+	 */
+	@Column(name = "claimed_by", columnDefinition = "BINARY(16)")
+	@JdbcTypeCode(SqlTypes.BINARY)
+	private UUID claimedBy;
+
+	/**
+	 * Götürmənin bitmə vaxtı - bundan sonra sifariş başqa hazırlayıcıya verilə bilər
+	 */
+	@Column(name = "claim_expires_at")
+	private LocalDateTime claimExpiresAt;
+
+	/**
+	 * Optimistik kilid - paralel yeniləmə bir-birinin üzərinə yazmır, gec gələn təkrar olunur
+	 */
+	@Version
+	@Column(name = "version", nullable = false)
+	private Long version;
+
 
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.app.yolla.modules.order.entity;
+
+/**
+ * Sifarişin həyat dövrü hadisələri - RabbitMQ routing key-i "order.<növ>" formasındadır
+ */
+public enum OrderEventType {
+
+	CREATED,
+	UPDATED,
+	CONFIRMED,
+	SHIPPED,
+	DELIVERED,
+	CANCELLED,
+	DELETED;
+
+	public String routingKey() {
+		return "order." + name().toLowerCase();
+	}
+}
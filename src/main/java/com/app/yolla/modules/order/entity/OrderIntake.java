@@ -0,0 +1,55 @@
+package com.app.yolla.modules.order.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Asinxron sifariş qəbulunun nəticəsi.
+ * <p>
+ * Sətir sorğu qəbul edilərkən, mesaj növbəyə göndərilməzdən əvvəl PENDING_INTAKE statusu ilə yazılır
+ * və id müştəriyə qaytarılır. Konsumer sətri kilidləyib nəticəni (sifariş id-si və ya xəta) yazır;
+ * artıq PENDING_INTAKE olmayan sətir təkrar çatdırılmada dəyişdirilmir.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+
+@Entity
+@Table(name = "order_intakes")
+public class OrderIntake {
+
+	@Id
+	@Column(name = "id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
+	@JdbcTypeCode(SqlTypes.BINARY)
+	private UUID id;
+
+	@Column(name = "user_phone", nullable = false)
+	private String userPhone;
+
+	@Column(name = "order_id", columnDefinition = "BINARY(16)")
+	@JdbcTypeCode(SqlTypes.BINARY)
+	private UUID orderId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private OrderIntakeStatus status;
+
+	@Column(length = 500)
+	private String error;
+
+	@Column(name = "completed_at")
+	private LocalDateTime completedAt;
+}
@@ -0,0 +1,11 @@
+package com.app.yolla.modules.order.entity;
+
+/**
+ * Asinxron qəbul edilmiş sifariş sorğusunun vəziyyəti
+ */
+public enum OrderIntakeStatus {
+
+	PENDING_INTAKE,
+	COMPLETED,
+	FAILED
+}
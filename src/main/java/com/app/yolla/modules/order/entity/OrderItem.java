@@ -16,6 +16,7 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -28,26 +29,40 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 
 @Entity
-@Table(name = "order_items")
+@Table(name = "order_items", indexes = @Index(name = "idx_order_items_stock_deferred", columnList = "stock_deferred"))
 @EntityListeners(AuditingEntityListener.class)
 public class OrderItem {
 
 	@Id
-	@GeneratedValue(generator = "uuid2")
-	@GenericGenerator(name = "uuid2", strategy = "org.hibernate.id.UUIDGenerator")
-	@Column(name = "id", columnDefinition = "VARCHAR(36)", nullable = false, updatable = false)
-	@JdbcTypeCode(SqlTypes.CHAR)
+	@GeneratedValue(generator = "uuid7")
+	@GenericGenerator(name = "uuid7", strategy = "com.app.yolla.shared.persistence.TimeOrderedUuidGenerator")
+	@Column(name = "id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
+	@JdbcTypeCode(SqlTypes.BINARY)
 	private UUID id;
 
 	@ManyToOne(fetch = FetchType.LAZY)
-	@JoinColumn(name = "order_id")
+	@JoinColumn(name = "order_id", columnDefinition = "BINARY(16)")
 	private Order order;
 
 	@ManyToOne(fetch = FetchType.LAZY)
-	@JoinColumn(name = "product_id")
+	@JoinColumn(name = "product_id", columnDefinition = "BINARY(16)")
 	private Product product;
 
 	private Integer quantity;
 
 	private BigDecimal price;
+
+	/**
+	 * İsti məhsullar üçün hələ products cədvəlinə köçürülməmiş stok dəyişikliyi.
+	 * Yalnız nisbi UPDATE sorğuları ilə dəyişdirilir (bax OrderItemRepository).
+	 */
+	@Column(name = "stock_deferred", nullable = false, updatable = false)
+	private Integer stockDeferred = 0;
+
+	/**
+	 * Stok isti stok sayğacında rezerv olunubsa true - ləğv stoku eyni yolla qaytarır.
+	 * stock_deferred flush-dan sonra sıfırlandığı üçün yol ayrıca saxlanılır.
+	 */
+	@Column(name = "stock_hot", nullable = false, updatable = false)
+	private Boolean stockHot = false;
 }
@@ -0,0 +1,59 @@
+package com.app.yolla.modules.order.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Transactional outbox sətri.
+ * <p>
+ * Sifarişin vəziyyəti dəyişən tranzaksiyada yazılır; OrderOutboxRelay sonradan RabbitMQ-ya
+ * göndərib published_at-i doldurur. id UUIDv7-dir və mesajın messageId-si kimi gedir -
+ * konsumerlər təkrar çatdırılmanı onunla tanıyır.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+
+@Entity
+@Table(name = "order_outbox", indexes = @Index(name = "idx_order_outbox_published_id", columnList = "published_at, id"))
+public class OrderOutboxEvent {
+
+	@Id
+	@Column(name = "id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
+	@JdbcTypeCode(SqlTypes.BINARY)
+	private UUID id;
+
+	@Column(name = "order_id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
+	@JdbcTypeCode(SqlTypes.BINARY)
+	private UUID orderId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "event_type", length = 20, nullable = false, updatable = false)
+	private OrderEventType eventType;
+
+	/**
+	 * OrderLifecycleEvent JSON-u - hadisə anındakı vəziyyətin surəti
+	 */
+	@Column(name = "payload", columnDefinition = "TEXT", nullable = false, updatable = false)
+	private String payload;
+
+	@Column(name = "created_at", nullable = false, updatable = false)
+	private LocalDateTime createdAt;
+
+	@Column(name = "published_at")
+	private LocalDateTime publishedAt;
+}
@@ -0,0 +1,30 @@
+package com.app.yolla.modules.order.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+import com.app.yolla.modules.order.dto.OrderCreateRequest;
+import com.app.yolla.modules.order.entity.Order;
+import com.app.yolla.shared.mapping.MappingConfig;
+
+@Mapper(config = MappingConfig.class)
+public interface OrderMapper {
+
+	/**
+	 * Sorğudakı sadə sahələri sifarişə köçürür. Sətirlər, market, istifadəçi,
+	 * status və məbləğ servisdə ayrıca hesablanır.
+	 */
+	@Mapping(target = "id", ignore = true)
+	@Mapping(target = "status", ignore = true)
+	@Mapping(target = "userId", ignore = true)
+	@Mapping(target = "totalAmount", ignore = true)
+	@Mapping(target = "createdAt", ignore = true)
+	@Mapping(target = "items", ignore = true)
+	@Mapping(target = "deliveryTime", ignore = true)
+	@Mapping(target = "market", ignore = true)
+	@Mapping(target = "claimedBy", ignore = true)
+	@Mapping(target = "claimExpiresAt", ignore = true)
+	@Mapping(target = "version", ignore = true)
+	void updateFromRequest(OrderCreateRequest request, @MappingTarget Order order);
+}
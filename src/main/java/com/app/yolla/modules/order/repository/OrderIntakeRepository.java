@@ -0,0 +1,25 @@
+package com.app.yolla.modules.order.repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.app.yolla.modules.order.entity.OrderIntake;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface OrderIntakeRepository extends JpaRepository<OrderIntake, UUID> {
+
+	/**
+	 * Qəbul sətrini kilidləyərək gətirir - eyni mesajın iki konsumerdə paralel emalının qarşısını alır
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT i FROM OrderIntake i WHERE i.id = :id")
+	Optional<OrderIntake> findByIdForUpdate(@Param("id") UUID id);
+}
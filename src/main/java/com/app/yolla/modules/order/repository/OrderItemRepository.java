@@ -1,9 +1,12 @@
 package com.app.yolla.modules.order.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,6 +14,7 @@ import org.springframework.stereotype.Repository;
 
 import com.app.yolla.modules.order.entity.OrderItem;
 
+import jakarta.persistence.LockModeType;
 import jakarta.transaction.Transactional;
 
 @Repository
@@ -18,9 +22,61 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, UUID> {
 
 	List<OrderItem> findByOrderId(UUID id);
 
+	/**
+	 * Bir neçə sifarişin sətirlərini məhsulları ilə birlikdə bir sorğu ilə gətirir
+	 */
+	@Query("SELECT oi FROM OrderItem oi JOIN FETCH oi.product WHERE oi.order.id IN :orderIds ORDER BY oi.id")
+	List<OrderItem> findAllWithProductByOrderIdIn(@Param("orderIds") Collection<UUID> orderIds);
+
 	@Transactional
 	@Modifying
 	@Query("DELETE FROM OrderItem oi WHERE oi.product.id = :productId")
 	void deleteByProductId(@Param("productId") UUID productId);
 
+	/**
+	 * Sifarişlərin sətirlərindəki miqdarların məhsul və rezerv yolu üzrə cəmi: [productId, stockHot, SUM(quantity)]
+	 */
+	@Query("SELECT oi.product.id, oi.stockHot, SUM(oi.quantity) FROM OrderItem oi WHERE oi.order.id IN :orderIds "
+			+ "GROUP BY oi.product.id, oi.stockHot")
+	List<Object[]> sumQuantityByProductAndPath(@Param("orderIds") Collection<UUID> orderIds);
+
+	/**
+	 * Ləğv olunan sifarişlərin isti sayğacda rezerv olunmuş sətirlərində stoku geri qaytarır (flusher bazaya köçürür)
+	 */
+	@Modifying
+	@Query("UPDATE OrderItem oi SET oi.stockDeferred = oi.stockDeferred - oi.quantity "
+			+ "WHERE oi.order.id IN :orderIds AND oi.stockHot = true")
+	int releaseDeferredStock(@Param("orderIds") Collection<UUID> orderIds);
+
+	/**
+	 * Məhsul üzrə hələ products cədvəlinə köçürülməmiş stok dəyişikliklərinin cəmi
+	 */
+	@Query("SELECT COALESCE(SUM(oi.stockDeferred), 0) FROM OrderItem oi WHERE oi.product.id = :productId")
+	long sumDeferredStock(@Param("productId") UUID productId);
+
+	/**
+	 * Köçürülməli sətirləri kilidləyərək gətirir (isti stok flusher-i üçün)
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT oi FROM OrderItem oi WHERE oi.stockDeferred <> 0 ORDER BY oi.id")
+	List<OrderItem> findDeferredForFlush(Pageable pageable);
+
+	/**
+	 * Sifarişin sətirlərini kilidləyərək gətirir (flusher ilə yarışmamaq üçün)
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT oi FROM OrderItem oi WHERE oi.order.id = :orderId ORDER BY oi.id")
+	List<OrderItem> lockByOrderId(@Param("orderId") UUID orderId);
+
+	/**
+	 * stock_deferred nisbi dəyişdirilir ki, paralel flush ilə yeniləmə itməsin
+	 */
+	@Modifying
+	@Query("UPDATE OrderItem oi SET oi.stockDeferred = oi.stockDeferred + :delta WHERE oi.id = :id")
+	int adjustStockDeferred(@Param("id") UUID id, @Param("delta") int delta);
+
+	@Modifying
+	@Query("UPDATE OrderItem oi SET oi.stockDeferred = 0 WHERE oi.id IN :ids")
+	int clearStockDeferred(@Param("ids") Collection<UUID> ids);
+
 }
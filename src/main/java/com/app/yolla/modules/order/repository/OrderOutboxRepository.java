@@ -0,0 +1,43 @@
+package com.app.yolla.modules.order.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.app.yolla.modules.order.entity.OrderOutboxEvent;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface OrderOutboxRepository extends JpaRepository<OrderOutboxEvent, UUID> {
+
+	/**
+	 * Göndərilməmiş hadisələri yaranma sırası ilə kilidləyərək gətirir.
+	 * Kilid ikinci relay-i gözlədir - eyni sifarişin hadisələri iki instansiyadan qarışıq getmir.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT e FROM OrderOutboxEvent e WHERE e.publishedAt IS NULL ORDER BY e.id")
+	List<OrderOutboxEvent> findUnpublished(Pageable pageable);
+
+	/**
+	 * Göndərilmiş köhnə hadisələrin id-lərini ən köhnədən başlayaraq səhifə ölçüsü qədər qaytarır
+	 */
+	@Query("SELECT e.id FROM OrderOutboxEvent e WHERE e.publishedAt < :before ORDER BY e.publishedAt")
+	List<UUID> findPublishedIdsBefore(@Param("before") LocalDateTime before, Pageable pageable);
+
+	/**
+	 * Verilmiş id-lərə aid hadisələri silir
+	 */
+	@Modifying
+	@Query("DELETE FROM OrderOutboxEvent e WHERE e.id IN :ids")
+	int deleteByIds(@Param("ids") Collection<UUID> ids);
+}
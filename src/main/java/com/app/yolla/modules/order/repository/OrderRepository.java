@@ -1,26 +1,114 @@
 package com.app.yolla.modules.order.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.app.yolla.modules.order.entity.Order;
+import com.app.yolla.modules.order.entity.OrderStatus;
+import com.app.yolla.shared.persistence.UuidBytes;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, UUID> {
 
-	@Query("SELECT o FROM Order o WHERE o.userId = :userId ORDER BY o.createdAt DESC")
+	@Query(value = "SELECT o FROM Order o LEFT JOIN FETCH o.market WHERE o.userId = :userId ORDER BY o.createdAt DESC",
+			countQuery = "SELECT COUNT(o) FROM Order o WHERE o.userId = :userId")
 	Page<Order> getAll(@Param("userId") UUID userId, Pageable pageable);
 
+	/**
+	 * Keyset səhifələmənin ilk səhifəsi - COUNT sorğusu yoxdur
+	 */
+	@Query("SELECT o FROM Order o LEFT JOIN FETCH o.market WHERE o.userId = :userId "
+			+ "ORDER BY o.createdAt DESC, o.id DESC")
+	List<Order> findFirstPage(@Param("userId") UUID userId, Pageable pageable);
+
+	/**
+	 * Kursordan sonrakı səhifə - (user_id, created_at, id) index-i üzrə diapazon oxunuşu
+	 */
+	@Query("SELECT o FROM Order o LEFT JOIN FETCH o.market WHERE o.userId = :userId "
+			+ "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) "
+			+ "ORDER BY o.createdAt DESC, o.id DESC")
+	List<Order> findPageAfter(@Param("userId") UUID userId, @Param("createdAt") LocalDateTime createdAt,
+			@Param("id") UUID id, Pageable pageable);
+
 	@Query(value = "select * from orders where user_id=?1 ", nativeQuery = true)
 	List<Order> findOrder(UUID id);
 
 	List<Order> findAllByMarketId(UUID marketId);
 
+	/**
+	 * Götürülməmiş (və ya götürməsi bitmiş) sifarişləri kilidləyərək gətirir.
+	 * lock.timeout=-2 Hibernate-də SKIP LOCKED deməkdir: başqa hazırlayıcının kilidlədiyi
+	 * sətirlər gözlənilmədən ötürülür. SKIP LOCKED-i dəstəkləməyən bazada (H2) adi
+	 * FOR UPDATE qalır - paralel götürmə gözləyir, amma nəticə eyni olur.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+	@Query("SELECT o FROM Order o WHERE o.market.id = :marketId AND o.status = :status "
+			+ "AND (o.claimedBy IS NULL OR o.claimExpiresAt < :now) ORDER BY o.createdAt")
+	List<Order> findClaimable(@Param("marketId") UUID marketId, @Param("status") OrderStatus status,
+			@Param("now") LocalDateTime now, Pageable pageable);
+
+	/**
+	 * Hazırlayıcının hələ bitməmiş götürmələri
+	 */
+	@Query("SELECT o FROM Order o WHERE o.claimedBy = :preparerId AND o.status = :status "
+			+ "AND o.claimExpiresAt >= :now ORDER BY o.createdAt")
+	List<Order> findActiveClaims(@Param("preparerId") UUID preparerId, @Param("status") OrderStatus status,
+			@Param("now") LocalDateTime now);
+
+	/**
+	 * Toplu status keçidindən əvvəl sifariş sətirlərini id sırası ilə kilidləyir (SELECT ... FOR UPDATE).
+	 * Nəticə istifadə olunmur - kilid tranzaksiyanın sonuna qədər qalır. Native sorğu UUID-i BINARY(16)
+	 * sütununa çevirmir, ona görə id-lər baytlarla ötürülür.
+	 */
+	default List<Object> lockForTransition(Collection<UUID> ids) {
+		return lockRowsForTransition(ids.stream().map(UuidBytes::toBytes).toList());
+	}
+
+	@Query(value = "SELECT id FROM orders WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+	List<Object> lockRowsForTransition(@Param("ids") Collection<byte[]> ids);
+
+	/**
+	 * Toplu status keçidi üçün bütün sifarişlərin yoxlama sahələri - bir sorğu
+	 */
+	@Query("SELECT o.id AS id, o.status AS status, o.market.id AS marketId, o.userId AS userId, "
+			+ "o.totalAmount AS totalAmount, o.claimedBy AS claimedBy, o.claimExpiresAt AS claimExpiresAt "
+			+ "FROM Order o WHERE o.id IN :ids")
+	List<OrderTransitionView> findTransitionViews(@Param("ids") Collection<UUID> ids);
+
+	/**
+	 * Sifarişləri bir UPDATE ilə yeni statusa keçirir. Status şərti paralel dəyişikliyə qarşı qoruyur -
+	 * arada statusu dəyişmiş sətir yenilənmir.
+	 */
+	@Modifying
+	@Query("UPDATE Order o SET o.status = :target, o.claimedBy = NULL, o.claimExpiresAt = NULL, "
+			+ "o.version = o.version + 1 WHERE o.id IN :ids AND o.status IN :sources")
+	int bulkUpdateStatus(@Param("ids") Collection<UUID> ids, @Param("sources") Collection<OrderStatus> sources,
+			@Param("target") OrderStatus target);
+
+	/**
+	 * DELIVERED keçidi - çatdırılma vaxtı da yazılır
+	 */
+	@Modifying
+	@Query("UPDATE Order o SET o.status = com.app.yolla.modules.order.entity.OrderStatus.DELIVERED, "
+			+ "o.deliveryTime = :deliveryTime, o.claimedBy = NULL, o.claimExpiresAt = NULL, "
+			+ "o.version = o.version + 1 WHERE o.id IN :ids AND o.status IN :sources")
+	int bulkDeliver(@Param("ids") Collection<UUID> ids, @Param("sources") Collection<OrderStatus> sources,
+			@Param("deliveryTime") LocalDateTime deliveryTime);
+
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.app.yolla.modules.order.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.app.yolla.modules.order.entity.OrderStatus;
+
+/**
+ * Status keçidini yoxlamaq üçün lazım olan sahələr - sifariş entity-si, sətirləri və marketi yüklənmir
+ */
+public interface OrderTransitionView {
+
+	UUID getId();
+
+	OrderStatus getStatus();
+
+	UUID getMarketId();
+
+	UUID getUserId();
+
+	BigDecimal getTotalAmount();
+
+	UUID getClaimedBy();
+
+	LocalDateTime getClaimExpiresAt();
+}
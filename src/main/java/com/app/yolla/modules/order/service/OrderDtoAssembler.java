@@ -0,0 +1,95 @@
+package com.app.yolla.modules.order.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.app.yolla.modules.market.service.MarketService;
+import com.app.yolla.modules.order.dto.OrderDTO;
+import com.app.yolla.modules.order.dto.OrderItemDTO;
+import com.app.yolla.modules.order.entity.Order;
+import com.app.yolla.modules.order.entity.OrderItem;
+import com.app.yolla.modules.order.repository.OrderItemRepository;
+import com.app.yolla.modules.user.entity.User;
+import com.app.yolla.modules.user.repository.UserRepository;
+
+/**
+ * Sifariş siyahıları üçün DTO yığıcısı.
+ * <p>
+ * Səhifədəki bütün sifarişlərin sətirləri (məhsulları ilə) və istifadəçiləri bir
+ * sorğu ilə yüklənir, DTO-lar yaddaşdakı xəritələrdən qurulur. Marketlər səhifə
+ * sorğusunda fetch join ilə gəlir. Beləliklə səhifə ölçüsündən asılı olmayaraq
+ * sorğu sayı sabit qalır.
+ */
+@Component
+public class OrderDtoAssembler {
+
+	@Autowired
+	private OrderItemRepository orderItemRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private MarketService marketService;
+
+	public List<OrderDTO> toDTOs(List<Order> orders) {
+		if (orders.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		Set<UUID> orderIds = new LinkedHashSet<>();
+		Set<UUID> userIds = new LinkedHashSet<>();
+		for (Order order : orders) {
+			orderIds.add(order.getId());
+			userIds.add(order.getUserId());
+		}
+
+		Map<UUID, List<OrderItemDTO>> itemsByOrder = new HashMap<>();
+		for (OrderItem item : orderItemRepository.findAllWithProductByOrderIdIn(orderIds)) {
+			OrderItemDTO dto = new OrderItemDTO();
+			dto.setProductId(item.getProduct().getId());
+			dto.setProductName(item.getProduct().getName());
+			dto.setQuantity(item.getQuantity());
+			dto.setUnitPrice(item.getProduct().getPrice());
+			itemsByOrder.computeIfAbsent(item.getOrder().getId(), id -> new ArrayList<>()).add(dto);
+		}
+
+		Map<UUID, User> users = new HashMap<>();
+		for (User user : userRepository.findAllWithMarketByIdIn(userIds)) {
+			users.put(user.getId(), user);
+		}
+
+		List<OrderDTO> result = new ArrayList<>(orders.size());
+		for (Order order : orders) {
+			User user = users.get(order.getUserId());
+
+			OrderDTO dto = new OrderDTO();
+			dto.setId(order.getId());
+			dto.setUserId(order.getUserId());
+			if (user != null) {
+				dto.setUserFullName(user.getFullName());
+				dto.setUserPhone(user.getPhoneNumber());
+			}
+			dto.setStatus(order.getStatus());
+			dto.setTotalAmount(order.getTotalAmount());
+			dto.setCreatedAt(order.getCreatedAt());
+			dto.setNotes(order.getNotes());
+			dto.setDeliveryAddress(order.getDeliveryAddress());
+			dto.setItems(itemsByOrder.getOrDefault(order.getId(), new ArrayList<>()));
+			dto.setDeliveryTime(order.getDeliveryTime());
+			if (order.getMarket() != null) {
+				dto.setMarket(marketService.convertToDTO(order.getMarket()));
+			}
+			result.add(dto);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,240 @@
+package com.app.yolla.modules.order.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import com.app.yolla.modules.order.entity.ExportFormat;
+import com.app.yolla.modules.user.entity.UserRole;
+import com.app.yolla.modules.user.service.UserService;
+import com.app.yolla.shared.exception.MyException;
+import com.app.yolla.shared.persistence.UuidBytes;
+import com.app.yolla.shared.security.CurrentUser;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Market və tarix aralığı üzrə sifarişlərin axınla ixracı.
+ * <p>
+ * Sətirlər forward-only JDBC kursoru ilə oxunur və birbaşa cavab axınına yazılır -
+ * heç bir siyahı yaddaşda toplanmır, yaddaş istifadəsi sətir sayından asılı deyil.
+ * MySQL-də sətir-sətir axın üçün fetch size Integer.MIN_VALUE olmalıdır
+ * (və ya URL-də useCursorFetch=true ilə müsbət dəyər).
+ */
+@Service
+public class OrderExportService {
+
+	private static final Logger logger = LoggerFactory.getLogger(OrderExportService.class);
+
+	private static final String EXPORT_SQL = "SELECT o.id, o.user_id, u.phone_number, o.status, o.total_amount, "
+			+ "o.created_at, o.delivery_time, o.delivery_address, o.notes "
+			+ "FROM orders o LEFT JOIN users u ON u.id = o.user_id "
+			+ "WHERE o.market_id = ? AND o.created_at >= ? AND o.created_at < ? "
+			+ "ORDER BY o.created_at, o.id";
+
+	private static final String[] COLUMNS = { "id", "userId", "userPhone", "status", "totalAmount", "createdAt",
+			"deliveryTime", "deliveryAddress", "notes" };
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${app.orders.export.fetch-size:-2147483648}")
+	private int fetchSize;
+
+	@Value("${app.orders.export.flush-every:500}")
+	private int flushEvery;
+
+	/**
+	 * ADMIN istənilən marketi, PREPARER yalnız öz marketini ixrac edə bilər.
+	 * Axın başlamazdan əvvəl sorğu thread-ində çağırılır.
+	 */
+	public void checkAccess(UUID marketId, LocalDate from, LocalDate to) {
+		if (from.isAfter(to)) {
+			throw new MyException("Başlanğıc tarixi son tarixdən sonra ola bilməz");
+		}
+
+		CurrentUser user = userService.currentUser();
+		if (user.isAdmin()) {
+			return;
+		}
+		if (!user.hasRole(UserRole.PREPARER) || !user.belongsToMarket(marketId)) {
+			throw new MyException("Bu marketin sifarişlərini ixrac etmək üçün icazəniz yoxdur");
+		}
+	}
+
+	/**
+	 * [from, to] günləri daxil olmaqla sifarişləri verilmiş formatda axına yazır
+	 */
+	public long export(UUID marketId, LocalDate from, LocalDate to, ExportFormat format, OutputStream out)
+			throws IOException {
+		long started = System.currentTimeMillis();
+		RowWriter writer = format == ExportFormat.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+
+		jdbcTemplate.query(con -> {
+			PreparedStatement ps = con.prepareStatement(EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY,
+					ResultSet.CONCUR_READ_ONLY);
+			ps.setFetchSize(fetchSize);
+			ps.setBytes(1, UuidBytes.toBytes(marketId));
+			ps.setTimestamp(2, Timestamp.valueOf(from.atStartOfDay()));
+			ps.setTimestamp(3, Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+			return ps;
+		}, writer);
+
+		writer.finish();
+		logger.info("Sifariş ixracı tamamlandı: market={}, sətir={}, müddət={}ms", marketId, writer.rows,
+				System.currentTimeMillis() - started);
+		return writer.rows;
+	}
+
+	/**
+	 * Sətirləri yazan ümumi əsas - hər flushEvery sətirdən bir axını boşaldır
+	 */
+	private abstract class RowWriter implements RowCallbackHandler {
+
+		protected final OutputStream out;
+		private long rows;
+
+		RowWriter(OutputStream out) {
+			this.out = out;
+		}
+
+		@Override
+		public void processRow(ResultSet rs) throws SQLException {
+			Object[] values = { UuidBytes.toUuid(rs.getBytes(1)), UuidBytes.toUuid(rs.getBytes(2)), rs.getString(3),
+					rs.getString(4), rs.getBigDecimal(5), toText(rs.getTimestamp(6)), toText(rs.getTimestamp(7)),
+					rs.getString(8), rs.getString(9) };
+			try {
+				write(values);
+				if (++rows % flushEvery == 0) {
+					flush();
+				}
+			} catch (IOException e) {
+				// Müştəri bağlantını kəsibsə, kursor dərhal bağlanır
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		protected abstract void write(Object[] values) throws IOException;
+
+		protected abstract void flush() throws IOException;
+
+		void finish() throws IOException {
+			flush();
+		}
+
+		private String toText(Timestamp ts) {
+			return ts == null ? null : ts.toLocalDateTime().toString();
+		}
+	}
+
+	private class NdjsonRowWriter extends RowWriter {
+
+		private final JsonGenerator generator;
+
+		NdjsonRowWriter(OutputStream out) throws IOException {
+			super(out);
+			this.generator = objectMapper.getFactory().createGenerator(out)
+					.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			// Kök dəyərlər arasında default boşluq yazılmır - sətirləri yalnız '\n' ayırır
+			this.generator.setRootValueSeparator(null);
+		}
+
+		@Override
+		protected void write(Object[] values) throws IOException {
+			generator.writeStartObject();
+			for (int i = 0; i < COLUMNS.length; i++) {
+				Object value = values[i];
+				if (value == null) {
+					generator.writeNullField(COLUMNS[i]);
+				} else if (value instanceof BigDecimal decimal) {
+					generator.writeNumberField(COLUMNS[i], decimal);
+				} else {
+					generator.writeStringField(COLUMNS[i], value.toString());
+				}
+			}
+			generator.writeEndObject();
+			generator.writeRaw('\n');
+		}
+
+		@Override
+		protected void flush() throws IOException {
+			generator.flush();
+		}
+	}
+
+	private class CsvRowWriter extends RowWriter {
+
+		private final StringBuilder line = new StringBuilder(256);
+
+		CsvRowWriter(OutputStream out) throws IOException {
+			super(out);
+			out.write((String.join(",", COLUMNS) + "\n").getBytes(StandardCharsets.UTF_8));
+		}
+
+		@Override
+		protected void write(Object[] values) throws IOException {
+			line.setLength(0);
+			for (int i = 0; i < values.length; i++) {
+				if (i > 0) {
+					line.append(',');
+				}
+				if (values[i] instanceof String text) {
+					appendEscaped(neutralizeFormula(text));
+				} else if (values[i] != null) {
+					appendEscaped(values[i].toString());
+				}
+			}
+			line.append('\n');
+			out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+		}
+
+		@Override
+		protected void flush() throws IOException {
+			out.flush();
+		}
+
+		/**
+		 * İstifadəçinin daxil etdiyi mətn =, +, - və ya @ ilə başlayırsa, cədvəl proqramı onu
+		 * düstur kimi icra etməsin deyə əvvəlinə ' əlavə olunur (CSV injection)
+		 */
+		private String neutralizeFormula(String value) {
+			if (value.isEmpty()) {
+				return value;
+			}
+			char first = value.charAt(0);
+			return first == '=' || first == '+' || first == '-' || first == '@' ? "'" + value : value;
+		}
+
+		private void appendEscaped(String value) {
+			boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+					|| value.indexOf('\r') >= 0;
+			if (!quote) {
+				line.append(value);
+				return;
+			}
+			line.append('"').append(value.replace("\"", "\"\"")).append('"');
+		}
+	}
+}
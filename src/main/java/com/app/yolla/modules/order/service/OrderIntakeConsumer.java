@@ -0,0 +1,46 @@
+package com.app.yolla.modules.order.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.app.yolla.modules.order.dto.OrderIntakeMessage;
+
+/**
+ * Sifariş qəbulu növbəsinin konsumeri.
+ * <p>
+ * Mesajlar partiya ilə gəlir; hər mesaj öz tranzaksiyasında emal olunur ki,
+ * bir sifarişin xətası qonşularını geri qaytarmasın. Müvəqqəti baza xətaları
+ * yuxarı ötürülür - partiya yenidən çatdırılır, emal olunmuşlar isə ötürülür.
+ */
+@Component
+public class OrderIntakeConsumer {
+
+	private static final Logger logger = LoggerFactory.getLogger(OrderIntakeConsumer.class);
+
+	@Autowired
+	private OrderIntakeService intakeService;
+
+	@RabbitListener(queues = "${app.orders.intake.queue:orders.intake}",
+			containerFactory = "orderIntakeContainerFactory",
+			autoStartup = "${app.orders.intake.enabled:false}")
+	public void onMessages(List<OrderIntakeMessage> messages) {
+		logger.debug("Sifariş partiyası alındı: say={}", messages.size());
+
+		for (OrderIntakeMessage message : messages) {
+			try {
+				intakeService.process(message);
+			} catch (TransientDataAccessException e) {
+				throw e;
+			} catch (Exception e) {
+				logger.warn("Sifariş qəbulu uğursuz oldu: qəbul={}, səbəb={}", message.getIntakeId(), e.getMessage());
+				intakeService.fail(message, e.getMessage());
+			}
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package com.app.yolla.modules.order.service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.app.yolla.modules.order.dto.OrderCreateRequest;
+import com.app.yolla.modules.order.dto.OrderDTO;
+import com.app.yolla.modules.order.dto.OrderIntakeDTO;
+import com.app.yolla.modules.order.dto.OrderIntakeMessage;
+import com.app.yolla.modules.order.dto.OrderItemRequest;
+import com.app.yolla.modules.order.entity.OrderIntake;
+import com.app.yolla.modules.order.entity.OrderIntakeStatus;
+import com.app.yolla.modules.order.repository.OrderIntakeRepository;
+import com.app.yolla.modules.user.service.UserService;
+import com.app.yolla.shared.exception.MyException;
+import com.app.yolla.shared.exception.ResourceNotFoundException;
+import com.app.yolla.shared.security.CurrentUser;
+import com.app.yolla.shared.transaction.RetryOnLockFailure;
+
+import jakarta.transaction.Transactional;
+
+/**
+ * Asinxron sifariş qəbulu.
+ * <p>
+ * Sorğu thread-i sorğunu yoxlayır, order_intakes-ə PENDING_INTAKE sətri yazır və sorğunu
+ * RabbitMQ növbəsinə qoyur. Konsumerlər {@link OrderService#createdOrder(OrderCreateRequest, String)}
+ * məntiqini partiyalarla icra edir və nəticəni həmin sətrə yazır.
+ */
+@Service
+public class OrderIntakeService {
+
+	private static final Logger logger = LoggerFactory.getLogger(OrderIntakeService.class);
+
+	@Autowired
+	private OrderIntakeRepository repository;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private RabbitTemplate rabbitTemplate;
+
+	@Value("${app.orders.intake.enabled:false}")
+	private boolean enabled;
+
+	@Value("${app.orders.intake.queue:orders.intake}")
+	private String queue;
+
+	/**
+	 * Qəbul sətrini yaradır, sorğunu növbəyə yazır və dərhal PENDING_INTAKE statusu ilə qəbul id-si qaytarır
+	 */
+	public OrderIntakeDTO submit(OrderCreateRequest request) {
+		if (!enabled) {
+			throw new MyException("Asinxron sifariş qəbulu aktiv deyil");
+		}
+		for (OrderItemRequest item : request.getItems()) {
+			if (item.getQuantity() == null || item.getQuantity() <= 0) {
+				throw new MyException("Miqdar sıfırdan böyük olmalıdır");
+			}
+		}
+
+		String phone = (String) userService.findPhone();
+		UUID intakeId = UUID.randomUUID();
+
+		// Sətir mesajdan əvvəl yazılır - status sorğusu naməlum id-ni gözləyən qəbuldan ayırır
+		OrderIntake intake = new OrderIntake();
+		intake.setId(intakeId);
+		intake.setUserPhone(phone);
+		intake.setStatus(OrderIntakeStatus.PENDING_INTAKE);
+		repository.save(intake);
+
+		try {
+			rabbitTemplate.convertAndSend(queue, new OrderIntakeMessage(intakeId, phone, request));
+		} catch (AmqpException e) {
+			logger.error("Sifariş növbəyə yazılmadı: telefon={}", phone, e);
+			repository.deleteById(intakeId);
+			throw new MyException("Sifariş qəbul edilmədi, yenidən cəhd edin");
+		}
+
+		logger.debug("Sifariş növbəyə yazıldı: qəbul={}, telefon={}", intakeId, phone);
+		return new OrderIntakeDTO(intakeId, OrderIntakeStatus.PENDING_INTAKE, null, null);
+	}
+
+	/**
+	 * Qəbulun nəticəsini qaytarır. Naməlum və ya başqa istifadəçiyə aid id tapılmamış sayılır.
+	 */
+	public OrderIntakeDTO getStatus(UUID intakeId) {
+		OrderIntake intake = repository.findById(intakeId)
+				.orElseThrow(() -> new ResourceNotFoundException("Qəbul tapılmadı: " + intakeId));
+
+		CurrentUser currentUser = userService.currentUser();
+		if (!currentUser.isAdmin() && !intake.getUserPhone().equals(currentUser.getPhoneNumber())) {
+			throw new ResourceNotFoundException("Qəbul tapılmadı: " + intakeId);
+		}
+		return new OrderIntakeDTO(intake.getId(), intake.getStatus(), intake.getOrderId(), intake.getError());
+	}
+
+	/**
+	 * Bir mesajı emal edir: sifariş və qəbul nəticəsi eyni tranzaksiyada yazılır.
+	 * Qəbul sətri kilidlənir - təkrar çatdırılan mesajlar (artıq emal olunmuş id) ötürülür.
+	 */
+	@Transactional
+	@RetryOnLockFailure
+	public void process(OrderIntakeMessage message) {
+		OrderIntake intake = pending(message);
+		if (intake == null) {
+			logger.debug("Qəbul artıq emal olunub: {}", message.getIntakeId());
+			return;
+		}
+
+		OrderDTO order = orderService.createdOrder(message.getRequest(), message.getUserPhone());
+
+		intake.setOrderId(order.getId());
+		intake.setStatus(OrderIntakeStatus.COMPLETED);
+		intake.setCompletedAt(LocalDateTime.now());
+		repository.save(intake);
+	}
+
+	/**
+	 * Biznes xətası ilə bitən qəbulu qeyd edir (ayrıca tranzaksiyada)
+	 */
+	@Transactional
+	public void fail(OrderIntakeMessage message, String error) {
+		OrderIntake intake = pending(message);
+		if (intake == null) {
+			return;
+		}
+
+		intake.setStatus(OrderIntakeStatus.FAILED);
+		intake.setError(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+		intake.setCompletedAt(LocalDateTime.now());
+		repository.save(intake);
+	}
+
+	/**
+	 * Emal gözləyən qəbul sətrini kilidləyərək qaytarır; artıq emal olunubsa null.
+	 * Sətir yoxdursa (submit-də yazılmayan köhnə mesajlar) yenisi yaradılır.
+	 */
+	private OrderIntake pending(OrderIntakeMessage message) {
+		Optional<OrderIntake> existing = repository.findByIdForUpdate(message.getIntakeId());
+		if (existing.isEmpty()) {
+			OrderIntake intake = new OrderIntake();
+			intake.setId(message.getIntakeId());
+			intake.setUserPhone(message.getUserPhone());
+			return intake;
+		}
+		return existing.get().getStatus() == OrderIntakeStatus.PENDING_INTAKE ? existing.get() : null;
+	}
+}
@@ -4,7 +4,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -15,8 +14,8 @@ import com.app.yolla.modules.order.entity.OrderItem;
 import com.app.yolla.modules.order.repository.OrderItemRepository;
 import com.app.yolla.modules.product.entity.Product;
 import com.app.yolla.modules.product.service.ProductService;
-import com.app.yolla.modules.user.dto.UserDTO;
 import com.app.yolla.modules.user.service.UserService;
+import com.app.yolla.shared.security.CurrentUser;
 
 import jakarta.transaction.Transactional;
 
@@ -27,9 +26,6 @@ public class OrderItemService {
 	@Autowired
 	private OrderItemRepository repository;
 
-	@Autowired
-	private ModelMapper mapper;
-
 	@Autowired
 	private ProductService productService;
 
@@ -40,14 +36,13 @@ public class OrderItemService {
 	private UserService userService;
 
 	public OrderItemResponse getOrderItems(UUID id, Integer length, Integer begin) {
-		String phone = (String) userService.findPhone();
-		UserDTO en = userService.findByPhoneNumber(phone);
+		CurrentUser currentUser = userService.currentUser();
 
 		List<OrderItem> orderItems = repository.findByOrderId(id);
 		List<OrderItemResponseDTO> list = new ArrayList<OrderItemResponseDTO>();
 
 		Order op = orderService.findByOrder(id);
-		if (!op.getUserId().equals(en.getId())) {
+		if (!currentUser.owns(op.getUserId())) {
 			throw new RuntimeException("Bu sifariş sizə aid deyil!");
 		}
 
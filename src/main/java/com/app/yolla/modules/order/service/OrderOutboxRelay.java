@@ -0,0 +1,141 @@
+package com.app.yolla.modules.order.service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Outbox hadisələrini RabbitMQ-ya ötürən fon thread-i
+ * <p>
+ * Thread commit-dən sonra oyadılır (wakeUp), oyadılmasa da poll-interval-ms-dən bir
+ * outbox-u yoxlayır - başqa instansiyada yazılmış və ya əvvəl göndərilə bilməmiş hadisələr
+ * üçün. Hər dövr tam partiya gəldikcə davam edir. Xəta olduqda növbəti dövrə qədər gözlənilir.
+ */
+@Component
+public class OrderOutboxRelay {
+
+	private static final Logger logger = LoggerFactory.getLogger(OrderOutboxRelay.class);
+
+	@Autowired
+	private OrderOutboxService outboxService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${app.orders.outbox.poll-interval-ms:1000}")
+	private long pollIntervalMs;
+
+	@Value("${app.orders.outbox.batch-size:100}")
+	private int batchSize;
+
+	@Value("${app.orders.outbox.retention-hours:24}")
+	private long retentionHours;
+
+	@Value("${app.orders.outbox.purge-chunk-size:1000}")
+	private int purgeChunkSize;
+
+	private final Semaphore signal = new Semaphore(0);
+
+	private Thread worker;
+	private volatile boolean running;
+
+	private Counter published;
+	private Counter failures;
+
+	@PostConstruct
+	void start() {
+		if (!outboxService.isEnabled()) {
+			return;
+		}
+		published = Counter.builder("orders.outbox.published")
+				.description("RabbitMQ-ya göndərilmiş sifariş hadisələri")
+				.register(meterRegistry);
+		failures = Counter.builder("orders.outbox.failures")
+				.description("Uğursuz göndərmə dövrləri")
+				.register(meterRegistry);
+
+		running = true;
+		CustomizableThreadFactory factory = new CustomizableThreadFactory("order-outbox-");
+		factory.setDaemon(true);
+		worker = factory.newThread(this::run);
+		worker.start();
+		logger.info("Sifariş outbox relay-i başladı: interval={} ms, partiya={}", pollIntervalMs, batchSize);
+	}
+
+	/**
+	 * Yeni hadisə commit olunub - növbəti dövrü gözləmədən göndər
+	 */
+	public void wakeUp() {
+		if (running) {
+			signal.release();
+		}
+	}
+
+	private void run() {
+		while (running) {
+			try {
+				signal.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+				signal.drainPermits();
+				relay();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private void relay() {
+		try {
+			int sent;
+			do {
+				sent = outboxService.publishPending(batchSize);
+				published.increment(sent);
+			} while (sent == batchSize && running);
+		} catch (Exception e) {
+			failures.increment();
+			logger.warn("Sifariş hadisələri göndərilmədi, növbəti dövrdə təkrar: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Göndərilmiş köhnə sətirləri hissə-hissə silir
+	 */
+	@Scheduled(fixedDelayString = "${app.orders.outbox.purge-interval-ms:3600000}")
+	public void purgePublished() {
+		if (!running) {
+			return;
+		}
+		LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+		int total = 0;
+		int deleted;
+		do {
+			deleted = outboxService.deletePublishedChunk(before, purgeChunkSize);
+			total += deleted;
+		} while (deleted == purgeChunkSize);
+
+		if (total > 0) {
+			logger.info("Göndərilmiş outbox hadisələri silindi: say={}", total);
+		}
+	}
+
+	@PreDestroy
+	void stop() {
+		running = false;
+		if (worker != null) {
+			worker.interrupt();
+		}
+	}
+}
@@ -0,0 +1,167 @@
+package com.app.yolla.modules.order.service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.app.yolla.modules.order.dto.OrderLifecycleEvent;
+import com.app.yolla.modules.order.entity.Order;
+import com.app.yolla.modules.order.entity.OrderEventType;
+import com.app.yolla.modules.order.entity.OrderOutboxEvent;
+import com.app.yolla.modules.order.entity.OrderStatus;
+import com.app.yolla.modules.order.repository.OrderOutboxRepository;
+import com.app.yolla.shared.persistence.TimeOrderedUuid;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.transaction.Transactional;
+
+/**
+ * Sifariş hadisələri üçün transactional outbox
+ * <p>
+ * record sifarişin vəziyyətini dəyişən tranzaksiyanın içində outbox sətri yazır - ya ikisi
+ * birlikdə commit olunur, ya heç biri. publishPending sətirləri yaranma sırası ilə RabbitMQ-ya
+ * göndərir və yalnız broker qəbul etdikdən sonra göndərilmiş kimi qeyd edir (ən azı bir dəfə).
+ */
+@Service
+public class OrderOutboxService {
+
+	private static final Logger logger = LoggerFactory.getLogger(OrderOutboxService.class);
+
+	@Autowired
+	private OrderOutboxRepository repository;
+
+	@Autowired
+	private RabbitTemplate rabbitTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	@Lazy
+	private OrderOutboxRelay relay;
+
+	@Value("${app.orders.outbox.enabled:false}")
+	private boolean enabled;
+
+	@Value("${app.orders.outbox.exchange:orders.events}")
+	private String exchange;
+
+	@Value("${app.orders.outbox.confirm-timeout-ms:5000}")
+	private long confirmTimeoutMs;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Hadisəni cari tranzaksiyada outbox-a yazır; commit-dən sonra relay oyadılır
+	 */
+	@Transactional(Transactional.TxType.MANDATORY)
+	public void record(Order order, OrderEventType type, OrderStatus previousStatus) {
+		record(order.getId(), order.getMarket() != null ? order.getMarket().getId() : null, order.getUserId(),
+				order.getStatus(), order.getTotalAmount(), type, previousStatus);
+	}
+
+	/**
+	 * Entity yüklənmədən dəyişən sifarişlər üçün (toplu status keçidi)
+	 */
+	@Transactional(Transactional.TxType.MANDATORY)
+	public void record(UUID orderId, UUID marketId, UUID userId, OrderStatus status, BigDecimal totalAmount,
+			OrderEventType type, OrderStatus previousStatus) {
+		if (!enabled) {
+			return;
+		}
+		UUID eventId = TimeOrderedUuid.generate();
+		LocalDateTime now = LocalDateTime.now();
+		OrderLifecycleEvent event = new OrderLifecycleEvent(eventId, type, orderId, marketId, userId,
+				status, previousStatus, totalAmount, now);
+
+		repository.save(new OrderOutboxEvent(eventId, orderId, type, toJson(event), now, null));
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					relay.wakeUp();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Ən köhnə limit qədər hadisəni bir kanal üzərindən sıra ilə göndərir.
+	 * Broker təsdiqi alınmasa istisna atılır, tranzaksiya geri qaytarılır və hadisələr
+	 * növbəti dövrdə yenidən göndərilir. Göndərilən sayı qaytarır.
+	 */
+	@Transactional
+	public int publishPending(int limit) {
+		List<OrderOutboxEvent> batch = repository.findUnpublished(PageRequest.of(0, limit));
+		if (batch.isEmpty()) {
+			return 0;
+		}
+
+		boolean confirms = rabbitTemplate.getConnectionFactory().isSimplePublisherConfirms();
+		rabbitTemplate.invoke(operations -> {
+			for (OrderOutboxEvent event : batch) {
+				operations.send(exchange, event.getEventType().routingKey(), toMessage(event));
+			}
+			if (confirms) {
+				operations.waitForConfirmsOrDie(confirmTimeoutMs);
+			}
+			return null;
+		});
+
+		LocalDateTime now = LocalDateTime.now();
+		batch.forEach(event -> event.setPublishedAt(now));
+		logger.debug("Sifariş hadisələri göndərildi: say={}", batch.size());
+		return batch.size();
+	}
+
+	/**
+	 * Göndərilmiş köhnə sətirlərdən limit qədərini silir (öz tranzaksiyasında)
+	 */
+	@Transactional
+	public int deletePublishedChunk(LocalDateTime before, int limit) {
+		// Əvvəl id-lər seçilir, sonra id ilə silinir - DELETE ... LIMIT hər bazada yoxdur
+		List<UUID> ids = repository.findPublishedIdsBefore(before, PageRequest.of(0, limit));
+		if (ids.isEmpty()) {
+			return 0;
+		}
+		return repository.deleteByIds(ids);
+	}
+
+	private Message toMessage(OrderOutboxEvent event) {
+		return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+				.setContentType(MessageProperties.CONTENT_TYPE_JSON)
+				.setContentEncoding(StandardCharsets.UTF_8.name())
+				.setMessageId(event.getId().toString())
+				.setHeader("x-order-id", event.getOrderId().toString())
+				.setHeader("x-event-type", event.getEventType().name())
+				.build();
+	}
+
+	private String toJson(OrderLifecycleEvent event) {
+		try {
+			return objectMapper.writeValueAsString(event);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Sifariş hadisəsi JSON-a çevrilmədi", e);
+		}
+	}
+}
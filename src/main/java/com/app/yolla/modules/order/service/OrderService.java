@@ -3,41 +3,60 @@ package com.app.yolla.modules.order.service;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import com.app.yolla.modules.market.dto.MarketDTO;
 import com.app.yolla.modules.market.entity.Market;
+import com.app.yolla.modules.market.mapper.MarketMapper;
 import com.app.yolla.modules.market.service.MarketService;
+import com.app.yolla.modules.order.dto.OrderBulkStatusRequest;
+import com.app.yolla.modules.order.dto.OrderBulkStatusResponse;
+import com.app.yolla.modules.order.dto.OrderBulkStatusResult;
+import com.app.yolla.modules.order.dto.OrderClaimResponse;
 import com.app.yolla.modules.order.dto.OrderCreateRequest;
+import com.app.yolla.modules.order.dto.OrderCursor;
+import com.app.yolla.modules.order.dto.OrderCursorResponse;
 import com.app.yolla.modules.order.dto.OrderDTO;
 import com.app.yolla.modules.order.dto.OrderItemDTO;
 import com.app.yolla.modules.order.dto.OrderItemRequest;
 import com.app.yolla.modules.order.dto.OrderItemUpdateRequest;
 import com.app.yolla.modules.order.dto.OrderResponse;
+import com.app.yolla.modules.order.dto.OrderStreamEvent;
 import com.app.yolla.modules.order.dto.OrderUpdateRequest;
 import com.app.yolla.modules.order.entity.Order;
+import com.app.yolla.modules.order.entity.OrderEventType;
 import com.app.yolla.modules.order.entity.OrderItem;
 import com.app.yolla.modules.order.entity.OrderStatus;
+import com.app.yolla.modules.order.mapper.OrderMapper;
+import com.app.yolla.modules.order.repository.OrderItemRepository;
 import com.app.yolla.modules.order.repository.OrderRepository;
+import com.app.yolla.modules.order.repository.OrderTransitionView;
 import com.app.yolla.modules.product.entity.Product;
 import com.app.yolla.modules.product.service.ProductService;
+import com.app.yolla.modules.product.service.StockReservation;
 import com.app.yolla.modules.user.dto.UserDTO;
 import com.app.yolla.modules.user.entity.UserRole;
 import com.app.yolla.modules.user.service.UserService;
 import com.app.yolla.shared.exception.MyException;
+import com.app.yolla.shared.security.CurrentUser;
+import com.app.yolla.shared.transaction.RetryOnLockFailure;
 
 import jakarta.transaction.Transactional;
 
@@ -45,11 +64,20 @@ import jakarta.transaction.Transactional;
 @Transactional
 public class OrderService {
 
+	private static final int DEFAULT_PAGE_SIZE = 20;
+	private static final int MAX_PAGE_SIZE = 100;
+
 	@Autowired
 	private OrderRepository repository;
 
 	@Autowired
-	private ModelMapper mapper;
+	private OrderItemRepository orderItemRepository;
+
+	@Autowired
+	private OrderMapper orderMapper;
+
+	@Autowired
+	private MarketMapper marketMapper;
 
 	@Autowired
 	private UserService userService;
@@ -60,46 +88,112 @@ public class OrderService {
 	@Autowired
 	private MarketService marketService;
 
+	@Autowired
+	private OrderDtoAssembler orderDtoAssembler;
+
+	@Autowired
+	private OrderOutboxService outboxService;
+
+	@Autowired
+	private OrderStreamBroadcaster streamBroadcaster;
+
+	@Autowired
+	private OrderStateMachine stateMachine;
+
+	@Value("${app.orders.claim.lease-seconds:300}")
+	private long claimLeaseSeconds;
+
+	@Value("${app.orders.claim.max-batch:20}")
+	private int maxClaimBatch;
+
+	@RetryOnLockFailure
 	public OrderDTO createdOrder(OrderCreateRequest request) {
-		String phone = (String) userService.findPhone();
-		UserDTO byPhoneNumber = userService.findByPhoneNumber(phone);
+		return createOrderFor(request, userService.currentUser().getId());
+	}
 
+	/**
+	 * Sifarişi verilmiş telefon nömrəsinə aid istifadəçi adından yaradır.
+	 * Security konteksti olmayan axınlar (asinxron qəbul konsumeri) bu metoddan istifadə edir.
+	 */
+	@RetryOnLockFailure
+	public OrderDTO createdOrder(OrderCreateRequest request, String phone) {
+		return createOrderFor(request, userService.findByPhoneNumber(phone).getId());
+	}
+
+	private OrderDTO createOrderFor(OrderCreateRequest request, UUID userId) {
 		Order order = new Order();
-		mapper.map(request, order);
+		orderMapper.updateFromRequest(request, order);
+		// Yeni sifariş həmişə PENDING-dir - sonrakı statuslar yalnız keçid cədvəli ilə
+		order.setStatus(OrderStatus.PENDING);
 		Market market = marketService.findByMarket(request.getMarketId());
 		order.setCreatedAt(LocalDateTime.now());
 		order.setMarket(market);
-		order.setUserId(byPhoneNumber.getId());
+		order.setUserId(userId);
 		
 
 		List<OrderItemRequest> items2 = request.getItems();
 		List<OrderItem> items = new ArrayList<>();
 
+		// Eyni məhsul bir neçə sətirdə gələ bilər - miqdarları toplayırıq
+		Map<UUID, Integer> requested = new LinkedHashMap<>();
+		for (OrderItemRequest req : items2) {
+			if (req.getQuantity() == null || req.getQuantity() <= 0) {
+				throw new MyException("Miqdar sıfırdan böyük olmalıdır");
+			}
+			requested.merge(req.getProductId(), req.getQuantity(), Integer::sum);
+		}
+
+		// Bütün məhsullar bir sorğu ilə yüklənir (qiymət və ad üçün)
+		Map<UUID, Product> products = productService.findProducts(requested.keySet());
+
+		// Stok hər sətir üçün şərtli UPDATE ilə rezerv olunur - oversell mümkün deyil
+		List<String> outOfStock = new ArrayList<>();
+		Map<UUID, StockReservation> reservations = productService.reserveStock(requested);
+		reservations.forEach((productId, reservation) -> {
+			if (reservation == StockReservation.OUT_OF_STOCK) {
+				outOfStock.add(products.get(productId).getName());
+			}
+		});
+		if (!outOfStock.isEmpty()) {
+			throw new MyException("Stokda kifayət qədər məhsul yoxdur: " + String.join(", ", outOfStock));
+		}
+
 		BigDecimal totalAmount = BigDecimal.ZERO;
 		for (OrderItemRequest req : items2) {
-			Product product = productService.findProduct(req.getProductId());
+			Product product = products.get(req.getProductId());
 
 		    OrderItem orderItem = new OrderItem();
 		    orderItem.setOrder(order);
 		    orderItem.setProduct(product);
-			if (!(req.getQuantity() <= product.getStockQuantity() && req.getQuantity() > 0)) {
-				throw new MyException("Stokda kifayət qədər məhsul yoxdur");
-			}
 			orderItem.setQuantity(req.getQuantity());
+			// İsti məhsulun stoku yaddaşda rezerv olunub - bazaya flusher köçürəcək
+			boolean hot = reservations.get(product.getId()) == StockReservation.HOT;
+			orderItem.setStockHot(hot);
+			orderItem.setStockDeferred(hot ? req.getQuantity() : 0);
 			BigDecimal itemTotal = product.getPrice().multiply(BigDecimal.valueOf(req.getQuantity()));
+			orderItem.setPrice(itemTotal);
 			totalAmount = totalAmount.add(itemTotal);
 		    items.add(orderItem);
-			product.setStockQuantity(product.getStockQuantity() - req.getQuantity());
-			productService.savePro(product);
 		}
+		// OrderItem INSERT-ləri flush zamanı JDBC batch kimi göndərilir
 		order.setTotalAmount(totalAmount);
 		order.setItems(items);
 
 		repository.save(order);
+		publishEvent(order, OrderEventType.CREATED, null);
 
 		return convertToDTO(order);
 	}
 
+	/**
+	 * Sifariş vəziyyətinin dəyişdiyi bütün yerlər hadisəni buradan yazır -
+	 * outbox sətri dəyişikliklə eyni tranzaksiyada commit olunur, SSE yayımı commit-dən sonra gedir
+	 */
+	private void publishEvent(Order order, OrderEventType type, OrderStatus previousStatus) {
+		outboxService.record(order, type, previousStatus);
+		streamBroadcaster.publishAfterCommit(order, type);
+	}
+
 	private OrderDTO convertToDTO(Order order) {
 		List<OrderItemDTO> itemDTOs = new ArrayList<OrderItemDTO>();
 		List<OrderItem> items = order.getItems();
@@ -115,9 +209,7 @@ public class OrderService {
 			dto.setUnitPrice(o.getProduct().getPrice());
 			itemDTOs.add(dto);
 		}
-		MarketDTO dto1 = new MarketDTO();
-		Market market = order.getMarket();
-		mapper.map(market, dto1);
+		MarketDTO dto1 = marketMapper.toDTO(order.getMarket());
 		
 		UserDTO op = userService.findById(order.getUserId());
 		OrderDTO dto = new OrderDTO();
@@ -138,20 +230,50 @@ public class OrderService {
 	}
 
 	public OrderResponse getAll(Integer begin, Integer length) {
-		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-		String phoneNumber = authentication.getName();
-		UserDTO en = userService.findByPhoneNumber(phoneNumber);
+		CurrentUser currentUser = userService.currentUser();
 
 		Pageable pageable = PageRequest.of(begin / length, length, Sort.by("createdAt").descending());
-		Page<Order> page = repository.getAll(en.getId(), pageable);
+		Page<Order> page = repository.getAll(currentUser.getId(), pageable);
 
-		List<OrderDTO> list = page.stream().map(this::convertToDTO).collect(Collectors.toList());
+		List<OrderDTO> list = orderDtoAssembler.toDTOs(page.getContent());
 
 		OrderResponse response = new OrderResponse();
 		response.setList(list);
 		return response;
 	}
 
+	/**
+	 * Keyset səhifələmə: (createdAt, id) üzrə kursordan sonrakı sifarişlər.
+	 * limit + 1 sətir oxunur ki, COUNT olmadan növbəti səhifənin olub-olmadığı bilinsin.
+	 */
+	public OrderCursorResponse getPage(String cursor, Integer limit) {
+		int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+		UUID userId = userService.currentUser().getId();
+
+		Pageable pageable = PageRequest.of(0, size + 1);
+		List<Order> orders;
+		if (cursor == null || cursor.isBlank()) {
+			orders = repository.findFirstPage(userId, pageable);
+		} else {
+			OrderCursor after = OrderCursor.decode(cursor);
+			orders = repository.findPageAfter(userId, after.getCreatedAt(), after.getId(), pageable);
+		}
+
+		boolean hasMore = orders.size() > size;
+		if (hasMore) {
+			orders = orders.subList(0, size);
+		}
+
+		OrderCursorResponse response = new OrderCursorResponse();
+		response.setList(orderDtoAssembler.toDTOs(orders));
+		if (hasMore) {
+			Order last = orders.get(orders.size() - 1);
+			response.setNextCursor(new OrderCursor(last.getCreatedAt(), last.getId()).encode());
+		}
+		return response;
+	}
+
 	public List<Order> findOrder(UUID id) {
 		List<Order> p=repository.findOrder(id);
 		return p;
@@ -168,48 +290,80 @@ public class OrderService {
 	}
 
 	public void deleteById(UUID id) {
-		String phone = (String) userService.findPhone();
-		UserDTO currentUser = userService.findByPhoneNumber(phone);
+		CurrentUser currentUser = userService.currentUser();
 
 		Order order = findByOrder(id);
-		if (!order.getUserId().equals(currentUser.getId())) {
+		if (!currentUser.owns(order.getUserId())) {
 			throw new MyException("Başqasının sifarişi silinə bilməz");
 		}
 
+		// Sətirlərlə birlikdə silinəcək gözləyən stok dəyişikliklərini əvvəlcə bazaya köçürürük
+		Map<UUID, Integer> pending = new HashMap<>();
+		for (OrderItem item : orderItemRepository.lockByOrderId(id)) {
+			if (item.getStockDeferred() != null && item.getStockDeferred() != 0) {
+				pending.merge(item.getProduct().getId(), item.getStockDeferred(), Integer::sum);
+			}
+		}
+		productService.applyStockDelta(pending);
+
+		publishEvent(order, OrderEventType.DELETED, order.getStatus());
 		repository.deleteById(id);
 
 	}
 
+	@RetryOnLockFailure
 	public OrderDTO updateOrder(UUID id, OrderUpdateRequest req) {
-		String phone = (String) userService.findPhone();
-		UserDTO currentUser = userService.findByPhoneNumber(phone);
+		CurrentUser currentUser = userService.currentUser();
 
 		Order order = findByOrder(id);
-		if (!order.getUserId().equals(currentUser.getId())) {
+		if (!currentUser.owns(order.getUserId())) {
 			throw new MyException("Başqasının sifarişi redaktə edilə bilməz");
 		}
 
-		if (req.getStatus() != null) {
-			order.setStatus(req.getStatus());
-			if (req.getStatus() == OrderStatus.DELIVERED && order.getDeliveryTime() == null) {
-				order.setDeliveryTime(LocalDateTime.now());
-			}
+		OrderStatus previousStatus = order.getStatus();
+		boolean statusChange = req.getStatus() != null && req.getStatus() != previousStatus;
+		boolean itemChange = req.getItems() != null && !req.getItems().isEmpty();
+
+		// Sətir dəyişikliyi stoku rezerv/azad edir, ləğv isə bütün stoku qaytarır - ikisi bir sorğuda
+		// qarışsa stok iki dəfə hesablanar. Sətirlər yalnız PENDING sifarişdə dəyişdirilir.
+		if (statusChange && itemChange) {
+			throw new MyException("Status və sifariş sətirləri eyni sorğuda dəyişdirilə bilməz");
 		}
+		if (itemChange && previousStatus != OrderStatus.PENDING) {
+			throw new MyException("Sifariş sətirləri yalnız PENDING statusunda dəyişdirilə bilər");
+		}
+
+		// Status dəyişikliyi də keçid cədvəlindən keçir - birbaşa istənilən statusu yazmaq olmur
+		if (statusChange) {
+			applyTransition(order, req.getStatus(), currentUser);
+		}
+
+		boolean edited = false;
 		if (req.getNotes() != null && !req.getNotes().trim().isEmpty()) {
 			order.setNotes(req.getNotes());
+			edited = true;
 		}
 		if (req.getDeliveryAddress() != null && !req.getDeliveryAddress().trim().isEmpty()) {
 			order.setDeliveryAddress(req.getDeliveryAddress());
+			edited = true;
 		}
-		if (req.getItems() != null) {
+		if (itemChange) {
+			edited = true;
 			List<OrderItemUpdateRequest> items = req.getItems();
 			List<OrderItem> existingItems = order.getItems();
 
+			Map<UUID, Product> products = productService.findProducts(
+					items.stream().map(OrderItemUpdateRequest::getProductId).collect(Collectors.toSet()));
+			Map<UUID, Integer> toReserve = new HashMap<>();
+			Map<UUID, Integer> toRelease = new HashMap<>();
+			Map<UUID, Integer> toReleaseHot = new HashMap<>();
+			Map<OrderItem, Integer> increased = new IdentityHashMap<>();
+
 			for (OrderItemUpdateRequest o : items) {
 				Optional<OrderItem> existingItemOpt = existingItems.stream()
 						.filter(i -> i.getProduct().getId().equals(o.getProductId())).findFirst();
 
-				Product product = productService.findProduct(o.getProductId());
+				Product product = products.get(o.getProductId());
 
 				if (existingItemOpt.isPresent()) {
 					OrderItem existingItem = existingItemOpt.get();
@@ -218,35 +372,46 @@ public class OrderService {
 					int newQuantity = o.getQuantity(); // yenilənmiş miqdar
 
 					int difference = newQuantity - oldQuantity;
-					int currentStock = product.getStockQuantity();
 
 					if (newQuantity <= 0) {
 						throw new MyException("Miqdar sıfırdan böyük olmalıdır");
 					}
 
 					if (difference > 0) {
-						// stokda kifayət qədər məhsul yoxdursa, xətaya səbəb olur
-						if (currentStock < difference) {
-							throw new MyException("Stokda kifayət qədər məhsul yoxdur");
-						}
-						product.setStockQuantity(currentStock - difference);
+						toReserve.merge(product.getId(), difference, Integer::sum);
+						increased.put(existingItem, difference);
+					} else if (difference < 0 && Boolean.TRUE.equals(existingItem.getStockHot())) {
+						// artan stok miqdarı - sətir isti sayğacda rezerv olunubsa ora qaytarılır
+						toReleaseHot.merge(product.getId(), -difference, Integer::sum);
+						orderItemRepository.adjustStockDeferred(existingItem.getId(), difference);
 					} else if (difference < 0) {
-						// artan stok miqdarı
-						product.setStockQuantity(currentStock + (-difference));
+						toRelease.merge(product.getId(), -difference, Integer::sum);
 					}
 
-					// Miqdarı yenilə (stok yoxlamasından sonra)
+					// Miqdarı yenilə
 					existingItem.setQuantity(newQuantity);
 
 					// Qiyməti yenilə (məsələn, ədədi * vahid qiymət)
 					existingItem.setPrice(product.getPrice().multiply(BigDecimal.valueOf(newQuantity)));
-
-					productService.savePro(product);
 				} else {
 					// Yeni OrderItem əlavə etmək üçün buraya kod əlavə edə bilərsən
 				}
 			}
 
+			// stokda kifayət qədər məhsul yoxdursa, xətaya səbəb olur (tranzaksiya geri qaytarılır)
+			Map<UUID, StockReservation> reservations = productService.reserveStock(toReserve);
+			if (reservations.containsValue(StockReservation.OUT_OF_STOCK)) {
+				throw new MyException("Stokda kifayət qədər məhsul yoxdur");
+			}
+			// Artım isti sayğacda rezerv olunubsa fərq sətrin stock_deferred-inə yazılır
+			increased.forEach((item, difference) -> {
+				if (reservations.get(item.getProduct().getId()) == StockReservation.HOT) {
+					orderItemRepository.adjustStockDeferred(item.getId(), difference);
+				}
+			});
+			productService.releaseStock(toRelease);
+			productService.releaseHotStock(toReleaseHot);
+
 			// Order-un ümumi məbləğini yenidən hesabla
 			BigDecimal totalAmount = BigDecimal.ZERO;
 			for (OrderItem item : existingItems) {
@@ -254,120 +419,192 @@ public class OrderService {
 			}
 			order.setTotalAmount(totalAmount);
 		}
+		// Status keçidinin öz hadisəsi applyTransition-da yazılıb
+		if (edited) {
+			publishEvent(order, OrderEventType.UPDATED, previousStatus);
+		}
 
 		return convertToDTO(order);
 	}
 
-	public OrderDTO confirmOrder(UUID orderId, String currentUserPhone) {
-		Order order = findByOrder(orderId);
-
-		UserDTO currentUser = userService.findByPhoneNumber(currentUserPhone);
-
-		boolean isAdmin = currentUser.getRole().equals(UserRole.ADMIN);
-		boolean isOwner = order.getUserId().equals(currentUser.getId());
-
-		if (!isAdmin && !isOwner) {
-			throw new MyException("Bu əməliyyatı icra etmək üçün icazəniz yoxdur");
+	/**
+	 * Marketin ən köhnə CONFIRMED sifarişlərindən limit qədərini çağıran hazırlayıcıya lease ilə verir.
+	 * Başqa hazırlayıcının kilidlədiyi sətirlər ötürülür (SKIP LOCKED) - hazırlayıcılar bir-birini gözləmir.
+	 * Hazırlayıcının hələ bitməmiş götürmələri limitə daxildir və müddətləri uzadılır,
+	 * ona görə təkrar sorğu yeni sifarişlər yığmır.
+	 */
+	@RetryOnLockFailure
+	public OrderClaimResponse claimOrders(CurrentUser currentUser, Integer limit) {
+		if (!currentUser.hasRole(UserRole.PREPARER) || currentUser.getMarketId() == null) {
+			throw new MyException("Sifariş götürmək üçün marketə bağlı hazırlayıcı olmalısınız");
 		}
-
-		if (order.getStatus() != OrderStatus.PENDING) {
-			throw new MyException("Yalnız PENDING statusundakı sifariş təsdiqlənə bilər");
+		int size = limit == null ? 1 : Math.max(1, Math.min(limit, maxClaimBatch));
+		LocalDateTime now = LocalDateTime.now();
+		LocalDateTime expiresAt = now.plusSeconds(claimLeaseSeconds);
+
+		List<Order> claimed = new ArrayList<>(repository.findActiveClaims(currentUser.getId(), OrderStatus.CONFIRMED, now));
+		int wanted = size - claimed.size();
+		if (wanted > 0) {
+			claimed.addAll(repository.findClaimable(currentUser.getMarketId(), OrderStatus.CONFIRMED, now,
+					PageRequest.of(0, wanted)));
+		}
+		for (Order order : claimed) {
+			order.setClaimedBy(currentUser.getId());
+			order.setClaimExpiresAt(expiresAt);
 		}
-		order.setStatus(OrderStatus.CONFIRMED);
-		repository.save(order);
 
-		return convertToDTO(order);
+		OrderClaimResponse response = new OrderClaimResponse();
+		response.setList(orderDtoAssembler.toDTOs(claimed));
+		response.setLeaseExpiresAt(expiresAt);
+		return response;
 	}
 
-	public OrderDTO shipOrder(UUID orderId, String currentUserPhone) {
-		Order order = findByOrder(orderId);
-		UserDTO currentUser = userService.findByPhoneNumber(currentUserPhone);
-
-		UserRole role = currentUser.getRole();
-		boolean isAdmin = role.equals(UserRole.ADMIN);
-		boolean isPreparer = role.equals(UserRole.PREPARER);
-
-		if (!isAdmin && !isPreparer) {
-			throw new MyException("Bu əməliyyatı icra etmək üçün icazəniz yoxdur");
-		}
+	private void releaseClaim(Order order) {
+		order.setClaimedBy(null);
+		order.setClaimExpiresAt(null);
+	}
 
-		if (order.getStatus() != OrderStatus.CONFIRMED) {
-			throw new MyException("Yalnız CONFIRMED statusundakı sifariş göndərilə bilər");
-		}
+	@RetryOnLockFailure
+	public OrderDTO confirmOrder(UUID orderId, CurrentUser currentUser) {
+		return changeStatus(orderId, OrderStatus.CONFIRMED, currentUser);
+	}
 
-		if (isPreparer) {
-			if (currentUser.getMarket() == null || order.getMarket() == null
-					|| !order.getMarket().getId().equals(currentUser.getMarket().getId())) {
-				throw new MyException("Bu sifariş sizin marketə aid deyil.");
-			}
-		}
+	@RetryOnLockFailure
+	public OrderDTO shipOrder(UUID orderId, CurrentUser currentUser) {
+		return changeStatus(orderId, OrderStatus.SHIPPED, currentUser);
+	}
 
-		order.setStatus(OrderStatus.SHIPPED);
-		repository.save(order);
+	@RetryOnLockFailure
+	public OrderDTO deliverOrder(UUID id, CurrentUser currentUser) {
+		return changeStatus(id, OrderStatus.DELIVERED, currentUser);
+	}
 
-		return convertToDTO(order);
+	@RetryOnLockFailure
+	public OrderDTO cancelOrder(UUID id, CurrentUser currentUser) {
+		return changeStatus(id, OrderStatus.CANCELLED, currentUser);
 	}
 
-	public OrderDTO deliverOrder(UUID id, String currentUserPhone) {
+	/**
+	 * Sifarişi keçid cədvəlinin icazə verdiyi istənilən statusa keçirir (PUT /orders/{id}/status)
+	 */
+	@RetryOnLockFailure
+	public OrderDTO changeStatus(UUID id, OrderStatus target, CurrentUser currentUser) {
 		Order order = findByOrder(id);
+		applyTransition(order, target, currentUser);
+		return convertToDTO(order);
+	}
 
-		UserDTO currentUser = userService.findByPhoneNumber(currentUserPhone);
-
-		UserRole role = currentUser.getRole();
-		boolean isAdmin = role.equals(UserRole.ADMIN);
-		boolean isPreparer = role.equals(UserRole.PREPARER);
-
-		if (!isAdmin && !isPreparer) {
-			throw new MyException("Bu əməliyyatı icra etmək üçün icazəniz yoxdur");
+	/**
+	 * Tək sifarişin bütün status keçidləri buradan keçir: qayda yoxlanılır, status və yan
+	 * təsirlər (çatdırılma vaxtı, götürmənin buraxılması, ləğvdə stokun qaytarılması) tətbiq
+	 * olunur, hadisə yazılır və keçid sayğaca düşür
+	 */
+	private void applyTransition(Order order, OrderStatus target, CurrentUser currentUser) {
+		OrderStatus previousStatus = order.getStatus();
+		String reason = stateMachine.reject(order, target, currentUser, LocalDateTime.now());
+		if (reason != null) {
+			throw new MyException(reason);
 		}
 
-		if (order.getStatus() != OrderStatus.SHIPPED) {
-			throw new MyException("Yalnız SHIPPED statusundakı sifariş çatdırıla bilər");
+		order.setStatus(target);
+		releaseClaim(order);
+		if (target == OrderStatus.DELIVERED && order.getDeliveryTime() == null) {
+			order.setDeliveryTime(LocalDateTime.now());
 		}
-
-		if (isPreparer) {
-			if (currentUser.getMarket() == null || order.getMarket() == null
-					|| !order.getMarket().getId().equals(currentUser.getMarket().getId())) {
-				throw new MyException("Bu sifariş sizin marketə aid deyil.");
+		repository.save(order);
+		publishEvent(order, OrderEventType.valueOf(target.name()), previousStatus);
+
+		if (target == OrderStatus.CANCELLED) {
+			// Hər sətrin stoku rezerv olunduğu yolla qaytarılır, məhsulun indiki rejimi ilə yox
+			Map<UUID, Integer> toRelease = new HashMap<>();
+			Map<UUID, Integer> toReleaseHot = new HashMap<>();
+			for (OrderItem item : order.getItems()) {
+				if (Boolean.TRUE.equals(item.getStockHot())) {
+					toReleaseHot.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+					orderItemRepository.adjustStockDeferred(item.getId(), -item.getQuantity());
+				} else {
+					toRelease.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+				}
 			}
+			productService.releaseStock(toRelease);
+			productService.releaseHotStock(toReleaseHot);
 		}
-
-		order.setStatus(OrderStatus.DELIVERED);
-		order.setDeliveryTime(LocalDateTime.now());
-
-		repository.save(order);
-
-		return convertToDTO(order);
+		stateMachine.recordApplied(previousStatus, target, 1);
 	}
 
-	public OrderDTO cancelOrder(UUID id, String currentUserPhone) {
-		Order order = findByOrder(id);
-
-		UserDTO currentUser = userService.findByPhoneNumber(currentUserPhone);
+	/**
+	 * Bir neçə sifarişi eyni statusa keçirir (məsələn, növbənin sonunda SHIPPED, DELIVERED, CANCELLED).
+	 * Sifarişlər kilidlənir, bir proyeksiya sorğusu ilə keçid cədvəlinə görə yoxlanılır, keçid bir
+	 * şərtli UPDATE ilə edilir, ləğvlərdə stok bir toplu UPDATE ilə qaytarılır. Hər sifarişin nəticəsi
+	 * ayrıca qaytarılır - keçə bilməyənlər qalanlarına mane olmur.
+	 */
+	@RetryOnLockFailure
+	public OrderBulkStatusResponse bulkTransition(CurrentUser currentUser, OrderBulkStatusRequest request) {
+		OrderStatus target = request.getStatus();
+		Set<OrderStatus> sources = stateMachine.sources(target, currentUser.getRole());
+		if (sources.isEmpty()) {
+			throw new MyException(OrderStateMachine.NOT_PERMITTED);
+		}
 
-		boolean isAdmin = currentUser.getRole() == UserRole.ADMIN;
-		boolean isCustomer = currentUser.getRole() == UserRole.CUSTOMER;
+		Set<UUID> ids = new LinkedHashSet<>(request.getOrderIds());
+		// Sətirlər id sırası ilə kilidlənir - yoxlamadan UPDATE-ə qədər başqa sorğu onların statusunu
+		// dəyişə bilməz. Kilid ilk sorğudur, ona görə sonrakı oxunuş kilidlənmiş vəziyyəti görür.
+		repository.lockForTransition(ids);
+		Map<UUID, OrderTransitionView> views = new HashMap<>();
+		for (OrderTransitionView view : repository.findTransitionViews(ids)) {
+			views.put(view.getId(), view);
+		}
 
-		if (!isAdmin && !isCustomer) {
-			throw new MyException("Bu əməliyyatı icra etmək üçün icazəniz yoxdur");
+		Map<UUID, String> errors = new HashMap<>();
+		List<UUID> valid = new ArrayList<>();
+		LocalDateTime now = LocalDateTime.now();
+		for (UUID id : ids) {
+			OrderTransitionView view = views.get(id);
+			String error = view == null ? "Sifariş tapılmadı" : stateMachine.reject(view, target, currentUser, now);
+			if (error != null) {
+				errors.put(id, error);
+			} else {
+				valid.add(id);
+			}
 		}
 
-		if (order.getStatus() != OrderStatus.PENDING && order.getStatus() != OrderStatus.CONFIRMED) {
-			throw new MyException("Yalnız SHIPPED  və CONFIRMED statusundakı sifariş ləğv oluna bilər");
+		if (!valid.isEmpty()) {
+			int count = target == OrderStatus.DELIVERED
+					? repository.bulkDeliver(valid, sources, now)
+					: repository.bulkUpdateStatus(valid, sources, target);
+			if (count != valid.size()) {
+				// Sətirlər kilidlidir - fərq yalnız kilidin işləmədiyini göstərə bilər. Hansı sətrin bu
+				// sorğu ilə dəyişdiyini bilmədən stok qaytarmaq və hadisə yazmaq olmaz - hamısı geri qaytarılır.
+				throw new IllegalStateException("Toplu keçiddə gözlənilməz sətir sayı: " + count + "/" + valid.size());
+			}
 		}
 
-		order.setStatus(OrderStatus.CANCELLED);
+		if (target == OrderStatus.CANCELLED && !valid.isEmpty()) {
+			productService.restockOrders(valid);
+		}
 
+		OrderEventType type = OrderEventType.valueOf(target.name());
+		for (UUID id : valid) {
+			OrderTransitionView view = views.get(id);
+			UUID marketId = view.getMarketId();
+			outboxService.record(id, marketId, view.getUserId(), target, view.getTotalAmount(), type,
+					view.getStatus());
+			streamBroadcaster.publishAfterCommit(marketId,
+					new OrderStreamEvent(id, type, target, view.getTotalAmount(), now));
+			stateMachine.recordApplied(view.getStatus(), target, 1);
+		}
 
-		repository.save(order);
-		OrderDTO dto = convertToDTO(order);
-		List<OrderItemDTO> items = dto.getItems();
-		for (OrderItemDTO d : items) {
-			Product product = productService.findProduct(d.getProductId());
-			product.setStockQuantity(product.getStockQuantity() + d.getQuantity());
-			productService.savePro(product);
+		List<OrderBulkStatusResult> results = new ArrayList<>(ids.size());
+		for (UUID id : ids) {
+			String error = errors.get(id);
+			results.add(new OrderBulkStatusResult(id, error == null, error));
 		}
 
-		return convertToDTO(order);
+		OrderBulkStatusResponse response = new OrderBulkStatusResponse();
+		response.setStatus(target);
+		response.setUpdated(ids.size() - errors.size());
+		response.setFailed(errors.size());
+		response.setResults(results);
+		return response;
 	}
-}
\ No newline at end of file
+}
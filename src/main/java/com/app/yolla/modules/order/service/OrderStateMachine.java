@@ -0,0 +1,193 @@
+package com.app.yolla.modules.order.service;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.app.yolla.modules.order.entity.Order;
+import com.app.yolla.modules.order.entity.OrderStatus;
+import com.app.yolla.modules.order.repository.OrderTransitionView;
+import com.app.yolla.modules.user.entity.UserRole;
+import com.app.yolla.shared.security.CurrentUser;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Sifariş statuslarının keçid qaydaları - (haradan, haraya, rol) üçlüyünə bir yoxlama
+ * <p>
+ * Cədvəl başlanğıcda bir dəfə qurulur və sonra dəyişmir. Yoxlama yalnız EnumMap oxunuşudur,
+ * səbəblər əvvəlcədən hazırlanmış sətirlərdir - tək, toplu və asinxron axınlar obyekt
+ * yaratmadan eyni qaydalardan istifadə edir. Keçidlərin sayğacları da əvvəlcədən qeydiyyatdan keçir.
+ */
+@Component
+public class OrderStateMachine {
+
+	static final String NOT_PERMITTED = "Bu əməliyyatı icra etmək üçün icazəniz yoxdur";
+	static final String OTHER_MARKET = "Bu sifariş sizin marketə aid deyil.";
+	static final String CLAIMED_BY_OTHER = "Bu sifariş başqa hazırlayıcı tərəfindən götürülüb";
+
+	/**
+	 * Rolun keçidə əlavə şərti; keçid mümkündürsə null, deyilsə səbəb qaytarır
+	 */
+	@FunctionalInterface
+	interface Guard {
+		String check(CurrentUser user, UUID ownerId, UUID marketId, UUID claimedBy, LocalDateTime claimExpiresAt,
+				LocalDateTime now);
+	}
+
+	private static final Guard ANYONE = (user, ownerId, marketId, claimedBy, claimExpiresAt, now) -> null;
+
+	private static final Guard OWNER = (user, ownerId, marketId, claimedBy, claimExpiresAt, now) ->
+			user.owns(ownerId) ? null : NOT_PERMITTED;
+
+	private static final Guard SAME_MARKET = (user, ownerId, marketId, claimedBy, claimExpiresAt, now) ->
+			marketId != null && user.belongsToMarket(marketId) ? null : OTHER_MARKET;
+
+	/**
+	 * Marketin hazırlayıcısı, sifariş başqa hazırlayıcıda bitməmiş götürmə ilə durmursa
+	 */
+	private static final Guard SAME_MARKET_UNCLAIMED = (user, ownerId, marketId, claimedBy, claimExpiresAt, now) -> {
+		if (marketId == null || !user.belongsToMarket(marketId)) {
+			return OTHER_MARKET;
+		}
+		if (claimedBy != null && !user.owns(claimedBy) && claimExpiresAt != null && claimExpiresAt.isAfter(now)) {
+			return CLAIMED_BY_OTHER;
+		}
+		return null;
+	};
+
+	private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+	private final Map<OrderStatus, Map<OrderStatus, Map<UserRole, Guard>>> matrix = new EnumMap<>(OrderStatus.class);
+
+	/**
+	 * Hədəf status -> rol -> həmin rolun bu statusa keçirə bildiyi statuslar
+	 */
+	private final Map<OrderStatus, Map<UserRole, Set<OrderStatus>>> sources = new EnumMap<>(OrderStatus.class);
+
+	private final String[][] illegalMessages = new String[STATUSES.length][STATUSES.length];
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private Counter[][] applied;
+	private Counter[][] rejected;
+
+	public OrderStateMachine() {
+		allow(OrderStatus.PENDING, OrderStatus.CONFIRMED, UserRole.ADMIN, ANYONE);
+		allow(OrderStatus.PENDING, OrderStatus.CONFIRMED, UserRole.CUSTOMER, OWNER);
+
+		allow(OrderStatus.CONFIRMED, OrderStatus.SHIPPED, UserRole.ADMIN, ANYONE);
+		allow(OrderStatus.CONFIRMED, OrderStatus.SHIPPED, UserRole.PREPARER, SAME_MARKET_UNCLAIMED);
+
+		allow(OrderStatus.SHIPPED, OrderStatus.DELIVERED, UserRole.ADMIN, ANYONE);
+		allow(OrderStatus.SHIPPED, OrderStatus.DELIVERED, UserRole.PREPARER, SAME_MARKET);
+
+		allow(OrderStatus.PENDING, OrderStatus.CANCELLED, UserRole.ADMIN, ANYONE);
+		allow(OrderStatus.PENDING, OrderStatus.CANCELLED, UserRole.CUSTOMER, OWNER);
+		allow(OrderStatus.CONFIRMED, OrderStatus.CANCELLED, UserRole.ADMIN, ANYONE);
+		allow(OrderStatus.CONFIRMED, OrderStatus.CANCELLED, UserRole.CUSTOMER, OWNER);
+
+		for (OrderStatus from : STATUSES) {
+			for (OrderStatus to : STATUSES) {
+				illegalMessages[from.ordinal()][to.ordinal()] =
+						from + " statusundakı sifariş " + to + " statusuna keçə bilməz";
+			}
+		}
+	}
+
+	private void allow(OrderStatus from, OrderStatus to, UserRole role, Guard guard) {
+		matrix.computeIfAbsent(from, s -> new EnumMap<>(OrderStatus.class))
+				.computeIfAbsent(to, s -> new EnumMap<>(UserRole.class))
+				.put(role, guard);
+		sources.computeIfAbsent(to, s -> new EnumMap<>(UserRole.class))
+				.computeIfAbsent(role, r -> EnumSet.noneOf(OrderStatus.class))
+				.add(from);
+	}
+
+	@PostConstruct
+	void init() {
+		applied = new Counter[STATUSES.length][STATUSES.length];
+		rejected = new Counter[STATUSES.length][STATUSES.length];
+		for (OrderStatus from : STATUSES) {
+			for (OrderStatus to : STATUSES) {
+				applied[from.ordinal()][to.ordinal()] = counter(from, to, "applied");
+				rejected[from.ordinal()][to.ordinal()] = counter(from, to, "rejected");
+			}
+		}
+		sources.replaceAll((to, byRole) -> {
+			byRole.replaceAll((role, set) -> Collections.unmodifiableSet(set));
+			return byRole;
+		});
+	}
+
+	private Counter counter(OrderStatus from, OrderStatus to, String outcome) {
+		return Counter.builder("orders.transitions")
+				.description("Sifariş status keçidləri")
+				.tag("from", from.name())
+				.tag("to", to.name())
+				.tag("outcome", outcome)
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Rolun sifarişi hədəf statusa keçirə bildiyi mənbə statuslar (toplu UPDATE-in şərti üçün).
+	 * Boşdursa rolun bu statusa keçid icazəsi yoxdur.
+	 */
+	public Set<OrderStatus> sources(OrderStatus to, UserRole role) {
+		Map<UserRole, Set<OrderStatus>> byRole = sources.get(to);
+		Set<OrderStatus> result = byRole != null ? byRole.get(role) : null;
+		return result != null ? result : Collections.emptySet();
+	}
+
+	public String reject(Order order, OrderStatus to, CurrentUser user, LocalDateTime now) {
+		return reject(order.getStatus(), to, user, order.getUserId(),
+				order.getMarket() != null ? order.getMarket().getId() : null,
+				order.getClaimedBy(), order.getClaimExpiresAt(), now);
+	}
+
+	public String reject(OrderTransitionView view, OrderStatus to, CurrentUser user, LocalDateTime now) {
+		return reject(view.getStatus(), to, user, view.getUserId(), view.getMarketId(),
+				view.getClaimedBy(), view.getClaimExpiresAt(), now);
+	}
+
+	/**
+	 * Keçid mümkündürsə null, deyilsə səbəbi qaytarır. Əvvəl rolun hədəf statusa ümumiyyətlə
+	 * icazəsi, sonra mənbə statusun uyğunluğu, axırda rolun şərti yoxlanılır.
+	 * Rədd edilən keçid sayğaca yazılır.
+	 */
+	public String reject(OrderStatus from, OrderStatus to, CurrentUser user, UUID ownerId, UUID marketId,
+			UUID claimedBy, LocalDateTime claimExpiresAt, LocalDateTime now) {
+		String reason;
+		if (sources(to, user.getRole()).isEmpty()) {
+			reason = NOT_PERMITTED;
+		} else {
+			Map<OrderStatus, Map<UserRole, Guard>> targets = matrix.get(from);
+			Map<UserRole, Guard> guards = targets != null ? targets.get(to) : null;
+			Guard guard = guards != null ? guards.get(user.getRole()) : null;
+			reason = guard == null
+					? illegalMessages[from.ordinal()][to.ordinal()]
+					: guard.check(user, ownerId, marketId, claimedBy, claimExpiresAt, now);
+		}
+		if (reason != null) {
+			rejected[from.ordinal()][to.ordinal()].increment();
+		}
+		return reason;
+	}
+
+	/**
+	 * Tətbiq olunmuş keçidləri sayğaca yazır
+	 */
+	public void recordApplied(OrderStatus from, OrderStatus to, int count) {
+		applied[from.ordinal()][to.ordinal()].increment(count);
+	}
+}
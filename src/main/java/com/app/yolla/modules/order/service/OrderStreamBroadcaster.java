@@ -0,0 +1,351 @@
+package com.app.yolla.modules.order.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.app.yolla.modules.order.dto.OrderStreamEvent;
+import com.app.yolla.modules.order.entity.Order;
+import com.app.yolla.modules.order.entity.OrderEventType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Marketlər üzrə sifariş hadisələrinin SSE yayımı (GET /orders/stream)
+ * <p>
+ * Hər market üçün bir kanal: son replay-size hadisənin halqa buferi və abunəçilər.
+ * Hadisə commit-dən sonra kanala yazılır və hər abunəçinin məhdud növbəsinə qoyulur;
+ * göndərməni sender pool-u edir, yavaş klient yayımı gözlətmir. Növbəsi dolan klient
+ * bağlanır - Last-Event-ID ilə yenidən qoşulub buraxdıqlarını buferdən alır.
+ * <p>
+ * Hadisə id-si "başlama-vaxtı:sıra"dır. Buferdə olmayan və ya əvvəlki prosesə aid id ilə
+ * qoşulan klientə "reset" hadisəsi göndərilir - siyahını yenidən yükləməlidir.
+ */
+@Component
+public class OrderStreamBroadcaster {
+
+	private static final Logger logger = LoggerFactory.getLogger(OrderStreamBroadcaster.class);
+
+	/**
+	 * Hazırlayıcının lövhəsini dəyişən hadisələr
+	 */
+	private static final Set<OrderEventType> STREAMED = EnumSet.of(
+			OrderEventType.CREATED, OrderEventType.CONFIRMED, OrderEventType.CANCELLED);
+
+	private static final String RESET_EVENT = "reset";
+
+	private final long bootId = System.currentTimeMillis();
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${app.orders.stream.timeout-ms:1800000}")
+	private long timeoutMs;
+
+	@Value("${app.orders.stream.replay-size:256}")
+	private int replaySize;
+
+	@Value("${app.orders.stream.client-buffer-size:64}")
+	private int clientBufferSize;
+
+	@Value("${app.orders.stream.sender-threads:4}")
+	private int senderThreads;
+
+	private final Map<UUID, MarketChannel> channels = new ConcurrentHashMap<>();
+
+	private final AtomicInteger clientCount = new AtomicInteger();
+
+	private ExecutorService senders;
+
+	private Counter dropped;
+
+	@PostConstruct
+	void init() {
+		CustomizableThreadFactory factory = new CustomizableThreadFactory("order-stream-");
+		factory.setDaemon(true);
+		senders = Executors.newFixedThreadPool(senderThreads, factory);
+
+		Gauge.builder("orders.stream.clients", clientCount, AtomicInteger::get)
+				.description("Açıq SSE bağlantıları")
+				.register(meterRegistry);
+		dropped = Counter.builder("orders.stream.dropped")
+				.description("Buferi dolduğu üçün bağlanan klientlər")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Hadisəni tranzaksiya commit olunduqdan sonra marketin kanalına yazır
+	 */
+	public void publishAfterCommit(Order order, OrderEventType type) {
+		if (order.getMarket() == null) {
+			return;
+		}
+		publishAfterCommit(order.getMarket().getId(), new OrderStreamEvent(order.getId(), type, order.getStatus(),
+				order.getTotalAmount(), LocalDateTime.now()));
+	}
+
+	public void publishAfterCommit(UUID marketId, OrderStreamEvent event) {
+		if (marketId == null || !STREAMED.contains(event.getType())) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			publish(marketId, event);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				publish(marketId, event);
+			}
+		});
+	}
+
+	/**
+	 * Klienti marketin kanalına qoşur; lastEventId verilibsə buraxılmış hadisələr əvvəlcə göndərilir
+	 */
+	public SseEmitter subscribe(UUID marketId, String lastEventId) {
+		SseEmitter emitter = new SseEmitter(timeoutMs);
+		MarketChannel channel = channel(marketId);
+		Client client = new Client(emitter, channel, clientBufferSize);
+
+		emitter.onCompletion(() -> channel.remove(client));
+		emitter.onTimeout(() -> channel.remove(client));
+		emitter.onError(e -> channel.remove(client));
+
+		channel.add(client, lastEventId);
+		schedule(client);
+		return emitter;
+	}
+
+	void publish(UUID marketId, OrderStreamEvent event) {
+		for (Client client : channel(marketId).append(event)) {
+			schedule(client);
+		}
+	}
+
+	/**
+	 * Proksi və load balancer-lər boş bağlantını kəsməsin deyə SSE şərhi göndərilir
+	 */
+	@Scheduled(fixedRateString = "${app.orders.stream.heartbeat-ms:15000}")
+	public void heartbeat() {
+		for (MarketChannel channel : channels.values()) {
+			for (Client client : channel.clients) {
+				if (client.offer(Entry.HEARTBEAT)) {
+					schedule(client);
+				}
+			}
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		channels.values().forEach(channel -> channel.clients.forEach(client -> client.emitter.complete()));
+		senders.shutdownNow();
+	}
+
+	private MarketChannel channel(UUID marketId) {
+		return channels.computeIfAbsent(marketId, id -> new MarketChannel());
+	}
+
+	private void schedule(Client client) {
+		if (client.draining.compareAndSet(false, true)) {
+			try {
+				senders.execute(() -> drain(client));
+			} catch (RuntimeException e) {
+				client.draining.set(false);
+			}
+		}
+	}
+
+	/**
+	 * Klientin növbəsini boşaldır; bitəndə bayrağı buraxıb yenidən yoxlayır ki, hadisə itməsin
+	 */
+	private void drain(Client client) {
+		do {
+			Entry entry;
+			while ((entry = client.queue.poll()) != null) {
+				try {
+					client.emitter.send(entry.toSse());
+				} catch (IOException | IllegalStateException e) {
+					// Klient bağlantını bağlayıb
+					client.channel.remove(client);
+					client.emitter.completeWithError(e);
+					client.queue.clear();
+					return;
+				}
+			}
+			client.draining.set(false);
+		} while (!client.queue.isEmpty() && client.draining.compareAndSet(false, true));
+	}
+
+	private String eventId(long sequence) {
+		return bootId + ":" + sequence;
+	}
+
+	/**
+	 * Bir marketin kanalı. Əlavə etmə və abunə eyni kilid altındadır ki, replay ilə canlı
+	 * hadisələr arasında boşluq və ya təkrar olmasın.
+	 */
+	private final class MarketChannel {
+
+		private final ArrayDeque<Entry> replay = new ArrayDeque<>();
+		private final List<Client> clients = new CopyOnWriteArrayList<>();
+		private long sequence;
+
+		synchronized List<Client> append(OrderStreamEvent event) {
+			sequence++;
+			Entry entry = new Entry(sequence, eventId(sequence), event);
+			replay.addLast(entry);
+			if (replay.size() > replaySize) {
+				replay.removeFirst();
+			}
+			List<Client> ready = new ArrayList<>(clients.size());
+			for (Client client : clients) {
+				if (client.offer(entry)) {
+					ready.add(client);
+				} else {
+					overflow(client);
+				}
+			}
+			return ready;
+		}
+
+		synchronized void add(Client client, String lastEventId) {
+			List<Entry> missed = missed(lastEventId);
+			if (missed == null || missed.size() > clientBufferSize) {
+				client.offer(Entry.RESET);
+			} else {
+				missed.forEach(client::offer);
+			}
+			clients.add(client);
+			clientCount.incrementAndGet();
+		}
+
+		void remove(Client client) {
+			if (clients.remove(client)) {
+				clientCount.decrementAndGet();
+			}
+		}
+
+		/**
+		 * lastEventId-dən sonrakı hadisələr; bərpa mümkün deyilsə null
+		 */
+		private List<Entry> missed(String lastEventId) {
+			if (lastEventId == null || lastEventId.isBlank()) {
+				return List.of();
+			}
+			long last;
+			try {
+				int separator = lastEventId.indexOf(':');
+				if (separator < 0 || Long.parseLong(lastEventId.substring(0, separator)) != bootId) {
+					return null;
+				}
+				last = Long.parseLong(lastEventId.substring(separator + 1));
+			} catch (NumberFormatException e) {
+				return null;
+			}
+			if (last > sequence) {
+				return null;
+			}
+			long oldest = replay.isEmpty() ? sequence + 1 : replay.peekFirst().sequence;
+			if (last + 1 < oldest) {
+				return null;
+			}
+			List<Entry> result = new ArrayList<>();
+			for (Entry entry : replay) {
+				if (entry.sequence > last) {
+					result.add(entry);
+				}
+			}
+			return result;
+		}
+
+		private void overflow(Client client) {
+			remove(client);
+			dropped.increment();
+			logger.debug("SSE klientinin buferi doldu, bağlantı bağlanır");
+			client.queue.clear();
+			client.emitter.complete();
+		}
+	}
+
+	private static final class Client {
+
+		private final SseEmitter emitter;
+		private final MarketChannel channel;
+		private final BlockingQueue<Entry> queue;
+		private final AtomicBoolean draining = new AtomicBoolean();
+
+		private Client(SseEmitter emitter, MarketChannel channel, int capacity) {
+			this.emitter = emitter;
+			this.channel = channel;
+			this.queue = new ArrayBlockingQueue<>(capacity);
+		}
+
+		boolean offer(Entry entry) {
+			return queue.offer(entry);
+		}
+	}
+
+	/**
+	 * Göndəriləcək SSE qeydi: sifariş hadisəsi, reset və ya heartbeat şərhi
+	 */
+	private static final class Entry {
+
+		private static final Entry HEARTBEAT = new Entry(0, null, null);
+		private static final Entry RESET = new Entry(0, null, null);
+
+		private final long sequence;
+		private final String id;
+		private final OrderStreamEvent event;
+
+		private Entry(long sequence, String id, OrderStreamEvent event) {
+			this.sequence = sequence;
+			this.id = id;
+			this.event = event;
+		}
+
+		SseEmitter.SseEventBuilder toSse() {
+			if (this == HEARTBEAT) {
+				return SseEmitter.event().comment("heartbeat");
+			}
+			if (this == RESET) {
+				return SseEmitter.event().name(RESET_EVENT).data("{}", MediaType.APPLICATION_JSON);
+			}
+			return SseEmitter.event()
+					.id(id)
+					.name(event.getType().name().toLowerCase())
+					.data(event, MediaType.APPLICATION_JSON);
+		}
+	}
+}
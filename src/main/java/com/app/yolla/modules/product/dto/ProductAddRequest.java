@@ -32,7 +32,6 @@ public class ProductAddRequest {
 	@Min(value = 0, message = "Stok miqdarı mənfi ola bilməz")
 	private Integer stockQuantity;
 
-
-
+	private Boolean hotStock;
 
 }
@@ -36,6 +36,8 @@ public class ProductDTO {
 
 	private Boolean active;
 
+	private Boolean hotStock;
+
 	@CreatedDate
 	@Column(name = "created_at", nullable = false, updatable = false)
 	private LocalDateTime createdAt;
@@ -49,7 +51,7 @@ public class ProductDTO {
 			@Size(max = 500, message = "Təsvir ən çox 500 simvol ola bilər") String description,
 			@NotNull(message = "Qiymət boş ola bilməz") @DecimalMin(value = "0.0", inclusive = false, message = "Qiymət 0-dan böyük olmalıdır") @Digits(integer = 10, fraction = 2, message = "Qiymət maksimum 10 tam və 2 onluq rəqəm ola bilər") BigDecimal price,
 			@NotNull(message = "Stok miqdarı boş ola bilməz") @Min(value = 0, message = "Stok miqdarı mənfi ola bilməz") Integer stockQuantity,
-			Boolean active, LocalDateTime createdAt, LocalDateTime updatedAt) {
+			Boolean active, Boolean hotStock, LocalDateTime createdAt, LocalDateTime updatedAt) {
 		super();
 		this.id = id;
 		this.name = name;
@@ -57,6 +59,7 @@ public class ProductDTO {
 		this.price = price;
 		this.stockQuantity = stockQuantity;
 		this.active = active;
+		this.hotStock = hotStock;
 		this.createdAt = createdAt;
 		this.updatedAt = updatedAt;
 	}
@@ -113,6 +116,14 @@ public class ProductDTO {
 		this.active = active;
 	}
 
+	public Boolean getHotStock() {
+		return hotStock;
+	}
+
+	public void setHotStock(Boolean hotStock) {
+		this.hotStock = hotStock;
+	}
+
 	public LocalDateTime getCreatedAt() {
 		return createdAt;
 	}
@@ -15,6 +15,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -28,10 +29,10 @@ import lombok.NoArgsConstructor;
 public class Product {
 	
 	@Id
-	@GeneratedValue(generator = "uuid2")
-	@GenericGenerator(name = "uuid2", strategy = "org.hibernate.id.UUIDGenerator")
-	@Column(name = "id", columnDefinition = "VARCHAR(36)", nullable = false, updatable = false)
-	@JdbcTypeCode(SqlTypes.CHAR)
+	@GeneratedValue(generator = "uuid7")
+	@GenericGenerator(name = "uuid7", strategy = "com.app.yolla.shared.persistence.TimeOrderedUuidGenerator")
+	@Column(name = "id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
+	@JdbcTypeCode(SqlTypes.BINARY)
 	private UUID id;
 
 	private String name;
@@ -44,6 +45,12 @@ public class Product {
 
 	private Boolean active;
 
+	/**
+	 * Flash-sale rejimi - stok yaddaşdakı kitabçada idarə olunur
+	 */
+	@Column(name = "hot_stock")
+	private Boolean hotStock = false;
+
 	@CreatedDate
 	@Column(name = "created_at", nullable = false, updatable = false)
 	private LocalDateTime createdAt;
@@ -52,9 +59,17 @@ public class Product {
 	@Column(name = "updated_at")
 	private LocalDateTime updatedAt;
 
-	@Column(name = "user_id", columnDefinition = "VARCHAR(36)", nullable = false)
-	@JdbcTypeCode(SqlTypes.CHAR)
+	@Column(name = "user_id", columnDefinition = "BINARY(16)", nullable = false)
+	@JdbcTypeCode(SqlTypes.BINARY)
 	private UUID userId;
 
+	/**
+	 * Optimistik kilid. Stoku dəyişən UPDATE sorğuları da versiyanı artırır ki, köhnə oxunmuş
+	 * məhsulun saxlanması stoku geri yazmasın.
+	 */
+	@Version
+	@Column(name = "version", nullable = false)
+	private Long version;
+
 
 }
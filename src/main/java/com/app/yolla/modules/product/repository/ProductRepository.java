@@ -1,8 +1,13 @@
 package com.app.yolla.modules.product.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.app.yolla.modules.product.entity.Product;
@@ -10,6 +15,45 @@ import com.app.yolla.modules.product.entity.Product;
 @Repository
 public interface ProductRepository extends JpaRepository<Product, UUID> {
 
+	/**
+	 * Səbətdəki bütün məhsulları bir sorğu ilə gətirir
+	 */
+	@Query("SELECT p FROM Product p WHERE p.id IN :ids")
+	List<Product> findAllByIdIn(@Param("ids") Collection<UUID> ids);
 
+	/**
+	 * Stoku yalnız kifayət qədər məhsul olduqda azaldır (oxu-yaz yarışı olmadan).
+	 * 1 qaytarırsa rezerv uğurludur, 0 qaytarırsa stok çatmır.
+	 */
+	@Modifying
+	@Query("UPDATE Product p SET p.version = p.version + 1, p.stockQuantity = p.stockQuantity - :qty WHERE p.id = :id AND p.stockQuantity >= :qty")
+	int decrementStock(@Param("id") UUID id, @Param("qty") int qty);
+
+	/**
+	 * Stoku atomik şəkildə artırır (ləğv və miqdar azaldılması üçün)
+	 */
+	@Modifying
+	@Query("UPDATE Product p SET p.version = p.version + 1, p.stockQuantity = p.stockQuantity + :qty WHERE p.id = :id")
+	int incrementStock(@Param("id") UUID id, @Param("qty") int qty);
+
+	/**
+	 * Yaddaşda toplanmış stok dəyişikliyini şərtsiz tətbiq edir (isti stok flusher-i üçün)
+	 */
+	@Modifying
+	@Query("UPDATE Product p SET p.version = p.version + 1, p.stockQuantity = p.stockQuantity - :delta WHERE p.id = :id")
+	int applyStockDelta(@Param("id") UUID id, @Param("delta") int delta);
+
+	/**
+	 * Verilmiş sifarişlərin bazada rezerv olunmuş sətirlərindəki miqdarları məhsulların stokuna bir UPDATE ilə qaytarır
+	 */
+	@Modifying
+	@Query("UPDATE Product p SET p.version = p.version + 1, p.stockQuantity = p.stockQuantity + "
+			+ "(SELECT COALESCE(SUM(oi.quantity), 0) FROM OrderItem oi WHERE oi.product.id = p.id AND oi.order.id IN :orderIds "
+			+ "AND oi.stockHot = false) "
+			+ "WHERE p.id IN :productIds")
+	int restockFromOrders(@Param("orderIds") Collection<UUID> orderIds,
+			@Param("productIds") Collection<UUID> productIds);
+
+	List<Product> findAllByHotStockTrue();
 
 }
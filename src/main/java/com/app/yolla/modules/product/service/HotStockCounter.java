@@ -0,0 +1,100 @@
+package com.app.yolla.modules.product.service;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Bir "isti" məhsulun stokunu bir neçə zolağa (stripe) bölərək saxlayan kilidsiz sayğac.
+ * <p>
+ * Hər thread öz zolağından CAS ilə götürür, ona görə də eyni məhsula gələn
+ * paralel sifarişlər bir-birini gözləmir. Zolaqlar 64 baytlıq aralıqla
+ * yerləşdirilir ki, false sharing olmasın.
+ */
+class HotStockCounter {
+
+	private static final int PAD = 16;
+
+	private final int stripes;
+	private final AtomicIntegerArray cells;
+
+	HotStockCounter(int stripes, int initial) {
+		this.stripes = Math.max(1, stripes);
+		this.cells = new AtomicIntegerArray(this.stripes * PAD);
+		reset(initial);
+	}
+
+	/**
+	 * Miqdarı rezerv etməyə çalışır. Stok çatmırsa heç nə dəyişmir və false qaytarır.
+	 */
+	boolean tryReserve(int qty) {
+		int start = probe();
+
+		// Sürətli yol: bir zolaq kifayət edir
+		for (int i = 0; i < stripes; i++) {
+			int idx = cell((start + i) % stripes);
+			int v;
+			while ((v = cells.get(idx)) >= qty) {
+				if (cells.compareAndSet(idx, v, v - qty)) {
+					return true;
+				}
+			}
+		}
+
+		// Yavaş yol: bir neçə zolaqdan yığırıq, çatmasa geri qaytarırıq
+		int[] taken = new int[stripes];
+		int need = qty;
+		for (int i = 0; i < stripes && need > 0; i++) {
+			int s = (start + i) % stripes;
+			int idx = cell(s);
+			int v;
+			while (need > 0 && (v = cells.get(idx)) > 0) {
+				int take = Math.min(v, need);
+				if (cells.compareAndSet(idx, v, v - take)) {
+					taken[s] += take;
+					need -= take;
+				}
+			}
+		}
+		if (need == 0) {
+			return true;
+		}
+		for (int s = 0; s < stripes; s++) {
+			if (taken[s] > 0) {
+				cells.addAndGet(cell(s), taken[s]);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Stoku geri qaytarır (mənfi dəyər şərtsiz çıxılma deməkdir)
+	 */
+	void release(int qty) {
+		cells.addAndGet(cell(probe()), qty);
+	}
+
+	int available() {
+		int sum = 0;
+		for (int s = 0; s < stripes; s++) {
+			sum += cells.get(cell(s));
+		}
+		return sum;
+	}
+
+	void reset(int total) {
+		int share = total / stripes;
+		int rest = total - share * stripes;
+		for (int s = 0; s < stripes; s++) {
+			cells.set(cell(s), share + (s < rest ? 1 : 0));
+		}
+	}
+
+	private int cell(int stripe) {
+		return stripe * PAD;
+	}
+
+	private int probe() {
+		long id = Thread.currentThread().getId();
+		int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+		return ((h ^ (h >>> 16)) & 0x7fffffff) % stripes;
+	}
+}
@@ -0,0 +1,74 @@
+package com.app.yolla.modules.product.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.app.yolla.modules.order.entity.OrderItem;
+import com.app.yolla.modules.order.repository.OrderItemRepository;
+import com.app.yolla.modules.product.repository.ProductRepository;
+
+import jakarta.transaction.Transactional;
+
+/**
+ * İsti məhsulların yaddaşda toplanmış stok dəyişikliklərini products cədvəlinə köçürür.
+ * <p>
+ * Hər dövrdə stock_deferred != 0 olan sətirlər kilidlənir, məhsul üzrə cəmlənir,
+ * hər məhsula bir UPDATE göndərilir və sətirlər bir UPDATE ilə sıfırlanır - hamısı bir tranzaksiyada.
+ */
+@Component
+public class HotStockFlusher {
+
+	private static final Logger logger = LoggerFactory.getLogger(HotStockFlusher.class);
+
+	@Autowired
+	private HotStockLedger ledger;
+
+	@Autowired
+	private OrderItemRepository orderItemRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Value("${app.stock.hot.flush-batch-size:500}")
+	private int batchSize;
+
+	@Scheduled(fixedDelayString = "${app.stock.hot.flush-interval-ms:1000}")
+	@Transactional
+	public void flush() {
+		if (!ledger.isEnabled()) {
+			return;
+		}
+
+		List<OrderItem> items = orderItemRepository.findDeferredForFlush(PageRequest.of(0, batchSize));
+		if (items.isEmpty()) {
+			return;
+		}
+
+		Map<UUID, Integer> deltas = new TreeMap<>();
+		List<UUID> ids = new ArrayList<>();
+		for (OrderItem item : items) {
+			deltas.merge(item.getProduct().getId(), item.getStockDeferred(), Integer::sum);
+			ids.add(item.getId());
+		}
+		// Sətirlər kilidlidir - paralel nisbi yeniləmələr commit-dən sonra sıfırın üzərinə yazılır
+		orderItemRepository.clearStockDeferred(ids);
+		for (Map.Entry<UUID, Integer> e : deltas.entrySet()) {
+			if (e.getValue() != 0) {
+				productRepository.applyStockDelta(e.getKey(), e.getValue());
+			}
+		}
+
+		logger.debug("İsti stok bazaya köçürüldü: sətir={}, məhsul={}", items.size(), deltas.size());
+	}
+}
@@ -0,0 +1,172 @@
+package com.app.yolla.modules.product.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.app.yolla.modules.order.repository.OrderItemRepository;
+import com.app.yolla.modules.product.entity.Product;
+import com.app.yolla.modules.product.repository.ProductRepository;
+
+/**
+ * "İsti" (flash-sale) məhsullar üçün yaddaşdakı stok kitabçası.
+ * <p>
+ * hotStock=true olan məhsulların stoku node daxilində {@link HotStockCounter}-də saxlanılır.
+ * Sifarişlər rezervi yaddaşda edir, dəyişiklik isə sifariş sətrinin stock_deferred
+ * sahəsinə yazılır. {@link HotStockFlusher} bu dəyərləri partiyalarla products
+ * cədvəlinə köçürür. Node çöksə belə, məlumat itmir: başlanğıcda mövcud stok
+ * products.stock_quantity - SUM(order_items.stock_deferred) kimi bərpa olunur.
+ * <p>
+ * Qeyd: sayğac hər node-da ayrıca saxlanılır, ona görə də rejim bir node üçün
+ * (və ya node-lar arasında bölünmüş stok üçün) nəzərdə tutulub.
+ */
+@Component
+public class HotStockLedger {
+
+	private static final Logger logger = LoggerFactory.getLogger(HotStockLedger.class);
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private OrderItemRepository orderItemRepository;
+
+	@Value("${app.stock.hot.enabled:false}")
+	private boolean enabled;
+
+	@Value("${app.stock.hot.stripes:8}")
+	private int stripes;
+
+	private final Map<UUID, HotStockCounter> counters = new ConcurrentHashMap<>();
+
+	/**
+	 * Başlanğıcda isti məhsulların stokunu verilənlər bazası ilə uzlaşdırır
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void reconcile() {
+		if (!enabled) {
+			return;
+		}
+		List<Product> hotProducts = productRepository.findAllByHotStockTrue();
+		for (Product p : hotProducts) {
+			load(p);
+		}
+		logger.info("İsti stok kitabçası yükləndi: məhsul sayı={}", counters.size());
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Məhsulun stoku yaddaşda idarə olunurmu
+	 */
+	public boolean isHot(UUID productId) {
+		return enabled && counters.containsKey(productId);
+	}
+
+	/**
+	 * Yaddaşda rezerv edir. Tranzaksiya geri qaytarılarsa, rezerv avtomatik azad olunur.
+	 * Məhsulun sayğacı yoxdursa (isti deyil və ya bu arada reload ilə çıxarılıb) DATABASE qaytarır -
+	 * stok products cədvəlində rezerv olunmalıdır.
+	 */
+	public StockReservation reserve(UUID productId, int qty) {
+		HotStockCounter counter = enabled ? counters.get(productId) : null;
+		if (counter == null) {
+			return StockReservation.DATABASE;
+		}
+		if (!counter.tryReserve(qty)) {
+			return StockReservation.OUT_OF_STOCK;
+		}
+		onRollback(() -> counter.release(qty));
+		return StockReservation.HOT;
+	}
+
+	/**
+	 * Yaddaşdakı stoku geri qaytarır. Tranzaksiya geri qaytarılarsa, əməliyyat da geri alınır.
+	 */
+	public void release(UUID productId, int qty) {
+		HotStockCounter counter = counters.get(productId);
+		if (counter == null) {
+			return;
+		}
+		counter.release(qty);
+		onRollback(() -> counter.release(-qty));
+	}
+
+	/**
+	 * Məhsulun vəziyyətini bazadan yenidən oxuyur (məhsul redaktə olunduqdan sonra)
+	 */
+	public void reload(UUID productId) {
+		if (!enabled) {
+			return;
+		}
+		productRepository.findById(productId).ifPresentOrElse(this::load, () -> counters.remove(productId));
+	}
+
+	/**
+	 * Tranzaksiya uğurla bitdikdən sonra məhsulu yenidən yükləyir
+	 */
+	public void reloadAfterCommit(UUID productId) {
+		if (!enabled) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			reload(productId);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				reload(productId);
+			}
+		});
+	}
+
+	public int available(UUID productId) {
+		HotStockCounter counter = counters.get(productId);
+		return counter == null ? -1 : counter.available();
+	}
+
+	private void load(Product product) {
+		if (!Boolean.TRUE.equals(product.getHotStock())) {
+			counters.remove(product.getId());
+			return;
+		}
+		long deferred = orderItemRepository.sumDeferredStock(product.getId());
+		int available = (int) Math.max(0, product.getStockQuantity() - deferred);
+		counters.compute(product.getId(), (id, existing) -> {
+			if (existing == null) {
+				return new HotStockCounter(stripes, available);
+			}
+			existing.reset(available);
+			return existing;
+		});
+		logger.debug("İsti stok yükləndi: məhsul={}, mövcud={}", product.getId(), available);
+	}
+
+	private void onRollback(Runnable compensation) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				if (status == STATUS_ROLLED_BACK) {
+					compensation.run();
+				}
+			}
+		});
+	}
+}
@@ -1,13 +1,17 @@
 package com.app.yolla.modules.product.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import com.app.yolla.modules.order.repository.OrderItemRepository;
@@ -16,9 +20,10 @@ import com.app.yolla.modules.product.dto.ProductDTO;
 import com.app.yolla.modules.product.dto.ProductUpdateRequest;
 import com.app.yolla.modules.product.entity.Product;
 import com.app.yolla.modules.product.repository.ProductRepository;
-import com.app.yolla.modules.user.dto.UserDTO;
 import com.app.yolla.modules.user.service.UserService;
 import com.app.yolla.shared.exception.MyException;
+import com.app.yolla.shared.security.CurrentUser;
+import com.app.yolla.shared.transaction.RetryOnLockFailure;
 
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
@@ -30,19 +35,17 @@ public class ProductService {
 	@Autowired
 	private ProductRepository repository;
 
-	@Autowired
-	private ModelMapper mapper;
-
 	@Autowired
 	private UserService userService;
 	
 	@Autowired
 	private OrderItemRepository orderItemRepository;
 
+	@Autowired
+	private HotStockLedger hotStockLedger;
+
 	public ProductDTO createdProduct(@Valid ProductAddRequest req) {
-		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-		String phoneNumber = authentication.getName();
-		UserDTO en = userService.findByPhoneNumber(phoneNumber);
+		CurrentUser currentUser = userService.currentUser();
 
 		Product product = new Product();
 
@@ -52,8 +55,12 @@ public class ProductService {
 		product.setStockQuantity(req.getStockQuantity());
 		product.setCreatedAt(LocalDateTime.now());
 		product.setActive(true);
-		product.setUserId(en.getId());
+		product.setUserId(currentUser.getId());
+		product.setHotStock(Boolean.TRUE.equals(req.getHotStock()));
 		repository.save(product);
+		if (product.getHotStock()) {
+			hotStockLedger.reloadAfterCommit(product.getId());
+		}
 
 		return convertToDTO(product);
 
@@ -62,11 +69,12 @@ public class ProductService {
 	private ProductDTO convertToDTO(Product product) {
 		return new ProductDTO(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
 				product.getStockQuantity(),
-				product.getActive(), product.getCreatedAt(), product.getUpdatedAt());
+				product.getActive(), product.getHotStock(), product.getCreatedAt(), product.getUpdatedAt());
 	}
 
 
 
+	@RetryOnLockFailure
 	public ProductDTO updateProduct(UUID id, ProductUpdateRequest req) {
 		Product p = findProduct(id);
 
@@ -82,7 +90,13 @@ public class ProductService {
 		if (req.getStockQuantity() != null) {
 			p.setStockQuantity(req.getStockQuantity());
 		}
+		if (req.getHotStock() != null) {
+			p.setHotStock(req.getHotStock());
+		}
 		repository.save(p);
+		if (req.getStockQuantity() != null || req.getHotStock() != null) {
+			hotStockLedger.reloadAfterCommit(id);
+		}
 		ProductDTO dto = convertToDTO(p);
 		return dto;
 	}
@@ -97,9 +111,108 @@ public class ProductService {
 
 	}
 
+	/**
+	 * Verilmiş id-lərə aid məhsulları bir sorğu ilə gətirir və id üzrə xəritəyə yığır
+	 */
+	public Map<UUID, Product> findProducts(Collection<UUID> ids) {
+		List<Product> products = repository.findAllByIdIn(ids);
+		Map<UUID, Product> map = new HashMap<>();
+		for (Product p : products) {
+			map.put(p.getId(), p);
+		}
+		for (UUID id : ids) {
+			if (!map.containsKey(id)) {
+				throw new MyException("Bu id'li məhsul yoxdur: " + id);
+			}
+		}
+		return map;
+	}
+
+	/**
+	 * Hər məhsul üçün stoku rezerv edir və hansı yolla rezerv olunduğunu qaytarır: isti məhsul yaddaşdakı
+	 * sayğacda, qalanları bir şərtli UPDATE ilə. Sətirlər həmişə id sırası ilə kilidlənir ki, paralel
+	 * səbətlər bir-birini deadlock-a salmasın. Çağıran sətrin stock_deferred-ini qaytarılan yola görə yazır -
+	 * isHot-u yenidən yoxlamaq olmaz, çünki arada məhsul reload oluna bilər.
+	 */
+	public Map<UUID, StockReservation> reserveStock(Map<UUID, Integer> quantities) {
+		Map<UUID, StockReservation> result = new LinkedHashMap<>();
+		for (Map.Entry<UUID, Integer> e : new TreeMap<>(quantities).entrySet()) {
+			StockReservation reservation = hotStockLedger.reserve(e.getKey(), e.getValue());
+			if (reservation == StockReservation.DATABASE
+					&& repository.decrementStock(e.getKey(), e.getValue()) != 1) {
+				reservation = StockReservation.OUT_OF_STOCK;
+			}
+			result.put(e.getKey(), reservation);
+		}
+		return result;
+	}
+
+	/**
+	 * Bazada rezerv olunmuş stoku products cədvəlinə qaytarır (eyni deterministik sıra ilə).
+	 * Məhsul bu arada isti olubsa, sayğac commit-dən sonra bazadan yenidən yüklənir.
+	 */
+	public void releaseStock(Map<UUID, Integer> quantities) {
+		for (Map.Entry<UUID, Integer> e : new TreeMap<>(quantities).entrySet()) {
+			repository.incrementStock(e.getKey(), e.getValue());
+			if (hotStockLedger.isHot(e.getKey())) {
+				hotStockLedger.reloadAfterCommit(e.getKey());
+			}
+		}
+	}
+
+	/**
+	 * İsti stok sayğacında rezerv olunmuş stoku sayğaca qaytarır. Sətirlərin stock_deferred-ini çağıran
+	 * azaldır - məhsul bu arada isti olmaqdan çıxıbsa da, flusher fərqi bazaya köçürür.
+	 */
+	public void releaseHotStock(Map<UUID, Integer> quantities) {
+		quantities.forEach(hotStockLedger::release);
+	}
+
+	/**
+	 * Ləğv olunan sifarişlərin stokunu toplu qaytarır, hər sətir rezerv olunduğu yolla: bazada rezerv
+	 * olunanlar bir UPDATE ilə, isti sayğacda rezerv olunanlar sayğacla və sətirlərin stock_deferred-i bir UPDATE ilə
+	 */
+	public void restockOrders(Collection<UUID> orderIds) {
+		Map<UUID, Integer> hot = new TreeMap<>();
+		List<UUID> cold = new ArrayList<>();
+		for (Object[] row : orderItemRepository.sumQuantityByProductAndPath(orderIds)) {
+			UUID productId = (UUID) row[0];
+			int quantity = ((Number) row[2]).intValue();
+			if (Boolean.TRUE.equals(row[1])) {
+				hot.put(productId, quantity);
+			} else {
+				cold.add(productId);
+			}
+		}
+		if (!cold.isEmpty()) {
+			repository.restockFromOrders(orderIds, cold);
+			for (UUID productId : cold) {
+				if (hotStockLedger.isHot(productId)) {
+					hotStockLedger.reloadAfterCommit(productId);
+				}
+			}
+		}
+		if (!hot.isEmpty()) {
+			releaseHotStock(hot);
+			orderItemRepository.releaseDeferredStock(orderIds);
+		}
+	}
+
+	/**
+	 * Sifariş sətirlərində gözləyən stok dəyişikliklərini birbaşa products cədvəlinə tətbiq edir
+	 */
+	public void applyStockDelta(Map<UUID, Integer> deltas) {
+		for (Map.Entry<UUID, Integer> e : new TreeMap<>(deltas).entrySet()) {
+			if (e.getValue() != 0) {
+				repository.applyStockDelta(e.getKey(), e.getValue());
+			}
+		}
+	}
+
 	public void deleteById(UUID id) {
 		Product p = findProduct(id);
 		orderItemRepository.deleteByProductId(id);
+		hotStockLedger.reloadAfterCommit(id);
 		repository.deleteById(id);
 	}
 
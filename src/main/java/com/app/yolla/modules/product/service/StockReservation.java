@@ -0,0 +1,22 @@
+package com.app.yolla.modules.product.service;
+
+/**
+ * Məhsulun stoku hansı yolla rezerv olundu
+ */
+public enum StockReservation {
+
+	/**
+	 * products cədvəlində şərtli UPDATE ilə
+	 */
+	DATABASE,
+
+	/**
+	 * İsti stok sayğacında - dəyişiklik sifariş sətrinin stock_deferred sahəsinə yazılmalıdır
+	 */
+	HOT,
+
+	/**
+	 * Stok çatmır, heç nə dəyişməyib
+	 */
+	OUT_OF_STOCK
+}
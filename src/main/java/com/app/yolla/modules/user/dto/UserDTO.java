@@ -60,6 +60,16 @@ public class UserDTO {
 		this.market = market;
     }
 
+    /**
+     * Surət konstruktoru - keşdəki nüsxə çağırana verilmir, çağıranın dəyişikliyi keşə düşməsin
+     */
+    public UserDTO(UserDTO other) {
+        this(other.id, other.phoneNumber, other.fullName, other.email, other.role, other.isActive,
+                other.createdAt, other.updatedAt, other.market != null
+                        ? new MarketDTO(other.market.getId(), other.market.getName(), other.market.getAddress())
+                        : null);
+    }
+
     // Əsas məlumatlarla konstruktor (qeydiyyat üçün)
     public UserDTO(String phoneNumber, String fullName, UserRole role) {
         this.phoneNumber = phoneNumber;
@@ -49,10 +49,10 @@ import lombok.NoArgsConstructor;
 public class User {
 
 	@Id
-	@GeneratedValue(generator = "uuid2")
-	@GenericGenerator(name = "uuid2", strategy = "org.hibernate.id.UUIDGenerator")
-	@Column(name = "id", columnDefinition = "VARCHAR(36)", nullable = false, updatable = false)
-	@JdbcTypeCode(SqlTypes.CHAR)
+	@GeneratedValue(generator = "uuid7")
+	@GenericGenerator(name = "uuid7", strategy = "com.app.yolla.shared.persistence.TimeOrderedUuidGenerator")
+	@Column(name = "id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
+	@JdbcTypeCode(SqlTypes.BINARY)
 	private UUID id;
 
     /**
@@ -109,7 +109,7 @@ public class User {
     private LocalDateTime updatedAt;
 
 	@ManyToOne(optional = true) // optional, çünki alıcının marketi olmaya bilər
-	@JoinColumn(name = "market_id")
+	@JoinColumn(name = "market_id", columnDefinition = "BINARY(16)")
 	private Market market;
     // Konstruktorlar
 
@@ -1,6 +1,7 @@
 package com.app.yolla.modules.user.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -36,6 +37,17 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 	 */
 	Optional<User> findByPhoneNumber(String phoneNumber);
 
+	/**
+	 * Verilmiş id-lərə aid istifadəçiləri marketləri ilə birlikdə bir sorğu ilə gətirir
+	 */
+	@Query("SELECT u FROM User u LEFT JOIN FETCH u.market WHERE u.id IN :ids")
+	List<User> findAllWithMarketByIdIn(@Param("ids") Collection<UUID> ids);
+
+	/**
+	 * Marketə bağlı istifadəçilər - market dəyişdikdə keşdən silinmək üçün
+	 */
+	List<User> findByMarketId(UUID marketId);
+
 	/**
 	 * Telefon nömrəsinin mövcud olub-olmadığını yoxlayır Qeydiyyat zamanı dublikat
 	 * yoxlaması üçün
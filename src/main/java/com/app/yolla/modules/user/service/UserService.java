@@ -5,20 +5,25 @@ import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import com.app.yolla.config.CacheConfig;
 import com.app.yolla.modules.market.dto.MarketDTO;
 import com.app.yolla.modules.market.entity.Market;
+import com.app.yolla.modules.market.mapper.MarketMapper;
 import com.app.yolla.modules.market.service.MarketService;
+import com.app.yolla.modules.market.service.MarketUpdatedEvent;
 import com.app.yolla.modules.user.dto.UserCreateRequest;
 import com.app.yolla.modules.user.dto.UserDTO;
 import com.app.yolla.modules.user.dto.UserUpdateRequest;
@@ -28,6 +33,7 @@ import com.app.yolla.modules.user.repository.UserRepository;
 import com.app.yolla.shared.exception.DuplicateResourceException;
 import com.app.yolla.shared.exception.MyException;
 import com.app.yolla.shared.exception.ResourceNotFoundException;
+import com.app.yolla.shared.security.CurrentUser;
 
 /**
  * İstifadəçi Xidmət Sinfi
@@ -51,20 +57,30 @@ public class UserService {
 	private MarketService marketService;
 
 	@Autowired
-	private ModelMapper mapper;
+	private MarketMapper marketMapper;
+
+	@Autowired
+	private CacheManager cacheManager;
 
     /**
      * Telefon nömrəsi ilə istifadəçi tapır
-     * OTP sistemi və giriş üçün əsas metoddur
+     * OTP sistemi və giriş üçün əsas metoddur.
+     * Hər autentifikasiya olunmuş sorğuda çağırıldığı üçün nəticə keşlənir.
      */
     public UserDTO findByPhoneNumber(String phoneNumber) {
+        UserDTO cached = fromCache(CacheConfig.USERS_BY_PHONE, phoneNumber);
+        if (cached != null) {
+            return cached;
+        }
         logger.debug("Telefon nömrəsi ilə istifadəçi axtarılır: {}", phoneNumber);
 
         User user = userRepository.findByPhoneNumber(phoneNumber)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Bu telefon nömrəsi ilə istifadəçi tapılmadı: " + phoneNumber));
 
-        return convertToDTO(user);
+        UserDTO dto = convertToDTO(user);
+        cache(CacheConfig.USERS_BY_PHONE).put(phoneNumber, new UserDTO(dto));
+        return dto;
     }
 
     /**
@@ -100,8 +116,7 @@ public class UserService {
 				throw new MyException("Prepared istifadəçi üçün market adı və ünvanı mütləqdir");
 			}
 			MarketDTO byName = marketService.findByNameAndAddress(request.getMarketName(), request.getAddress());
-			Market market = new Market();
-			mapper.map(byName, market);
+			Market market = marketMapper.toEntity(byName);
 			marketService.saveMarket(market);
 			user.setMarket(market);
 		}
@@ -152,7 +167,9 @@ public class UserService {
 
         logger.info("İstifadəçi uğurla yeniləndi: ID={}", savedUser.getId());
 
-        return convertToDTO(savedUser);
+        UserDTO dto = convertToDTO(savedUser);
+        refreshCache(dto);
+        return dto;
     }
 
     /**
@@ -160,11 +177,17 @@ public class UserService {
      */
     @Transactional(readOnly = true)
 	public UserDTO findById(UUID userId) {
+        UserDTO cached = fromCache(CacheConfig.USERS_BY_ID, userId);
+        if (cached != null) {
+            return cached;
+        }
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "İstifadəçi tapılmadı: " + userId));
 
-        return convertToDTO(user);
+        UserDTO dto = convertToDTO(user);
+        cache(CacheConfig.USERS_BY_ID).put(userId, new UserDTO(dto));
+        return dto;
     }
 
     /**
@@ -221,6 +244,7 @@ public class UserService {
 
         user.setIsActive(false);
         userRepository.save(user);
+        evictCache(user);
 
         logger.info("İstifadəçi deaktiv edildi: ID={}", userId);
     }
@@ -237,6 +261,7 @@ public class UserService {
 
         user.setIsActive(true);
         userRepository.save(user);
+        evictCache(user);
 
         logger.info("İstifadəçi yenidən aktivləşdirildi: ID={}", userId);
     }
@@ -262,6 +287,44 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Market dəyişdikdən sonra onun istifadəçiləri keşdən silinir - keşdəki DTO marketin adını və ünvanını saxlayır
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMarketUpdated(MarketUpdatedEvent event) {
+        for (User user : userRepository.findByMarketId(event.getMarketId())) {
+            evictCache(user);
+        }
+    }
+
+    /**
+     * Keşdəki DTO-nun surətini qaytarır - çağıranın dəyişikliyi keşdəki nüsxəyə təsir etmir
+     */
+    private UserDTO fromCache(String name, Object key) {
+        UserDTO cached = cache(name).get(key, UserDTO.class);
+        return cached != null ? new UserDTO(cached) : null;
+    }
+
+    /**
+     * Yenilənmiş istifadəçini hər iki keşə yazır
+     */
+    private void refreshCache(UserDTO dto) {
+        cache(CacheConfig.USERS_BY_ID).put(dto.getId(), new UserDTO(dto));
+        cache(CacheConfig.USERS_BY_PHONE).put(dto.getPhoneNumber(), new UserDTO(dto));
+    }
+
+    /**
+     * İstifadəçini hər iki keşdən silir
+     */
+    private void evictCache(User user) {
+        cache(CacheConfig.USERS_BY_ID).evict(user.getId());
+        cache(CacheConfig.USERS_BY_PHONE).evict(user.getPhoneNumber());
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+
     /**
      * Entity-ni DTO-ya çevirmək üçün helper metod
      */
@@ -287,8 +350,26 @@ public class UserService {
 
 	public Object findPhone() {
 		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-		Object principal = authentication.getPrincipal();
-		return principal;
+		return authentication.getName();
+	}
+
+	/**
+	 * Cari istifadəçini Security kontekstindən qaytarır.
+	 * JWT ilə gələn sorğularda principal artıq CurrentUser-dir və bazaya müraciət olunmur;
+	 * digər autentifikasiya növlərində (məs. testlər) istifadəçi telefon nömrəsi ilə tapılır.
+	 */
+	public CurrentUser currentUser() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null) {
+			throw new MyException("İstifadəçi autentifikasiya olunmayıb");
+		}
+		if (authentication.getPrincipal() instanceof CurrentUser currentUser) {
+			return currentUser;
+		}
+
+		UserDTO user = findByPhoneNumber(authentication.getName());
+		return new CurrentUser(user.getId(), user.getPhoneNumber(), user.getRole(),
+				user.getMarket() != null ? user.getMarket().getId() : null);
 	}
 
 	public UserDTO getUserByEmail(String email) {
@@ -0,0 +1,138 @@
+package com.app.yolla.shared.idempotency;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.app.yolla.shared.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Idempotency-Key header-i üçün filter.
+ * <p>
+ * Sifariş yaratma və status keçidləri üçün eyni açarla gələn təkrar sorğular
+ * servis qatına çatmadan saxlanmış ilk cavabla cavablandırılır. Açar istifadəçi,
+ * metod və URI ilə birlikdə saxlanılır ki, fərqli istifadəçilərin açarları toqquşmasın.
+ * Cavabla birlikdə sorğu gövdəsinin hash-i də saxlanılır: eyni açar başqa gövdə ilə
+ * gələrsə köhnə cavab qaytarılmır, 422 verilir.
+ * <p>
+ * JwtAuthenticationFilter-dən sonra işləyir (SecurityConfig-də qeydiyyatdan keçir).
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+	public static final String HEADER = "Idempotency-Key";
+	public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+	private static final int MAX_KEY_LENGTH = 128;
+
+	private static final Pattern CREATE_PATH = Pattern.compile("^/orders/?$");
+	private static final Pattern TRANSITION_PATH = Pattern.compile("^/orders/[^/]+/(confirm|ship|deliver|cancel|status)$");
+
+	private final IdempotencyStore store;
+	private final ObjectMapper objectMapper;
+
+	public IdempotencyFilter(IdempotencyStore store, ObjectMapper objectMapper) {
+		this.store = store;
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		if (request.getHeader(HEADER) == null) {
+			return true;
+		}
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		String method = request.getMethod();
+		return !(("POST".equals(method) && CREATE_PATH.matcher(path).matches())
+				|| ("PUT".equals(method) && TRANSITION_PATH.matcher(path).matches()));
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String key = request.getHeader(HEADER).trim();
+		if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+			writeError(response, HttpStatus.BAD_REQUEST, "Idempotency-Key 1-" + MAX_KEY_LENGTH + " simvol olmalıdır");
+			return;
+		}
+
+		// Gövdə hash üçün əvvəlcədən oxunur - controller eyni baytları wrapper-dən oxuyur
+		CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+		String requestHash = IdempotencyStore.sha256(cachedRequest.getBody());
+
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		String principal = authentication != null ? authentication.getName() : "anonymous";
+		String scope = principal + "|" + request.getMethod() + "|" + request.getRequestURI() + "|"
+				+ request.getQueryString() + "|" + key;
+
+		Optional<StoredResponse> stored = store.find(scope);
+		if (stored.isPresent()) {
+			replay(response, stored.get(), requestHash);
+			return;
+		}
+
+		if (!store.tryBegin(scope)) {
+			writeError(response, HttpStatus.CONFLICT, "Eyni Idempotency-Key ilə sorğu hələ emal olunur");
+			return;
+		}
+
+		// find ilə tryBegin arasında paralel təkrar bitə bilər (save end-dən əvvəl olur) -
+		// açarı tutduqdan sonra yenidən yoxlanılır ki, əməliyyat ikinci dəfə icra olunmasın
+		stored = store.find(scope);
+		if (stored.isPresent()) {
+			store.end(scope);
+			replay(response, stored.get(), requestHash);
+			return;
+		}
+
+		ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+		try {
+			filterChain.doFilter(cachedRequest, wrapper);
+
+			// 5xx cavablar saxlanılmır - müştəri eyni açarla yenidən cəhd edə bilər
+			if (wrapper.getStatus() < 500) {
+				store.save(scope, new StoredResponse(wrapper.getStatus(), wrapper.getContentType(),
+						wrapper.getContentAsByteArray(), requestHash));
+			}
+		} finally {
+			store.end(scope);
+			wrapper.copyBodyToResponse();
+		}
+	}
+
+	private void replay(HttpServletResponse response, StoredResponse stored, String requestHash) throws IOException {
+		if (stored.getRequestHash() != null && !stored.getRequestHash().equals(requestHash)) {
+			writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+					"Bu Idempotency-Key başqa sorğu gövdəsi ilə istifadə olunub");
+			return;
+		}
+		response.setStatus(stored.getStatus());
+		if (stored.getContentType() != null) {
+			response.setContentType(stored.getContentType());
+		}
+		response.setHeader(REPLAYED_HEADER, "true");
+		if (stored.getBody() != null) {
+			response.setContentLength(stored.getBody().length);
+			response.getOutputStream().write(stored.getBody());
+		}
+	}
+
+	private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+		response.setStatus(status.value());
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setCharacterEncoding("UTF-8");
+		objectMapper.writeValue(response.getOutputStream(), new ApiResponse<>(false, message, null));
+	}
+}
@@ -0,0 +1,51 @@
+package com.app.yolla.shared.idempotency;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Restartlar arasında saxlanılan idempotent cavab (app.idempotency.persistent=true olduqda)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+
+@Entity
+@Table(name = "idempotency_records", indexes = @Index(name = "idx_idempotency_records_created_at", columnList = "created_at"))
+public class IdempotencyRecord {
+
+	/**
+	 * İstifadəçi + metod + URI + açarın SHA-256 hash-i
+	 */
+	@Id
+	@Column(name = "id", length = 64, nullable = false, updatable = false)
+	private String id;
+
+	@Column(name = "status", nullable = false)
+	private Integer status;
+
+	@Column(name = "content_type")
+	private String contentType;
+
+	@Lob
+	@Column(name = "body", columnDefinition = "LONGBLOB")
+	private byte[] body;
+
+	/**
+	 * İlk sorğunun gövdəsinin SHA-256 hash-i
+	 */
+	@Column(name = "request_hash", length = 64)
+	private String requestHash;
+
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt;
+}
@@ -0,0 +1,129 @@
+package com.app.yolla.shared.idempotency;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Idempotency-Key cavablarının anbarı.
+ * <p>
+ * Əsas yer məhdud ölçülü Caffeine keşidir. app.idempotency.persistent=true olduqda
+ * cavablar idempotency_records cədvəlinə də yazılır və keşdə olmayanda oradan oxunur,
+ * beləliklə restartdan sonra gələn təkrar sorğular da köhnə cavabı alır.
+ */
+@Component
+public class IdempotencyStore {
+
+	private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+	@Autowired
+	private IdempotencyRecordRepository repository;
+
+	@Value("${app.idempotency.ttl-minutes:60}")
+	private long ttlMinutes;
+
+	@Value("${app.idempotency.maximum-size:10000}")
+	private long maximumSize;
+
+	@Value("${app.idempotency.persistent:false}")
+	private boolean persistent;
+
+	private Cache<String, StoredResponse> cache;
+
+	/**
+	 * Hazırda emal olunan açarlar - eyni açarla paralel gələn ikinci sorğu gözləmir, 409 alır.
+	 * Bu qoruma yalnız bir instansiya daxilindədir: bir neçə instansiyada eyni açarla eyni anda
+	 * fərqli instansiyalara düşən sorğuları yalnız saxlanmış cavab (persistent=true) ayırır,
+	 * o da ilk sorğu bitdikdən sonra.
+	 */
+	private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+	@PostConstruct
+	void init() {
+		cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+				.build();
+	}
+
+	public Optional<StoredResponse> find(String scope) {
+		String id = hash(scope);
+		StoredResponse cached = cache.getIfPresent(id);
+		if (cached != null || !persistent) {
+			return Optional.ofNullable(cached);
+		}
+
+		Optional<StoredResponse> restored = repository.findById(id)
+				.filter(r -> r.getCreatedAt().isAfter(LocalDateTime.now().minusMinutes(ttlMinutes)))
+				.map(r -> new StoredResponse(r.getStatus(), r.getContentType(), r.getBody(), r.getRequestHash()));
+		restored.ifPresent(r -> cache.put(id, r));
+		return restored;
+	}
+
+	public boolean tryBegin(String scope) {
+		return inFlight.add(hash(scope));
+	}
+
+	public void end(String scope) {
+		inFlight.remove(hash(scope));
+	}
+
+	public void save(String scope, StoredResponse response) {
+		String id = hash(scope);
+		cache.put(id, response);
+		if (persistent) {
+			try {
+				repository.save(new IdempotencyRecord(id, response.getStatus(), response.getContentType(),
+						response.getBody(), response.getRequestHash(), LocalDateTime.now()));
+			} catch (Exception e) {
+				// Keşdə var - cədvələ yazılmaması yalnız restartdan sonrakı təkrarlara təsir edir
+				logger.warn("Idempotent cavab cədvələ yazılmadı: {}", e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Vaxtı keçmiş qeydləri cədvəldən silir
+	 */
+	@Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:600000}")
+	public void purgeExpired() {
+		if (!persistent) {
+			return;
+		}
+		int deleted = repository.deleteByCreatedAtBefore(LocalDateTime.now().minusMinutes(ttlMinutes));
+		if (deleted > 0) {
+			logger.info("Köhnə idempotent cavablar silindi: say={}", deleted);
+		}
+	}
+
+	private static String hash(String scope) {
+		return sha256(scope.getBytes(StandardCharsets.UTF_8));
+	}
+
+	static String sha256(byte[] bytes) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(bytes));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
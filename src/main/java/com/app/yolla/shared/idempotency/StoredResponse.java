@@ -0,0 +1,38 @@
+package com.app.yolla.shared.idempotency;
+
+/**
+ * Idempotency-Key üzrə saxlanmış ilk cavab və onu yaradan sorğu gövdəsinin SHA-256 hash-i
+ */
+public class StoredResponse {
+
+	private final int status;
+	private final String contentType;
+	private final byte[] body;
+	private final String requestHash;
+
+	public StoredResponse(int status, String contentType, byte[] body, String requestHash) {
+		this.status = status;
+		this.contentType = contentType;
+		this.body = body;
+		this.requestHash = requestHash;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public byte[] getBody() {
+		return body;
+	}
+
+	/**
+	 * Köhnə qeydlərdə null ola bilər - onda gövdə müqayisə olunmur
+	 */
+	public String getRequestHash() {
+		return requestHash;
+	}
+}
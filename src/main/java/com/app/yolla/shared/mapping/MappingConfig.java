@@ -0,0 +1,17 @@
+package com.app.yolla.shared.mapping;
+
+import org.mapstruct.MapperConfig;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Bütün MapStruct mapper-ləri üçün ümumi konfiqurasiya.
+ * <p>
+ * Mapper-lər build zamanı adi getter/setter kodu kimi yaradılır və Spring bean olur.
+ * Hədəfdə xəritələnməmiş sahə qalarsa, kompilyasiya xəta ilə dayanır - yeni sahə
+ * əlavə edildikdə ya xəritələnməli, ya da açıq şəkildə ignore edilməlidir.
+ */
+@MapperConfig(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface MappingConfig {
+
+}
@@ -0,0 +1,49 @@
+package com.app.yolla.shared.persistence;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Zamana görə sıralanan UUID (RFC 9562, versiya 7).
+ * <p>
+ * İlk 48 bit Unix millisaniyə, sonrakı 12 bit eyni millisaniyə daxilində artan sayğac,
+ * qalan 62 bit təsadüfi. Yeni id-lər həmişə əvvəlkilərdən böyük olduğu üçün InnoDB
+ * clustered index-inin sonuna yazılır - səhifə bölünmələri azalır.
+ */
+public final class TimeOrderedUuid {
+
+	private static final SecureRandom random = new SecureRandom();
+
+	/**
+	 * (millisaniyə << 12 | sayğac) - node daxilində monotonluğu təmin edir
+	 */
+	private static final AtomicLong lastStamp = new AtomicLong();
+
+	private TimeOrderedUuid() {
+	}
+
+	public static UUID generate() {
+		long stamp = nextStamp();
+		long millis = stamp >>> 12;
+		long counter = stamp & 0xFFFL;
+
+		long msb = (millis << 16) | 0x7000L | counter;
+		long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+		return new UUID(msb, lsb);
+	}
+
+	/**
+	 * Sayğac daşarsa, növbəti millisaniyəyə keçilir - sıra pozulmur
+	 */
+	private static long nextStamp() {
+		long now = System.currentTimeMillis() << 12;
+		while (true) {
+			long last = lastStamp.get();
+			long next = Math.max(now, last + 1);
+			if (lastStamp.compareAndSet(last, next)) {
+				return next;
+			}
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package com.app.yolla.shared.persistence;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * Entity id-ləri üçün UUIDv7 generatoru.
+ * <p>
+ * İstifadə: {@code @GenericGenerator(name = "uuid7", strategy = "com.app.yolla.shared.persistence.TimeOrderedUuidGenerator")}
+ */
+public class TimeOrderedUuidGenerator implements IdentifierGenerator {
+
+	@Override
+	public Object generate(SharedSessionContractImplementor session, Object object) {
+		return TimeOrderedUuid.generate();
+	}
+}
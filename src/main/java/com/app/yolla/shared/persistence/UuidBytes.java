@@ -0,0 +1,28 @@
+package com.app.yolla.shared.persistence;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * BINARY(16) sütunları ilə java.util.UUID arasında çevirmə (birbaşa JDBC ilə işləyərkən)
+ */
+public final class UuidBytes {
+
+	private UuidBytes() {
+	}
+
+	public static byte[] toBytes(UUID uuid) {
+		return ByteBuffer.allocate(16)
+				.putLong(uuid.getMostSignificantBits())
+				.putLong(uuid.getLeastSignificantBits())
+				.array();
+	}
+
+	public static UUID toUuid(byte[] bytes) {
+		if (bytes == null) {
+			return null;
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		return new UUID(buffer.getLong(), buffer.getLong());
+	}
+}
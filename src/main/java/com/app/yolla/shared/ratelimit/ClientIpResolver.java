@@ -0,0 +1,136 @@
+package com.app.yolla.shared.ratelimit;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Sorğunun həqiqi klient IP-si
+ * <p>
+ * Tətbiq load balancer arxasındadır - getRemoteAddr() bütün klientlər üçün balancer-in ünvanıdır.
+ * X-Forwarded-For yalnız birbaşa əlaqə etibarlı proksidən gəldikdə oxunur və sağdan sola gedilir:
+ * etibarlı proksi olmayan ilk ünvan klientdir. Klientin özünün yazdığı sol tərəfdəki dəyərlər
+ * nəzərə alınmır, ona görə header-i saxtalaşdırmaq başqa bucket-ə keçmək üçün işləmir.
+ */
+final class ClientIpResolver {
+
+	static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+	private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+
+	private final List<Range> trustedProxies = new ArrayList<>();
+
+	ClientIpResolver(List<String> trustedProxies) {
+		for (String cidr : trustedProxies) {
+			addTrusted(cidr);
+		}
+	}
+
+	private void addTrusted(String cidr) {
+		int slash = cidr.indexOf('/');
+		InetAddress address = literal(slash < 0 ? cidr.trim() : cidr.substring(0, slash).trim());
+		if (address == null) {
+			throw new IllegalArgumentException("Etibarsız proksi ünvanı: " + cidr);
+		}
+		int bits = address.getAddress().length * 8;
+		int prefix = slash < 0 ? bits : Integer.parseInt(cidr.substring(slash + 1).trim());
+		if (prefix < 0 || prefix > bits) {
+			throw new IllegalArgumentException("Etibarsız proksi maskası: " + cidr);
+		}
+		trustedProxies.add(new Range(address.getAddress(), prefix));
+	}
+
+	String resolve(HttpServletRequest request) {
+		String remote = request.getRemoteAddr();
+		String header = request.getHeader(FORWARDED_FOR_HEADER);
+		if (header == null || !trusted(remote)) {
+			return remote;
+		}
+		String[] hops = header.split(",");
+		for (int i = hops.length - 1; i >= 0; i--) {
+			String hop = hops[i].trim();
+			if (hop.isEmpty()) {
+				continue;
+			}
+			if (!trusted(hop)) {
+				return hop;
+			}
+			remote = hop;
+		}
+		// Bütün zəncir etibarlı proksilərdən ibarətdir - ən sol ünvan
+		return remote;
+	}
+
+	private boolean trusted(String address) {
+		InetAddress parsed = literal(address);
+		if (parsed == null) {
+			return false;
+		}
+		byte[] bytes = parsed.getAddress();
+		for (Range range : trustedProxies) {
+			if (range.matches(bytes)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Yalnız IP literalı qəbul edilir - header-dəki host adı üçün DNS sorğusu edilmir
+	 */
+	private static InetAddress literal(String address) {
+		if (address == null || !(validIpv4(address) || address.indexOf(':') >= 0)) {
+			return null;
+		}
+		try {
+			return InetAddress.getByName(address);
+		} catch (UnknownHostException | IllegalArgumentException | SecurityException e) {
+			return null;
+		}
+	}
+
+	private static boolean validIpv4(String address) {
+		if (!IPV4.matcher(address).matches()) {
+			return false;
+		}
+		for (String octet : address.split("\\.")) {
+			if (Integer.parseInt(octet) > 255) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static final class Range {
+
+		private final byte[] network;
+		private final int prefix;
+
+		private Range(byte[] network, int prefix) {
+			this.network = network;
+			this.prefix = prefix;
+		}
+
+		boolean matches(byte[] address) {
+			if (address.length != network.length) {
+				return false;
+			}
+			int full = prefix / 8;
+			for (int i = 0; i < full; i++) {
+				if (address[i] != network[i]) {
+					return false;
+				}
+			}
+			int rest = prefix % 8;
+			if (rest == 0) {
+				return true;
+			}
+			int mask = 0xFF << (8 - rest);
+			return (address[full] & mask) == (network[full] & mask);
+		}
+	}
+}
@@ -0,0 +1,195 @@
+package com.app.yolla.shared.ratelimit;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.app.yolla.modules.auth.service.TokenRevocationService;
+import com.app.yolla.shared.dto.ApiResponse;
+import com.app.yolla.shared.ratelimit.TokenBucket.Limits;
+import com.app.yolla.shared.ratelimit.TokenBucket.Probe;
+import com.app.yolla.shared.security.JwtUtil;
+import com.app.yolla.shared.security.TokenClaims;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Sorğu limiti filteri (token bucket)
+ * <p>
+ * Hər sorğu IP üzrə, token varsa həm də istifadəçi (token subyekti) üzrə bucket-dən
+ * token götürür. IP proksi arxasında X-Forwarded-For-dan {@link ClientIpResolver} ilə təyin olunur. Limitlər marşrut qrupuna görə seçilir (rate-limit.groups). Limit aşılanda
+ * sorğu servis qatına və Hikari pool-a çatmadan 429 ilə qaytarılır.
+ * <p>
+ * JwtAuthenticationFilter-dən əvvəl işləyir (SecurityConfig-də qeydiyyatdan keçir); token
+ * JwtUtil.parse ilə oxunur və yoxlanmış token keşi sayəsində təkrar HMAC hesablanmır.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+	public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+	public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+	public static final String RESET_HEADER = "X-RateLimit-Reset";
+
+	private static final String DEFAULT_GROUP = "default";
+
+	private final RateLimitProperties properties;
+	private final JwtUtil jwtUtil;
+	private final TokenRevocationService tokenRevocationService;
+	private final ObjectMapper objectMapper;
+
+	private final ClientIpResolver clientIpResolver;
+
+	private final List<RouteGroup> groups = new ArrayList<>();
+	private final RouteGroup defaultGroup;
+
+	/**
+	 * "qrup|user:id" və ya "qrup|ip:ünvan" -> bucket. Məhdud ölçülü, boş qalan bucket-lər silinir.
+	 */
+	private final Cache<String, TokenBucket> buckets;
+
+	public RateLimitFilter(RateLimitProperties properties, JwtUtil jwtUtil,
+			TokenRevocationService tokenRevocationService, ObjectMapper objectMapper) {
+		this.properties = properties;
+		this.jwtUtil = jwtUtil;
+		this.tokenRevocationService = tokenRevocationService;
+		this.objectMapper = objectMapper;
+		this.clientIpResolver = new ClientIpResolver(properties.getTrustedProxies());
+
+		for (Map.Entry<String, RateLimitProperties.Group> entry : properties.getGroups().entrySet()) {
+			RateLimitProperties.Group group = entry.getValue();
+			if (group.getPath() != null) {
+				groups.add(new RouteGroup(entry.getKey(), group.getPath(),
+						new Limits(orDefault(group.getRequestsPerMinute(), properties.getRequestsPerMinute()),
+								orDefault(group.getRequestsPerHour(), properties.getRequestsPerHour())),
+						new Limits(orDefault(group.getIpRequestsPerMinute(), properties.getIpRequestsPerMinute()),
+								orDefault(group.getIpRequestsPerHour(), properties.getIpRequestsPerHour()))));
+			}
+		}
+		// Uzun prefiks birinci yoxlanılır
+		groups.sort((a, b) -> Integer.compare(b.pathPrefix.length(), a.pathPrefix.length()));
+
+		this.defaultGroup = new RouteGroup(DEFAULT_GROUP, "/",
+				new Limits(properties.getRequestsPerMinute(), properties.getRequestsPerHour()),
+				new Limits(properties.getIpRequestsPerMinute(), properties.getIpRequestsPerHour()));
+
+		this.buckets = Caffeine.newBuilder()
+				.maximumSize(properties.getMaximumKeys())
+				.expireAfterAccess(properties.getIdleTimeout())
+				.build();
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		if (!properties.isEnabled() || "OPTIONS".equals(request.getMethod())) {
+			return true;
+		}
+		return path(request).startsWith("/actuator/");
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		RouteGroup group = resolve(path(request));
+		long now = System.nanoTime();
+
+		// İstifadəçi kvotası əvvəl yoxlanılır: rədd edilən istifadəçi NAT arxasındakı ümumi IP kvotasını
+		// xərcləmir, IP kvotası bitəndə isə istifadəçinin götürülmüş tokeni qaytarılır
+		String subject = subject(request);
+		TokenBucket userBucket = subject != null ? bucket(group, "user:" + subject, group.userLimits, now) : null;
+		Probe user = userBucket != null ? userBucket.tryConsume(group.userLimits, now) : null;
+		Probe denied;
+		Probe shown;
+		if (user != null && !user.allowed) {
+			denied = user;
+			shown = user;
+		} else {
+			String clientIp = clientIpResolver.resolve(request);
+			Probe ip = bucket(group, "ip:" + clientIp, group.ipLimits, now).tryConsume(group.ipLimits, now);
+			if (!ip.allowed && userBucket != null) {
+				userBucket.refund(group.userLimits);
+			}
+			// Autentifikasiyalı sorğuda header-lər istifadəçi kvotasını, anonim sorğuda IP kvotasını göstərir
+			denied = !ip.allowed ? ip : null;
+			shown = denied != null ? denied : user != null ? user : ip;
+		}
+
+		response.setHeader(LIMIT_HEADER, String.valueOf(shown.limit));
+		response.setHeader(REMAINING_HEADER, String.valueOf(shown.remaining));
+		response.setHeader(RESET_HEADER, String.valueOf(shown.resetSeconds));
+
+		if (denied != null) {
+			response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(denied.retryAfterSeconds));
+			response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+			response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+			response.setCharacterEncoding("UTF-8");
+			objectMapper.writeValue(response.getOutputStream(), new ApiResponse<>(false,
+					"Çox sayda sorğu. " + denied.retryAfterSeconds + " saniyədən sonra yenidən cəhd edin", null));
+			return;
+		}
+
+		filterChain.doFilter(request, response);
+	}
+
+	private TokenBucket bucket(RouteGroup group, String key, Limits limits, long now) {
+		return buckets.get(group.name + "|" + key, k -> new TokenBucket(limits, now));
+	}
+
+	/**
+	 * Etibarlı access token-un subyekti (istifadəçi id-si); token yoxdursa, etibarsızdırsa və ya
+	 * ləğv edilibsə null - belə sorğu yalnız IP kvotasından istifadə edir
+	 */
+	private String subject(HttpServletRequest request) {
+		String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if (header == null || !header.startsWith("Bearer ")) {
+			return null;
+		}
+		TokenClaims claims = jwtUtil.parse(header.substring(7));
+		if (claims == null || !claims.isAccessToken() || tokenRevocationService.isRevoked(claims)) {
+			return null;
+		}
+		return claims.getUserId() != null ? claims.getUserId().toString() : claims.getPhoneNumber();
+	}
+
+	private RouteGroup resolve(String path) {
+		for (RouteGroup group : groups) {
+			if (path.startsWith(group.pathPrefix)) {
+				return group;
+			}
+		}
+		return defaultGroup;
+	}
+
+	private static String path(HttpServletRequest request) {
+		return request.getRequestURI().substring(request.getContextPath().length());
+	}
+
+	private static int orDefault(Integer value, int fallback) {
+		return value != null ? value : fallback;
+	}
+
+	private static final class RouteGroup {
+
+		private final String name;
+		private final String pathPrefix;
+		private final Limits userLimits;
+		private final Limits ipLimits;
+
+		private RouteGroup(String name, String pathPrefix, Limits userLimits, Limits ipLimits) {
+			this.name = name;
+			this.pathPrefix = pathPrefix;
+			this.userLimits = userLimits;
+			this.ipLimits = ipLimits;
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.app.yolla.shared.ratelimit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * rate-limit.* tənzimləmələri
+ * <p>
+ * Yuxarı səviyyədəki limitlər bütün sorğulara, groups altındakılar isə path prefiksi
+ * ilə seçilən marşrut qruplarına aiddir (qrupda verilməyən limit yuxarıdan götürülür).
+ * requests-per-* token subyekti (istifadəçi), ip-requests-per-* isə IP üzrədir.
+ */
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+	private boolean enabled = false;
+
+	private int requestsPerMinute = 60;
+
+	private int requestsPerHour = 1000;
+
+	/**
+	 * Bir IP arxasında (NAT, ofis) bir neçə istifadəçi ola bilər - IP limiti daha genişdir
+	 */
+	private int ipRequestsPerMinute = 300;
+
+	private int ipRequestsPerHour = 10000;
+
+	/**
+	 * Yaddaşda saxlanılan bucket-lərin maksimum sayı
+	 */
+	private long maximumKeys = 100000;
+
+	/**
+	 * Bu müddət istifadə olunmayan bucket silinir. Saatlıq bucket bir saata tam dolduğu
+	 * üçün 1 saat və daha uzun müddətdə silinmə limiti sıfırlamır.
+	 */
+	private Duration idleTimeout = Duration.ofHours(1);
+
+	/**
+	 * X-Forwarded-For-a etibar edilən proksilər (IP və ya CIDR). Default - daxili şəbəkələr və loopback,
+	 * Tomcat-ın RemoteIpValve-i kimi; birbaşa internetdən gələn sorğunun header-i nəzərə alınmır.
+	 */
+	private List<String> trustedProxies = new ArrayList<>(List.of(
+			"10.0.0.0/8", "172.16.0.0/12", "192.168.0.0/16", "127.0.0.0/8", "::1/128", "fc00::/7"));
+
+	private Map<String, Group> groups = new LinkedHashMap<>();
+
+	@Data
+	public static class Group {
+
+		/**
+		 * Context path-dən sonrakı prefiks, məsələn /orders
+		 */
+		private String path;
+
+		private Integer requestsPerMinute;
+
+		private Integer requestsPerHour;
+
+		private Integer ipRequestsPerMinute;
+
+		private Integer ipRequestsPerHour;
+	}
+}
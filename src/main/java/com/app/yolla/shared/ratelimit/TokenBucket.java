@@ -0,0 +1,115 @@
+package com.app.yolla.shared.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Dəqiqəlik və saatlıq iki token bucket-in birlikdə saxlandığı lock-suz sayğac
+ * <p>
+ * Sorğu hər iki bucket-də token olduqda keçir. Vəziyyət dəyişməz obyektdir və CAS ilə
+ * əvəz olunur; rədd edilən sorğu vəziyyəti dəyişmir.
+ */
+final class TokenBucket {
+
+	private static final double NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+	private static final double NANOS_PER_HOUR = TimeUnit.HOURS.toNanos(1);
+
+	private final AtomicReference<State> state;
+
+	TokenBucket(Limits limits, long nowNanos) {
+		this.state = new AtomicReference<>(new State(limits.perMinute, limits.perHour, nowNanos));
+	}
+
+	Probe tryConsume(Limits limits, long nowNanos) {
+		while (true) {
+			State current = state.get();
+			long elapsed = Math.max(0, nowNanos - current.timestamp);
+			double minute = Math.min(limits.perMinute, current.minute + elapsed * limits.perMinute / NANOS_PER_MINUTE);
+			double hour = Math.min(limits.perHour, current.hour + elapsed * limits.perHour / NANOS_PER_HOUR);
+
+			if (minute < 1 || hour < 1) {
+				long retryAfter = Math.max(
+						minute < 1 ? secondsUntil(1 - minute, limits.perMinute, NANOS_PER_MINUTE) : 0,
+						hour < 1 ? secondsUntil(1 - hour, limits.perHour, NANOS_PER_HOUR) : 0);
+				return new Probe(false, limits.perMinute, 0,
+						secondsUntil(limits.perMinute - minute, limits.perMinute, NANOS_PER_MINUTE), retryAfter);
+			}
+
+			State next = new State(minute - 1, hour - 1, nowNanos);
+			if (state.compareAndSet(current, next)) {
+				long remaining = (long) Math.floor(Math.min(next.minute, next.hour));
+				return new Probe(true, limits.perMinute, remaining,
+						secondsUntil(limits.perMinute - next.minute, limits.perMinute, NANOS_PER_MINUTE), 0);
+			}
+		}
+	}
+
+	/**
+	 * Götürülmüş tokeni qaytarır - sorğu başqa bucket-də rədd edildikdə
+	 */
+	void refund(Limits limits) {
+		while (true) {
+			State current = state.get();
+			State next = new State(Math.min(limits.perMinute, current.minute + 1),
+					Math.min(limits.perHour, current.hour + 1), current.timestamp);
+			if (state.compareAndSet(current, next)) {
+				return;
+			}
+		}
+	}
+
+	private static long secondsUntil(double missingTokens, int perPeriod, double periodNanos) {
+		if (missingTokens <= 0) {
+			return 0;
+		}
+		double nanos = missingTokens * periodNanos / perPeriod;
+		return (long) Math.ceil(nanos / TimeUnit.SECONDS.toNanos(1));
+	}
+
+	private static final class State {
+
+		private final double minute;
+		private final double hour;
+		private final long timestamp;
+
+		private State(double minute, double hour, long timestamp) {
+			this.minute = minute;
+			this.hour = hour;
+			this.timestamp = timestamp;
+		}
+	}
+
+	/**
+	 * Bir açar üçün dəqiqəlik və saatlıq limitlər
+	 */
+	static final class Limits {
+
+		final int perMinute;
+		final int perHour;
+
+		Limits(int perMinute, int perHour) {
+			this.perMinute = Math.max(1, perMinute);
+			this.perHour = Math.max(1, perHour);
+		}
+	}
+
+	/**
+	 * Yoxlamanın nəticəsi və cavab header-ləri üçün dəyərlər
+	 */
+	static final class Probe {
+
+		final boolean allowed;
+		final int limit;
+		final long remaining;
+		final long resetSeconds;
+		final long retryAfterSeconds;
+
+		Probe(boolean allowed, int limit, long remaining, long resetSeconds, long retryAfterSeconds) {
+			this.allowed = allowed;
+			this.limit = limit;
+			this.remaining = remaining;
+			this.resetSeconds = resetSeconds;
+			this.retryAfterSeconds = retryAfterSeconds;
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package com.app.yolla.shared.security;
+
+import java.security.Principal;
+import java.util.UUID;
+
+import com.app.yolla.modules.user.entity.UserRole;
+
+/**
+ * Doğrulanmış token-dan bir dəfə qurulan cari istifadəçi
+ * <p>
+ * JwtAuthenticationFilter bu obyekti Security kontekstinə principal kimi yazır.
+ * Servislər sahiblik və rol yoxlamalarını bazaya müraciət etmədən bu obyektlə aparır.
+ * getName() telefon nömrəsini qaytarır ki, authentication.getName() əvvəlki kimi işləsin.
+ */
+public final class CurrentUser implements Principal {
+
+    private final UUID id;
+    private final String phoneNumber;
+    private final UserRole role;
+    private final UUID marketId;
+
+    public CurrentUser(UUID id, String phoneNumber, UserRole role, UUID marketId) {
+        this.id = id;
+        this.phoneNumber = phoneNumber;
+        this.role = role;
+        this.marketId = marketId;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    /**
+     * PREPARER-in bağlı olduğu market (digər rollar üçün null)
+     */
+    public UUID getMarketId() {
+        return marketId;
+    }
+
+    public boolean hasRole(UserRole expected) {
+        return role == expected;
+    }
+
+    public boolean isAdmin() {
+        return role == UserRole.ADMIN;
+    }
+
+    public boolean owns(UUID ownerId) {
+        return id != null && id.equals(ownerId);
+    }
+
+    public boolean belongsToMarket(UUID otherMarketId) {
+        return marketId != null && marketId.equals(otherMarketId);
+    }
+
+    @Override
+    public String getName() {
+        return phoneNumber;
+    }
+
+    @Override
+    public String toString() {
+        return "CurrentUser{" +
+                "id=" + id +
+                ", phoneNumber='" + phoneNumber + '\'' +
+                ", role=" + role +
+                ", marketId=" + marketId +
+                '}';
+    }
+}
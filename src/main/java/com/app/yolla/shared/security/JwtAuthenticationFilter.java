@@ -5,7 +5,9 @@ import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -13,6 +15,10 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.app.yolla.modules.auth.service.TokenRevocationService;
+import com.app.yolla.modules.user.service.UserService;
+import com.app.yolla.shared.exception.ResourceNotFoundException;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -32,9 +38,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
 
-    // UserService şimdilik söndürülüb - database olmadığı üçün
-    // @Autowired
-    // private UserService userService;
+    // Yalnız aktivlik yoxlaması açıq olanda istifadə olunur (WebMvc testlərində bean olmaya bilər)
+    @Autowired
+    private ObjectProvider<UserService> userServiceProvider;
+
+    @Autowired
+    private ObjectProvider<TokenRevocationService> revocationServiceProvider;
+
+    // Bir dəfə tapılır ki, hot path-də bean axtarışı olmasın
+    private volatile TokenRevocationService revocationService;
+
+    /**
+     * true olduqda hər sorğuda istifadəçinin deaktiv edilib-edilmədiyi yoxlanılır.
+     * UserService.findById keşdən oxuyur və deaktivasiya zamanı keş təmizlənir.
+     */
+    @Value("${app.security.check-user-active:false}")
+    private boolean checkUserActive;
 
     /**
      * Hər HTTP sorğusu üçün çalışan əsas filter metodu
@@ -52,45 +71,47 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 requestURI,
                 requestTokenHeader != null ? "Present" : "Not Present");
 
-        String phoneNumber = null;
         String jwtToken = null;
 
         // Authorization header-dan JWT token çıxar
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
             jwtToken = requestTokenHeader.substring(7);
-
-            try {
-                phoneNumber = jwtUtil.getPhoneNumberFromToken(jwtToken);
-                logger.debug("Token-dan telefon nömrəsi çıxarıldı: {}", phoneNumber);
-
-            } catch (IllegalArgumentException e) {
-                logger.error("Token alınamadı", e);
-            } catch (Exception e) {
-                logger.warn("Token vaxtı bitib və ya etibarsızdır: {}", e.getMessage());
-            }
         } else {
             logger.debug("Authorization header mövcud deyil və ya Bearer ilə başlamır");
         }
 
-        // Token etibarlıdırsa və istifadəçi authentication olunmamışsa
-        if (phoneNumber != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        // Token varsa və istifadəçi authentication olunmamışsa
+        if (jwtToken != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
             try {
-                // Token-ın etibarlılığını yoxla
-                if (jwtUtil.isTokenValid(jwtToken) && jwtUtil.isAccessToken(jwtToken)) {
+                // Token bir dəfə parse və yoxlanılır (təkrar gələn token keşdən götürülür)
+                TokenClaims claims = jwtUtil.parse(jwtToken);
+
+                if (claims != null && claims.isAccessToken()) {
 
-                    // İstifadəçi məlumatlarını əldə et
-                    String role = jwtUtil.getRoleFromToken(jwtToken);
-                    Long userId = jwtUtil.getUserIdFromToken(jwtToken);
+                    if (isRevoked(claims)) {
+                        logger.debug("Ləğv edilmiş token rədd edildi");
+                        filterChain.doFilter(request, response);
+                        return;
+                    }
+
+                    // İstifadəçi məlumatları imzalanmış claim-lərdən götürülür - bazaya müraciət yoxdur
+                    CurrentUser currentUser = claims.toCurrentUser();
+
+                    if (checkUserActive && !isUserActive(currentUser)) {
+                        logger.warn("Deaktiv istifadəçinin token-ı rədd edildi: userId={}", currentUser.getId());
+                        filterChain.doFilter(request, response);
+                        return;
+                    }
 
                     // Spring Security authorities yaradırıq
                     List<SimpleGrantedAuthority> authorities = List.of(
-                            new SimpleGrantedAuthority("ROLE_" + role)
+                            new SimpleGrantedAuthority("ROLE_" + currentUser.getRole().name())
                     );
 
                     // Authentication obyektini yaradırıq
                     UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(phoneNumber, null, authorities);
+                            new UsernamePasswordAuthenticationToken(currentUser, null, authorities);
 
                     // Request məlumatlarını əlavə edirik
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -99,7 +120,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     SecurityContextHolder.getContext().setAuthentication(authToken);
 
                     logger.debug("İstifadəçi uğurla authentication oldu: telefon={}, rol={}, userId={}",
-                            phoneNumber, role, userId);
+                            currentUser.getPhoneNumber(), currentUser.getRole(), currentUser.getId());
 
                 } else {
                     logger.warn("Token etibarsızdır və ya access token deyil");
@@ -115,6 +136,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Logout ilə ləğv edilmiş token-u yaddaşdakı Bloom filter və set ilə yoxlayır
+     */
+    private boolean isRevoked(TokenClaims claims) {
+        TokenRevocationService service = revocationService;
+        if (service == null) {
+            service = revocationServiceProvider.getIfAvailable();
+            revocationService = service;
+        }
+        return service != null && service.isRevoked(claims);
+    }
+
+    /**
+     * İstifadəçinin hələ də aktiv olduğunu yoxlayır (keşlənmiş UserService.findById ilə)
+     */
+    private boolean isUserActive(CurrentUser currentUser) {
+        UserService userService = userServiceProvider.getIfAvailable();
+        if (userService == null) {
+            return true;
+        }
+        try {
+            return Boolean.TRUE.equals(userService.findById(currentUser.getId()).getIsActive());
+        } catch (ResourceNotFoundException e) {
+            return false;
+        }
+    }
+
     /**
      * Bu filter-in hansı sorğular üçün işləməli olduğunu müəyyən edir
      * Bəzi URL-lər üçün filter-i ötürmək olar (performance üçün)
@@ -1,9 +1,13 @@
 package com.app.yolla.shared.security;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
@@ -14,6 +18,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import jakarta.annotation.PostConstruct;
+
 /**
  * Sadə JWT Utility Sinfi (Heç bir external library olmadan)
  * <p>
@@ -31,14 +41,68 @@ public class JwtUtil {
     @Value("${jwt.expiration:86400000}")
     private long jwtExpirationMs;
 
+    /**
+     * Artıq yoxlanmış token-ların keşi (0 olduqda söndürülür)
+     */
+    @Value("${app.security.token-cache.maximum-size:10000}")
+    private long tokenCacheSize;
+
+    /**
+     * Market claim-i olmayan istifadəçilər üçün token-da yazılan dəyər
+     */
+    private static final String NO_MARKET = "-";
+
+    /**
+     * Mac thread-safe deyil; hər thread öz instance-ını bir dəfə yaradıb init edir,
+     * doFinal isə onu növbəti imza üçün sıfırlayır.
+     */
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    private final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(JwtUtil::newDigest);
+
+    /**
+     * Token SHA-256 hash-i -> yoxlanmış claim-lər. Hər element token-un öz bitmə vaxtında silinir.
+     */
+    private Cache<String, TokenClaims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        if (tokenCacheSize > 0) {
+            verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(tokenCacheSize)
+                    .expireAfter(new Expiry<String, TokenClaims>() {
+                        @Override
+                        public long expireAfterCreate(String key, TokenClaims claims, long currentTime) {
+                            long remainingMs = claims.getExpiresAt() - System.currentTimeMillis();
+                            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+                        }
+
+                        @Override
+                        public long expireAfterUpdate(String key, TokenClaims claims, long currentTime,
+                                                      long currentDuration) {
+                            return expireAfterCreate(key, claims, currentTime);
+                        }
+
+                        @Override
+                        public long expireAfterRead(String key, TokenClaims claims, long currentTime,
+                                                    long currentDuration) {
+                            return currentDuration;
+                        }
+                    })
+                    .build();
+        }
+    }
+
     /**
      * İstifadəçi üçün token yaradır
+     * Format: telefon|rol|userId|marketId|bitmə|imza (marketId yoxdursa "-")
      */
-	public String generateToken(String phoneNumber, String role, UUID userId) {
+    public String generateToken(String phoneNumber, String role, UUID userId, UUID marketId) {
         logger.debug("Token yaradılır: telefon={}, rol={}", phoneNumber, role);
 
         long expirationTime = System.currentTimeMillis() + jwtExpirationMs;
-        String data = phoneNumber + "|" + role + "|" + userId + "|" + expirationTime;
+        String data = phoneNumber + "|" + role + "|" + userId + "|"
+                + (marketId != null ? marketId : NO_MARKET) + "|" + expirationTime;
         String signature = createSignature(data);
         String token = data + "|" + signature;
 
@@ -88,11 +152,11 @@ public class JwtUtil {
     /**
      * Token-dan istifadəçi ID-sini çıxarır
      */
-    public Long getUserIdFromToken(String token) {
+    public UUID getUserIdFromToken(String token) {
         try {
             String[] parts = decodeAndSplitToken(token);
             if (!"REFRESH".equals(parts[1])) {
-                return Long.parseLong(parts[2]);
+                return UUID.fromString(parts[2]);
             }
             return null;
         } catch (Exception e) {
@@ -102,34 +166,53 @@ public class JwtUtil {
     }
 
     /**
-     * Token-ın etibarlı olub-olmadığını yoxlayır
+     * Token-dan market ID-sini çıxarır (market yoxdursa və ya köhnə formatdırsa null)
      */
-    public Boolean isTokenValid(String token) {
+    public UUID getMarketIdFromToken(String token) {
         try {
             String[] parts = decodeAndSplitToken(token);
-
-            // Signature yoxla
-            String data = parts[0] + "|" + parts[1] + "|" + parts[2] + "|" + parts[3];
-            String expectedSignature = createSignature(data);
-            String actualSignature = parts[4];
-
-            if (!expectedSignature.equals(actualSignature)) {
-                logger.warn("Token signature yanlışdır");
-                return false;
+            if (parts.length == 6 && !NO_MARKET.equals(parts[3])) {
+                return UUID.fromString(parts[3]);
             }
+            return null;
+        } catch (Exception e) {
+            logger.error("Token-dan marketId çıxarılarkən xəta: {}", e.getMessage());
+            return null;
+        }
+    }
 
-            // Expiration yoxla
-            long expirationTime = Long.parseLong(parts[3]);
-            if (System.currentTimeMillis() > expirationTime) {
-                logger.warn("Token vaxtı bitib");
-                return false;
-            }
+    /**
+     * Token-u bir dəfə decode edir, imzasını və bitmə vaxtını yoxlayır.
+     * Etibarsız və ya vaxtı bitmiş token üçün null qaytarır.
+     * Eyni token təkrar gəldikdə nəticə keşdən götürülür - nə Base64, nə də HMAC təkrarlanır.
+     */
+    public TokenClaims parse(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        String key = tokenId(token);
+        if (verifiedTokens == null) {
+            return verify(token, key, now);
+        }
 
-            return true;
-        } catch (Exception e) {
-            logger.error("Token doğrulama xətası: {}", e.getMessage());
-            return false;
+        TokenClaims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached.isExpired(now) ? null : cached;
         }
+
+        TokenClaims claims = verify(token, key, now);
+        if (claims != null) {
+            verifiedTokens.put(key, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * Token-ın etibarlı olub-olmadığını yoxlayır
+     */
+    public Boolean isTokenValid(String token) {
+        return parse(token) != null;
     }
 
     /**
@@ -178,7 +261,7 @@ public class JwtUtil {
         try {
             String phoneNumber = getPhoneNumberFromToken(token);
             String role = getRoleFromToken(token);
-            Long userId = getUserIdFromToken(token);
+            UUID userId = getUserIdFromToken(token);
             Date expiration = new Date(System.currentTimeMillis() + jwtExpirationMs);
 
             return new UserTokenInfo(phoneNumber, role, userId, expiration);
@@ -204,26 +287,90 @@ public class JwtUtil {
      * HMAC-SHA256 signature yaradır
      */
     private String createSignature(String data) {
+        return Base64.getEncoder().encodeToString(hmac(data));
+    }
+
+    private byte[] hmac(String data) {
+        return macs.get().doFinal(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mac newMac() {
         try {
             Mac mac = Mac.getInstance("HmacSHA256");
-            SecretKeySpec keySpec = new SecretKeySpec(jwtSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-            mac.init(keySpec);
-            byte[] hash = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(hash);
+            mac.init(new SecretKeySpec(jwtSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return mac;
         } catch (Exception e) {
-            logger.error("Signature yaratma xətası: {}", e.getMessage());
-            return "invalid_signature";
+            throw new IllegalStateException("HmacSHA256 yaradıla bilmədi", e);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 alqoritmi mövcud deyil", e);
+        }
+    }
+
+    /**
+     * Token-un SHA-256 hash-i (hex). Keş və revokasiya siyahısı açıq token yox, bu id-ni saxlayır.
+     */
+    public String tokenId(String token) {
+        byte[] hash = digests.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(hash);
+    }
+
+    /**
+     * Token-u tək keçidlə yoxlayır: bir Base64 decode, bir HMAC, sabit-zamanlı müqayisə
+     */
+    private TokenClaims verify(String token, String tokenId, long now) {
+        try {
+            String decoded = new String(Base64.getDecoder().decode(token), StandardCharsets.UTF_8);
+            int signatureStart = decoded.lastIndexOf('|');
+            if (signatureStart < 0) {
+                return null;
+            }
+
+            // Son hissə imzadır, ondan əvvəlkilər imzalanan məlumatdır
+            String data = decoded.substring(0, signatureStart);
+            byte[] actual = Base64.getDecoder().decode(decoded.substring(signatureStart + 1));
+            if (!MessageDigest.isEqual(hmac(data), actual)) {
+                logger.warn("Token signature yanlışdır");
+                return null;
+            }
+
+            // Refresh və köhnə access token-larda 4, market claim-li access token-larda 5 sahə olur
+            String[] parts = data.split("\\|");
+            if (parts.length != 4 && parts.length != 5) {
+                logger.warn("Token formatı yanlışdır");
+                return null;
+            }
+
+            long expiresAt = Long.parseLong(parts[parts.length - 1]);
+            if (now > expiresAt) {
+                logger.debug("Token vaxtı bitib");
+                return null;
+            }
+
+            boolean refresh = TokenClaims.REFRESH_ROLE.equals(parts[1]);
+            UUID userId = refresh ? null : UUID.fromString(parts[2]);
+            UUID marketId = parts.length == 5 && !NO_MARKET.equals(parts[3]) ? UUID.fromString(parts[3]) : null;
+            return new TokenClaims(tokenId, parts[0], parts[1], userId, marketId, expiresAt);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Token doğrulama xətası: {}", e.getMessage());
+            return null;
         }
     }
 
     /**
      * Token-u decode edib hissələrə ayırır
+     * Refresh və köhnə access token-lar 5, market claim-li access token-lar 6 hissədən ibarətdir.
      */
     private String[] decodeAndSplitToken(String token) {
         try {
             String decoded = new String(Base64.getDecoder().decode(token), StandardCharsets.UTF_8);
             String[] parts = decoded.split("\\|");
-            if (parts.length != 5) {
+            if (parts.length != 5 && parts.length != 6) {
                 throw new IllegalArgumentException("Token formatı yanlışdır");
             }
             return parts;
@@ -239,10 +386,10 @@ public class JwtUtil {
     public static class UserTokenInfo {
         private final String phoneNumber;
         private final String role;
-        private final Long userId;
+        private final UUID userId;
         private final Date expiration;
 
-        public UserTokenInfo(String phoneNumber, String role, Long userId, Date expiration) {
+        public UserTokenInfo(String phoneNumber, String role, UUID userId, Date expiration) {
             this.phoneNumber = phoneNumber;
             this.role = role;
             this.userId = userId;
@@ -257,7 +404,7 @@ public class JwtUtil {
             return role;
         }
 
-        public Long getUserId() {
+        public UUID getUserId() {
             return userId;
         }
 
@@ -0,0 +1,95 @@
+package com.app.yolla.shared.security;
+
+import java.util.UUID;
+
+import com.app.yolla.modules.user.entity.UserRole;
+
+/**
+ * İmzası yoxlanmış token-un dəyişməz claim-ləri
+ * <p>
+ * JwtUtil.parse token-u bir dəfə decode edib yoxlayır və bu obyekti qaytarır;
+ * filter və servislər token-u təkrar-təkrar parse etmədən bu sahələrdən istifadə edir.
+ */
+public final class TokenClaims {
+
+    static final String REFRESH_ROLE = "REFRESH";
+
+    private final String tokenId;
+    private final String phoneNumber;
+    private final String role;
+    private final UUID userId;
+    private final UUID marketId;
+    private final long expiresAt;
+
+    public TokenClaims(String tokenId, String phoneNumber, String role, UUID userId, UUID marketId, long expiresAt) {
+        this.tokenId = tokenId;
+        this.phoneNumber = phoneNumber;
+        this.role = role;
+        this.userId = userId;
+        this.marketId = marketId;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Token-un SHA-256 hash-i (hex) - revokasiya və keş üçün identifikator
+     */
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    /**
+     * Refresh token-larda null
+     */
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public UUID getMarketId() {
+        return marketId;
+    }
+
+    /**
+     * Bitmə vaxtı (epoch millisaniyə)
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis > expiresAt;
+    }
+
+    public boolean isAccessToken() {
+        return !REFRESH_ROLE.equals(role);
+    }
+
+    public boolean isRefreshToken() {
+        return REFRESH_ROLE.equals(role);
+    }
+
+    /**
+     * Access token claim-lərindən Security principal-ı qurur
+     */
+    public CurrentUser toCurrentUser() {
+        return new CurrentUser(userId, phoneNumber, UserRole.valueOf(role), marketId);
+    }
+
+    @Override
+    public String toString() {
+        return "TokenClaims{" +
+                "phoneNumber='" + phoneNumber + '\'' +
+                ", role='" + role + '\'' +
+                ", userId=" + userId +
+                ", marketId=" + marketId +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -0,0 +1,116 @@
+package com.app.yolla.shared.transaction;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * {@link RetryOnLockFailure} ilə işarələnmiş metodlar üçün təkrar məntiqi.
+ * <p>
+ * Tranzaksiya interceptor-undan əvvəl işləyir (HIGHEST_PRECEDENCE), ona görə də
+ * hər cəhd yeni tranzaksiyada icra olunur və məlumatı yenidən oxuyur. Həm kilid xətaları
+ * (deadlock, lock wait timeout), həm də optimistik kilid (@Version) konfliktləri təkrar olunur;
+ * cəhdlər arası gözləmə artır və təsadüfi əlavə ilə səpələnir ki, yarışan sorğular yenə toqquşmasın.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LockRetryAspect {
+
+	private static final Logger logger = LoggerFactory.getLogger(LockRetryAspect.class);
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${app.lock-retry.max-attempts:3}")
+	private int maxAttempts;
+
+	@Value("${app.lock-retry.backoff-ms:25}")
+	private long backoffMs;
+
+	@Value("${app.lock-retry.max-backoff-ms:500}")
+	private long maxBackoffMs;
+
+	private Counter optimisticConflicts;
+	private Counter pessimisticConflicts;
+	private Counter retries;
+	private Counter exhausted;
+
+	@PostConstruct
+	void init() {
+		optimisticConflicts = conflictCounter("optimistic");
+		pessimisticConflicts = conflictCounter("pessimistic");
+		retries = Counter.builder("lock.retry.attempts")
+				.description("Konfliktdən sonra yenidən icra olunan cəhdlər")
+				.register(meterRegistry);
+		exhausted = Counter.builder("lock.retry.exhausted")
+				.description("Cəhdləri bitib xəta ilə qayıdan çağırışlar")
+				.register(meterRegistry);
+	}
+
+	private Counter conflictCounter(String type) {
+		return Counter.builder("lock.retry.conflicts")
+				.description("Servis sərhədində tutulan kilid konfliktləri")
+				.tag("type", type)
+				.register(meterRegistry);
+	}
+
+	@Around("@annotation(com.app.yolla.shared.transaction.RetryOnLockFailure)")
+	public Object retry(ProceedingJoinPoint pjp) throws Throwable {
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			return pjp.proceed();
+		}
+
+		int attempt = 0;
+		while (true) {
+			try {
+				return pjp.proceed();
+			} catch (OptimisticLockingFailureException | PessimisticLockingFailureException e) {
+				attempt++;
+				record(e);
+				if (attempt >= maxAttempts) {
+					exhausted.increment();
+					logger.warn("Kilid konflikti, cəhdlər bitdi: metod={}, cəhd={}, xəta={}",
+							pjp.getSignature().getName(), attempt, e.getClass().getSimpleName());
+					throw e;
+				}
+				retries.increment();
+				logger.debug("Kilid konflikti, yenidən cəhd: metod={}, cəhd={}, xəta={}",
+						pjp.getSignature().getName(), attempt, e.getClass().getSimpleName());
+				Thread.sleep(backoff(attempt));
+			}
+		}
+	}
+
+	private void record(ConcurrencyFailureException e) {
+		if (e instanceof OptimisticLockingFailureException) {
+			optimisticConflicts.increment();
+		} else {
+			pessimisticConflicts.increment();
+		}
+	}
+
+	/**
+	 * Cəhd sayı ilə xətti artan, max-backoff-ms ilə məhdud gözləmə + [0, backoff-ms] təsadüfi əlavə
+	 */
+	private long backoff(int attempt) {
+		return Math.min(backoffMs * attempt, maxBackoffMs) + ThreadLocalRandom.current().nextLong(backoffMs + 1);
+	}
+}
@@ -0,0 +1,20 @@
+package com.app.yolla.shared.transaction;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Kilid xətası (lock wait timeout, deadlock) və ya optimistik kilid konflikti (@Version)
+ * zamanı servis metodunu yenidən icra edir.
+ * <p>
+ * Təkrar yalnız ən xarici tranzaksiya sərhədində baş verir - metod artıq açıq
+ * tranzaksiya daxilində çağırılıbsa, xəta olduğu kimi yuxarı ötürülür.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnLockFailure {
+}
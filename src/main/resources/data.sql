@@ -10,12 +10,12 @@
 --);
 --
 
-INSERT INTO markets (id, name,address) VALUES ('b5f20a68-7a4d-4e76-9d3e-81d6e7e8a12a', 'System Market','Yasamal');
+INSERT INTO markets (id, name,address) VALUES (UUID_TO_BIN('b5f20a68-7a4d-4e76-9d3e-81d6e7e8a12a'), 'System Market','Yasamal');
 
 INSERT INTO users (
   id, phone_number, full_name, email, role, is_active, created_at, updated_at,market_id
 ) VALUES (
-  UUID(),
+  UUID_TO_BIN(UUID()),
   CONCAT('+99455', FLOOR(1000000 + RAND()*8999999)),
   'aslanli',
   CONCAT('user', FLOOR(1000 + RAND()*8999), '@gmail.com'),
@@ -23,5 +23,5 @@ INSERT INTO users (
   TRUE,
   '2025-06-06',
   '2025-06-03',
-  'b5f20a68-7a4d-4e76-9d3e-81d6e7e8a12a'
+  UUID_TO_BIN('b5f20a68-7a4d-4e76-9d3e-81d6e7e8a12a')
 );
\ No newline at end of file
@@ -0,0 +1,6 @@
+-- POST /orders/claims - hazırlayıcı üçün sifariş götürmə (lease) sahələri
+ALTER TABLE orders ADD COLUMN claimed_by BINARY(16) NULL;
+ALTER TABLE orders ADD COLUMN claim_expires_at DATETIME(6) NULL;
+
+-- Marketin CONFIRMED sifarişlərini yaranma sırası ilə oxumaq üçün
+CREATE INDEX idx_orders_market_status_created ON orders (market_id, status, created_at);
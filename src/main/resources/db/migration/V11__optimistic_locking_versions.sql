@@ -0,0 +1,3 @@
+-- Optimistik kilid (@Version) sütunları - mövcud sətirlər 0-dan başlayır
+ALTER TABLE orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE products ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,4 @@
+-- Sətrin stoku hansı yolla rezerv olunub: ləğv stoku eyni yolla qaytarır.
+-- stock_deferred flush-dan sonra sıfırlanır, ona görə yol ayrıca saxlanılır; hələ köçürülməmiş sətirlər isti sayılır.
+ALTER TABLE order_items ADD COLUMN stock_hot BIT(1) NOT NULL DEFAULT 0;
+UPDATE order_items SET stock_hot = 1 WHERE stock_deferred <> 0;
@@ -0,0 +1,3 @@
+-- İlk sorğu gövdəsinin SHA-256 hash-i: eyni açar başqa gövdə ilə gələrsə 422 qaytarılır.
+-- Köhnə qeydlərdə NULL qalır və gövdə müqayisə olunmur.
+ALTER TABLE idempotency_records ADD COLUMN request_hash VARCHAR(64);
@@ -0,0 +1,75 @@
+-- İlkin schema (migration-lardan əvvəlki vəziyyət, id-lər VARCHAR(36)).
+-- Mövcud bazada işləmir - baseline-on-migrate onu V1 kimi qeyd edir; boş bazada schema-nı qurur.
+CREATE TABLE markets (
+    id      VARCHAR(36)  NOT NULL,
+    name    VARCHAR(255),
+    address VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE users (
+    id           VARCHAR(36)  NOT NULL,
+    phone_number VARCHAR(20)  NOT NULL,
+    full_name    VARCHAR(255),
+    email        VARCHAR(255),
+    role         VARCHAR(50)  NOT NULL,
+    is_active    BIT(1),
+    created_at   DATETIME(6)  NOT NULL,
+    updated_at   DATETIME(6),
+    market_id    VARCHAR(36),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_phone_number UNIQUE (phone_number),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT fk_users_market FOREIGN KEY (market_id) REFERENCES markets (id)
+);
+
+CREATE TABLE products (
+    id             VARCHAR(36)    NOT NULL,
+    name           VARCHAR(255),
+    description    VARCHAR(255),
+    price          DECIMAL(38, 2),
+    stock_quantity INT,
+    active         BIT(1),
+    created_at     DATETIME(6)    NOT NULL,
+    updated_at     DATETIME(6),
+    user_id        VARCHAR(36)    NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE orders (
+    id               VARCHAR(36)    NOT NULL,
+    user_id          VARCHAR(36)    NOT NULL,
+    status           VARCHAR(255)   NOT NULL,
+    total_amount     DECIMAL(38, 2) NOT NULL,
+    created_at       DATETIME(6),
+    notes            VARCHAR(255),
+    delivery_address VARCHAR(255)   NOT NULL,
+    delivery_time    DATETIME(6),
+    market_id        VARCHAR(36),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_orders_market FOREIGN KEY (market_id) REFERENCES markets (id)
+);
+
+CREATE TABLE order_items (
+    id         VARCHAR(36)    NOT NULL,
+    order_id   VARCHAR(36),
+    product_id VARCHAR(36),
+    quantity   INT,
+    price      DECIMAL(38, 2),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id),
+    CONSTRAINT fk_order_items_product FOREIGN KEY (product_id) REFERENCES products (id)
+);
+
+CREATE TABLE otp_codes (
+    id            VARCHAR(36)  NOT NULL,
+    phone_number  VARCHAR(20)  NOT NULL,
+    otp_code      VARCHAR(6)   NOT NULL,
+    expires_at    DATETIME(6)  NOT NULL,
+    is_used       BIT(1),
+    attempt_count INT,
+    ip_address    VARCHAR(45),
+    otp_type      VARCHAR(20),
+    created_at    DATETIME(6),
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,4 @@
+-- İsti (flash-sale) məhsullar üçün yaddaşdakı stok kitabçası
+ALTER TABLE products ADD COLUMN hot_stock BIT(1) NOT NULL DEFAULT 0;
+ALTER TABLE order_items ADD COLUMN stock_deferred INT NOT NULL DEFAULT 0;
+CREATE INDEX idx_order_items_stock_deferred ON order_items (stock_deferred);
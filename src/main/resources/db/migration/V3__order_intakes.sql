@@ -0,0 +1,10 @@
+-- Asinxron sifariş qəbulunun nəticələri
+CREATE TABLE order_intakes (
+    id           VARCHAR(36)  NOT NULL,
+    user_phone   VARCHAR(255) NOT NULL,
+    order_id     VARCHAR(36),
+    status       VARCHAR(255) NOT NULL,
+    error        VARCHAR(500),
+    completed_at DATETIME(6),
+    PRIMARY KEY (id)
+);
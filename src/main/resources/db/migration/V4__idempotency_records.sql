@@ -0,0 +1,10 @@
+-- Idempotency-Key cavabları (app.idempotency.persistent=true olduqda)
+CREATE TABLE idempotency_records (
+    id           VARCHAR(64)  NOT NULL,
+    status       INT          NOT NULL,
+    content_type VARCHAR(255),
+    body         LONGBLOB,
+    created_at   DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_idempotency_records_created_at ON idempotency_records (created_at);
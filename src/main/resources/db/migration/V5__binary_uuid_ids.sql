@@ -0,0 +1,92 @@
+-- UUID id-ləri VARCHAR(36)-dan BINARY(16)-ya köçürülür (UUID_TO_BIN, standart bayt sırası -
+-- Java-dakı UUID ilə eyni). Köhnə sətirlər öz id-lərini saxlayır, yalnız saxlanma formatı dəyişir;
+-- yeni sətirlər TimeOrderedUuidGenerator (UUIDv7) ilə yaradılır.
+--
+-- MySQL xarici açarın iştirak etdiyi sütunun tipini dəyişməyə icazə vermir, ona görə əvvəlcə
+-- xarici açarlar silinir, valideyn və övlad sütunlar birlikdə çevrilir, sonda açarlar yenidən
+-- yaradılır. Hibernate-in qurduğu bazada açar adları təsadüfidir - ad information_schema-dan tapılır.
+--
+-- Hər sütun üç addımda çevrilir: VARBINARY(36) -> UUID_TO_BIN -> BINARY(16).
+
+-- 1. Xarici açarlar
+SET @fk = (SELECT CONSTRAINT_NAME FROM information_schema.KEY_COLUMN_USAGE
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'users' AND COLUMN_NAME = 'market_id'
+      AND REFERENCED_TABLE_NAME IS NOT NULL LIMIT 1);
+SET @ddl = IF(@fk IS NULL, 'DO 0', CONCAT('ALTER TABLE users DROP FOREIGN KEY `', @fk, '`'));
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @fk = (SELECT CONSTRAINT_NAME FROM information_schema.KEY_COLUMN_USAGE
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'orders' AND COLUMN_NAME = 'market_id'
+      AND REFERENCED_TABLE_NAME IS NOT NULL LIMIT 1);
+SET @ddl = IF(@fk IS NULL, 'DO 0', CONCAT('ALTER TABLE orders DROP FOREIGN KEY `', @fk, '`'));
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @fk = (SELECT CONSTRAINT_NAME FROM information_schema.KEY_COLUMN_USAGE
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'order_items' AND COLUMN_NAME = 'order_id'
+      AND REFERENCED_TABLE_NAME IS NOT NULL LIMIT 1);
+SET @ddl = IF(@fk IS NULL, 'DO 0', CONCAT('ALTER TABLE order_items DROP FOREIGN KEY `', @fk, '`'));
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @fk = (SELECT CONSTRAINT_NAME FROM information_schema.KEY_COLUMN_USAGE
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'order_items' AND COLUMN_NAME = 'product_id'
+      AND REFERENCED_TABLE_NAME IS NOT NULL LIMIT 1);
+SET @ddl = IF(@fk IS NULL, 'DO 0', CONCAT('ALTER TABLE order_items DROP FOREIGN KEY `', @fk, '`'));
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 2. Sütunlar
+ALTER TABLE markets MODIFY id VARBINARY(36) NOT NULL;
+UPDATE markets SET id = UUID_TO_BIN(CONVERT(id USING utf8mb4)) WHERE LENGTH(id) = 36;
+ALTER TABLE markets MODIFY id BINARY(16) NOT NULL;
+ALTER TABLE users MODIFY id VARBINARY(36) NOT NULL;
+UPDATE users SET id = UUID_TO_BIN(CONVERT(id USING utf8mb4)) WHERE LENGTH(id) = 36;
+ALTER TABLE users MODIFY id BINARY(16) NOT NULL;
+ALTER TABLE users MODIFY market_id VARBINARY(36);
+UPDATE users SET market_id = UUID_TO_BIN(CONVERT(market_id USING utf8mb4)) WHERE LENGTH(market_id) = 36;
+ALTER TABLE users MODIFY market_id BINARY(16);
+ALTER TABLE products MODIFY id VARBINARY(36) NOT NULL;
+UPDATE products SET id = UUID_TO_BIN(CONVERT(id USING utf8mb4)) WHERE LENGTH(id) = 36;
+ALTER TABLE products MODIFY id BINARY(16) NOT NULL;
+ALTER TABLE products MODIFY user_id VARBINARY(36) NOT NULL;
+UPDATE products SET user_id = UUID_TO_BIN(CONVERT(user_id USING utf8mb4)) WHERE LENGTH(user_id) = 36;
+ALTER TABLE products MODIFY user_id BINARY(16) NOT NULL;
+ALTER TABLE orders MODIFY id VARBINARY(36) NOT NULL;
+UPDATE orders SET id = UUID_TO_BIN(CONVERT(id USING utf8mb4)) WHERE LENGTH(id) = 36;
+ALTER TABLE orders MODIFY id BINARY(16) NOT NULL;
+ALTER TABLE orders MODIFY user_id VARBINARY(36) NOT NULL;
+UPDATE orders SET user_id = UUID_TO_BIN(CONVERT(user_id USING utf8mb4)) WHERE LENGTH(user_id) = 36;
+ALTER TABLE orders MODIFY user_id BINARY(16) NOT NULL;
+ALTER TABLE orders MODIFY market_id VARBINARY(36);
+UPDATE orders SET market_id = UUID_TO_BIN(CONVERT(market_id USING utf8mb4)) WHERE LENGTH(market_id) = 36;
+ALTER TABLE orders MODIFY market_id BINARY(16);
+ALTER TABLE order_items MODIFY id VARBINARY(36) NOT NULL;
+UPDATE order_items SET id = UUID_TO_BIN(CONVERT(id USING utf8mb4)) WHERE LENGTH(id) = 36;
+ALTER TABLE order_items MODIFY id BINARY(16) NOT NULL;
+ALTER TABLE order_items MODIFY order_id VARBINARY(36);
+UPDATE order_items SET order_id = UUID_TO_BIN(CONVERT(order_id USING utf8mb4)) WHERE LENGTH(order_id) = 36;
+ALTER TABLE order_items MODIFY order_id BINARY(16);
+ALTER TABLE order_items MODIFY product_id VARBINARY(36);
+UPDATE order_items SET product_id = UUID_TO_BIN(CONVERT(product_id USING utf8mb4)) WHERE LENGTH(product_id) = 36;
+ALTER TABLE order_items MODIFY product_id BINARY(16);
+ALTER TABLE otp_codes MODIFY id VARBINARY(36) NOT NULL;
+UPDATE otp_codes SET id = UUID_TO_BIN(CONVERT(id USING utf8mb4)) WHERE LENGTH(id) = 36;
+ALTER TABLE otp_codes MODIFY id BINARY(16) NOT NULL;
+ALTER TABLE order_intakes MODIFY id VARBINARY(36) NOT NULL;
+UPDATE order_intakes SET id = UUID_TO_BIN(CONVERT(id USING utf8mb4)) WHERE LENGTH(id) = 36;
+ALTER TABLE order_intakes MODIFY id BINARY(16) NOT NULL;
+ALTER TABLE order_intakes MODIFY order_id VARBINARY(36);
+UPDATE order_intakes SET order_id = UUID_TO_BIN(CONVERT(order_id USING utf8mb4)) WHERE LENGTH(order_id) = 36;
+ALTER TABLE order_intakes MODIFY order_id BINARY(16);
+
+-- 3. Xarici açarlar yenidən
+ALTER TABLE users ADD CONSTRAINT fk_users_market FOREIGN KEY (market_id) REFERENCES markets (id);
+ALTER TABLE orders ADD CONSTRAINT fk_orders_market FOREIGN KEY (market_id) REFERENCES markets (id);
+ALTER TABLE order_items ADD CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id);
+ALTER TABLE order_items ADD CONSTRAINT fk_order_items_product FOREIGN KEY (product_id) REFERENCES products (id);
@@ -0,0 +1,2 @@
+-- GET /orders/cursor üçün keyset səhifələmə index-i
+CREATE INDEX idx_orders_user_created_id ON orders (user_id, created_at, id);
@@ -0,0 +1,10 @@
+-- Logout zamanı ləğv edilən token-lar (id - token-un SHA-256 hash-i)
+CREATE TABLE revoked_tokens (
+    id           VARCHAR(64)  NOT NULL,
+    phone_number VARCHAR(20),
+    expires_at   DATETIME(6)  NOT NULL,
+    revoked_at   DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
@@ -0,0 +1,4 @@
+-- Köhnə kodların hissə-hissə silinməsi (created_at üzrə) və aktiv kodun axtarışı
+-- (findTopByPhoneNumberAndOtpTypeAndIsUsedFalseOrderByCreatedAtDesc) üçün
+CREATE INDEX idx_otp_codes_created_at ON otp_codes (created_at);
+CREATE INDEX idx_otp_codes_phone_type_used_created ON otp_codes (phone_number, otp_type, is_used, created_at);
@@ -0,0 +1,11 @@
+-- Sifariş hadisələri üçün transactional outbox (id - UUIDv7, yaranma sırası ilə artır)
+CREATE TABLE order_outbox (
+    id           BINARY(16)  NOT NULL,
+    order_id     BINARY(16)  NOT NULL,
+    event_type   VARCHAR(20) NOT NULL,
+    payload      TEXT        NOT NULL,
+    created_at   DATETIME(6) NOT NULL,
+    published_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_order_outbox_published_id ON order_outbox (published_at, id);
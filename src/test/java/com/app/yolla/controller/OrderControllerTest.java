@@ -1,13 +1,19 @@
 package com.app.yolla.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,12 +28,25 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import com.app.yolla.config.TestAuditingConfig;
 import com.app.yolla.modules.order.controller.OrderController;
+import com.app.yolla.modules.order.dto.OrderBulkStatusRequest;
+import com.app.yolla.modules.order.dto.OrderBulkStatusResponse;
+import com.app.yolla.modules.order.dto.OrderBulkStatusResult;
+import com.app.yolla.modules.order.dto.OrderClaimResponse;
 import com.app.yolla.modules.order.dto.OrderCreateRequest;
 import com.app.yolla.modules.order.dto.OrderDTO;
+import com.app.yolla.modules.order.dto.OrderIntakeDTO;
 import com.app.yolla.modules.order.dto.OrderItemDTO;
 import com.app.yolla.modules.order.dto.OrderItemRequest;
+import com.app.yolla.modules.order.entity.OrderIntakeStatus;
 import com.app.yolla.modules.order.entity.OrderStatus;
+import com.app.yolla.modules.order.service.OrderExportService;
+import com.app.yolla.modules.order.service.OrderIntakeService;
 import com.app.yolla.modules.order.service.OrderService;
+import com.app.yolla.modules.order.service.OrderStreamBroadcaster;
+import com.app.yolla.modules.user.entity.UserRole;
+import com.app.yolla.modules.user.service.UserService;
+import com.app.yolla.shared.exception.MyException;
+import com.app.yolla.shared.security.CurrentUser;
 import com.app.yolla.shared.security.JwtUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -44,6 +63,18 @@ class OrderControllerTest {
 	@MockBean
 	private OrderService orderService;
 
+	@MockBean
+	private OrderIntakeService orderIntakeService;
+
+	@MockBean
+	private OrderExportService orderExportService;
+
+	@MockBean
+	private OrderStreamBroadcaster orderStreamBroadcaster;
+
+	@MockBean
+	private UserService userService;
+
 	@MockBean
 	private JwtUtil jwtUtil;
 
@@ -55,7 +86,6 @@ class OrderControllerTest {
 	void shouldCreateOrderSuccessfully() throws Exception {
 		OrderCreateRequest request = new OrderCreateRequest();
 
-		request.setStatus(OrderStatus.PENDING);
 		request.setNotes("Təcili çatdırılma");
 		request.setDeliveryAddress("strinf");
 
@@ -101,5 +131,126 @@ class OrderControllerTest {
 				.content(objectMapper.writeValueAsString(request))).andExpect(status().isCreated());
 	}
 
+	@WithMockUser
+	@Test
+	void shouldAcceptOrderAsynchronously() throws Exception {
+		OrderCreateRequest request = new OrderCreateRequest();
+		request.setDeliveryAddress("strinf");
+		request.setMarketId(UUID.fromString("5b0c3f1e-2f7a-4a8e-9a43-7d1c2b3e4f50"));
+
+		OrderItemRequest item = new OrderItemRequest();
+		item.setProductId(UUID.fromString("a3b01a3e-8c2e-4dc5-b8de-0f5b9b7b74e3"));
+		item.setQuantity(2);
+		request.setItems(List.of(item));
+
+		UUID intakeId = UUID.fromString("0e8d7c6b-5a49-4382-9170-6f5e4d3c2b1a");
+		when(orderIntakeService.submit(any(OrderCreateRequest.class)))
+				.thenReturn(new OrderIntakeDTO(intakeId, OrderIntakeStatus.PENDING_INTAKE, null, null));
+
+		mockMvc.perform(post("/orders").param("async", "true").with(csrf()).contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(request)))
+				.andExpect(status().isAccepted())
+				.andExpect(jsonPath("$.data.id").value(intakeId.toString()))
+				.andExpect(jsonPath("$.data.status").value("PENDING_INTAKE"));
+	}
+
+	@WithMockUser(roles = "PREPARER")
+	@Test
+	void shouldClaimOrdersForPreparer() throws Exception {
+		CurrentUser preparer = new CurrentUser(UUID.fromString("0d9e8f7a-6b5c-4d3e-8f2a-1b0c9d8e7f6a"), "+994557894561",
+				UserRole.PREPARER, UUID.fromString("5b0c3f1e-2f7a-4a8e-9a43-7d1c2b3e4f50"));
+		when(userService.currentUser()).thenReturn(preparer);
+
+		OrderDTO order = new OrderDTO();
+		order.setId(UUID.fromString("d6f1f8f4-72d4-4c33-92c2-0fbe11e53c9a"));
+		order.setStatus(OrderStatus.CONFIRMED);
+
+		OrderClaimResponse claims = new OrderClaimResponse();
+		claims.setList(List.of(order));
+		claims.setLeaseExpiresAt(LocalDateTime.of(2024, 5, 1, 10, 20));
+		when(orderService.claimOrders(preparer, 3)).thenReturn(claims);
 
-}
\ No newline at end of file
+		mockMvc.perform(post("/orders/claims").param("limit", "3").with(csrf()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.success").value(true))
+				.andExpect(jsonPath("$.data.list.length()").value(1))
+				.andExpect(jsonPath("$.data.list[0].id").value("d6f1f8f4-72d4-4c33-92c2-0fbe11e53c9a"))
+				.andExpect(jsonPath("$.data.leaseExpiresAt").exists());
+	}
+
+	@WithMockUser(roles = "PREPARER")
+	@Test
+	void shouldRejectClaimWithoutMarket() throws Exception {
+		CurrentUser preparer = new CurrentUser(UUID.fromString("0d9e8f7a-6b5c-4d3e-8f2a-1b0c9d8e7f6a"), "+994557894561",
+				UserRole.PREPARER, null);
+		when(userService.currentUser()).thenReturn(preparer);
+		when(orderService.claimOrders(eq(preparer), any()))
+				.thenThrow(new MyException("Sifariş götürmək üçün marketə bağlı hazırlayıcı olmalısınız"));
+
+		mockMvc.perform(post("/orders/claims").with(csrf()))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.success").value(false))
+				.andExpect(jsonPath("$.data").doesNotExist());
+	}
+
+	@WithMockUser(roles = "ADMIN")
+	@Test
+	void shouldReturnPerOrderResultsForPartialBulkUpdate() throws Exception {
+		UUID updated = UUID.fromString("d6f1f8f4-72d4-4c33-92c2-0fbe11e53c9a");
+		UUID rejected = UUID.fromString("0e8d7c6b-5a49-4382-9170-6f5e4d3c2b1a");
+		CurrentUser admin = new CurrentUser(UUID.fromString("f0a1b672-4a8b-4e12-b48e-4e23a948c1f9"), "+994557894561",
+				UserRole.ADMIN, null);
+		when(userService.currentUser()).thenReturn(admin);
+
+		OrderBulkStatusResponse result = new OrderBulkStatusResponse();
+		result.setStatus(OrderStatus.CANCELLED);
+		result.setUpdated(1);
+		result.setFailed(1);
+		result.setResults(List.of(new OrderBulkStatusResult(updated, true, null),
+				new OrderBulkStatusResult(rejected, false, "DELIVERED statusundakı sifariş CANCELLED statusuna keçə bilməz")));
+		when(orderService.bulkTransition(eq(admin), any(OrderBulkStatusRequest.class))).thenReturn(result);
+
+		mockMvc.perform(put("/orders/bulk/status").with(csrf()).contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(
+						new OrderBulkStatusRequest(List.of(updated, rejected), OrderStatus.CANCELLED))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.success").value(true))
+				.andExpect(jsonPath("$.message").value("Sifarişlərin statusu dəyişdirildi: 1/2"))
+				.andExpect(jsonPath("$.data.updated").value(1))
+				.andExpect(jsonPath("$.data.failed").value(1))
+				.andExpect(jsonPath("$.data.results[0].success").value(true))
+				.andExpect(jsonPath("$.data.results[1].orderId").value(rejected.toString()))
+				.andExpect(jsonPath("$.data.results[1].success").value(false))
+				.andExpect(jsonPath("$.data.results[1].message")
+						.value("DELIVERED statusundakı sifariş CANCELLED statusuna keçə bilməz"));
+	}
+
+	@WithMockUser(roles = "ADMIN")
+	@Test
+	void shouldRejectBulkUpdateAboveFiveHundredOrders() throws Exception {
+		List<UUID> ids = new ArrayList<>();
+		for (int i = 0; i < 501; i++) {
+			ids.add(UUID.randomUUID());
+		}
+
+		mockMvc.perform(put("/orders/bulk/status").with(csrf()).contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(new OrderBulkStatusRequest(ids, OrderStatus.CANCELLED))))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.success").value(false))
+				.andExpect(jsonPath("$.data.orderIds").value("Bir sorğuda ən çox 500 sifariş ola bilər"));
+
+		verify(orderService, never()).bulkTransition(any(), any());
+	}
+
+	@WithMockUser(roles = "ADMIN")
+	@Test
+	void shouldRejectEmptyBulkUpdate() throws Exception {
+		mockMvc.perform(put("/orders/bulk/status").with(csrf()).contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(new OrderBulkStatusRequest(List.of(), null))))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.data.orderIds").value("Sifariş siyahısı boş ola bilməz"))
+				.andExpect(jsonPath("$.data.status").value("Status boş ola bilməz"));
+
+		verify(orderService, never()).bulkTransition(any(), any());
+	}
+}
@@ -0,0 +1,81 @@
+package com.app.yolla.modules.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Bloom filter: əlavə olunmuş id heç vaxt "yox" cavabı almır, yalançı müsbət nisbəti hədd daxilindədir
+ */
+class RevocationBloomFilterTest {
+
+	@Test
+	void shouldNeverReturnFalseNegative() throws Exception {
+		RevocationBloomFilter filter = new RevocationBloomFilter(10_000, 0.01);
+		List<String> ids = tokenIds(10_000);
+
+		ids.forEach(filter::put);
+
+		for (String id : ids) {
+			assertTrue(filter.mightContain(id), "Əlavə olunmuş id tapılmadı: " + id);
+		}
+	}
+
+	@Test
+	void shouldKeepFalsePositiveRateNearConfiguredValue() throws Exception {
+		RevocationBloomFilter filter = new RevocationBloomFilter(10_000, 0.01);
+		tokenIds(10_000).forEach(filter::put);
+
+		int falsePositives = 0;
+		for (String id : tokenIds(10_000)) {
+			if (filter.mightContain(id)) {
+				falsePositives++;
+			}
+		}
+
+		assertTrue(falsePositives < 300, "Yalançı müsbət sayı çoxdur: " + falsePositives);
+	}
+
+	@Test
+	void shouldKeepConcurrentInsertions() throws Exception {
+		RevocationBloomFilter filter = new RevocationBloomFilter(40_000, 0.001);
+		List<String> ids = tokenIds(40_000);
+
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				List<String> slice = ids.subList(t * 10_000, (t + 1) * 10_000);
+				futures.add(pool.submit(() -> slice.forEach(filter::put)));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		for (String id : ids) {
+			assertTrue(filter.mightContain(id), "Paralel əlavə olunmuş id itdi: " + id);
+		}
+	}
+
+	static List<String> tokenIds(int count) throws Exception {
+		MessageDigest digest = MessageDigest.getInstance("SHA-256");
+		List<String> ids = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			ids.add(HexFormat.of().formatHex(digest.digest(UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8))));
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,126 @@
+package com.app.yolla.modules.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.yolla.modules.auth.entity.RevokedToken;
+import com.app.yolla.modules.auth.repository.RevokedTokenRepository;
+import com.app.yolla.shared.security.TokenClaims;
+
+/**
+ * Ləğv siyahısı: yaddaşdakı yoxlama, vaxtı bitmiş qeydlərin çıxarılması və Bloom filter-in yenidən qurulması
+ */
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+	private static final String PHONE = "+994557894561";
+
+	@Mock
+	private RevokedTokenRepository repository;
+
+	@InjectMocks
+	private TokenRevocationService service;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(service, "enabled", true);
+		ReflectionTestUtils.setField(service, "expectedInsertions", 4L);
+		ReflectionTestUtils.setField(service, "falsePositiveRate", 0.01);
+		service.init();
+	}
+
+	@Test
+	void shouldReportRevokedTokenOnly() throws Exception {
+		List<String> ids = RevocationBloomFilterTest.tokenIds(2);
+		TokenClaims revoked = claims(ids.get(0), System.currentTimeMillis() + 60_000);
+		TokenClaims active = claims(ids.get(1), System.currentTimeMillis() + 60_000);
+
+		service.revoke(revoked);
+
+		verify(repository).save(any(RevokedToken.class));
+		assertTrue(service.isRevoked(revoked));
+		assertFalse(service.isRevoked(active));
+	}
+
+	@Test
+	void shouldSkipAlreadyExpiredToken() throws Exception {
+		TokenClaims expired = claims(RevocationBloomFilterTest.tokenIds(1).get(0), System.currentTimeMillis() - 1_000);
+
+		service.revoke(expired);
+
+		verify(repository, never()).save(any(RevokedToken.class));
+		assertFalse(service.isRevoked(expired));
+	}
+
+	@Test
+	void shouldDropExpiredEntriesOnRefresh() throws Exception {
+		List<String> ids = RevocationBloomFilterTest.tokenIds(2);
+		LocalDateTime now = LocalDateTime.now();
+		RevokedToken live = new RevokedToken(ids.get(0), PHONE, now.plusMinutes(5), now);
+		RevokedToken stale = new RevokedToken(ids.get(1), PHONE, now.minusSeconds(1), now.minusMinutes(5));
+		when(repository.findByRevokedAtAfterAndExpiresAtAfter(any(LocalDateTime.class), any(LocalDateTime.class)))
+				.thenReturn(List.of(live, stale));
+
+		service.refresh();
+
+		assertEquals(1, revokedEntries().size());
+		assertTrue(revokedEntries().containsKey(ids.get(0)));
+		assertTrue(service.isRevoked(claims(ids.get(0), System.currentTimeMillis() + 60_000)));
+		assertFalse(service.isRevoked(claims(ids.get(1), System.currentTimeMillis() + 60_000)));
+	}
+
+	@Test
+	void shouldGrowBloomFilterWhenCapacityIsExceeded() throws Exception {
+		List<TokenClaims> tokens = new ArrayList<>();
+		for (String id : RevocationBloomFilterTest.tokenIds(10)) {
+			TokenClaims claims = claims(id, System.currentTimeMillis() + 60_000);
+			service.revoke(claims);
+			tokens.add(claims);
+		}
+		when(repository.findByRevokedAtAfterAndExpiresAtAfter(any(LocalDateTime.class), any(LocalDateTime.class)))
+				.thenReturn(List.of());
+
+		service.refresh();
+
+		assertEquals(20L, (long) ReflectionTestUtils.getField(service, "bloomCapacity"));
+		for (TokenClaims claims : tokens) {
+			assertTrue(service.isRevoked(claims));
+		}
+	}
+
+	@Test
+	void shouldPurgeExpiredRowsFromTable() {
+		when(repository.deleteExpired(any(LocalDateTime.class))).thenReturn(3);
+
+		service.purgeExpired();
+
+		verify(repository).deleteExpired(any(LocalDateTime.class));
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Long> revokedEntries() {
+		return (Map<String, Long>) ReflectionTestUtils.getField(service, "revoked");
+	}
+
+	private static TokenClaims claims(String tokenId, long expiresAt) {
+		return new TokenClaims(tokenId, PHONE, "CUSTOMER", null, null, expiresAt);
+	}
+}
@@ -0,0 +1,106 @@
+package com.app.yolla.modules.auth.service.otp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.yolla.modules.auth.entity.OtpCode;
+import com.app.yolla.modules.auth.entity.OtpType;
+
+/**
+ * Yaddaşdakı store: cəhd sayğacı, kodun bir dəfə qəbulu, əvəz olunan kodun audit-i və paralel doğrulamalar
+ */
+class CaffeineOtpStoreTest {
+
+	private static final String PHONE = "+994557894561";
+
+	private final OtpAuditWriter auditWriter = mock(OtpAuditWriter.class);
+
+	private final CaffeineOtpStore store = new CaffeineOtpStore();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(store, "auditWriter", auditWriter);
+		ReflectionTestUtils.setField(store, "maximumSize", 100L);
+		store.init();
+	}
+
+	@Test
+	void shouldCountAttemptsAndRejectAfterLimit() {
+		OtpCode otp = save("123456");
+
+		assertEquals(OtpVerification.INVALID, store.verify(PHONE, OtpType.LOGIN, "000000", 3));
+		assertEquals(OtpVerification.INVALID, store.verify(PHONE, OtpType.LOGIN, "000000", 3));
+		assertEquals(OtpVerification.MAX_ATTEMPTS_EXCEEDED, store.verify(PHONE, OtpType.LOGIN, "123456", 3));
+		assertEquals(3, otp.getAttemptCount());
+		verify(auditWriter, never()).append(otp);
+	}
+
+	@Test
+	void shouldAcceptCodeOnlyOnceAndAuditIt() {
+		OtpCode otp = save("123456");
+
+		assertEquals(OtpVerification.VERIFIED, store.verify(PHONE, OtpType.LOGIN, "123456", 3));
+		assertEquals(OtpVerification.NOT_FOUND, store.verify(PHONE, OtpType.LOGIN, "123456", 3));
+
+		assertTrue(otp.getIsUsed());
+		assertTrue(store.findActive(PHONE, OtpType.LOGIN).isEmpty());
+		verify(auditWriter, times(1)).append(otp);
+	}
+
+	@Test
+	void shouldAuditReplacedCodeOnce() {
+		OtpCode first = save("111111");
+		OtpCode second = save("222222");
+
+		verify(auditWriter, times(1)).append(first);
+		assertEquals(second, store.findActive(PHONE, OtpType.LOGIN).orElseThrow());
+		assertEquals(OtpVerification.INVALID, store.verify(PHONE, OtpType.LOGIN, "111111", 3));
+	}
+
+	@Test
+	void shouldReturnNotFoundForUnknownPhoneOrType() {
+		save("123456");
+
+		assertEquals(OtpVerification.NOT_FOUND, store.verify("+994557894562", OtpType.LOGIN, "123456", 3));
+		assertEquals(OtpVerification.NOT_FOUND, store.verify(PHONE, OtpType.REGISTRATION, "123456", 3));
+	}
+
+	@Test
+	void shouldNotLoseAttemptsUnderParallelWrongGuesses() throws Exception {
+		OtpCode otp = save("123456");
+
+		List<OtpVerification> results = DatabaseOtpStoreTest.inParallel(10,
+				() -> store.verify(PHONE, OtpType.LOGIN, "000000", 3));
+
+		assertEquals(2, results.stream().filter(r -> r == OtpVerification.INVALID).count());
+		assertEquals(10, otp.getAttemptCount());
+	}
+
+	@Test
+	void shouldVerifyOnlyOnceUnderParallelCorrectSubmissions() throws Exception {
+		save("123456");
+
+		List<OtpVerification> results = DatabaseOtpStoreTest.inParallel(4,
+				() -> store.verify(PHONE, OtpType.LOGIN, "123456", 5));
+
+		assertEquals(1, results.stream().filter(r -> r == OtpVerification.VERIFIED).count());
+		assertEquals(3, results.stream().filter(r -> r == OtpVerification.NOT_FOUND).count());
+	}
+
+	private OtpCode save(String code) {
+		OtpCode otp = new OtpCode(PHONE, code, LocalDateTime.now().plusMinutes(5), OtpType.LOGIN);
+		store.save(otp);
+		return otp;
+	}
+}
@@ -0,0 +1,139 @@
+package com.app.yolla.modules.auth.service.otp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.yolla.modules.auth.entity.OtpCode;
+import com.app.yolla.modules.auth.entity.OtpType;
+import com.app.yolla.modules.auth.repository.OtpRepository;
+
+/**
+ * Bazadakı store: cəhd sayğacı, kodun bir dəfə qəbulu və paralel doğrulamalarda sətir kilidi.
+ * Hər çağırış öz tranzaksiyasında gedir (test tranzaksiyası söndürülüb) ki, paralel axınlar bir-birini görsün.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.sql.init.mode=never" })
+@Import(DatabaseOtpStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DatabaseOtpStoreTest {
+
+	private static final String PHONE = "+994557894561";
+
+	@Autowired
+	private DatabaseOtpStore store;
+
+	@Autowired
+	private OtpRepository otpRepository;
+
+	@AfterEach
+	void tearDown() {
+		otpRepository.deleteAll();
+	}
+
+	@Test
+	void shouldCountAttemptsAndRejectAfterLimit() {
+		OtpCode otp = save("123456");
+
+		assertEquals(OtpVerification.INVALID, store.verify(PHONE, OtpType.LOGIN, "000000", 3));
+		assertEquals(OtpVerification.INVALID, store.verify(PHONE, OtpType.LOGIN, "000000", 3));
+		assertEquals(OtpVerification.MAX_ATTEMPTS_EXCEEDED, store.verify(PHONE, OtpType.LOGIN, "123456", 3));
+
+		assertEquals(3, otpRepository.findById(otp.getId()).orElseThrow().getAttemptCount());
+	}
+
+	@Test
+	void shouldAcceptCodeOnlyOnce() {
+		OtpCode otp = save("123456");
+
+		assertEquals(OtpVerification.VERIFIED, store.verify(PHONE, OtpType.LOGIN, "123456", 3));
+		assertEquals(OtpVerification.NOT_FOUND, store.verify(PHONE, OtpType.LOGIN, "123456", 3));
+		assertTrue(otpRepository.findById(otp.getId()).orElseThrow().getIsUsed());
+	}
+
+	@Test
+	void shouldInvalidatePreviousCodeOnSave() {
+		OtpCode first = save("111111");
+		save("222222");
+
+		assertTrue(otpRepository.findById(first.getId()).orElseThrow().getIsUsed());
+		assertEquals(OtpVerification.INVALID, store.verify(PHONE, OtpType.LOGIN, "111111", 3));
+		assertEquals(OtpVerification.VERIFIED, store.verify(PHONE, OtpType.LOGIN, "222222", 3));
+	}
+
+	@Test
+	void shouldReportExpiredCode() {
+		OtpCode otp = new OtpCode(PHONE, "123456", LocalDateTime.now().minusSeconds(1), OtpType.LOGIN);
+		store.save(otp);
+
+		assertEquals(OtpVerification.EXPIRED, store.verify(PHONE, OtpType.LOGIN, "123456", 3));
+	}
+
+	@Test
+	void shouldNotLoseAttemptsUnderParallelWrongGuesses() throws Exception {
+		OtpCode otp = save("123456");
+
+		List<OtpVerification> results = inParallel(10, () -> store.verify(PHONE, OtpType.LOGIN, "000000", 3));
+
+		// Sayğac 1 və 2-də INVALID, qalanları limitdədir - paralel oxunuş eyni dəyəri görməyib
+		assertEquals(2, results.stream().filter(r -> r == OtpVerification.INVALID).count());
+		assertEquals(8, results.stream().filter(r -> r == OtpVerification.MAX_ATTEMPTS_EXCEEDED).count());
+		assertEquals(10, otpRepository.findById(otp.getId()).orElseThrow().getAttemptCount());
+	}
+
+	@Test
+	void shouldVerifyOnlyOnceUnderParallelCorrectSubmissions() throws Exception {
+		save("123456");
+
+		List<OtpVerification> results = inParallel(4, () -> store.verify(PHONE, OtpType.LOGIN, "123456", 5));
+
+		assertEquals(1, results.stream().filter(r -> r == OtpVerification.VERIFIED).count());
+		assertEquals(3, results.stream().filter(r -> r == OtpVerification.NOT_FOUND).count());
+	}
+
+	private OtpCode save(String code) {
+		OtpCode otp = new OtpCode(PHONE, code, LocalDateTime.now().plusMinutes(5), OtpType.LOGIN);
+		store.save(otp);
+		return otp;
+	}
+
+	static <T> List<T> inParallel(int threads, Callable<T> task) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<T>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					return task.call();
+				}));
+			}
+			start.countDown();
+			List<T> results = new ArrayList<>();
+			for (Future<T> future : futures) {
+				results.add(future.get(10, TimeUnit.SECONDS));
+			}
+			return results;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
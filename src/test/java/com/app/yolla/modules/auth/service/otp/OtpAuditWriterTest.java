@@ -0,0 +1,100 @@
+package com.app.yolla.modules.auth.service.otp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.yolla.modules.auth.entity.OtpCode;
+import com.app.yolla.modules.auth.entity.OtpType;
+import com.app.yolla.modules.auth.repository.OtpRepository;
+
+/**
+ * Write-behind audit: partiyalara bölünmə, söndürülmüş rejim və yazma xətasının digər partiyalara təsirsizliyi
+ */
+class OtpAuditWriterTest {
+
+	private final OtpRepository otpRepository = mock(OtpRepository.class);
+
+	private final OtpAuditWriter writer = new OtpAuditWriter();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(writer, "otpRepository", otpRepository);
+		ReflectionTestUtils.setField(writer, "enabled", true);
+		ReflectionTestUtils.setField(writer, "batchSize", 2);
+	}
+
+	@Test
+	void shouldFlushInBatches() {
+		List<OtpCode> codes = codes(5);
+		codes.forEach(writer::append);
+
+		writer.flush();
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<OtpCode>> batches = ArgumentCaptor.forClass(List.class);
+		verify(otpRepository, times(3)).saveAll(batches.capture());
+		assertEquals(List.of(codes.subList(0, 2), codes.subList(2, 4), codes.subList(4, 5)), batches.getAllValues());
+
+		// Növbə boşalıb - təkrar flush heç nə yazmır
+		writer.flush();
+		verify(otpRepository, times(3)).saveAll(anyList());
+	}
+
+	@Test
+	void shouldIgnoreAppendsWhenDisabled() {
+		ReflectionTestUtils.setField(writer, "enabled", false);
+		codes(3).forEach(writer::append);
+
+		writer.flush();
+
+		verify(otpRepository, never()).saveAll(anyList());
+	}
+
+	@Test
+	void shouldContinueAfterFailedBatch() {
+		List<OtpCode> codes = codes(4);
+		codes.forEach(writer::append);
+		doThrow(new DataAccessResourceFailureException("bağlantı yoxdur"))
+				.doReturn(List.of())
+				.when(otpRepository).saveAll(anyList());
+
+		writer.flush();
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<OtpCode>> batches = ArgumentCaptor.forClass(List.class);
+		verify(otpRepository, times(2)).saveAll(batches.capture());
+		assertEquals(codes.subList(2, 4), batches.getAllValues().get(1));
+	}
+
+	@Test
+	void shouldFlushOnShutdown() {
+		writer.append(codes(1).get(0));
+
+		writer.flushOnShutdown();
+
+		verify(otpRepository).saveAll(anyList());
+	}
+
+	private static List<OtpCode> codes(int count) {
+		List<OtpCode> codes = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			codes.add(new OtpCode("+99455789456" + i, "12345" + i, LocalDateTime.now().plusMinutes(5), OtpType.LOGIN));
+		}
+		return codes;
+	}
+}
@@ -0,0 +1,148 @@
+package com.app.yolla.modules.auth.service.otp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.yolla.modules.auth.repository.OtpRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Hissə-hissə silmə: qısa hissədə dayanma, vaxt büdcəsinin bitməsi və eyni anda ikinci çağırışın ötürülməsi
+ */
+class OtpPurgeJobTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final OtpRepository otpRepository = mock(OtpRepository.class);
+
+	private final OtpPurgeJob job = new OtpPurgeJob();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(job, "otpRepository", otpRepository);
+		ReflectionTestUtils.setField(job, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(job, "enabled", true);
+		ReflectionTestUtils.setField(job, "retentionHours", 24L);
+		ReflectionTestUtils.setField(job, "chunkSize", 2);
+		ReflectionTestUtils.setField(job, "pauseMs", 0L);
+		ReflectionTestUtils.setField(job, "maxRunMs", 10_000L);
+		job.init();
+		when(otpRepository.deleteByIds(anyCollection()))
+				.thenAnswer(invocation -> invocation.<Collection<UUID>>getArgument(0).size());
+	}
+
+	@Test
+	void shouldDeleteInChunksUntilShortChunk() {
+		when(otpRepository.findIdsCreatedBefore(any(), any()))
+				.thenReturn(ids(2), ids(2), ids(1));
+
+		assertEquals(5, job.purge());
+
+		ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+		ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+		verify(otpRepository, times(3)).findIdsCreatedBefore(cutoff.capture(), page.capture());
+		verify(otpRepository, times(3)).deleteByIds(anyCollection());
+		Duration age = Duration.between(cutoff.getValue(), LocalDateTime.now());
+		assertTrue(age.compareTo(Duration.ofHours(24)) >= 0 && age.compareTo(Duration.ofHours(25)) < 0);
+		assertEquals(2, page.getValue().getPageSize());
+		assertEquals(3.0, meterRegistry.get("otp.purge.chunks").counter().count());
+		assertEquals(5.0, meterRegistry.get("otp.purge.deleted").counter().count());
+		assertEquals(1, meterRegistry.get("otp.purge.duration").timer().count());
+	}
+
+	@Test
+	void shouldStopWhenNothingIsLeft() {
+		when(otpRepository.findIdsCreatedBefore(any(), any())).thenReturn(ids(2), List.of());
+
+		assertEquals(2, job.purge());
+
+		verify(otpRepository, times(2)).findIdsCreatedBefore(any(), any());
+		verify(otpRepository, times(1)).deleteByIds(anyCollection());
+	}
+
+	@Test
+	void shouldLeaveRestForNextRunWhenBudgetIsSpent() {
+		// Büdcə sıfırdır - növbəti fasilə həmişə son tarixi keçir, yalnız ilk hissə silinir
+		ReflectionTestUtils.setField(job, "pauseMs", 50L);
+		ReflectionTestUtils.setField(job, "maxRunMs", 0L);
+		when(otpRepository.findIdsCreatedBefore(any(), any())).thenReturn(ids(2));
+
+		assertEquals(2, job.purge());
+		verify(otpRepository, times(1)).deleteByIds(anyCollection());
+
+		// Növbəti çağırış qalanından davam edir
+		assertEquals(2, job.purge());
+		verify(otpRepository, times(2)).deleteByIds(anyCollection());
+	}
+
+	@Test
+	void shouldSkipRunAlreadyInProgress() throws Exception {
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(otpRepository.findIdsCreatedBefore(any(), any())).thenAnswer(invocation -> {
+			entered.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			return ids(1);
+		});
+
+		CompletableFuture<Integer> first = CompletableFuture.supplyAsync(job::purge);
+		assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+		assertEquals(0, job.purge());
+		verify(otpRepository, times(1)).findIdsCreatedBefore(any(), any());
+
+		release.countDown();
+		assertEquals(1, first.get(5, TimeUnit.SECONDS));
+
+		// Birinci çağırış bitdikdən sonra qoruyucu açılır
+		assertEquals(1, job.purge());
+		verify(otpRepository, times(2)).findIdsCreatedBefore(any(), any());
+	}
+
+	@Test
+	void shouldReleaseGuardAfterFailure() {
+		when(otpRepository.findIdsCreatedBefore(any(), any()))
+				.thenThrow(new IllegalStateException("baza əlçatmazdır"))
+				.thenReturn(ids(1));
+
+		assertEquals(0, job.purge());
+		assertEquals(1, job.purge());
+	}
+
+	@Test
+	void shouldDoNothingWhenDisabled() {
+		ReflectionTestUtils.setField(job, "enabled", false);
+
+		job.scheduledPurge();
+
+		verifyNoInteractions(otpRepository);
+	}
+
+	private static List<UUID> ids(int count) {
+		return Stream.generate(UUID::randomUUID).limit(count).toList();
+	}
+}
@@ -0,0 +1,88 @@
+package com.app.yolla.modules.auth.service.otp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Telefon, IP və qlobal limitlər; sonrakı limit rədd edəndə əvvəlki yerlərin qaytarılması
+ */
+class OtpRequestLimiterTest {
+
+	private static final long NOW = 1_000_000;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final OtpRequestLimiter limiter = new OtpRequestLimiter();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(limiter, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(limiter, "phoneLimit", 2);
+		ReflectionTestUtils.setField(limiter, "phoneWindowSeconds", 60L);
+		ReflectionTestUtils.setField(limiter, "ipLimit", 3);
+		ReflectionTestUtils.setField(limiter, "ipWindowSeconds", 60L);
+		ReflectionTestUtils.setField(limiter, "globalLimit", 4);
+		ReflectionTestUtils.setField(limiter, "globalWindowSeconds", 1L);
+		ReflectionTestUtils.setField(limiter, "maximumKeys", 100L);
+		limiter.init();
+	}
+
+	@Test
+	void shouldLimitPerPhone() {
+		assertTrue(limiter.tryAcquire("+994550000001", "10.0.0.1", NOW));
+		assertTrue(limiter.tryAcquire("+994550000001", "10.0.0.2", NOW));
+		assertFalse(limiter.tryAcquire("+994550000001", "10.0.0.3", NOW));
+
+		assertTrue(limiter.tryAcquire("+994550000002", "10.0.0.3", NOW));
+		assertEquals(1.0, rejected("phone"));
+	}
+
+	@Test
+	void shouldLimitPerIpWithoutConsumingPhoneSlot() {
+		assertTrue(limiter.tryAcquire("+994550000001", "10.0.0.1", NOW));
+		assertTrue(limiter.tryAcquire("+994550000002", "10.0.0.1", NOW));
+		assertTrue(limiter.tryAcquire("+994550000003", "10.0.0.1", NOW));
+		assertFalse(limiter.tryAcquire("+994550000004", "10.0.0.1", NOW));
+		assertEquals(1.0, rejected("ip"));
+
+		// IP-nin rədd etdiyi sorğu telefonun iki yerini də saxlayıb (qlobal limit növbəti saniyədə boşdur)
+		assertTrue(limiter.tryAcquire("+994550000004", "10.0.0.2", NOW + 2_000));
+		assertTrue(limiter.tryAcquire("+994550000004", "10.0.0.3", NOW + 2_000));
+	}
+
+	@Test
+	void shouldLimitGloballyWithoutConsumingPhoneOrIpSlots() {
+		for (int i = 1; i <= 4; i++) {
+			assertTrue(limiter.tryAcquire("+99455000000" + i, "10.0.0." + i, NOW));
+		}
+		assertFalse(limiter.tryAcquire("+994550000005", "10.0.0.5", NOW));
+		assertEquals(1.0, rejected("global"));
+
+		long later = NOW + 2_000;
+		assertTrue(limiter.tryAcquire("+994550000005", "10.0.0.5", later));
+		assertTrue(limiter.tryAcquire("+994550000005", "10.0.0.5", later));
+		assertTrue(limiter.tryAcquire("+994550000006", "10.0.0.5", later));
+		// IP limiti (3) indi dolub - qlobal rədd IP yerini yeməyibsə məhz burada dolur
+		assertFalse(limiter.tryAcquire("+994550000007", "10.0.0.5", later));
+	}
+
+	@Test
+	void shouldSkipIpLimitWhenAddressUnknown() {
+		for (int i = 1; i <= 4; i++) {
+			assertTrue(limiter.tryAcquire("+99455000000" + i, null, NOW));
+		}
+		assertFalse(limiter.tryAcquire("+994550000005", null, NOW));
+		assertEquals(0.0, rejected("ip"));
+	}
+
+	private double rejected(String scope) {
+		return meterRegistry.counter("otp.rate_limit.rejected", "scope", scope).count();
+	}
+}
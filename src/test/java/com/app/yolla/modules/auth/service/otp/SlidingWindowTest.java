@@ -0,0 +1,109 @@
+package com.app.yolla.modules.auth.service.otp;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Sürüşən pəncərə: pəncərə sərhədləri, əvvəlki pəncərənin çəkisi və yerin geri qaytarılması
+ */
+class SlidingWindowTest {
+
+	private static final long WINDOW = 1_000;
+	private static final long START = 10_000;
+
+	@Test
+	void shouldRejectAboveLimitWithinWindow() {
+		SlidingWindow window = new SlidingWindow(START, WINDOW);
+
+		assertTrue(window.tryAcquire(START, WINDOW, 3));
+		assertTrue(window.tryAcquire(START + 10, WINDOW, 3));
+		assertTrue(window.tryAcquire(START + 999, WINDOW, 3));
+		assertFalse(window.tryAcquire(START + 999, WINDOW, 3));
+	}
+
+	@Test
+	void shouldWeightPreviousWindowByElapsedTime() {
+		SlidingWindow window = new SlidingWindow(START, WINDOW);
+		fill(window, START, 3);
+
+		// Yeni pəncərənin əvvəlində əvvəlki 3 sorğu tam sayılır
+		assertFalse(window.tryAcquire(START + WINDOW, WINDOW, 3));
+		// Yarısında 3 * 0.5 = 1.5 qalır - bir yer açılır
+		assertTrue(window.tryAcquire(START + WINDOW + 500, WINDOW, 3));
+		assertFalse(window.tryAcquire(START + WINDOW + 500, WINDOW, 3));
+	}
+
+	@Test
+	void shouldResetAfterTwoWindows() {
+		SlidingWindow window = new SlidingWindow(START, WINDOW);
+		fill(window, START, 3);
+
+		assertTrue(window.tryAcquire(START + 2 * WINDOW, WINDOW, 3));
+		assertTrue(window.tryAcquire(START + 2 * WINDOW, WINDOW, 3));
+		assertTrue(window.tryAcquire(START + 2 * WINDOW, WINDOW, 3));
+		assertFalse(window.tryAcquire(START + 2 * WINDOW, WINDOW, 3));
+	}
+
+	@Test
+	void shouldNotCountRejectedRequests() {
+		SlidingWindow window = new SlidingWindow(START, WINDOW);
+		fill(window, START, 2);
+		for (int i = 0; i < 10; i++) {
+			assertFalse(window.tryAcquire(START + 100, WINDOW, 2));
+		}
+
+		// Rədd edilənlər yazılsaydı, növbəti pəncərənin ortasında yer olmazdı
+		assertTrue(window.tryAcquire(START + WINDOW + 500, WINDOW, 2));
+	}
+
+	@Test
+	void shouldRejectEverythingWithZeroLimit() {
+		SlidingWindow window = new SlidingWindow(START, WINDOW);
+
+		assertFalse(window.tryAcquire(START, WINDOW, 0));
+	}
+
+	@Test
+	void shouldReleaseSlotInSameWindow() {
+		SlidingWindow window = new SlidingWindow(START, WINDOW);
+		fill(window, START, 3);
+
+		window.release(START, WINDOW);
+
+		assertTrue(window.tryAcquire(START + 500, WINDOW, 3));
+		assertFalse(window.tryAcquire(START + 500, WINDOW, 3));
+	}
+
+	@Test
+	void shouldReleaseSlotCarriedToPreviousWindow() {
+		SlidingWindow window = new SlidingWindow(START, WINDOW);
+		fill(window, START, 3);
+		// Pəncərə dəyişir: əvvəlki 3 sorğu "previous"-a keçir, 3 * 0.5 + 1 = 2.5
+		assertTrue(window.tryAcquire(START + WINDOW + 500, WINDOW, 3));
+		assertFalse(window.tryAcquire(START + WINDOW + 500, WINDOW, 3));
+
+		window.release(START, WINDOW);
+
+		// 2 * 0.5 + 1 = 2 - bir yer açılıb
+		assertTrue(window.tryAcquire(START + WINDOW + 500, WINDOW, 3));
+		assertFalse(window.tryAcquire(START + WINDOW + 500, WINDOW, 3));
+	}
+
+	@Test
+	void shouldIgnoreReleaseOlderThanPreviousWindow() {
+		SlidingWindow window = new SlidingWindow(START, WINDOW);
+		fill(window, START + 2 * WINDOW, 3);
+
+		window.release(START, WINDOW);
+
+		assertFalse(window.tryAcquire(START + 2 * WINDOW, WINDOW, 3));
+	}
+
+	private static void fill(SlidingWindow window, long now, int count) {
+		for (int i = 0; i < count; i++) {
+			assertTrue(window.tryAcquire(now, WINDOW, count));
+		}
+	}
+}
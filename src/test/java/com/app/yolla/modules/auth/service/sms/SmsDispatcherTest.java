@@ -0,0 +1,199 @@
+package com.app.yolla.modules.auth.service.sms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * SMS növbəsi stub provayderlə: toplu göndəriş, gecikmə ilə təkrar, dead-letter,
+ * dolu növbənin rəddi və dayandırılanda heç bir mesajın səssizcə itməməsi
+ */
+class SmsDispatcherTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private SmsDispatcher dispatcher;
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		if (dispatcher != null && ((Thread) ReflectionTestUtils.getField(dispatcher, "drainer")).isAlive()) {
+			dispatcher.stop();
+		}
+	}
+
+	@Test
+	void shouldSendQueuedMessagesAsOneBatch() throws Exception {
+		RecordingStub provider = new RecordingStub(0.0, 1, 5);
+		dispatcher = dispatcher(provider, 100, 4);
+
+		for (int i = 0; i < 5; i++) {
+			dispatcher.enqueue("+99455000000" + i, "kod " + i);
+		}
+
+		await(() -> sends("success") == 1);
+		assertEquals(List.of(5), provider.batches);
+		assertEquals(5, meterRegistry.get("sms.delivery.latency").timer().count());
+	}
+
+	@Test
+	void shouldRetryWithBackoffAndDeliver() throws Exception {
+		RecordingStub provider = new RecordingStub(0.0, 1, 1);
+		provider.failFirst = 2;
+		dispatcher = dispatcher(provider, 100, 4);
+
+		dispatcher.enqueue("+994550000001", "kod");
+
+		await(() -> sends("success") == 1);
+		assertEquals(3, provider.calls.get());
+		assertEquals(2.0, counter("sms.retries"));
+		assertEquals(0.0, counter("sms.dead_letter"));
+	}
+
+	@Test
+	void shouldDeadLetterAfterMaxAttempts() throws Exception {
+		RecordingStub provider = new RecordingStub(1.0, 1, 1);
+		dispatcher = dispatcher(provider, 100, 3);
+
+		dispatcher.enqueue("+994550000001", "kod");
+
+		await(() -> counter("sms.dead_letter") == 1.0);
+		assertEquals(3, provider.calls.get());
+		assertEquals(2.0, counter("sms.retries"));
+		assertEquals(3, sends("failure"));
+	}
+
+	@Test
+	void shouldRejectWhenQueueIsFullAndDeadLetterEverythingOnShutdown() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingStub provider = new RecordingStub(0.0, 1, 1);
+		provider.block = release;
+		dispatcher = dispatcher(provider, 1, 4);
+
+		// 1-ci provayderdə ilişib qalır, 2-ci drainer-dədir (icazə gözləyir), 3-cü növbədədir
+		dispatcher.enqueue("+994550000001", "kod");
+		await(() -> provider.calls.get() == 1);
+		dispatcher.enqueue("+994550000002", "kod");
+		await(() -> dispatcher.getQueueDepth() == 0);
+		dispatcher.enqueue("+994550000003", "kod");
+
+		assertThrows(IllegalStateException.class, () -> dispatcher.enqueue("+994550000004", "kod"));
+		assertEquals(1.0, counter("sms.rejected"));
+
+		Thread stopping = new Thread(() -> {
+			try {
+				dispatcher.stop();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		stopping.start();
+		// Drainer dayandıqdan sonra provayder buraxılır - 2-ci mesaj artıq göndərilə bilməz
+		Thread drainer = (Thread) ReflectionTestUtils.getField(dispatcher, "drainer");
+		drainer.join(5_000);
+		release.countDown();
+		stopping.join(5_000);
+
+		// 2-ci drainer-in əlində, 3-cü növbədə idi - ikisi də dead-letter-ə düşür
+		assertEquals(2.0, counter("sms.dead_letter"));
+		assertEquals(1, sends("success"));
+		assertEquals(1, provider.calls.get());
+	}
+
+	@Test
+	void shouldDeadLetterPendingRetriesOnShutdown() throws Exception {
+		RecordingStub provider = new RecordingStub(1.0, 1, 1);
+		dispatcher = dispatcher(provider, 100, 4);
+		ReflectionTestUtils.setField(dispatcher, "initialBackoffMs", 60_000L);
+		ReflectionTestUtils.setField(dispatcher, "maxBackoffMs", 60_000L);
+
+		dispatcher.enqueue("+994550000001", "kod");
+		await(() -> counter("sms.retries") == 1.0);
+
+		dispatcher.stop();
+
+		assertEquals(1.0, counter("sms.dead_letter"));
+		assertEquals(1, provider.calls.get());
+	}
+
+	private SmsDispatcher dispatcher(StubSmsProvider provider, int capacity, int maxAttempts) {
+		SmsDispatcher created = new SmsDispatcher();
+		ReflectionTestUtils.setField(created, "providers", List.of(provider));
+		ReflectionTestUtils.setField(created, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(created, "smsProvider", "stub");
+		ReflectionTestUtils.setField(created, "testMode", false);
+		ReflectionTestUtils.setField(created, "queueCapacity", capacity);
+		ReflectionTestUtils.setField(created, "batchLingerMs", 200L);
+		ReflectionTestUtils.setField(created, "maxAttempts", maxAttempts);
+		ReflectionTestUtils.setField(created, "initialBackoffMs", 2L);
+		ReflectionTestUtils.setField(created, "maxBackoffMs", 10L);
+		created.start();
+		return created;
+	}
+
+	private long sends(String outcome) {
+		return meterRegistry.get("sms.send.latency").tag("outcome", outcome).timer().count();
+	}
+
+	private double counter(String name) {
+		return meterRegistry.get(name).counter().count();
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "Gözlənilən vəziyyət 5 saniyədə yaranmadı");
+			Thread.sleep(5);
+		}
+	}
+
+	/**
+	 * Gecikməsiz stub: göndərişləri sayır, ilk failFirst sorğunu uğursuz edir, lazım olsa latch-də gözləyir
+	 */
+	private static class RecordingStub extends StubSmsProvider {
+
+		private final AtomicInteger calls = new AtomicInteger();
+		private final List<Integer> batches = new CopyOnWriteArrayList<>();
+		private volatile int failFirst;
+		private volatile CountDownLatch block;
+
+		RecordingStub(double failureRate, int maxConcurrency, int batchSize) {
+			ReflectionTestUtils.setField(this, "latencyMs", 0L);
+			ReflectionTestUtils.setField(this, "latencyJitterMs", 0L);
+			ReflectionTestUtils.setField(this, "failureRate", failureRate);
+			ReflectionTestUtils.setField(this, "maxConcurrency", maxConcurrency);
+			ReflectionTestUtils.setField(this, "batchSize", batchSize);
+		}
+
+		@Override
+		public void send(SmsMessage message) throws InterruptedException {
+			int call = calls.incrementAndGet();
+			if (block != null) {
+				block.await();
+			}
+			if (call <= failFirst) {
+				throw new SmsDeliveryException("Stub provayder uğursuzluğu");
+			}
+			super.send(message);
+		}
+
+		@Override
+		public List<SmsMessage> sendBatch(List<SmsMessage> messages) throws InterruptedException {
+			calls.incrementAndGet();
+			batches.add(messages.size());
+			return super.sendBatch(messages);
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.app.yolla.modules.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Relay dövrləri: tam partiya gəldikcə davam edir, xəta dövrü bitirir, köhnə sətirlər hissə-hissə silinir
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderOutboxRelayTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Mock
+	private OrderOutboxService outboxService;
+
+	@InjectMocks
+	private OrderOutboxRelay relay;
+
+	@BeforeEach
+	void setUp() {
+		// start() fon thread-i açır - burada yalnız sahələr qurulur, dövr birbaşa çağırılır
+		ReflectionTestUtils.setField(relay, "batchSize", 2);
+		ReflectionTestUtils.setField(relay, "purgeChunkSize", 2);
+		ReflectionTestUtils.setField(relay, "retentionHours", 24L);
+		ReflectionTestUtils.setField(relay, "running", true);
+		ReflectionTestUtils.setField(relay, "published", meterRegistry.counter("orders.outbox.published"));
+		ReflectionTestUtils.setField(relay, "failures", meterRegistry.counter("orders.outbox.failures"));
+	}
+
+	@Test
+	void shouldKeepPublishingWhileBatchesAreFull() {
+		when(outboxService.publishPending(2)).thenReturn(2, 2, 1);
+
+		ReflectionTestUtils.invokeMethod(relay, "relay");
+
+		verify(outboxService, times(3)).publishPending(2);
+		assertEquals(5.0, meterRegistry.counter("orders.outbox.published").count());
+		assertEquals(0.0, meterRegistry.counter("orders.outbox.failures").count());
+	}
+
+	@Test
+	void shouldEndCycleOnFailure() {
+		when(outboxService.publishPending(2)).thenReturn(2).thenThrow(new AmqpTimeoutException("təsdiq gəlmədi"));
+
+		ReflectionTestUtils.invokeMethod(relay, "relay");
+
+		verify(outboxService, times(2)).publishPending(2);
+		assertEquals(2.0, meterRegistry.counter("orders.outbox.published").count());
+		assertEquals(1.0, meterRegistry.counter("orders.outbox.failures").count());
+	}
+
+	@Test
+	void shouldPurgeInChunksUntilShortChunk() {
+		when(outboxService.deletePublishedChunk(any(), eq(2))).thenReturn(2, 2, 1);
+
+		relay.purgePublished();
+
+		ArgumentCaptor<LocalDateTime> before = ArgumentCaptor.forClass(LocalDateTime.class);
+		verify(outboxService, times(3)).deletePublishedChunk(before.capture(), eq(2));
+		Duration age = Duration.between(before.getValue(), LocalDateTime.now());
+		assertTrue(age.compareTo(Duration.ofHours(24)) >= 0 && age.compareTo(Duration.ofHours(25)) < 0);
+	}
+
+	@Test
+	void shouldStopPurgeWhenNothingIsLeft() {
+		when(outboxService.deletePublishedChunk(any(), eq(2))).thenReturn(2, 0);
+
+		relay.purgePublished();
+
+		verify(outboxService, times(2)).deletePublishedChunk(any(), eq(2));
+	}
+
+	@Test
+	void shouldSkipPurgeWhenRelayIsNotRunning() {
+		ReflectionTestUtils.setField(relay, "running", false);
+
+		relay.purgePublished();
+
+		verifyNoInteractions(outboxService);
+	}
+}
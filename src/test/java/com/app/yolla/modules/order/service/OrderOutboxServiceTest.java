@@ -0,0 +1,240 @@
+package com.app.yolla.modules.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.yolla.modules.order.entity.OrderEventType;
+import com.app.yolla.modules.order.entity.OrderOutboxEvent;
+import com.app.yolla.modules.order.entity.OrderStatus;
+import com.app.yolla.modules.order.repository.OrderOutboxRepository;
+import com.app.yolla.shared.persistence.TimeOrderedUuid;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Outbox real bazada: sətir çağıranın tranzaksiyasında yazılır, yalnız broker təsdiqindən sonra
+ * göndərilmiş sayılır, id sırası ilə gedir və göndərilmiş köhnə sətirlər hissə-hissə silinir.
+ * Hər test öz tranzaksiyalarını idarə edir - commit və rollback-in nəticəsi yoxlanılır.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.sql.init.mode=never",
+		"app.orders.outbox.enabled=true" })
+@Import({ OrderOutboxService.class, OrderOutboxServiceTest.Json.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderOutboxServiceTest {
+
+	private static final UUID ORDER_ID = UUID.fromString("d6f1f8f4-72d4-4c33-92c2-0fbe11e53c9a");
+	private static final UUID MARKET_ID = UUID.fromString("5b0c3f1e-2f7a-4a8e-9a43-7d1c2b3e4f50");
+
+	@TestConfiguration
+	static class Json {
+
+		@Bean
+		ObjectMapper objectMapper() {
+			return new ObjectMapper().findAndRegisterModules();
+		}
+	}
+
+	@Autowired
+	private OrderOutboxService outboxService;
+
+	@Autowired
+	private OrderOutboxRepository repository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@MockBean
+	private RabbitTemplate rabbitTemplate;
+
+	@MockBean
+	private OrderOutboxRelay relay;
+
+	private final RabbitOperations operations = mock(RabbitOperations.class);
+
+	@BeforeEach
+	void setUp() {
+		ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+		when(connectionFactory.isSimplePublisherConfirms()).thenReturn(true);
+		when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+		doAnswer(invocation -> invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(operations))
+				.when(rabbitTemplate).invoke(any());
+	}
+
+	@AfterEach
+	void tearDown() {
+		repository.deleteAll();
+	}
+
+	@Test
+	void shouldRequireCallerTransaction() {
+		assertThrows(IllegalTransactionStateException.class, this::record);
+
+		assertEquals(0, repository.count());
+	}
+
+	@Test
+	void shouldDiscardRowWhenCallerRollsBack() {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			record();
+			status.setRollbackOnly();
+		});
+
+		assertEquals(0, repository.count());
+		verify(relay, never()).wakeUp();
+	}
+
+	@Test
+	void shouldWriteRowWithCallerAndWakeRelayAfterCommit() {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			record();
+			// Commit-dən əvvəl relay oyadılmır - sətir hələ görünmür
+			verify(relay, never()).wakeUp();
+		});
+
+		List<OrderOutboxEvent> events = repository.findAll();
+		assertEquals(1, events.size());
+		assertEquals(ORDER_ID, events.get(0).getOrderId());
+		assertEquals(OrderEventType.CANCELLED, events.get(0).getEventType());
+		assertNull(events.get(0).getPublishedAt());
+		assertTrue(events.get(0).getPayload().contains(ORDER_ID.toString()));
+		verify(relay).wakeUp();
+	}
+
+	@Test
+	void shouldPublishInIdOrderAndMarkPublished() {
+		List<UUID> ids = saveUnpublished(3);
+
+		assertEquals(3, outboxService.publishPending(10));
+
+		ArgumentCaptor<Message> messages = ArgumentCaptor.forClass(Message.class);
+		verify(operations, times(3)).send(anyString(), eq("order.created"), messages.capture());
+		List<String> sent = new ArrayList<>();
+		for (Message message : messages.getAllValues()) {
+			sent.add(message.getMessageProperties().getMessageId());
+		}
+		assertEquals(ids.stream().map(UUID::toString).toList(), sent);
+		verify(operations).waitForConfirmsOrDie(anyLong());
+		repository.findAll().forEach(event -> assertNotNull(event.getPublishedAt()));
+		assertEquals(0, outboxService.publishPending(10));
+	}
+
+	@Test
+	void shouldPublishOnlyUpToLimitOldestFirst() {
+		List<UUID> ids = saveUnpublished(3);
+
+		assertEquals(2, outboxService.publishPending(2));
+
+		assertNotNull(repository.findById(ids.get(0)).orElseThrow().getPublishedAt());
+		assertNotNull(repository.findById(ids.get(1)).orElseThrow().getPublishedAt());
+		assertNull(repository.findById(ids.get(2)).orElseThrow().getPublishedAt());
+	}
+
+	@Test
+	void shouldLeaveRowsUnpublishedWhenBrokerDoesNotConfirm() {
+		saveUnpublished(2);
+		doThrow(new AmqpTimeoutException("təsdiq gəlmədi")).when(operations).waitForConfirmsOrDie(anyLong());
+
+		assertThrows(AmqpTimeoutException.class, () -> outboxService.publishPending(10));
+
+		repository.findAll().forEach(event -> assertNull(event.getPublishedAt()));
+	}
+
+	@Test
+	void shouldLeaveRowsUnpublishedWhenSendFails() {
+		saveUnpublished(2);
+		doThrow(new AmqpTimeoutException("kanal bağlandı")).when(operations)
+				.send(anyString(), anyString(), any(Message.class));
+
+		assertThrows(AmqpTimeoutException.class, () -> outboxService.publishPending(10));
+
+		repository.findAll().forEach(event -> assertNull(event.getPublishedAt()));
+		// Növbəti dövr eyni sətirləri yenidən göndərir
+		reset(operations);
+		assertEquals(2, outboxService.publishPending(10));
+	}
+
+	@Test
+	void shouldDeleteOnlyOldPublishedRowsInChunks() {
+		LocalDateTime now = LocalDateTime.now();
+		for (int i = 0; i < 3; i++) {
+			repository.save(event(TimeOrderedUuid.generate(), now.minusHours(30 + i)));
+		}
+		UUID recent = repository.save(event(TimeOrderedUuid.generate(), now.minusHours(1))).getId();
+		UUID unpublished = repository.save(event(TimeOrderedUuid.generate(), null)).getId();
+		LocalDateTime before = now.minusHours(24);
+
+		assertEquals(2, outboxService.deletePublishedChunk(before, 2));
+		assertEquals(1, outboxService.deletePublishedChunk(before, 2));
+		assertEquals(0, outboxService.deletePublishedChunk(before, 2));
+
+		assertEquals(2, repository.count());
+		assertTrue(repository.existsById(recent));
+		assertTrue(repository.existsById(unpublished));
+	}
+
+	private void record() {
+		outboxService.record(ORDER_ID, MARKET_ID, UUID.randomUUID(), OrderStatus.CANCELLED,
+				new BigDecimal("25.50"), OrderEventType.CANCELLED, OrderStatus.PENDING);
+	}
+
+	/**
+	 * UUIDv7 id-lər yaranma sırası ilə artır - sətirlər tərs sırada yazılır ki, sıranı id versin
+	 */
+	private List<UUID> saveUnpublished(int count) {
+		List<UUID> ids = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			ids.add(TimeOrderedUuid.generate());
+		}
+		for (int i = count - 1; i >= 0; i--) {
+			repository.save(event(ids.get(i), null));
+		}
+		return ids;
+	}
+
+	private static OrderOutboxEvent event(UUID id, LocalDateTime publishedAt) {
+		return new OrderOutboxEvent(id, ORDER_ID, OrderEventType.CREATED, "{}", LocalDateTime.now(), publishedAt);
+	}
+}
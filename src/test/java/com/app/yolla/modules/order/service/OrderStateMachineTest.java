@@ -0,0 +1,166 @@
+package com.app.yolla.modules.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.yolla.modules.order.entity.OrderStatus;
+import com.app.yolla.modules.user.entity.UserRole;
+import com.app.yolla.shared.security.CurrentUser;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Keçid cədvəli: bütün (haradan, haraya, rol) üçlükləri və rolların əlavə şərtləri
+ */
+class OrderStateMachineTest {
+
+	private static final UUID USER_ID = UUID.fromString("f0a1b672-4a8b-4e12-b48e-4e23a948c1f9");
+	private static final UUID OTHER_ID = UUID.fromString("0d9e8f7a-6b5c-4d3e-8f2a-1b0c9d8e7f6a");
+	private static final UUID MARKET_ID = UUID.fromString("5b0c3f1e-2f7a-4a8e-9a43-7d1c2b3e4f50");
+	private static final UUID OTHER_MARKET_ID = UUID.fromString("9c1d4e2f-3a8b-4b9f-8b54-8e2d3c4f5a61");
+	private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 10, 15);
+
+	private static final Set<List<Object>> ALLOWED = Set.of(
+			List.of(OrderStatus.PENDING, OrderStatus.CONFIRMED, UserRole.ADMIN),
+			List.of(OrderStatus.PENDING, OrderStatus.CONFIRMED, UserRole.CUSTOMER),
+			List.of(OrderStatus.CONFIRMED, OrderStatus.SHIPPED, UserRole.ADMIN),
+			List.of(OrderStatus.CONFIRMED, OrderStatus.SHIPPED, UserRole.PREPARER),
+			List.of(OrderStatus.SHIPPED, OrderStatus.DELIVERED, UserRole.ADMIN),
+			List.of(OrderStatus.SHIPPED, OrderStatus.DELIVERED, UserRole.PREPARER),
+			List.of(OrderStatus.PENDING, OrderStatus.CANCELLED, UserRole.ADMIN),
+			List.of(OrderStatus.PENDING, OrderStatus.CANCELLED, UserRole.CUSTOMER),
+			List.of(OrderStatus.CONFIRMED, OrderStatus.CANCELLED, UserRole.ADMIN),
+			List.of(OrderStatus.CONFIRMED, OrderStatus.CANCELLED, UserRole.CUSTOMER));
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private OrderStateMachine stateMachine;
+
+	@BeforeEach
+	void setUp() {
+		stateMachine = new OrderStateMachine();
+		ReflectionTestUtils.setField(stateMachine, "meterRegistry", meterRegistry);
+		stateMachine.init();
+	}
+
+	@Test
+	void shouldFollowMatrixForEveryTransitionAndRole() {
+		for (OrderStatus from : OrderStatus.values()) {
+			for (OrderStatus to : OrderStatus.values()) {
+				for (UserRole role : UserRole.values()) {
+					// Sahib, eyni market, götürülməmiş - yalnız cədvəl özü qərar verir
+					String reason = stateMachine.reject(from, to, user(role), USER_ID, MARKET_ID, null, null, NOW);
+
+					String expected;
+					if (ALLOWED.contains(List.of(from, to, role))) {
+						expected = null;
+					} else if (stateMachine.sources(to, role).isEmpty()) {
+						expected = OrderStateMachine.NOT_PERMITTED;
+					} else {
+						expected = from + " statusundakı sifariş " + to + " statusuna keçə bilməz";
+					}
+					assertEquals(expected, reason, from + " -> " + to + " (" + role + ")");
+				}
+			}
+		}
+	}
+
+	@Test
+	void shouldExposeSourceStatusesPerRole() {
+		assertEquals(Set.of(OrderStatus.PENDING), stateMachine.sources(OrderStatus.CONFIRMED, UserRole.CUSTOMER));
+		assertEquals(Set.of(OrderStatus.PENDING, OrderStatus.CONFIRMED),
+				stateMachine.sources(OrderStatus.CANCELLED, UserRole.CUSTOMER));
+		assertEquals(Set.of(OrderStatus.CONFIRMED), stateMachine.sources(OrderStatus.SHIPPED, UserRole.PREPARER));
+		assertEquals(Set.of(OrderStatus.SHIPPED), stateMachine.sources(OrderStatus.DELIVERED, UserRole.ADMIN));
+		assertTrue(stateMachine.sources(OrderStatus.CANCELLED, UserRole.PREPARER).isEmpty());
+		assertTrue(stateMachine.sources(OrderStatus.PENDING, UserRole.ADMIN).isEmpty());
+
+		Set<OrderStatus> sources = stateMachine.sources(OrderStatus.CANCELLED, UserRole.ADMIN);
+		assertThrows(UnsupportedOperationException.class, () -> sources.add(OrderStatus.SHIPPED));
+	}
+
+	@Test
+	void shouldRequireOwnershipForCustomer() {
+		CurrentUser customer = user(UserRole.CUSTOMER);
+
+		assertEquals(OrderStateMachine.NOT_PERMITTED, stateMachine.reject(OrderStatus.PENDING, OrderStatus.CONFIRMED,
+				customer, OTHER_ID, MARKET_ID, null, null, NOW));
+		assertEquals(OrderStateMachine.NOT_PERMITTED, stateMachine.reject(OrderStatus.CONFIRMED, OrderStatus.CANCELLED,
+				customer, OTHER_ID, MARKET_ID, null, null, NOW));
+		assertNull(stateMachine.reject(OrderStatus.PENDING, OrderStatus.CANCELLED,
+				customer, USER_ID, null, null, null, NOW));
+	}
+
+	@Test
+	void shouldRequireSameMarketForPreparer() {
+		CurrentUser preparer = user(UserRole.PREPARER);
+
+		assertEquals(OrderStateMachine.OTHER_MARKET, stateMachine.reject(OrderStatus.CONFIRMED, OrderStatus.SHIPPED,
+				preparer, OTHER_ID, OTHER_MARKET_ID, null, null, NOW));
+		assertEquals(OrderStateMachine.OTHER_MARKET, stateMachine.reject(OrderStatus.SHIPPED, OrderStatus.DELIVERED,
+				preparer, OTHER_ID, OTHER_MARKET_ID, null, null, NOW));
+		assertEquals(OrderStateMachine.OTHER_MARKET, stateMachine.reject(OrderStatus.SHIPPED, OrderStatus.DELIVERED,
+				preparer, OTHER_ID, null, null, null, NOW));
+		assertEquals(OrderStateMachine.OTHER_MARKET, stateMachine.reject(OrderStatus.CONFIRMED, OrderStatus.SHIPPED,
+				new CurrentUser(USER_ID, "+994557894561", UserRole.PREPARER, null), OTHER_ID, MARKET_ID, null, null,
+				NOW));
+	}
+
+	@Test
+	void shouldRespectClaimOfAnotherPreparer() {
+		CurrentUser preparer = user(UserRole.PREPARER);
+
+		assertEquals(OrderStateMachine.CLAIMED_BY_OTHER, stateMachine.reject(OrderStatus.CONFIRMED,
+				OrderStatus.SHIPPED, preparer, OTHER_ID, MARKET_ID, OTHER_ID, NOW.plusMinutes(5), NOW));
+		// Vaxtı bitmiş götürmə və öz götürməsi maneə deyil
+		assertNull(stateMachine.reject(OrderStatus.CONFIRMED, OrderStatus.SHIPPED,
+				preparer, OTHER_ID, MARKET_ID, OTHER_ID, NOW, NOW));
+		assertNull(stateMachine.reject(OrderStatus.CONFIRMED, OrderStatus.SHIPPED,
+				preparer, OTHER_ID, MARKET_ID, USER_ID, NOW.plusMinutes(5), NOW));
+		// Çatdırılma götürməni yoxlamır
+		assertNull(stateMachine.reject(OrderStatus.SHIPPED, OrderStatus.DELIVERED,
+				preparer, OTHER_ID, MARKET_ID, OTHER_ID, NOW.plusMinutes(5), NOW));
+		// Admin şərtlərdən asılı deyil
+		assertNull(stateMachine.reject(OrderStatus.CONFIRMED, OrderStatus.SHIPPED,
+				user(UserRole.ADMIN), OTHER_ID, OTHER_MARKET_ID, OTHER_ID, NOW.plusMinutes(5), NOW));
+	}
+
+	@Test
+	void shouldCountRejectedAndAppliedTransitions() {
+		stateMachine.reject(OrderStatus.DELIVERED, OrderStatus.CANCELLED, user(UserRole.ADMIN),
+				USER_ID, MARKET_ID, null, null, NOW);
+		stateMachine.reject(OrderStatus.DELIVERED, OrderStatus.CANCELLED, user(UserRole.CUSTOMER),
+				USER_ID, MARKET_ID, null, null, NOW);
+		stateMachine.reject(OrderStatus.PENDING, OrderStatus.CANCELLED, user(UserRole.CUSTOMER),
+				USER_ID, MARKET_ID, null, null, NOW);
+		stateMachine.recordApplied(OrderStatus.PENDING, OrderStatus.CANCELLED, 3);
+
+		assertEquals(2.0, count(OrderStatus.DELIVERED, OrderStatus.CANCELLED, "rejected"));
+		assertEquals(0.0, count(OrderStatus.PENDING, OrderStatus.CANCELLED, "rejected"));
+		assertEquals(3.0, count(OrderStatus.PENDING, OrderStatus.CANCELLED, "applied"));
+	}
+
+	private double count(OrderStatus from, OrderStatus to, String outcome) {
+		return meterRegistry.get("orders.transitions")
+				.tag("from", from.name())
+				.tag("to", to.name())
+				.tag("outcome", outcome)
+				.counter()
+				.count();
+	}
+
+	private static CurrentUser user(UserRole role) {
+		return new CurrentUser(USER_ID, "+994557894561", role, role == UserRole.PREPARER ? MARKET_ID : null);
+	}
+}
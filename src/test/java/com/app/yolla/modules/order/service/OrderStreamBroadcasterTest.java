@@ -0,0 +1,137 @@
+package com.app.yolla.modules.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.ExecutorServiceAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.app.yolla.modules.order.dto.OrderStreamEvent;
+import com.app.yolla.modules.order.entity.OrderEventType;
+import com.app.yolla.modules.order.entity.OrderStatus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * SSE yayımı: market üzrə süzgəc, yalnız lövhəni dəyişən hadisələr və ölü bağlantıların çıxarılması
+ */
+class OrderStreamBroadcasterTest {
+
+	private static final UUID MARKET_X = UUID.fromString("5b0c3f1e-2f7a-4a8e-9a43-7d1c2b3e4f50");
+	private static final UUID MARKET_Y = UUID.fromString("9c1d4e2f-3a8b-4b9f-8b54-8e2d3c4f5a61");
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private OrderStreamBroadcaster broadcaster;
+
+	private ExecutorService pool;
+
+	@BeforeEach
+	void setUp() {
+		broadcaster = new OrderStreamBroadcaster();
+		ReflectionTestUtils.setField(broadcaster, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(broadcaster, "timeoutMs", 60_000L);
+		ReflectionTestUtils.setField(broadcaster, "replaySize", 16);
+		ReflectionTestUtils.setField(broadcaster, "clientBufferSize", 4);
+		ReflectionTestUtils.setField(broadcaster, "senderThreads", 1);
+		broadcaster.init();
+		pool = senders();
+	}
+
+	@AfterEach
+	void tearDown() {
+		pool.shutdownNow();
+	}
+
+	@Test
+	void shouldDeliverOnlyOwnMarketBoardEvents() {
+		// Göndərmə dayandırılır ki, hadisələr klientin növbəsində qalsın
+		pool.shutdownNow();
+		broadcaster.subscribe(MARKET_X, null);
+		broadcaster.subscribe(MARKET_Y, null);
+
+		broadcaster.publishAfterCommit(MARKET_X, event(OrderEventType.CREATED, OrderStatus.PENDING));
+		broadcaster.publishAfterCommit(MARKET_X, event(OrderEventType.UPDATED, OrderStatus.PENDING));
+		broadcaster.publishAfterCommit(MARKET_X, event(OrderEventType.CONFIRMED, OrderStatus.CONFIRMED));
+		broadcaster.publishAfterCommit(MARKET_X, event(OrderEventType.SHIPPED, OrderStatus.SHIPPED));
+		broadcaster.publishAfterCommit(MARKET_Y, event(OrderEventType.CREATED, OrderStatus.PENDING));
+		broadcaster.publishAfterCommit(MARKET_X, event(OrderEventType.CANCELLED, OrderStatus.CANCELLED));
+		broadcaster.publishAfterCommit(null, event(OrderEventType.CREATED, OrderStatus.PENDING));
+
+		assertEquals(List.of(OrderEventType.CREATED, OrderEventType.CONFIRMED, OrderEventType.CANCELLED),
+				queued(MARKET_X));
+		assertEquals(List.of(OrderEventType.CREATED), queued(MARKET_Y));
+	}
+
+	@Test
+	void shouldRemoveClientWhenEmitterIsDead() {
+		ReflectionTestUtils.setField(broadcaster, "senders", new ExecutorServiceAdapter(new SyncTaskExecutor()));
+		SseEmitter live = broadcaster.subscribe(MARKET_X, null);
+		SseEmitter dead = broadcaster.subscribe(MARKET_X, null);
+		assertEquals(2.0, clientGauge());
+
+		// Bağlanmış emitter-ə göndərmə IllegalStateException atır
+		dead.complete();
+		broadcaster.publishAfterCommit(MARKET_X, event(OrderEventType.CREATED, OrderStatus.PENDING));
+
+		assertEquals(1, clients(MARKET_X).size());
+		assertSame(live, ReflectionTestUtils.getField(clients(MARKET_X).get(0), "emitter"));
+		assertEquals(1.0, clientGauge());
+	}
+
+	@Test
+	void shouldDropClientWhoseBufferIsFull() {
+		pool.shutdownNow();
+		broadcaster.subscribe(MARKET_X, null);
+
+		for (int i = 0; i < 5; i++) {
+			broadcaster.publishAfterCommit(MARKET_X, event(OrderEventType.CREATED, OrderStatus.PENDING));
+		}
+
+		assertTrue(clients(MARKET_X).isEmpty());
+		assertEquals(0.0, clientGauge());
+		assertEquals(1.0, meterRegistry.get("orders.stream.dropped").counter().count());
+	}
+
+	private ExecutorService senders() {
+		return (ExecutorService) ReflectionTestUtils.getField(broadcaster, "senders");
+	}
+
+	private double clientGauge() {
+		return meterRegistry.get("orders.stream.clients").gauge().value();
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Object> clients(UUID marketId) {
+		Map<UUID, Object> channels = (Map<UUID, Object>) ReflectionTestUtils.getField(broadcaster, "channels");
+		return (List<Object>) ReflectionTestUtils.getField(channels.get(marketId), "clients");
+	}
+
+	private List<OrderEventType> queued(UUID marketId) {
+		List<Object> clients = clients(marketId);
+		assertEquals(1, clients.size());
+		List<OrderEventType> types = new ArrayList<>();
+		for (Object entry : (Iterable<?>) ReflectionTestUtils.getField(clients.get(0), "queue")) {
+			types.add(((OrderStreamEvent) ReflectionTestUtils.getField(entry, "event")).getType());
+		}
+		return types;
+	}
+
+	private static OrderStreamEvent event(OrderEventType type, OrderStatus status) {
+		return new OrderStreamEvent(UUID.randomUUID(), type, status, new BigDecimal("25.50"), LocalDateTime.now());
+	}
+}
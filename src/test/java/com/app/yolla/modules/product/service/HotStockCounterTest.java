@@ -0,0 +1,94 @@
+package com.app.yolla.modules.product.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Zolaqlı sayğac: bölüşdürmə, zolaqlar arası yığım, uğursuz rezervin geri qaytarılması və paralel rezerv
+ */
+class HotStockCounterTest {
+
+	@Test
+	void shouldSpreadInitialStockAcrossStripes() {
+		HotStockCounter counter = new HotStockCounter(4, 10);
+
+		assertEquals(10, counter.available());
+
+		counter.reset(3);
+		assertEquals(3, counter.available());
+	}
+
+	@Test
+	void shouldCollectFromSeveralStripesWhenOneIsNotEnough() {
+		// Hər zolaqda 1 ədəd - 3 ədəd yalnız yavaş yolla yığıla bilər
+		HotStockCounter counter = new HotStockCounter(4, 4);
+
+		assertTrue(counter.tryReserve(3));
+		assertEquals(1, counter.available());
+	}
+
+	@Test
+	void shouldLeaveStockUntouchedWhenReservationFails() {
+		HotStockCounter counter = new HotStockCounter(4, 4);
+
+		assertFalse(counter.tryReserve(5));
+		assertEquals(4, counter.available());
+		// Yığılmış pay öz zolaqlarına qaytarılıb - hamısı yenidən götürülə bilir
+		assertTrue(counter.tryReserve(4));
+		assertEquals(0, counter.available());
+	}
+
+	@Test
+	void shouldReleaseAndSubtractUnconditionally() {
+		HotStockCounter counter = new HotStockCounter(2, 2);
+
+		counter.release(3);
+		assertEquals(5, counter.available());
+		counter.release(-4);
+		assertEquals(1, counter.available());
+	}
+
+	@Test
+	void shouldNeverOversellUnderContention() throws Exception {
+		HotStockCounter counter = new HotStockCounter(8, 1000);
+		int threads = 16;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<Integer>> results = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				results.add(pool.submit(() -> {
+					start.await();
+					int reserved = 0;
+					for (int i = 0; i < 200; i++) {
+						if (counter.tryReserve(1)) {
+							reserved++;
+						}
+					}
+					return reserved;
+				}));
+			}
+			start.countDown();
+
+			int total = 0;
+			for (Future<Integer> result : results) {
+				total += result.get(10, TimeUnit.SECONDS);
+			}
+			assertEquals(1000, total);
+			assertEquals(0, counter.available());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package com.app.yolla.modules.product.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.yolla.modules.order.entity.OrderItem;
+import com.app.yolla.modules.order.repository.OrderItemRepository;
+import com.app.yolla.modules.product.entity.Product;
+import com.app.yolla.modules.product.repository.ProductRepository;
+
+/**
+ * Flusher: sətirlər məhsul üzrə cəmlənir, hər məhsula bir UPDATE gedir, sətirlər bir UPDATE ilə sıfırlanır
+ */
+@ExtendWith(MockitoExtension.class)
+class HotStockFlusherTest {
+
+	private static final UUID PRODUCT_A = UUID.fromString("5b0c3f1e-2f7a-4a8e-9a43-7d1c2b3e4f50");
+	private static final UUID PRODUCT_B = UUID.fromString("9c1d4e2f-3a8b-4b9f-8b54-8e2d3c4f5a61");
+
+	@Mock
+	private HotStockLedger ledger;
+
+	@Mock
+	private OrderItemRepository orderItemRepository;
+
+	@Mock
+	private ProductRepository productRepository;
+
+	@InjectMocks
+	private HotStockFlusher flusher;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(flusher, "batchSize", 100);
+	}
+
+	@Test
+	void shouldApplyOneDeltaPerProductAndClearRows() {
+		OrderItem a1 = item(PRODUCT_A, 3);
+		OrderItem a2 = item(PRODUCT_A, 2);
+		OrderItem b1 = item(PRODUCT_B, 4);
+		// Rezerv və ləğv bir-birini sıfırlayır - UPDATE göndərilmir, amma sətirlər yenə sıfırlanır
+		OrderItem b2 = item(PRODUCT_B, -4);
+		when(ledger.isEnabled()).thenReturn(true);
+		when(orderItemRepository.findDeferredForFlush(PageRequest.of(0, 100))).thenReturn(List.of(a1, a2, b1, b2));
+
+		flusher.flush();
+
+		verify(orderItemRepository).clearStockDeferred(List.of(a1.getId(), a2.getId(), b1.getId(), b2.getId()));
+		verify(productRepository).applyStockDelta(PRODUCT_A, 5);
+		verifyNoMoreInteractions(productRepository);
+	}
+
+	@Test
+	void shouldDoNothingWhenNoRowsAreDeferred() {
+		when(ledger.isEnabled()).thenReturn(true);
+		when(orderItemRepository.findDeferredForFlush(any())).thenReturn(List.of());
+
+		flusher.flush();
+
+		verify(orderItemRepository, never()).clearStockDeferred(any());
+		verify(productRepository, never()).applyStockDelta(any(), anyInt());
+	}
+
+	@Test
+	void shouldSkipWhenHotStockIsDisabled() {
+		when(ledger.isEnabled()).thenReturn(false);
+
+		flusher.flush();
+
+		verifyNoInteractions(orderItemRepository, productRepository);
+	}
+
+	private static OrderItem item(UUID productId, int deferred) {
+		Product product = new Product();
+		product.setId(productId);
+		OrderItem item = new OrderItem();
+		item.setId(UUID.randomUUID());
+		item.setProduct(product);
+		item.setQuantity(Math.abs(deferred));
+		item.setStockDeferred(deferred);
+		item.setStockHot(true);
+		return item;
+	}
+}
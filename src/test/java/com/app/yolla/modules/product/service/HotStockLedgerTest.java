@@ -0,0 +1,154 @@
+package com.app.yolla.modules.product.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.app.yolla.modules.order.repository.OrderItemRepository;
+import com.app.yolla.modules.product.entity.Product;
+import com.app.yolla.modules.product.repository.ProductRepository;
+
+/**
+ * İsti stok kitabçası: başlanğıc uzlaşması, rezervin yolu, sayğac yox olduqda bazaya keçid
+ * və geri qaytarılan tranzaksiyada kompensasiya
+ */
+@ExtendWith(MockitoExtension.class)
+class HotStockLedgerTest {
+
+	private static final UUID HOT_ID = UUID.fromString("5b0c3f1e-2f7a-4a8e-9a43-7d1c2b3e4f50");
+	private static final UUID COLD_ID = UUID.fromString("9c1d4e2f-3a8b-4b9f-8b54-8e2d3c4f5a61");
+
+	@Mock
+	private ProductRepository productRepository;
+
+	@Mock
+	private OrderItemRepository orderItemRepository;
+
+	@InjectMocks
+	private HotStockLedger ledger;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(ledger, "enabled", true);
+		ReflectionTestUtils.setField(ledger, "stripes", 4);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void shouldReconcileStockMinusUnflushedDeltas() {
+		loadHot(10, 3);
+
+		assertTrue(ledger.isHot(HOT_ID));
+		assertFalse(ledger.isHot(COLD_ID));
+		assertEquals(7, ledger.available(HOT_ID));
+		assertEquals(-1, ledger.available(COLD_ID));
+	}
+
+	@Test
+	void shouldNotLoadAnythingWhenDisabled() {
+		ReflectionTestUtils.setField(ledger, "enabled", false);
+
+		ledger.reconcile();
+
+		verifyNoInteractions(productRepository, orderItemRepository);
+		assertEquals(StockReservation.DATABASE, ledger.reserve(HOT_ID, 1));
+	}
+
+	@Test
+	void shouldReportPathOfEachReservation() {
+		loadHot(5, 0);
+
+		assertEquals(StockReservation.HOT, ledger.reserve(HOT_ID, 4));
+		assertEquals(StockReservation.OUT_OF_STOCK, ledger.reserve(HOT_ID, 2));
+		assertEquals(1, ledger.available(HOT_ID));
+		assertEquals(StockReservation.DATABASE, ledger.reserve(COLD_ID, 2));
+	}
+
+	@Test
+	void shouldFallBackToDatabaseWhenCounterIsRemovedByReload() {
+		loadHot(5, 0);
+		// Məhsul redaktə olunub və artıq isti deyil - reload sayğacı çıxarır
+		when(productRepository.findById(HOT_ID)).thenReturn(Optional.of(product(HOT_ID, false, 5)));
+		ledger.reload(HOT_ID);
+
+		assertFalse(ledger.isHot(HOT_ID));
+		// "Stok yoxdur" yox, bazaya keçid
+		assertEquals(StockReservation.DATABASE, ledger.reserve(HOT_ID, 1));
+	}
+
+	@Test
+	void shouldUndoReservationAndReleaseOnRollback() {
+		loadHot(5, 0);
+		TransactionSynchronizationManager.initSynchronization();
+
+		assertEquals(StockReservation.HOT, ledger.reserve(HOT_ID, 3));
+		ledger.release(HOT_ID, 1);
+		assertEquals(3, ledger.available(HOT_ID));
+
+		complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+		assertEquals(5, ledger.available(HOT_ID));
+	}
+
+	@Test
+	void shouldKeepReservationOnCommit() {
+		loadHot(5, 0);
+		TransactionSynchronizationManager.initSynchronization();
+
+		ledger.reserve(HOT_ID, 3);
+
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+		assertEquals(2, ledger.available(HOT_ID));
+	}
+
+	@Test
+	void shouldIgnoreReleaseForProductWithoutCounter() {
+		ledger.release(COLD_ID, 3);
+
+		assertEquals(-1, ledger.available(COLD_ID));
+	}
+
+	private void loadHot(int stock, long deferred) {
+		when(productRepository.findAllByHotStockTrue()).thenReturn(List.of(product(HOT_ID, true, stock)));
+		when(orderItemRepository.sumDeferredStock(HOT_ID)).thenReturn(deferred);
+		ledger.reconcile();
+	}
+
+	private static void complete(int status) {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		for (TransactionSynchronization synchronization : synchronizations) {
+			synchronization.afterCompletion(status);
+		}
+	}
+
+	private static Product product(UUID id, boolean hot, int stock) {
+		Product product = new Product();
+		product.setId(id);
+		product.setHotStock(hot);
+		product.setStockQuantity(stock);
+		return product;
+	}
+}
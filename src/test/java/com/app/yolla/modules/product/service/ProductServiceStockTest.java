@@ -0,0 +1,102 @@
+package com.app.yolla.modules.product.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.app.yolla.modules.order.repository.OrderItemRepository;
+import com.app.yolla.modules.product.repository.ProductRepository;
+
+/**
+ * Stok rezervi hansı yolla getdiyini qaytarır, ləğv isə stoku sətrin rezerv olunduğu yolla qaytarır
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductServiceStockTest {
+
+	private static final UUID HOT_ID = UUID.fromString("5b0c3f1e-2f7a-4a8e-9a43-7d1c2b3e4f50");
+	private static final UUID COLD_ID = UUID.fromString("9c1d4e2f-3a8b-4b9f-8b54-8e2d3c4f5a61");
+	private static final UUID ORDER_ID = UUID.fromString("d6f1f8f4-72d4-4c33-92c2-0fbe11e53c9a");
+
+	@Mock
+	private ProductRepository repository;
+
+	@Mock
+	private OrderItemRepository orderItemRepository;
+
+	@Mock
+	private HotStockLedger hotStockLedger;
+
+	@InjectMocks
+	private ProductService productService;
+
+	@Test
+	void shouldReturnPathTakenForEachProduct() {
+		when(hotStockLedger.reserve(HOT_ID, 2)).thenReturn(StockReservation.HOT);
+		when(hotStockLedger.reserve(COLD_ID, 3)).thenReturn(StockReservation.DATABASE);
+		when(repository.decrementStock(COLD_ID, 3)).thenReturn(1);
+
+		Map<UUID, StockReservation> result = productService.reserveStock(Map.of(HOT_ID, 2, COLD_ID, 3));
+
+		assertEquals(Map.of(HOT_ID, StockReservation.HOT, COLD_ID, StockReservation.DATABASE), result);
+		verify(repository, never()).decrementStock(HOT_ID, 2);
+	}
+
+	@Test
+	void shouldReserveInDatabaseWhenCounterIsGone() {
+		// isHot true olsa da sayğac reserve anında yoxdur - ledger bazaya yönləndirir
+		when(hotStockLedger.reserve(HOT_ID, 2)).thenReturn(StockReservation.DATABASE);
+		when(repository.decrementStock(HOT_ID, 2)).thenReturn(0);
+
+		assertEquals(Map.of(HOT_ID, StockReservation.OUT_OF_STOCK), productService.reserveStock(Map.of(HOT_ID, 2)));
+	}
+
+	@Test
+	void shouldNotTouchDatabaseWhenHotCounterIsShort() {
+		when(hotStockLedger.reserve(HOT_ID, 9)).thenReturn(StockReservation.OUT_OF_STOCK);
+
+		assertEquals(Map.of(HOT_ID, StockReservation.OUT_OF_STOCK), productService.reserveStock(Map.of(HOT_ID, 9)));
+		verify(repository, never()).decrementStock(HOT_ID, 9);
+	}
+
+	@Test
+	void shouldRestockEachPathTheWayItWasReserved() {
+		// Eyni məhsulun bir sətri sayğacda, digəri bazada rezerv olunub (arada rejim dəyişib)
+		when(orderItemRepository.sumQuantityByProductAndPath(List.of(ORDER_ID))).thenReturn(List.of(
+				new Object[] { HOT_ID, true, 2L },
+				new Object[] { HOT_ID, false, 3L },
+				new Object[] { COLD_ID, false, 1L }));
+		when(hotStockLedger.isHot(HOT_ID)).thenReturn(true);
+
+		productService.restockOrders(List.of(ORDER_ID));
+
+		verify(hotStockLedger).release(HOT_ID, 2);
+		verify(orderItemRepository).releaseDeferredStock(List.of(ORDER_ID));
+		verify(repository).restockFromOrders(List.of(ORDER_ID), List.of(HOT_ID, COLD_ID));
+		// Bazaya qaytarılan stok sayğacda görünmür - sayğac commit-dən sonra yenidən yüklənir
+		verify(hotStockLedger).reloadAfterCommit(HOT_ID);
+		verify(hotStockLedger, never()).reloadAfterCommit(COLD_ID);
+	}
+
+	@Test
+	void shouldSkipDeferredUpdateWhenNothingWasReservedHot() {
+		when(orderItemRepository.sumQuantityByProductAndPath(List.of(ORDER_ID)))
+				.thenReturn(List.<Object[]>of(new Object[] { COLD_ID, false, 1L }));
+
+		productService.restockOrders(List.of(ORDER_ID));
+
+		verify(repository).restockFromOrders(List.of(ORDER_ID), List.of(COLD_ID));
+		verify(orderItemRepository, never()).releaseDeferredStock(anyCollection());
+	}
+}
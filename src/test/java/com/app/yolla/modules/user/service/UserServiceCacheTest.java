@@ -0,0 +1,162 @@
+package com.app.yolla.modules.user.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.yolla.config.CacheConfig;
+import com.app.yolla.modules.market.dto.MarketDTO;
+import com.app.yolla.modules.market.entity.Market;
+import com.app.yolla.modules.market.service.MarketService;
+import com.app.yolla.modules.market.service.MarketUpdatedEvent;
+import com.app.yolla.modules.user.dto.UserDTO;
+import com.app.yolla.modules.user.dto.UserUpdateRequest;
+import com.app.yolla.modules.user.entity.User;
+import com.app.yolla.modules.user.entity.UserRole;
+import com.app.yolla.modules.user.repository.UserRepository;
+
+/**
+ * İstifadəçi keşi: surət qaytarılır, dəyişikliklər hər iki keşi yeniləyir və ya təmizləyir,
+ * market dəyişdikdə onun istifadəçiləri keşdən çıxır
+ */
+@ExtendWith(MockitoExtension.class)
+class UserServiceCacheTest {
+
+	private static final UUID USER_ID = UUID.fromString("f0a1b672-4a8b-4e12-b48e-4e23a948c1f9");
+	private static final UUID MARKET_ID = UUID.fromString("5b0c3f1e-2f7a-4a8e-9a43-7d1c2b3e4f50");
+	private static final String PHONE = "+994557894561";
+
+	private final CacheManager cacheManager = new CaffeineCacheManager(CacheConfig.USERS_BY_PHONE,
+			CacheConfig.USERS_BY_ID);
+
+	@Mock
+	private UserRepository userRepository;
+
+	@Mock
+	private MarketService marketService;
+
+	@InjectMocks
+	private UserService userService;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(userService, "cacheManager", cacheManager);
+
+		Market market = new Market();
+		market.setId(MARKET_ID);
+		market.setName("System Market");
+		market.setAddress("Yasamal");
+
+		user = new User(PHONE, "Əli Məmmədov", UserRole.PREPARER);
+		user.setId(USER_ID);
+		user.setIsActive(true);
+		user.setMarket(market);
+
+		lenient().when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+		lenient().when(userRepository.findByPhoneNumber(PHONE)).thenReturn(Optional.of(user));
+		lenient().when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		lenient().when(marketService.convertToDTO(any(Market.class))).thenAnswer(invocation -> {
+			Market m = invocation.getArgument(0);
+			return new MarketDTO(m.getId(), m.getName(), m.getAddress());
+		});
+	}
+
+	@Test
+	void shouldServeCopiesThatCallersCannotCorrupt() {
+		UserDTO first = userService.findByPhoneNumber(PHONE);
+		first.setFullName("Dəyişdirilmiş");
+		first.getMarket().setName("Dəyişdirilmiş Market");
+
+		UserDTO second = userService.findByPhoneNumber(PHONE);
+		second.setRole(UserRole.ADMIN);
+		UserDTO third = userService.findByPhoneNumber(PHONE);
+
+		assertEquals("Əli Məmmədov", third.getFullName());
+		assertEquals("System Market", third.getMarket().getName());
+		assertEquals(UserRole.PREPARER, third.getRole());
+		verify(userRepository, times(1)).findByPhoneNumber(PHONE);
+	}
+
+	@Test
+	void shouldRefreshBothCachesOnUpdate() {
+		userService.findById(USER_ID);
+		userService.findByPhoneNumber(PHONE);
+
+		UserDTO updated = userService.updateUser(USER_ID, new UserUpdateRequest("Vəli Həsənov", null, null, null));
+		updated.setFullName("Çağıranın dəyişikliyi");
+
+		assertEquals("Vəli Həsənov", userService.findById(USER_ID).getFullName());
+		assertEquals("Vəli Həsənov", userService.findByPhoneNumber(PHONE).getFullName());
+		// Primləmə + updateUser-in öz oxuması; keşdən oxunanlar bazaya getmir
+		verify(userRepository, times(2)).findById(USER_ID);
+		verify(userRepository, times(1)).findByPhoneNumber(PHONE);
+	}
+
+	@Test
+	void shouldEvictBothCachesOnDeactivate() {
+		userService.findById(USER_ID);
+		userService.findByPhoneNumber(PHONE);
+
+		userService.deactivateUser(USER_ID);
+
+		assertNull(cached(CacheConfig.USERS_BY_ID, USER_ID));
+		assertNull(cached(CacheConfig.USERS_BY_PHONE, PHONE));
+		assertFalse(userService.findByPhoneNumber(PHONE).getIsActive());
+		assertFalse(userService.findById(USER_ID).getIsActive());
+	}
+
+	@Test
+	void shouldEvictBothCachesOnReactivate() {
+		user.setIsActive(false);
+		userService.findById(USER_ID);
+		userService.findByPhoneNumber(PHONE);
+
+		userService.reactivateUser(USER_ID);
+
+		assertNull(cached(CacheConfig.USERS_BY_ID, USER_ID));
+		assertNull(cached(CacheConfig.USERS_BY_PHONE, PHONE));
+		assertTrue(userService.findByPhoneNumber(PHONE).getIsActive());
+		assertTrue(userService.findById(USER_ID).getIsActive());
+	}
+
+	@Test
+	void shouldEvictUsersOfUpdatedMarket() {
+		userService.findById(USER_ID);
+		userService.findByPhoneNumber(PHONE);
+		when(userRepository.findByMarketId(MARKET_ID)).thenReturn(List.of(user));
+
+		user.getMarket().setName("Yeni Market");
+		userService.onMarketUpdated(new MarketUpdatedEvent(MARKET_ID));
+
+		assertNull(cached(CacheConfig.USERS_BY_ID, USER_ID));
+		assertNull(cached(CacheConfig.USERS_BY_PHONE, PHONE));
+		assertEquals("Yeni Market", userService.findByPhoneNumber(PHONE).getMarket().getName());
+		assertEquals("Yeni Market", userService.findById(USER_ID).getMarket().getName());
+	}
+
+	private Object cached(String name, Object key) {
+		return cacheManager.getCache(name).get(key);
+	}
+}
@@ -0,0 +1,156 @@
+package com.app.yolla.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.yolla.shared.security.JwtUtil;
+import com.app.yolla.shared.security.TokenClaims;
+
+/**
+ * Token yaradılması, tək keçidli yoxlama, yoxlanmış token keşi və saxtalaşdırılmış token-lar
+ */
+class JwtUtilTest {
+
+	private static final String PHONE = "+994557894561";
+	private static final UUID USER_ID = UUID.fromString("f0a1b672-4a8b-4e12-b48e-4e23a948c1f9");
+	private static final UUID MARKET_ID = UUID.fromString("5b0c3f1e-2f7a-4a8e-9a43-7d1c2b3e4f50");
+
+	@Test
+	void shouldParseAccessTokenClaims() {
+		JwtUtil jwtUtil = jwtUtil("secret", 60_000, 100);
+		String token = jwtUtil.generateToken(PHONE, "PREPARER", USER_ID, MARKET_ID);
+
+		TokenClaims claims = jwtUtil.parse(token);
+
+		assertNotNull(claims);
+		assertEquals(PHONE, claims.getPhoneNumber());
+		assertEquals("PREPARER", claims.getRole());
+		assertEquals(USER_ID, claims.getUserId());
+		assertEquals(MARKET_ID, claims.getMarketId());
+		assertEquals(jwtUtil.tokenId(token), claims.getTokenId());
+		assertTrue(claims.isAccessToken());
+		assertFalse(claims.isRefreshToken());
+		assertTrue(jwtUtil.isTokenValid(token));
+	}
+
+	@Test
+	void shouldParseAccessTokenWithoutMarket() {
+		JwtUtil jwtUtil = jwtUtil("secret", 60_000, 100);
+
+		TokenClaims claims = jwtUtil.parse(jwtUtil.generateToken(PHONE, "CUSTOMER", USER_ID, null));
+
+		assertNotNull(claims);
+		assertEquals(USER_ID, claims.getUserId());
+		assertNull(claims.getMarketId());
+	}
+
+	@Test
+	void shouldParseRefreshToken() {
+		JwtUtil jwtUtil = jwtUtil("secret", 60_000, 100);
+
+		TokenClaims claims = jwtUtil.parse(jwtUtil.generateRefreshToken(PHONE));
+
+		assertNotNull(claims);
+		assertEquals(PHONE, claims.getPhoneNumber());
+		assertTrue(claims.isRefreshToken());
+		assertFalse(claims.isAccessToken());
+		assertNull(claims.getUserId());
+	}
+
+	@Test
+	void shouldReturnCachedClaimsForRepeatedToken() {
+		JwtUtil jwtUtil = jwtUtil("secret", 60_000, 100);
+		String token = jwtUtil.generateToken(PHONE, "CUSTOMER", USER_ID, null);
+
+		assertSame(jwtUtil.parse(token), jwtUtil.parse(token));
+	}
+
+	@Test
+	void shouldVerifyEveryTimeWhenCacheDisabled() {
+		JwtUtil jwtUtil = jwtUtil("secret", 60_000, 0);
+		String token = jwtUtil.generateToken(PHONE, "CUSTOMER", USER_ID, null);
+
+		TokenClaims first = jwtUtil.parse(token);
+		TokenClaims second = jwtUtil.parse(token);
+
+		assertNotNull(first);
+		assertNotSame(first, second);
+		assertEquals(first.getTokenId(), second.getTokenId());
+	}
+
+	@Test
+	void shouldRejectTamperedPayload() {
+		JwtUtil jwtUtil = jwtUtil("secret", 60_000, 100);
+		String decoded = decode(jwtUtil.generateToken(PHONE, "CUSTOMER", USER_ID, null));
+
+		String escalated = encode(decoded.replace("|CUSTOMER|", "|ADMIN|"));
+
+		assertNull(jwtUtil.parse(escalated));
+		assertFalse(jwtUtil.isTokenValid(escalated));
+	}
+
+	@Test
+	void shouldRejectTamperedSignature() {
+		JwtUtil jwtUtil = jwtUtil("secret", 60_000, 100);
+		String decoded = decode(jwtUtil.generateToken(PHONE, "CUSTOMER", USER_ID, null));
+		String data = decoded.substring(0, decoded.lastIndexOf('|'));
+		String forged = Base64.getEncoder().encodeToString(new byte[32]);
+
+		assertNull(jwtUtil.parse(encode(data + "|" + forged)));
+	}
+
+	@Test
+	void shouldRejectTokenSignedWithAnotherSecret() {
+		String token = jwtUtil("other-secret", 60_000, 100).generateToken(PHONE, "ADMIN", USER_ID, null);
+
+		assertNull(jwtUtil("secret", 60_000, 100).parse(token));
+	}
+
+	@Test
+	void shouldRejectExpiredToken() {
+		JwtUtil jwtUtil = jwtUtil("secret", -1_000, 100);
+
+		assertNull(jwtUtil.parse(jwtUtil.generateToken(PHONE, "CUSTOMER", USER_ID, null)));
+		assertNull(jwtUtil.parse(jwtUtil.generateRefreshToken(PHONE)));
+	}
+
+	@Test
+	void shouldRejectMalformedTokens() {
+		JwtUtil jwtUtil = jwtUtil("secret", 60_000, 100);
+
+		assertNull(jwtUtil.parse(null));
+		assertNull(jwtUtil.parse(""));
+		assertNull(jwtUtil.parse("not-base64!"));
+		assertNull(jwtUtil.parse(encode("no-separator")));
+		assertNull(jwtUtil.parse(encode(PHONE + "|CUSTOMER|" + USER_ID)));
+	}
+
+	private JwtUtil jwtUtil(String secret, long expirationMs, long cacheSize) {
+		JwtUtil jwtUtil = new JwtUtil();
+		ReflectionTestUtils.setField(jwtUtil, "jwtSecret", secret);
+		ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", expirationMs);
+		ReflectionTestUtils.setField(jwtUtil, "tokenCacheSize", cacheSize);
+		ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+		return jwtUtil;
+	}
+
+	private static String decode(String token) {
+		return new String(Base64.getDecoder().decode(token), StandardCharsets.UTF_8);
+	}
+
+	private static String encode(String value) {
+		return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,226 @@
+package com.app.yolla.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import com.app.yolla.modules.market.entity.Market;
+import com.app.yolla.modules.market.mapper.MarketMapper;
+import com.app.yolla.modules.market.service.MarketService;
+import com.app.yolla.modules.order.dto.OrderBulkStatusRequest;
+import com.app.yolla.modules.order.dto.OrderBulkStatusResponse;
+import com.app.yolla.modules.order.entity.Order;
+import com.app.yolla.modules.order.entity.OrderItem;
+import com.app.yolla.modules.order.entity.OrderStatus;
+import com.app.yolla.modules.order.mapper.OrderMapper;
+import com.app.yolla.modules.order.repository.OrderRepository;
+import com.app.yolla.modules.order.service.OrderDtoAssembler;
+import com.app.yolla.modules.order.service.OrderOutboxService;
+import com.app.yolla.modules.order.service.OrderService;
+import com.app.yolla.modules.order.service.OrderStateMachine;
+import com.app.yolla.modules.order.service.OrderStreamBroadcaster;
+import com.app.yolla.modules.product.entity.Product;
+import com.app.yolla.modules.product.service.HotStockLedger;
+import com.app.yolla.modules.product.service.ProductService;
+import com.app.yolla.modules.user.entity.UserRole;
+import com.app.yolla.modules.user.service.UserService;
+import com.app.yolla.shared.security.CurrentUser;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Toplu ləğv real bazada: sətir kilidi (BINARY(16) id-lərlə), yoxlama proyeksiyası, şərtli UPDATE
+ * və ləğv olunan sifarişlərin stokunun bir UPDATE ilə qaytarılması
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.sql.init.mode=never" })
+@Import({ OrderService.class, ProductService.class, OrderStateMachine.class,
+		OrderBulkCancelFlowTest.Metrics.class })
+class OrderBulkCancelFlowTest {
+
+	private final CurrentUser admin = new CurrentUser(UUID.fromString("f0a1b672-4a8b-4e12-b48e-4e23a948c1f9"),
+			"+994557894561", UserRole.ADMIN, null);
+
+	@TestConfiguration
+	static class Metrics {
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+	}
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private OrderService orderService;
+
+	@MockBean
+	private OrderMapper orderMapper;
+
+	@MockBean
+	private MarketMapper marketMapper;
+
+	@MockBean
+	private UserService userService;
+
+	@MockBean
+	private MarketService marketService;
+
+	@MockBean
+	private OrderDtoAssembler orderDtoAssembler;
+
+	@MockBean
+	private OrderOutboxService outboxService;
+
+	@MockBean
+	private OrderStreamBroadcaster streamBroadcaster;
+
+	@MockBean
+	private HotStockLedger hotStockLedger;
+
+	private Market market;
+
+	private Product bread;
+	private Product milk;
+
+	private Order pending;
+	private Order confirmed;
+	private Order delivered;
+
+	@BeforeEach
+	void setUp() {
+		market = new Market();
+		market.setName("System Market");
+		market.setAddress("Yasamal");
+		entityManager.persist(market);
+
+		bread = persistProduct("Çörək", 10);
+		milk = persistProduct("Süd", 20);
+
+		pending = persistOrder(market, OrderStatus.PENDING);
+		persistItem(pending, bread, 2);
+		persistItem(pending, milk, 1);
+		confirmed = persistOrder(market, OrderStatus.CONFIRMED);
+		persistItem(confirmed, milk, 3);
+		delivered = persistOrder(market, OrderStatus.DELIVERED);
+		persistItem(delivered, bread, 5);
+
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void shouldLockRowsByBinaryId() {
+		List<Object> locked = orderRepository.lockForTransition(
+				List.of(confirmed.getId(), pending.getId(), UUID.randomUUID()));
+
+		assertEquals(2, locked.size());
+	}
+
+	@Test
+	void shouldCancelValidOrdersAndRestockTheirLines() {
+		UUID missing = UUID.randomUUID();
+
+		OrderBulkStatusResponse response = orderService.bulkTransition(admin, new OrderBulkStatusRequest(
+				List.of(pending.getId(), confirmed.getId(), delivered.getId(), missing), OrderStatus.CANCELLED));
+		entityManager.flush();
+		entityManager.clear();
+
+		assertEquals(2, response.getUpdated());
+		assertEquals(2, response.getFailed());
+		assertTrue(response.getResults().get(0).isSuccess());
+		assertTrue(response.getResults().get(1).isSuccess());
+		assertFalse(response.getResults().get(2).isSuccess());
+		assertFalse(response.getResults().get(3).isSuccess());
+
+		assertEquals(OrderStatus.CANCELLED, status(pending));
+		assertEquals(OrderStatus.CANCELLED, status(confirmed));
+		assertEquals(OrderStatus.DELIVERED, status(delivered));
+
+		// Yalnız ləğv olunan sifarişlərin sətirləri qaytarılır: çörək 2, süd 1 + 3
+		assertEquals(12, stock(bread));
+		assertEquals(24, stock(milk));
+	}
+
+	@Test
+	void shouldSetDeliveryTimeOnBulkDeliver() {
+		Order shipped = persistOrder(market, OrderStatus.SHIPPED);
+		persistItem(shipped, bread, 1);
+		entityManager.flush();
+		entityManager.clear();
+
+		OrderBulkStatusResponse response = orderService.bulkTransition(admin,
+				new OrderBulkStatusRequest(List.of(shipped.getId(), pending.getId()), OrderStatus.DELIVERED));
+		entityManager.flush();
+		entityManager.clear();
+
+		assertEquals(1, response.getUpdated());
+		Order reloaded = entityManager.find(Order.class, shipped.getId());
+		assertEquals(OrderStatus.DELIVERED, reloaded.getStatus());
+		assertNotNull(reloaded.getDeliveryTime());
+		assertEquals(OrderStatus.PENDING, status(pending));
+		// Çatdırılma stoka toxunmur
+		assertEquals(10, stock(bread));
+	}
+
+	private OrderStatus status(Order order) {
+		return entityManager.find(Order.class, order.getId()).getStatus();
+	}
+
+	private int stock(Product product) {
+		return entityManager.find(Product.class, product.getId()).getStockQuantity();
+	}
+
+	private Product persistProduct(String name, int stock) {
+		Product product = new Product();
+		product.setName(name);
+		product.setPrice(new BigDecimal("2.50"));
+		product.setStockQuantity(stock);
+		product.setActive(true);
+		product.setCreatedAt(LocalDateTime.now());
+		product.setUserId(admin.getId());
+		return entityManager.persist(product);
+	}
+
+	private Order persistOrder(Market market, OrderStatus status) {
+		Order order = new Order();
+		order.setUserId(admin.getId());
+		order.setStatus(status);
+		order.setTotalAmount(new BigDecimal("25.50"));
+		order.setDeliveryAddress("Bakı");
+		order.setMarket(market);
+		return entityManager.persist(order);
+	}
+
+	private void persistItem(Order order, Product product, int quantity) {
+		OrderItem item = new OrderItem();
+		item.setOrder(order);
+		item.setProduct(product);
+		item.setQuantity(quantity);
+		item.setPrice(product.getPrice().multiply(BigDecimal.valueOf(quantity)));
+		entityManager.persist(item);
+	}
+}
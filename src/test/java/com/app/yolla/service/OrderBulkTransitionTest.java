@@ -0,0 +1,197 @@
+package com.app.yolla.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.yolla.modules.order.dto.OrderBulkStatusRequest;
+import com.app.yolla.modules.order.dto.OrderBulkStatusResponse;
+import com.app.yolla.modules.order.dto.OrderBulkStatusResult;
+import com.app.yolla.modules.order.entity.OrderEventType;
+import com.app.yolla.modules.order.entity.OrderStatus;
+import com.app.yolla.modules.order.repository.OrderRepository;
+import com.app.yolla.modules.order.repository.OrderTransitionView;
+import com.app.yolla.modules.order.service.OrderOutboxService;
+import com.app.yolla.modules.order.service.OrderService;
+import com.app.yolla.modules.order.service.OrderStateMachine;
+import com.app.yolla.modules.order.service.OrderStreamBroadcaster;
+import com.app.yolla.modules.product.service.ProductService;
+import com.app.yolla.modules.user.entity.UserRole;
+import com.app.yolla.shared.exception.MyException;
+import com.app.yolla.shared.security.CurrentUser;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Toplu status keçidi: hər sifarişin ayrıca nəticəsi və şərtli UPDATE-in gözlənilməz sətir sayı
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderBulkTransitionTest {
+
+	private static final UUID MARKET_ID = UUID.fromString("5b0c3f1e-2f7a-4a8e-9a43-7d1c2b3e4f50");
+	private static final UUID PENDING_ID = UUID.fromString("d6f1f8f4-72d4-4c33-92c2-0fbe11e53c9a");
+	private static final UUID DELIVERED_ID = UUID.fromString("0e8d7c6b-5a49-4382-9170-6f5e4d3c2b1a");
+	private static final UUID MISSING_ID = UUID.fromString("a3b01a3e-8c2e-4dc5-b8de-0f5b9b7b74e3");
+
+	private final CurrentUser admin = new CurrentUser(UUID.fromString("f0a1b672-4a8b-4e12-b48e-4e23a948c1f9"),
+			"+994557894561", UserRole.ADMIN, null);
+
+	@Mock
+	private OrderRepository repository;
+
+	@Mock
+	private ProductService productService;
+
+	@Mock
+	private OrderOutboxService outboxService;
+
+	@Mock
+	private OrderStreamBroadcaster streamBroadcaster;
+
+	@InjectMocks
+	private OrderService orderService;
+
+	@BeforeEach
+	void setUp() {
+		OrderStateMachine stateMachine = new OrderStateMachine();
+		ReflectionTestUtils.setField(stateMachine, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.invokeMethod(stateMachine, "init");
+		ReflectionTestUtils.setField(orderService, "stateMachine", stateMachine);
+	}
+
+	@Test
+	void shouldReportEachOrderAndUpdateOnlyValidOnes() {
+		when(repository.findTransitionViews(anyCollection()))
+				.thenReturn(List.of(view(PENDING_ID, OrderStatus.PENDING), view(DELIVERED_ID, OrderStatus.DELIVERED)));
+		when(repository.bulkUpdateStatus(List.of(PENDING_ID), Set.of(OrderStatus.PENDING, OrderStatus.CONFIRMED),
+				OrderStatus.CANCELLED)).thenReturn(1);
+
+		OrderBulkStatusResponse response = orderService.bulkTransition(admin,
+				new OrderBulkStatusRequest(List.of(DELIVERED_ID, PENDING_ID, MISSING_ID, PENDING_ID),
+						OrderStatus.CANCELLED));
+
+		assertEquals(OrderStatus.CANCELLED, response.getStatus());
+		assertEquals(1, response.getUpdated());
+		assertEquals(2, response.getFailed());
+
+		// Təkrarlanan id bir dəfə sayılır, sıra sorğudakı kimidir
+		List<OrderBulkStatusResult> results = response.getResults();
+		assertEquals(List.of(DELIVERED_ID, PENDING_ID, MISSING_ID),
+				results.stream().map(OrderBulkStatusResult::getOrderId).toList());
+		assertFalse(results.get(0).isSuccess());
+		assertEquals("DELIVERED statusundakı sifariş CANCELLED statusuna keçə bilməz", results.get(0).getMessage());
+		assertTrue(results.get(1).isSuccess());
+		assertNull(results.get(1).getMessage());
+		assertFalse(results.get(2).isSuccess());
+		assertEquals("Sifariş tapılmadı", results.get(2).getMessage());
+
+		verify(repository).lockForTransition(Set.of(DELIVERED_ID, PENDING_ID, MISSING_ID));
+		verify(productService).restockOrders(List.of(PENDING_ID));
+		verify(outboxService).record(eq(PENDING_ID), eq(MARKET_ID), any(), eq(OrderStatus.CANCELLED), any(),
+				eq(OrderEventType.CANCELLED), eq(OrderStatus.PENDING));
+		verify(streamBroadcaster, times(1)).publishAfterCommit(eq(MARKET_ID), any());
+	}
+
+	@Test
+	void shouldUseDeliverUpdateForDeliveredTarget() {
+		UUID shippedId = UUID.randomUUID();
+		when(repository.findTransitionViews(anyCollection())).thenReturn(List.of(view(shippedId, OrderStatus.SHIPPED)));
+		when(repository.bulkDeliver(eq(List.of(shippedId)), eq(Set.of(OrderStatus.SHIPPED)), any(LocalDateTime.class)))
+				.thenReturn(1);
+
+		OrderBulkStatusResponse response = orderService.bulkTransition(admin,
+				new OrderBulkStatusRequest(List.of(shippedId), OrderStatus.DELIVERED));
+
+		assertEquals(1, response.getUpdated());
+		verify(repository, never()).bulkUpdateStatus(anyCollection(), anyCollection(), any());
+		verifyNoInteractions(productService);
+	}
+
+	@Test
+	void shouldRollBackWhenStatusChangedConcurrently() {
+		when(repository.findTransitionViews(anyCollection())).thenReturn(List.of(view(PENDING_ID, OrderStatus.PENDING)));
+		// Yoxlamadan sonra sətrin statusu dəyişib - şərtli UPDATE onu yeniləmir
+		when(repository.bulkUpdateStatus(anyCollection(), anyCollection(), eq(OrderStatus.CANCELLED))).thenReturn(0);
+
+		IllegalStateException e = assertThrows(IllegalStateException.class, () -> orderService.bulkTransition(admin,
+				new OrderBulkStatusRequest(List.of(PENDING_ID), OrderStatus.CANCELLED)));
+
+		assertEquals("Toplu keçiddə gözlənilməz sətir sayı: 0/1", e.getMessage());
+		verifyNoInteractions(productService, outboxService, streamBroadcaster);
+	}
+
+	@Test
+	void shouldRejectRoleWithoutAnyPermissionBeforeLocking() {
+		CurrentUser customer = new CurrentUser(UUID.randomUUID(), "+994557894562", UserRole.CUSTOMER, null);
+
+		MyException e = assertThrows(MyException.class, () -> orderService.bulkTransition(customer,
+				new OrderBulkStatusRequest(List.of(PENDING_ID), OrderStatus.SHIPPED)));
+
+		assertEquals("Bu əməliyyatı icra etmək üçün icazəniz yoxdur", e.getMessage());
+		verifyNoInteractions(repository);
+	}
+
+	private static OrderTransitionView view(UUID id, OrderStatus status) {
+		return new OrderTransitionView() {
+
+			@Override
+			public UUID getId() {
+				return id;
+			}
+
+			@Override
+			public OrderStatus getStatus() {
+				return status;
+			}
+
+			@Override
+			public UUID getMarketId() {
+				return MARKET_ID;
+			}
+
+			@Override
+			public UUID getUserId() {
+				return UUID.fromString("f0a1b672-4a8b-4e12-b48e-4e23a948c1f9");
+			}
+
+			@Override
+			public BigDecimal getTotalAmount() {
+				return new BigDecimal("25.50");
+			}
+
+			@Override
+			public UUID getClaimedBy() {
+				return null;
+			}
+
+			@Override
+			public LocalDateTime getClaimExpiresAt() {
+				return null;
+			}
+		};
+	}
+}
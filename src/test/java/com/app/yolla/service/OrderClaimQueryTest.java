@@ -0,0 +1,130 @@
+package com.app.yolla.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import com.app.yolla.modules.market.entity.Market;
+import com.app.yolla.modules.order.entity.Order;
+import com.app.yolla.modules.order.entity.OrderStatus;
+import com.app.yolla.modules.order.repository.OrderRepository;
+import com.app.yolla.shared.persistence.UuidBytes;
+
+/**
+ * Sifariş götürmə sorğuları: yalnız marketin götürülməmiş və ya götürməsi bitmiş CONFIRMED sifarişləri verilir.
+ * H2 SKIP LOCKED-i dəstəkləmir - burada sətir seçimi və sıra yoxlanılır, kilidin özü yox.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.sql.init.mode=never" })
+class OrderClaimQueryTest {
+
+	private static final UUID PREPARER_ID = UUID.fromString("0d9e8f7a-6b5c-4d3e-8f2a-1b0c9d8e7f6a");
+	private static final UUID OTHER_PREPARER_ID = UUID.fromString("7e6d5c4b-3a29-4817-8f6e-5d4c3b2a1908");
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	private final LocalDateTime now = LocalDateTime.of(2024, 5, 1, 10, 15);
+
+	private Market market;
+
+	private Order unclaimed;
+	private Order leasedByOther;
+	private Order expiredLease;
+	private Order newest;
+	private Order ownLease;
+
+	@BeforeEach
+	void setUp() {
+		market = persistMarket("System Market");
+		Market otherMarket = persistMarket("Digər Market");
+
+		ownLease = persistOrder(market, OrderStatus.CONFIRMED, PREPARER_ID, now.plusMinutes(5), 6);
+		unclaimed = persistOrder(market, OrderStatus.CONFIRMED, null, null, 5);
+		leasedByOther = persistOrder(market, OrderStatus.CONFIRMED, OTHER_PREPARER_ID, now.plusMinutes(5), 4);
+		expiredLease = persistOrder(market, OrderStatus.CONFIRMED, OTHER_PREPARER_ID, now.minusMinutes(1), 3);
+		persistOrder(market, OrderStatus.PENDING, null, null, 2);
+		persistOrder(otherMarket, OrderStatus.CONFIRMED, null, null, 2);
+		newest = persistOrder(market, OrderStatus.CONFIRMED, null, null, 1);
+
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void shouldReturnUnclaimedAndExpiredOrdersOldestFirst() {
+		List<Order> claimable = orderRepository.findClaimable(market.getId(), OrderStatus.CONFIRMED, now,
+				PageRequest.of(0, 10));
+
+		assertEquals(ids(unclaimed, expiredLease, newest), ids(claimable));
+	}
+
+	@Test
+	void shouldLimitClaimableToRequestedSize() {
+		List<Order> claimable = orderRepository.findClaimable(market.getId(), OrderStatus.CONFIRMED, now,
+				PageRequest.of(0, 2));
+
+		assertEquals(ids(unclaimed, expiredLease), ids(claimable));
+	}
+
+	@Test
+	void shouldReturnOnlyUnexpiredClaimsOfPreparer() {
+		assertEquals(ids(ownLease), ids(orderRepository.findActiveClaims(PREPARER_ID, OrderStatus.CONFIRMED, now)));
+		assertEquals(ids(leasedByOther),
+				ids(orderRepository.findActiveClaims(OTHER_PREPARER_ID, OrderStatus.CONFIRMED, now)));
+		// Müddət bitdikdən sonra götürmə aktiv sayılmır
+		assertEquals(List.of(),
+				ids(orderRepository.findActiveClaims(PREPARER_ID, OrderStatus.CONFIRMED, now.plusMinutes(6))));
+	}
+
+	private Market persistMarket(String name) {
+		Market created = new Market();
+		created.setName(name);
+		created.setAddress("Yasamal");
+		return entityManager.persist(created);
+	}
+
+	private Order persistOrder(Market market, OrderStatus status, UUID claimedBy, LocalDateTime claimExpiresAt,
+			int minutesAgo) {
+		Order order = new Order();
+		order.setUserId(UUID.randomUUID());
+		order.setStatus(status);
+		order.setTotalAmount(new BigDecimal("30.00"));
+		order.setDeliveryAddress("Bakı");
+		order.setMarket(market);
+		order.setClaimedBy(claimedBy);
+		order.setClaimExpiresAt(claimExpiresAt);
+		entityManager.persist(order);
+		entityManager.flush();
+
+		// @CreationTimestamp indiki vaxtı yazır - sıranı yoxlamaq üçün created_at birbaşa yenilənir
+		entityManager.getEntityManager()
+				.createNativeQuery("UPDATE orders SET created_at = :createdAt WHERE id = :id")
+				.setParameter("createdAt", now.minusMinutes(minutesAgo))
+				.setParameter("id", UuidBytes.toBytes(order.getId()))
+				.executeUpdate();
+		return order;
+	}
+
+	private static List<UUID> ids(Order... orders) {
+		return List.of(orders).stream().map(Order::getId).toList();
+	}
+
+	private static List<UUID> ids(List<Order> orders) {
+		return orders.stream().map(Order::getId).toList();
+	}
+}
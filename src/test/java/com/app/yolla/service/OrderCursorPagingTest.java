@@ -0,0 +1,140 @@
+package com.app.yolla.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import com.app.yolla.modules.market.entity.Market;
+import com.app.yolla.modules.order.dto.OrderCursor;
+import com.app.yolla.modules.order.entity.Order;
+import com.app.yolla.modules.order.entity.OrderStatus;
+import com.app.yolla.modules.order.repository.OrderRepository;
+import com.app.yolla.modules.user.entity.User;
+import com.app.yolla.modules.user.entity.UserRole;
+import com.app.yolla.shared.persistence.UuidBytes;
+
+/**
+ * Keyset səhifələmə: eyni created_at-li sifarişlər id ilə ayrılır, heç biri təkrarlanmır və ya itmir
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.sql.init.mode=never" })
+class OrderCursorPagingTest {
+
+	private static final LocalDateTime SAME_TIME = LocalDateTime.of(2024, 5, 1, 10, 15, 30);
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	private User customer;
+
+	private final List<Order> expected = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		Market market = new Market();
+		market.setName("System Market");
+		market.setAddress("Yasamal");
+		entityManager.persist(market);
+
+		customer = new User();
+		customer.setPhoneNumber("+994557894561");
+		customer.setFullName("Test Müştəri");
+		customer.setEmail("customer@yolla.az");
+		customer.setRole(UserRole.CUSTOMER);
+		customer.setCreatedAt(LocalDateTime.now());
+		customer.setMarket(market);
+		entityManager.persist(customer);
+
+		User other = new User();
+		other.setPhoneNumber("+994557894562");
+		other.setFullName("Digər Müştəri");
+		other.setEmail("other@yolla.az");
+		other.setRole(UserRole.CUSTOMER);
+		other.setCreatedAt(LocalDateTime.now());
+		entityManager.persist(other);
+
+		// 5 sifariş eyni anda, 2-si bir saat əvvəl; digər istifadəçinin sifarişi nəticəyə düşməməlidir
+		for (int i = 0; i < 7; i++) {
+			expected.add(persistOrder(market, customer.getId(), i < 5 ? SAME_TIME : SAME_TIME.minusHours(1)));
+		}
+		persistOrder(market, other.getId(), SAME_TIME);
+
+		entityManager.flush();
+		entityManager.clear();
+
+		// (created_at DESC, id DESC); id BINARY(16) kimi işarəsiz baytlarla müqayisə olunur
+		expected.sort(Comparator.comparing(Order::getCreatedAt)
+				.thenComparing((a, b) -> Arrays.compareUnsigned(UuidBytes.toBytes(a.getId()), UuidBytes.toBytes(b.getId())))
+				.reversed());
+	}
+
+	@Test
+	void shouldWalkTiedTimestampsWithoutGapsOrDuplicates() {
+		List<UUID> seen = new ArrayList<>();
+
+		List<Order> page = orderRepository.findFirstPage(customer.getId(), PageRequest.of(0, 2));
+		while (!page.isEmpty()) {
+			page.forEach(order -> seen.add(order.getId()));
+			Order last = page.get(page.size() - 1);
+			// Kursor müştəriyə gedib qayıdır
+			OrderCursor cursor = OrderCursor.decode(new OrderCursor(last.getCreatedAt(), last.getId()).encode());
+			page = orderRepository.findPageAfter(customer.getId(), cursor.getCreatedAt(), cursor.getId(),
+					PageRequest.of(0, 2));
+		}
+
+		assertEquals(7, seen.size());
+		assertEquals(7, new HashSet<>(seen).size());
+		assertEquals(expected.stream().map(Order::getId).toList(), seen);
+	}
+
+	@Test
+	void shouldContinueInsideTiedGroup() {
+		Order second = expected.get(1);
+
+		List<Order> page = orderRepository.findPageAfter(customer.getId(), SAME_TIME, second.getId(),
+				PageRequest.of(0, 10));
+
+		assertEquals(expected.subList(2, 7).stream().map(Order::getId).toList(),
+				page.stream().map(Order::getId).toList());
+		assertTrue(page.stream().limit(3).allMatch(order -> order.getCreatedAt().equals(SAME_TIME)));
+	}
+
+	private Order persistOrder(Market market, UUID userId, LocalDateTime createdAt) {
+		Order order = new Order();
+		order.setUserId(userId);
+		order.setStatus(OrderStatus.PENDING);
+		order.setTotalAmount(new BigDecimal("30.00"));
+		order.setDeliveryAddress("Bakı");
+		order.setMarket(market);
+		entityManager.persist(order);
+		entityManager.flush();
+
+		// @CreationTimestamp persist zamanı indiki vaxtı yazır - eyni created_at üçün birbaşa yenilənir
+		entityManager.getEntityManager()
+				.createNativeQuery("UPDATE orders SET created_at = :createdAt WHERE id = :id")
+				.setParameter("createdAt", createdAt)
+				.setParameter("id", UuidBytes.toBytes(order.getId()))
+				.executeUpdate();
+		order.setCreatedAt(createdAt);
+		return order;
+	}
+}
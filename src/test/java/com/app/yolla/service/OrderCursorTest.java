@@ -0,0 +1,68 @@
+package com.app.yolla.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.app.yolla.modules.order.dto.OrderCursor;
+import com.app.yolla.shared.exception.MyException;
+
+/**
+ * Keyset kursorunun kodlanması və etibarsız kursorların rədd edilməsi
+ */
+class OrderCursorTest {
+
+	private static final UUID ID = UUID.fromString("018f2c3a-7b4e-7c1d-9a2b-3c4d5e6f7a8b");
+
+	@Test
+	void shouldRoundTripCreatedAtAndId() {
+		LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123_456_000);
+
+		OrderCursor decoded = OrderCursor.decode(new OrderCursor(createdAt, ID).encode());
+
+		assertEquals(createdAt, decoded.getCreatedAt());
+		assertEquals(ID, decoded.getId());
+	}
+
+	@Test
+	void shouldKeepWholeSecondTimestamps() {
+		LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 10, 15);
+
+		assertEquals(createdAt, OrderCursor.decode(new OrderCursor(createdAt, ID).encode()).getCreatedAt());
+	}
+
+	@Test
+	void shouldProduceUrlSafeCursor() {
+		String cursor = new OrderCursor(LocalDateTime.of(2024, 5, 1, 10, 15, 30), ID).encode();
+
+		assertFalse(cursor.contains("+"));
+		assertFalse(cursor.contains("/"));
+		assertFalse(cursor.contains("="));
+	}
+
+	@Test
+	void shouldRejectInvalidCursors() {
+		assertInvalid(null);
+		assertInvalid("");
+		assertInvalid("not a cursor!");
+		assertInvalid(encode("2024-05-01T10:15:30"));
+		assertInvalid(encode("yesterday|" + ID));
+		assertInvalid(encode("2024-05-01T10:15:30|not-a-uuid"));
+	}
+
+	private static void assertInvalid(String cursor) {
+		MyException e = assertThrows(MyException.class, () -> OrderCursor.decode(cursor));
+		assertEquals("Kursor etibarsızdır", e.getMessage());
+	}
+
+	private static String encode(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,138 @@
+package com.app.yolla.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.app.yolla.modules.market.entity.Market;
+import com.app.yolla.modules.market.service.MarketService;
+import com.app.yolla.modules.order.dto.OrderDTO;
+import com.app.yolla.modules.order.entity.Order;
+import com.app.yolla.modules.order.entity.OrderItem;
+import com.app.yolla.modules.order.entity.OrderStatus;
+import com.app.yolla.modules.order.repository.OrderRepository;
+import com.app.yolla.modules.order.service.OrderDtoAssembler;
+import com.app.yolla.modules.product.entity.Product;
+import com.app.yolla.modules.user.entity.User;
+import com.app.yolla.modules.user.entity.UserRole;
+
+/**
+ * Sifariş siyahısının DTO yığılması səhifə ölçüsündən asılı olmayaraq sabit sayda sorğu ilə işləməlidir
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.sql.init.mode=never" })
+@Import({ OrderDtoAssembler.class, MarketService.class })
+class OrderDtoAssemblerQueryCountTest {
+
+	private static final int ORDER_COUNT = 30;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private OrderDtoAssembler assembler;
+
+	private Statistics statistics;
+
+	private User customer;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManager.getEntityManager().getEntityManagerFactory()
+				.unwrap(SessionFactory.class).getStatistics();
+
+		Market market = new Market();
+		market.setName("System Market");
+		market.setAddress("Yasamal");
+		entityManager.persist(market);
+
+		customer = new User();
+		customer.setPhoneNumber("+994557894561");
+		customer.setFullName("Test Müştəri");
+		customer.setEmail("customer@yolla.az");
+		customer.setRole(UserRole.CUSTOMER);
+		customer.setCreatedAt(LocalDateTime.now());
+		customer.setMarket(market);
+		entityManager.persist(customer);
+
+		List<Product> products = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			Product product = new Product();
+			product.setName("Məhsul " + i);
+			product.setPrice(new BigDecimal("10.00"));
+			product.setStockQuantity(100);
+			product.setActive(true);
+			product.setCreatedAt(LocalDateTime.now());
+			product.setUserId(customer.getId());
+			entityManager.persist(product);
+			products.add(product);
+		}
+
+		for (int i = 0; i < ORDER_COUNT; i++) {
+			Order order = new Order();
+			order.setUserId(customer.getId());
+			order.setStatus(OrderStatus.PENDING);
+			order.setTotalAmount(new BigDecimal("30.00"));
+			order.setDeliveryAddress("Bakı");
+			order.setMarket(market);
+			entityManager.persist(order);
+
+			for (Product product : products) {
+				OrderItem item = new OrderItem();
+				item.setOrder(order);
+				item.setProduct(product);
+				item.setQuantity(1);
+				item.setPrice(product.getPrice());
+				entityManager.persist(item);
+			}
+		}
+
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void shouldUseSameQueryCountForAnyPageSize() {
+		long small = countStatements(5);
+		long large = countStatements(25);
+
+		// səhifə + count + sətirlər (məhsullarla) + istifadəçilər (marketlə)
+		assertEquals(4, small);
+		assertEquals(small, large);
+	}
+
+	private long countStatements(int pageSize) {
+		entityManager.clear();
+		statistics.clear();
+
+		Page<Order> page = orderRepository.getAll(customer.getId(), PageRequest.of(0, pageSize));
+		List<OrderDTO> dtos = assembler.toDTOs(page.getContent());
+
+		assertEquals(pageSize, dtos.size());
+		for (OrderDTO dto : dtos) {
+			assertEquals(3, dto.getItems().size());
+			assertEquals("+994557894561", dto.getUserPhone());
+			assertEquals("System Market", dto.getMarket().getName());
+		}
+		return statistics.getPrepareStatementCount();
+	}
+}
@@ -0,0 +1,137 @@
+package com.app.yolla.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.yolla.modules.order.entity.ExportFormat;
+import com.app.yolla.modules.order.service.OrderExportService;
+import com.app.yolla.modules.user.service.UserService;
+import com.app.yolla.shared.persistence.UuidBytes;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * İxrac formatları: JDBC kursoru əvəzinə sətirlər birbaşa RowCallbackHandler-ə verilir
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderExportServiceTest {
+
+	private static final UUID MARKET_ID = UUID.fromString("5b0c3f1e-2f7a-4a8e-9a43-7d1c2b3e4f50");
+	private static final LocalDate DAY = LocalDate.of(2024, 5, 1);
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Mock
+	private UserService userService;
+
+	@Spy
+	private ObjectMapper objectMapper = new ObjectMapper();
+
+	@InjectMocks
+	private OrderExportService exportService;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(exportService, "fetchSize", 100);
+		ReflectionTestUtils.setField(exportService, "flushEvery", 1);
+	}
+
+	@Test
+	void ndjsonWritesOneObjectPerLineWithoutSeparatorSpace() throws Exception {
+		givenRows(row("+994557894561", "Bakı, Nizami 5", "Təcili"),
+				row("+994557894562", "Gəncə", null));
+
+		String body = export(ExportFormat.NDJSON);
+
+		String[] lines = body.split("\n", -1);
+		assertEquals(3, lines.length);
+		assertEquals("", lines[2]);
+		for (int i = 0; i < 2; i++) {
+			assertTrue(lines[i].startsWith("{"), "Sətir boşluqla başlamamalıdır: " + lines[i]);
+			JsonNode node = objectMapper.readTree(lines[i]);
+			assertEquals(new BigDecimal("25.50"), node.get("totalAmount").decimalValue());
+			assertEquals("PENDING", node.get("status").asText());
+		}
+		assertTrue(objectMapper.readTree(lines[1]).get("notes").isNull());
+	}
+
+	@Test
+	void csvNeutralizesFormulaCellsAndQuotesSpecialCharacters() throws Exception {
+		givenRows(row("+994557894561", "@SUM(A1:A9)", "=HYPERLINK(\"http://x\",\"a\")"),
+				row("994557894562", "Bakı, Nizami 5", "-1+2"));
+
+		String body = export(ExportFormat.CSV);
+
+		String[] lines = body.split("\n");
+		assertEquals(3, lines.length);
+		assertEquals("id,userId,userPhone,status,totalAmount,createdAt,deliveryTime,deliveryAddress,notes", lines[0]);
+
+		List<String> first = List.of(lines[1].split(",", 8));
+		assertEquals("'+994557894561", first.get(2));
+		assertEquals("25.50", first.get(4));
+		assertTrue(lines[1].contains(",'@SUM(A1:A9),"));
+		assertTrue(lines[1].endsWith(",\"'=HYPERLINK(\"\"http://x\"\",\"\"a\"\")\""));
+
+		assertTrue(lines[2].contains(",994557894562,"));
+		assertTrue(lines[2].endsWith(",\"Bakı, Nizami 5\",'-1+2"));
+	}
+
+	private String export(ExportFormat format) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long rows = exportService.export(MARKET_ID, DAY, DAY, format, out);
+		assertEquals(2, rows);
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+	private void givenRows(ResultSet... rows) {
+		doAnswer(inv -> {
+			RowCallbackHandler handler = inv.getArgument(1);
+			for (ResultSet rs : rows) {
+				handler.processRow(rs);
+			}
+			return null;
+		}).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+	}
+
+	private ResultSet row(String phone, String address, String notes) throws SQLException {
+		ResultSet rs = mock(ResultSet.class);
+		when(rs.getBytes(1)).thenReturn(UuidBytes.toBytes(UUID.randomUUID()));
+		when(rs.getBytes(2)).thenReturn(UuidBytes.toBytes(UUID.randomUUID()));
+		when(rs.getString(3)).thenReturn(phone);
+		when(rs.getString(4)).thenReturn("PENDING");
+		when(rs.getBigDecimal(5)).thenReturn(new BigDecimal("25.50"));
+		when(rs.getTimestamp(6)).thenReturn(Timestamp.valueOf(LocalDateTime.of(2024, 5, 1, 10, 15)));
+		when(rs.getTimestamp(7)).thenReturn(null);
+		when(rs.getString(8)).thenReturn(address);
+		when(rs.getString(9)).thenReturn(notes);
+		return rs;
+	}
+}
@@ -0,0 +1,188 @@
+package com.app.yolla.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.yolla.modules.order.dto.OrderCreateRequest;
+import com.app.yolla.modules.order.dto.OrderDTO;
+import com.app.yolla.modules.order.dto.OrderIntakeDTO;
+import com.app.yolla.modules.order.dto.OrderIntakeMessage;
+import com.app.yolla.modules.order.dto.OrderItemRequest;
+import com.app.yolla.modules.order.entity.OrderIntake;
+import com.app.yolla.modules.order.entity.OrderIntakeStatus;
+import com.app.yolla.modules.order.repository.OrderIntakeRepository;
+import com.app.yolla.modules.order.service.OrderIntakeConsumer;
+import com.app.yolla.modules.order.service.OrderIntakeService;
+import com.app.yolla.modules.order.service.OrderService;
+import com.app.yolla.modules.user.entity.UserRole;
+import com.app.yolla.modules.user.service.UserService;
+import com.app.yolla.shared.exception.MyException;
+import com.app.yolla.shared.exception.ResourceNotFoundException;
+import com.app.yolla.shared.security.CurrentUser;
+
+/**
+ * Asinxron qəbul axını: broker əvəzinə yaddaşdakı növbə istifadə olunur -
+ * RabbitTemplate-ə yazılan mesajlar toplanır və partiya kimi konsumerə verilir.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderIntakeFlowTest {
+
+	private static final String PHONE = "+994557894561";
+
+	@Mock
+	private OrderIntakeRepository repository;
+
+	@Mock
+	private OrderService orderService;
+
+	@Mock
+	private UserService userService;
+
+	@Mock
+	private RabbitTemplate rabbitTemplate;
+
+	@InjectMocks
+	private OrderIntakeService intakeService;
+
+	private final OrderIntakeConsumer consumer = new OrderIntakeConsumer();
+
+	private final List<OrderIntakeMessage> queue = new ArrayList<>();
+
+	private final Map<UUID, OrderIntake> intakes = new HashMap<>();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(intakeService, "enabled", true);
+		ReflectionTestUtils.setField(intakeService, "queue", "orders.intake");
+		ReflectionTestUtils.setField(consumer, "intakeService", intakeService);
+
+		doAnswer(inv -> queue.add(inv.getArgument(1))).when(rabbitTemplate)
+				.convertAndSend(eq("orders.intake"), any(Object.class));
+		when(userService.findPhone()).thenReturn(PHONE);
+		when(repository.save(any(OrderIntake.class))).thenAnswer(inv -> {
+			OrderIntake intake = inv.getArgument(0);
+			intakes.put(intake.getId(), intake);
+			return intake;
+		});
+	}
+
+	@Test
+	void shouldCompleteQueuedOrders() {
+		UUID orderId = UUID.randomUUID();
+		OrderDTO order = new OrderDTO();
+		order.setId(orderId);
+		when(orderService.createdOrder(any(OrderCreateRequest.class), eq(PHONE))).thenReturn(order);
+		givenLockedLookup();
+
+		OrderIntakeDTO first = intakeService.submit(request());
+		OrderIntakeDTO second = intakeService.submit(request());
+
+		assertEquals(OrderIntakeStatus.PENDING_INTAKE, first.getStatus());
+		assertEquals(2, queue.size());
+		assertEquals(OrderIntakeStatus.PENDING_INTAKE, intakes.get(first.getId()).getStatus());
+		assertEquals(PHONE, intakes.get(first.getId()).getUserPhone());
+
+		consumer.onMessages(new ArrayList<>(queue));
+
+		for (UUID id : List.of(first.getId(), second.getId())) {
+			assertEquals(OrderIntakeStatus.COMPLETED, intakes.get(id).getStatus());
+			assertEquals(orderId, intakes.get(id).getOrderId());
+		}
+
+		// Təkrar çatdırılan mesajlar yeni sifariş yaratmır
+		consumer.onMessages(new ArrayList<>(queue));
+		verify(orderService, times(2)).createdOrder(any(OrderCreateRequest.class), eq(PHONE));
+	}
+
+	@Test
+	void shouldRecordBusinessFailure() {
+		when(orderService.createdOrder(any(OrderCreateRequest.class), anyString()))
+				.thenThrow(new MyException("Stokda kifayət qədər məhsul yoxdur: Product A"));
+		givenLockedLookup();
+
+		OrderIntakeDTO submitted = intakeService.submit(request());
+		consumer.onMessages(new ArrayList<>(queue));
+
+		OrderIntake intake = intakes.get(submitted.getId());
+		assertEquals(OrderIntakeStatus.FAILED, intake.getStatus());
+		assertEquals("Stokda kifayət qədər məhsul yoxdur: Product A", intake.getError());
+		assertNull(intake.getOrderId());
+	}
+
+	@Test
+	void shouldReportPendingIntakeToItsOwner() {
+		givenStatusLookup();
+		when(userService.currentUser()).thenReturn(new CurrentUser(UUID.randomUUID(), PHONE, UserRole.CUSTOMER, null));
+
+		OrderIntakeDTO submitted = intakeService.submit(request());
+		OrderIntakeDTO status = intakeService.getStatus(submitted.getId());
+
+		assertEquals(submitted.getId(), status.getId());
+		assertEquals(OrderIntakeStatus.PENDING_INTAKE, status.getStatus());
+	}
+
+	@Test
+	void shouldHideIntakeFromOtherCustomers() {
+		givenStatusLookup();
+		when(userService.currentUser())
+				.thenReturn(new CurrentUser(UUID.randomUUID(), "+994551112233", UserRole.CUSTOMER, null));
+
+		OrderIntakeDTO submitted = intakeService.submit(request());
+
+		assertThrows(ResourceNotFoundException.class, () -> intakeService.getStatus(submitted.getId()));
+	}
+
+	@Test
+	void shouldRejectUnknownIntake() {
+		givenStatusLookup();
+		intakeService.submit(request());
+
+		assertThrows(ResourceNotFoundException.class, () -> intakeService.getStatus(UUID.randomUUID()));
+	}
+
+	private void givenLockedLookup() {
+		when(repository.findByIdForUpdate(any(UUID.class)))
+				.thenAnswer(inv -> Optional.ofNullable(intakes.get(inv.<UUID>getArgument(0))));
+	}
+
+	private void givenStatusLookup() {
+		when(repository.findById(any(UUID.class)))
+				.thenAnswer(inv -> Optional.ofNullable(intakes.get(inv.<UUID>getArgument(0))));
+	}
+
+	private OrderCreateRequest request() {
+		OrderItemRequest item = new OrderItemRequest();
+		item.setProductId(UUID.fromString("a3b01a3e-8c2e-4dc5-b8de-0f5b9b7b74e3"));
+		item.setQuantity(2);
+
+		OrderCreateRequest request = new OrderCreateRequest();
+		request.setDeliveryAddress("strinf");
+		request.setMarketId(UUID.fromString("5b0c3f1e-2f7a-4a8e-9a43-7d1c2b3e4f50"));
+		request.setItems(List.of(item));
+		return request;
+	}
+}
@@ -0,0 +1,233 @@
+package com.app.yolla.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.yolla.modules.market.entity.Market;
+import com.app.yolla.modules.market.mapper.MarketMapper;
+import com.app.yolla.modules.market.service.MarketService;
+import com.app.yolla.modules.order.dto.OrderCreateRequest;
+import com.app.yolla.modules.order.dto.OrderItemRequest;
+import com.app.yolla.modules.order.mapper.OrderMapper;
+import com.app.yolla.modules.order.repository.OrderRepository;
+import com.app.yolla.modules.order.service.OrderDtoAssembler;
+import com.app.yolla.modules.order.service.OrderOutboxService;
+import com.app.yolla.modules.order.service.OrderService;
+import com.app.yolla.modules.order.service.OrderStateMachine;
+import com.app.yolla.modules.order.service.OrderStreamBroadcaster;
+import com.app.yolla.modules.product.entity.Product;
+import com.app.yolla.modules.product.repository.ProductRepository;
+import com.app.yolla.modules.product.service.HotStockLedger;
+import com.app.yolla.modules.product.service.ProductService;
+import com.app.yolla.modules.product.service.StockReservation;
+import com.app.yolla.modules.user.dto.UserDTO;
+import com.app.yolla.modules.user.entity.UserRole;
+import com.app.yolla.modules.user.service.UserService;
+import com.app.yolla.shared.exception.MyException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Stok rezervi real bazada: şərtli UPDATE stokdan artığını vermir, paralel rezervlər stoku keçmir
+ * və bir sətri rədd olunan səbət bütünlüklə geri qaytarılır. Hər çağırış öz tranzaksiyasında gedir
+ * (test tranzaksiyası söndürülüb) ki, commit və rollback-in nəticəsi görünsün.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.sql.init.mode=never" })
+@Import({ OrderService.class, ProductService.class, OrderStateMachine.class,
+		OrderStockReservationTest.Metrics.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderStockReservationTest {
+
+	private static final String PHONE = "+994557894561";
+	private static final UUID USER_ID = UUID.fromString("f0a1b672-4a8b-4e12-b48e-4e23a948c1f9");
+
+	@TestConfiguration
+	static class Metrics {
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+	}
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@MockBean
+	private OrderMapper orderMapper;
+
+	@MockBean
+	private MarketMapper marketMapper;
+
+	@MockBean
+	private UserService userService;
+
+	@MockBean
+	private MarketService marketService;
+
+	@MockBean
+	private OrderDtoAssembler orderDtoAssembler;
+
+	@MockBean
+	private OrderOutboxService outboxService;
+
+	@MockBean
+	private OrderStreamBroadcaster streamBroadcaster;
+
+	@MockBean
+	private HotStockLedger hotStockLedger;
+
+	private Product bread;
+	private Product milk;
+
+	@BeforeEach
+	void setUp() {
+		// İsti sayğac yoxdur - hər rezerv bazadakı şərtli UPDATE ilə gedir
+		when(hotStockLedger.reserve(any(), anyInt())).thenReturn(StockReservation.DATABASE);
+
+		bread = saveProduct("Çörək", 10);
+		milk = saveProduct("Süd", 1);
+	}
+
+	@AfterEach
+	void tearDown() {
+		orderRepository.deleteAll();
+		productRepository.deleteAll();
+	}
+
+	@Test
+	void shouldRefuseDecrementBeyondStock() {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+		assertEquals(0, (int) transaction.execute(status -> productRepository.decrementStock(bread.getId(), 11)));
+		assertEquals(10, stock(bread));
+
+		assertEquals(1, (int) transaction.execute(status -> productRepository.decrementStock(bread.getId(), 10)));
+		assertEquals(0, (int) transaction.execute(status -> productRepository.decrementStock(bread.getId(), 1)));
+		assertEquals(0, stock(bread));
+	}
+
+	@Test
+	void shouldReportOutOfStockOnlyForShortLine() {
+		Map<UUID, StockReservation> first = productService.reserveStock(Map.of(bread.getId(), 4, milk.getId(), 1));
+		Map<UUID, StockReservation> second = productService.reserveStock(Map.of(bread.getId(), 4, milk.getId(), 1));
+
+		assertEquals(StockReservation.DATABASE, first.get(bread.getId()));
+		assertEquals(StockReservation.DATABASE, first.get(milk.getId()));
+		assertEquals(StockReservation.DATABASE, second.get(bread.getId()));
+		assertEquals(StockReservation.OUT_OF_STOCK, second.get(milk.getId()));
+		assertEquals(2, stock(bread));
+		assertEquals(0, stock(milk));
+	}
+
+	@Test
+	void shouldNotOversellUnderConcurrentReservations() throws Exception {
+		int threads = 8;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			Callable<StockReservation> reserve = () -> {
+				start.await();
+				return productService.reserveStock(Map.of(bread.getId(), 3)).get(bread.getId());
+			};
+			List<Future<StockReservation>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				futures.add(pool.submit(reserve));
+			}
+			start.countDown();
+
+			int reserved = 0;
+			for (Future<StockReservation> future : futures) {
+				if (future.get() == StockReservation.DATABASE) {
+					reserved++;
+				}
+			}
+
+			// 10 ədəd stokdan 3-lük rezerv yalnız üç dəfə keçir
+			assertEquals(3, reserved);
+			assertEquals(1, stock(bread));
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void shouldRollBackWholeBasketWhenOneLineIsShort() {
+		UserDTO customer = new UserDTO(PHONE, "Müştəri", UserRole.CUSTOMER);
+		customer.setId(USER_ID);
+		when(userService.findByPhoneNumber(PHONE)).thenReturn(customer);
+		when(marketService.findByMarket(any())).thenReturn(new Market());
+
+		OrderCreateRequest request = new OrderCreateRequest();
+		request.setDeliveryAddress("Bakı");
+		request.setMarketId(UUID.randomUUID());
+		request.setItems(List.of(new OrderItemRequest(bread.getId(), 2), new OrderItemRequest(milk.getId(), 5)));
+
+		MyException e = assertThrows(MyException.class, () -> orderService.createdOrder(request, PHONE));
+
+		assertEquals("Stokda kifayət qədər məhsul yoxdur: Süd", e.getMessage());
+		// Çörəyin uğurlu UPDATE-i də geri qaytarılıb, sifariş yazılmayıb
+		assertEquals(10, stock(bread));
+		assertEquals(1, stock(milk));
+		assertEquals(0, orderRepository.count());
+	}
+
+	private int stock(Product product) {
+		return productRepository.findById(product.getId()).orElseThrow().getStockQuantity();
+	}
+
+	private Product saveProduct(String name, int stock) {
+		Product product = new Product();
+		product.setName(name);
+		product.setPrice(new BigDecimal("2.50"));
+		product.setStockQuantity(stock);
+		product.setActive(true);
+		product.setCreatedAt(LocalDateTime.now());
+		product.setUserId(USER_ID);
+		return productRepository.save(product);
+	}
+}
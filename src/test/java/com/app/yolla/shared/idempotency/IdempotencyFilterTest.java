@@ -0,0 +1,183 @@
+package com.app.yolla.shared.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Idempotency filteri: təkrarın saxlanmış cavabla cavablanması, başqa gövdə ilə gələn açarın rəddi,
+ * emal olunan açara paralel sorğu və açar tutulduqdan sonrakı yenidən yoxlama
+ */
+class IdempotencyFilterTest {
+
+	private static final String BODY = "{\"marketId\":\"5b0c3f1e-2f7a-4a8e-9a43-7d1c2b3e4f50\"}";
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+	private IdempotencyStore store;
+
+	private IdempotencyFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		store = new IdempotencyStore();
+		ReflectionTestUtils.setField(store, "ttlMinutes", 60L);
+		ReflectionTestUtils.setField(store, "maximumSize", 100L);
+		store.init();
+		filter = new IdempotencyFilter(store, objectMapper);
+	}
+
+	@Test
+	void shouldReplayFirstResponseForSameKeyAndBody() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		FilterChain chain = created(calls);
+
+		MockHttpServletResponse first = new MockHttpServletResponse();
+		filter.doFilter(request("key-1", BODY), first, chain);
+		MockHttpServletResponse second = new MockHttpServletResponse();
+		filter.doFilter(request("key-1", BODY), second, chain);
+
+		assertEquals(1, calls.get());
+		assertEquals(HttpStatus.CREATED.value(), first.getStatus());
+		assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+		assertEquals(HttpStatus.CREATED.value(), second.getStatus());
+		assertEquals("true", second.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+		assertArrayEquals(first.getContentAsByteArray(), second.getContentAsByteArray());
+	}
+
+	@Test
+	void shouldPassSameBodyToController() throws Exception {
+		AtomicReference<String> seen = new AtomicReference<>();
+
+		filter.doFilter(request("key-1", BODY), new MockHttpServletResponse(),
+				(req, res) -> seen.set(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8)));
+
+		assertEquals(BODY, seen.get());
+	}
+
+	@Test
+	void shouldRejectSameKeyWithDifferentBody() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		FilterChain chain = created(calls);
+		filter.doFilter(request("key-1", BODY), new MockHttpServletResponse(), chain);
+
+		MockHttpServletResponse reused = new MockHttpServletResponse();
+		filter.doFilter(request("key-1", "{\"marketId\":null}"), reused, chain);
+
+		assertEquals(1, calls.get());
+		assertEquals(HttpStatus.UNPROCESSABLE_ENTITY.value(), reused.getStatus());
+		assertNull(reused.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+		JsonNode body = objectMapper.readTree(reused.getContentAsByteArray());
+		assertFalse(body.get("success").asBoolean());
+	}
+
+	@Test
+	void shouldRejectConcurrentRequestWithKeyInFlight() throws Exception {
+		MockHttpServletResponse nested = new MockHttpServletResponse();
+		// İlk sorğu emal olunarkən eyni açarla ikinci sorğu gəlir
+		filter.doFilter(request("key-1", BODY), new MockHttpServletResponse(),
+				(req, res) -> filter.doFilter(request("key-1", BODY), nested, new MockFilterChain()));
+
+		assertEquals(HttpStatus.CONFLICT.value(), nested.getStatus());
+	}
+
+	@Test
+	void shouldReplayResponseSavedBetweenFindAndTryBegin() throws Exception {
+		IdempotencyStore racing = mock(IdempotencyStore.class);
+		StoredResponse saved = new StoredResponse(HttpStatus.CREATED.value(), MediaType.APPLICATION_JSON_VALUE,
+				"{}".getBytes(StandardCharsets.UTF_8), IdempotencyStore.sha256(BODY.getBytes(StandardCharsets.UTF_8)));
+		// Paralel təkrar find-dan sonra bitib və açarı buraxıb
+		when(racing.find(anyString())).thenReturn(Optional.empty(), Optional.of(saved));
+		when(racing.tryBegin(anyString())).thenReturn(true);
+		MockFilterChain chain = new MockFilterChain();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		new IdempotencyFilter(racing, objectMapper).doFilter(request("key-1", BODY), response, chain);
+
+		assertNull(chain.getRequest(), "Əməliyyat ikinci dəfə icra olunmamalıdır");
+		assertEquals("true", response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+		verify(racing).end(anyString());
+		verify(racing, never()).save(anyString(), any());
+	}
+
+	@Test
+	void shouldNotStoreServerErrors() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		FilterChain failing = (req, res) -> {
+			calls.incrementAndGet();
+			((HttpServletResponse) res).setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+		};
+
+		filter.doFilter(request("key-1", BODY), new MockHttpServletResponse(), failing);
+		filter.doFilter(request("key-1", BODY), new MockHttpServletResponse(), failing);
+
+		assertEquals(2, calls.get());
+	}
+
+	@Test
+	void shouldRejectOverlongKey() throws Exception {
+		MockFilterChain chain = new MockFilterChain();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(request("k".repeat(129), BODY), response, chain);
+
+		assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatus());
+		assertNull(chain.getRequest());
+	}
+
+	@Test
+	void shouldSkipRequestsOutsideOrderWrites() throws Exception {
+		MockHttpServletRequest list = request("key-1", BODY);
+		list.setMethod("GET");
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(list, new MockHttpServletResponse(), chain);
+
+		assertSame(list, chain.getRequest());
+	}
+
+	private static FilterChain created(AtomicInteger calls) {
+		return (req, res) -> {
+			int call = calls.incrementAndGet();
+			res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+			res.getOutputStream().write(("{\"order\":" + call + "}").getBytes(StandardCharsets.UTF_8));
+			((HttpServletResponse) res).setStatus(HttpStatus.CREATED.value());
+		};
+	}
+
+	private static MockHttpServletRequest request(String key, String body) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders");
+		request.addHeader(IdempotencyFilter.HEADER, key);
+		request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		request.setContent(body.getBytes(StandardCharsets.UTF_8));
+		return request;
+	}
+}
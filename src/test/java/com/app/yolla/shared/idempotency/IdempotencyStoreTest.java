@@ -0,0 +1,152 @@
+package com.app.yolla.shared.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Idempotent cavab anbarı: keş, emal olunan açarlar, TTL və cədvəldə saxlanma rejimi
+ */
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+	private static final String SCOPE = "+994557894561|POST|/orders|null|key-1";
+
+	@Mock
+	private IdempotencyRecordRepository repository;
+
+	@InjectMocks
+	private IdempotencyStore store;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(store, "ttlMinutes", 60L);
+		ReflectionTestUtils.setField(store, "maximumSize", 100L);
+	}
+
+	@Test
+	void shouldKeepResponsesInMemoryOnly() {
+		store.init();
+
+		store.save(SCOPE, response());
+
+		StoredResponse found = store.find(SCOPE).orElseThrow();
+		assertEquals(201, found.getStatus());
+		assertEquals("hash", found.getRequestHash());
+		assertTrue(store.find(SCOPE + "-other").isEmpty());
+		verifyNoInteractions(repository);
+	}
+
+	@Test
+	void shouldAllowOneRequestPerKeyInFlight() {
+		store.init();
+
+		assertTrue(store.tryBegin(SCOPE));
+		assertFalse(store.tryBegin(SCOPE));
+		assertTrue(store.tryBegin(SCOPE + "-other"));
+
+		store.end(SCOPE);
+		assertTrue(store.tryBegin(SCOPE));
+	}
+
+	@Test
+	void shouldExpireCachedResponsesAfterTtl() {
+		ReflectionTestUtils.setField(store, "ttlMinutes", 0L);
+		store.init();
+
+		store.save(SCOPE, response());
+
+		assertTrue(store.find(SCOPE).isEmpty());
+	}
+
+	@Test
+	void shouldWriteRecordWithRequestHashWhenPersistent() {
+		ReflectionTestUtils.setField(store, "persistent", true);
+		store.init();
+
+		store.save(SCOPE, response());
+
+		ArgumentCaptor<IdempotencyRecord> record = ArgumentCaptor.forClass(IdempotencyRecord.class);
+		verify(repository).save(record.capture());
+		assertEquals(IdempotencyStore.sha256(SCOPE.getBytes(StandardCharsets.UTF_8)), record.getValue().getId());
+		assertEquals("hash", record.getValue().getRequestHash());
+		assertEquals(201, record.getValue().getStatus());
+	}
+
+	@Test
+	void shouldKeepCachedResponseWhenRecordWriteFails() {
+		ReflectionTestUtils.setField(store, "persistent", true);
+		store.init();
+		when(repository.save(any())).thenThrow(new DataAccessResourceFailureException("bağlantı yoxdur"));
+
+		store.save(SCOPE, response());
+
+		assertTrue(store.find(SCOPE).isPresent());
+	}
+
+	@Test
+	void shouldRestoreFreshRecordAfterRestartAndCacheIt() {
+		ReflectionTestUtils.setField(store, "persistent", true);
+		store.init();
+		when(repository.findById(anyString())).thenReturn(Optional.of(record(LocalDateTime.now().minusMinutes(5))));
+
+		StoredResponse restored = store.find(SCOPE).orElseThrow();
+		store.find(SCOPE);
+
+		assertEquals(201, restored.getStatus());
+		assertEquals("hash", restored.getRequestHash());
+		assertArrayEquals("{}".getBytes(StandardCharsets.UTF_8), restored.getBody());
+		verify(repository, times(1)).findById(anyString());
+	}
+
+	@Test
+	void shouldIgnoreRecordOlderThanTtl() {
+		ReflectionTestUtils.setField(store, "persistent", true);
+		store.init();
+		when(repository.findById(anyString())).thenReturn(Optional.of(record(LocalDateTime.now().minusMinutes(61))));
+
+		assertTrue(store.find(SCOPE).isEmpty());
+	}
+
+	@Test
+	void shouldPurgeOnlyInPersistentMode() {
+		store.init();
+		store.purgeExpired();
+		verify(repository, never()).deleteByCreatedAtBefore(any());
+
+		ReflectionTestUtils.setField(store, "persistent", true);
+		store.purgeExpired();
+		verify(repository).deleteByCreatedAtBefore(any());
+	}
+
+	private static StoredResponse response() {
+		return new StoredResponse(201, "application/json", "{}".getBytes(StandardCharsets.UTF_8), "hash");
+	}
+
+	private static IdempotencyRecord record(LocalDateTime createdAt) {
+		return new IdempotencyRecord("id", 201, "application/json", "{}".getBytes(StandardCharsets.UTF_8), "hash",
+				createdAt);
+	}
+}
@@ -0,0 +1,126 @@
+package com.app.yolla.shared.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * UUIDv7: versiya/variant bitləri, eyni millisaniyədə sayğacla artma, sayğac daşanda növbəti millisaniyəyə keçid
+ */
+class TimeOrderedUuidTest {
+
+	@Test
+	void shouldSetVersionAndVariant() {
+		UUID uuid = TimeOrderedUuid.generate();
+
+		assertEquals(7, uuid.version());
+		assertEquals(2, uuid.variant());
+	}
+
+	@Test
+	void shouldCarryCurrentMillisecond() {
+		long before = System.currentTimeMillis();
+		long millis = millis(TimeOrderedUuid.generate());
+
+		// Əvvəlki testlər ştampı irəli çəkmiş ola bilər - yalnız aşağı sərhəd dəqiqdir
+		assertTrue(millis >= before, millis + " < " + before);
+		assertTrue(millis <= System.currentTimeMillis() + 1_000);
+	}
+
+	@Test
+	void shouldIncreaseWithinSameMillisecond() {
+		// Ştamp irəli qoyulur ki, saat nə göstərsə də bütün id-lər eyni millisaniyəyə düşsün
+		long millis = System.currentTimeMillis() + 200;
+		lastStamp().set(millis << 12);
+
+		List<UUID> ids = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			ids.add(TimeOrderedUuid.generate());
+		}
+
+		for (int i = 0; i < ids.size(); i++) {
+			assertEquals(millis, millis(ids.get(i)));
+			assertEquals(i + 1, counter(ids.get(i)));
+		}
+		assertStrictlyIncreasing(ids);
+	}
+
+	@Test
+	void shouldMoveToNextMillisecondWhenCounterOverflows() {
+		long millis = System.currentTimeMillis() + 400;
+		lastStamp().set((millis << 12) | 0xFFDL);
+
+		List<UUID> ids = List.of(TimeOrderedUuid.generate(), TimeOrderedUuid.generate(), TimeOrderedUuid.generate());
+
+		assertEquals(millis, millis(ids.get(0)));
+		assertEquals(0xFFE, counter(ids.get(0)));
+		assertEquals(0xFFF, counter(ids.get(1)));
+		assertEquals(millis + 1, millis(ids.get(2)));
+		assertEquals(0, counter(ids.get(2)));
+		assertStrictlyIncreasing(ids);
+	}
+
+	@Test
+	void shouldStayUniqueAndOrderedPerThreadUnderContention() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			Callable<List<UUID>> task = () -> {
+				List<UUID> ids = new ArrayList<>();
+				for (int i = 0; i < 5_000; i++) {
+					ids.add(TimeOrderedUuid.generate());
+				}
+				return ids;
+			};
+			List<Future<List<UUID>>> futures = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				futures.add(pool.submit(task));
+			}
+
+			Set<UUID> all = new HashSet<>();
+			for (Future<List<UUID>> future : futures) {
+				List<UUID> ids = future.get();
+				assertStrictlyIncreasing(ids);
+				all.addAll(ids);
+			}
+			assertEquals(20_000, all.size());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * BINARY(16) sütunu baytları işarəsiz müqayisə edir - sıra həm də bazadakı sıradır
+	 */
+	private static void assertStrictlyIncreasing(List<UUID> ids) {
+		for (int i = 1; i < ids.size(); i++) {
+			int compared = Arrays.compareUnsigned(UuidBytes.toBytes(ids.get(i - 1)), UuidBytes.toBytes(ids.get(i)));
+			assertTrue(compared < 0, ids.get(i - 1) + " >= " + ids.get(i));
+		}
+	}
+
+	private static long millis(UUID uuid) {
+		return uuid.getMostSignificantBits() >>> 16;
+	}
+
+	private static long counter(UUID uuid) {
+		return uuid.getMostSignificantBits() & 0xFFFL;
+	}
+
+	private static AtomicLong lastStamp() {
+		return (AtomicLong) ReflectionTestUtils.getField(TimeOrderedUuid.class, "lastStamp");
+	}
+}
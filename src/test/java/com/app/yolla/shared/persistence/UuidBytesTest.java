@@ -0,0 +1,53 @@
+package com.app.yolla.shared.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * UUID <-> BINARY(16): böyük-endian bayt düzülüşü və itkisiz geri çevirmə
+ */
+class UuidBytesTest {
+
+	@Test
+	void shouldWriteMostSignificantBytesFirst() {
+		UUID uuid = UUID.fromString("00112233-4455-6677-8899-aabbccddeeff");
+
+		byte[] bytes = UuidBytes.toBytes(uuid);
+
+		assertArrayEquals(new byte[] { 0x00, 0x11, 0x22, 0x33, 0x44, 0x55, 0x66, 0x77,
+				(byte) 0x88, (byte) 0x99, (byte) 0xAA, (byte) 0xBB, (byte) 0xCC, (byte) 0xDD, (byte) 0xEE, (byte) 0xFF },
+				bytes);
+		assertEquals(uuid, UuidBytes.toUuid(bytes));
+	}
+
+	@Test
+	void shouldRoundTripRandomAndTimeOrderedIds() {
+		for (int i = 0; i < 1_000; i++) {
+			UUID random = UUID.randomUUID();
+			UUID ordered = TimeOrderedUuid.generate();
+
+			assertEquals(random, UuidBytes.toUuid(UuidBytes.toBytes(random)));
+			assertEquals(ordered, UuidBytes.toUuid(UuidBytes.toBytes(ordered)));
+		}
+	}
+
+	@Test
+	void shouldRoundTripExtremeValues() {
+		UUID zero = new UUID(0L, 0L);
+		UUID max = new UUID(-1L, -1L);
+
+		assertEquals(zero, UuidBytes.toUuid(UuidBytes.toBytes(zero)));
+		assertEquals(max, UuidBytes.toUuid(UuidBytes.toBytes(max)));
+		assertEquals(16, UuidBytes.toBytes(max).length);
+	}
+
+	@Test
+	void shouldMapNullBytesToNull() {
+		assertNull(UuidBytes.toUuid(null));
+	}
+}
@@ -0,0 +1,231 @@
+package com.app.yolla.shared.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.app.yolla.modules.auth.service.TokenRevocationService;
+import com.app.yolla.shared.security.JwtUtil;
+import com.app.yolla.shared.security.TokenClaims;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Sorğu limiti filteri: 429 cavabı, header-lər, istifadəçi və IP kvotalarının seçimi
+ */
+class RateLimitFilterTest {
+
+	private static final String TOKEN = "access-token";
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+	private final JwtUtil jwtUtil = mock(JwtUtil.class);
+
+	private final TokenRevocationService tokenRevocationService = mock(TokenRevocationService.class);
+
+	private final RateLimitProperties properties = new RateLimitProperties();
+
+	@BeforeEach
+	void setUp() {
+		properties.setEnabled(true);
+		properties.setRequestsPerMinute(1);
+		properties.setRequestsPerHour(1000);
+		properties.setIpRequestsPerMinute(2);
+		properties.setIpRequestsPerHour(1000);
+	}
+
+	@Test
+	void shouldRejectAnonymousRequestsAboveIpLimit() throws Exception {
+		RateLimitFilter filter = filter();
+
+		MockHttpServletResponse first = perform(filter, request(null));
+		assertEquals(HttpStatus.OK.value(), first.getStatus());
+		assertEquals("2", first.getHeader(RateLimitFilter.LIMIT_HEADER));
+		assertEquals("1", first.getHeader(RateLimitFilter.REMAINING_HEADER));
+		assertNull(first.getHeader(HttpHeaders.RETRY_AFTER));
+
+		assertEquals("0", perform(filter, request(null)).getHeader(RateLimitFilter.REMAINING_HEADER));
+
+		MockFilterChain chain = new MockFilterChain();
+		MockHttpServletResponse denied = new MockHttpServletResponse();
+		filter.doFilter(request(null), denied, chain);
+
+		assertNull(chain.getRequest(), "Rədd edilən sorğu zəncirə ötürülməməlidir");
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), denied.getStatus());
+		assertEquals("2", denied.getHeader(RateLimitFilter.LIMIT_HEADER));
+		assertEquals("0", denied.getHeader(RateLimitFilter.REMAINING_HEADER));
+		assertNotNull(denied.getHeader(RateLimitFilter.RESET_HEADER));
+		// Bir token 60 / 2 = 30 saniyəyə dolur
+		assertEquals("30", denied.getHeader(HttpHeaders.RETRY_AFTER));
+		assertEquals(MediaType.APPLICATION_JSON_VALUE, denied.getContentType().split(";")[0]);
+
+		JsonNode body = objectMapper.readTree(denied.getContentAsByteArray());
+		assertFalse(body.get("success").asBoolean());
+	}
+
+	@Test
+	void shouldApplyUserQuotaForValidAccessToken() throws Exception {
+		when(jwtUtil.parse(TOKEN)).thenReturn(accessClaims());
+		RateLimitFilter filter = filter();
+
+		MockHttpServletResponse first = perform(filter, request(TOKEN));
+		assertEquals(HttpStatus.OK.value(), first.getStatus());
+		assertEquals("1", first.getHeader(RateLimitFilter.LIMIT_HEADER));
+		assertEquals("0", first.getHeader(RateLimitFilter.REMAINING_HEADER));
+
+		MockHttpServletResponse denied = perform(filter, request(TOKEN));
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), denied.getStatus());
+		assertEquals("1", denied.getHeader(RateLimitFilter.LIMIT_HEADER));
+		assertEquals("60", denied.getHeader(HttpHeaders.RETRY_AFTER));
+	}
+
+	@Test
+	void shouldFallBackToIpQuotaForRevokedToken() throws Exception {
+		TokenClaims claims = accessClaims();
+		when(jwtUtil.parse(TOKEN)).thenReturn(claims);
+		when(tokenRevocationService.isRevoked(claims)).thenReturn(true);
+		RateLimitFilter filter = filter();
+
+		MockHttpServletResponse first = perform(filter, request(TOKEN));
+		assertEquals("2", first.getHeader(RateLimitFilter.LIMIT_HEADER));
+		assertEquals(HttpStatus.OK.value(), perform(filter, request(TOKEN)).getStatus());
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), perform(filter, request(TOKEN)).getStatus());
+	}
+
+	@Test
+	void shouldKeyIpBucketOnForwardedClientBehindTrustedProxy() throws Exception {
+		RateLimitFilter filter = filter();
+
+		assertEquals(HttpStatus.OK.value(), perform(filter, forwarded("10.0.0.1", "203.0.113.5")).getStatus());
+		// Zəncirdəki etibarlı proksilər ötürülür, klientin yazdığı sol dəyər nəzərə alınmır
+		assertEquals(HttpStatus.OK.value(),
+				perform(filter, forwarded("10.0.0.1", "1.1.1.1, 203.0.113.5, 10.0.0.2")).getStatus());
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(),
+				perform(filter, forwarded("10.0.0.1", "2.2.2.2, 203.0.113.5")).getStatus());
+
+		// Eyni balancer arxasındakı başqa klientin bucket-i ayrıdır
+		assertEquals(HttpStatus.OK.value(), perform(filter, forwarded("10.0.0.1", "203.0.113.6")).getStatus());
+	}
+
+	@Test
+	void shouldIgnoreForwardedHeaderFromUntrustedPeer() throws Exception {
+		RateLimitFilter filter = filter();
+
+		assertEquals(HttpStatus.OK.value(), perform(filter, forwarded("198.51.100.7", "203.0.113.5")).getStatus());
+		assertEquals(HttpStatus.OK.value(), perform(filter, forwarded("198.51.100.7", "203.0.113.6")).getStatus());
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(),
+				perform(filter, forwarded("198.51.100.7", "203.0.113.7")).getStatus());
+	}
+
+	@Test
+	void shouldNotDrainIpBucketWhenUserIsThrottled() throws Exception {
+		when(jwtUtil.parse(TOKEN)).thenReturn(accessClaims());
+		RateLimitFilter filter = filter();
+
+		assertEquals(HttpStatus.OK.value(), perform(filter, request(TOKEN)).getStatus());
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), perform(filter, request(TOKEN)).getStatus());
+
+		// İstifadəçi kvotasına görə rədd edilən sorğu IP-nin 2 tokenindən yalnız birini xərcləyib
+		MockHttpServletResponse anonymous = perform(filter, request(null));
+		assertEquals(HttpStatus.OK.value(), anonymous.getStatus());
+		assertEquals("0", anonymous.getHeader(RateLimitFilter.REMAINING_HEADER));
+	}
+
+	@Test
+	void shouldRefundUserTokenWhenIpIsThrottled() throws Exception {
+		properties.setRequestsPerMinute(3);
+		when(jwtUtil.parse(TOKEN)).thenReturn(accessClaims());
+		RateLimitFilter filter = filter();
+
+		perform(filter, request(null));
+		perform(filter, request(null));
+		MockHttpServletResponse denied = perform(filter, request(TOKEN));
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), denied.getStatus());
+		assertEquals("2", denied.getHeader(RateLimitFilter.LIMIT_HEADER));
+
+		// Başqa IP-dən: istifadəçinin 3 tokenindən yalnız bu sorğu üçün biri götürülür
+		MockHttpServletRequest elsewhere = request(TOKEN);
+		elsewhere.setRemoteAddr("10.0.0.2");
+		MockHttpServletResponse allowed = perform(filter, elsewhere);
+		assertEquals(HttpStatus.OK.value(), allowed.getStatus());
+		assertEquals("2", allowed.getHeader(RateLimitFilter.REMAINING_HEADER));
+	}
+
+	@Test
+	void shouldUseRouteGroupLimits() throws Exception {
+		RateLimitProperties.Group auth = new RateLimitProperties.Group();
+		auth.setPath("/api/v1/auth/");
+		auth.setIpRequestsPerMinute(1);
+		properties.getGroups().put("auth", auth);
+		RateLimitFilter filter = filter();
+
+		MockHttpServletRequest login = request(null);
+		login.setRequestURI("/api/v1/auth/send-otp");
+		assertEquals("1", perform(filter, login).getHeader(RateLimitFilter.LIMIT_HEADER));
+
+		MockHttpServletRequest again = request(null);
+		again.setRequestURI("/api/v1/auth/send-otp");
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), perform(filter, again).getStatus());
+
+		// Digər marşrutların bucket-i ayrıdır
+		assertEquals(HttpStatus.OK.value(), perform(filter, request(null)).getStatus());
+	}
+
+	@Test
+	void shouldSkipWhenDisabled() throws Exception {
+		properties.setEnabled(false);
+		RateLimitFilter filter = filter();
+
+		for (int i = 0; i < 5; i++) {
+			MockHttpServletResponse response = perform(filter, request(null));
+			assertEquals(HttpStatus.OK.value(), response.getStatus());
+			assertNull(response.getHeader(RateLimitFilter.LIMIT_HEADER));
+		}
+	}
+
+	private RateLimitFilter filter() {
+		return new RateLimitFilter(properties, jwtUtil, tokenRevocationService, objectMapper);
+	}
+
+	private static MockHttpServletRequest request(String token) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/orders/begin/0/length/10");
+		request.setRemoteAddr("10.0.0.1");
+		if (token != null) {
+			request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+		}
+		return request;
+	}
+
+	private static MockHttpServletRequest forwarded(String remoteAddr, String forwardedFor) {
+		MockHttpServletRequest request = request(null);
+		request.setRemoteAddr(remoteAddr);
+		request.addHeader(ClientIpResolver.FORWARDED_FOR_HEADER, forwardedFor);
+		return request;
+	}
+
+	private static MockHttpServletResponse perform(RateLimitFilter filter, MockHttpServletRequest request)
+			throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+
+	private static TokenClaims accessClaims() {
+		return new TokenClaims("id", "+994557894561", "CUSTOMER", UUID.randomUUID(), null,
+				System.currentTimeMillis() + 60_000);
+	}
+}
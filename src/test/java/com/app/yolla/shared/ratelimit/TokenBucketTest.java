@@ -0,0 +1,119 @@
+package com.app.yolla.shared.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.app.yolla.shared.ratelimit.TokenBucket.Limits;
+import com.app.yolla.shared.ratelimit.TokenBucket.Probe;
+
+/**
+ * Token bucket: burst, dolma sürəti, tutum həddi və header dəyərləri
+ */
+class TokenBucketTest {
+
+	private static final long START = TimeUnit.HOURS.toNanos(5);
+
+	@Test
+	void shouldAllowBurstUpToMinuteLimit() {
+		Limits limits = new Limits(3, 100);
+		TokenBucket bucket = new TokenBucket(limits, START);
+
+		assertRemaining(2, bucket.tryConsume(limits, START));
+		assertRemaining(1, bucket.tryConsume(limits, START));
+		assertRemaining(0, bucket.tryConsume(limits, START));
+
+		Probe denied = bucket.tryConsume(limits, START);
+		assertFalse(denied.allowed);
+		assertEquals(3, denied.limit);
+		assertEquals(0, denied.remaining);
+		// Bir token 60 / 3 = 20 saniyəyə dolur
+		assertEquals(20, denied.retryAfterSeconds);
+		assertEquals(60, denied.resetSeconds);
+	}
+
+	@Test
+	void shouldRefillProportionallyToElapsedTime() {
+		Limits limits = new Limits(3, 100);
+		TokenBucket bucket = new TokenBucket(limits, START);
+		drain(bucket, limits, 3);
+
+		assertFalse(bucket.tryConsume(limits, START + seconds(19)).allowed);
+		assertTrue(bucket.tryConsume(limits, START + seconds(20)).allowed);
+		assertFalse(bucket.tryConsume(limits, START + seconds(20)).allowed);
+	}
+
+	@Test
+	void shouldCapRefillAtBurstSize() {
+		Limits limits = new Limits(3, 100);
+		TokenBucket bucket = new TokenBucket(limits, START);
+		drain(bucket, limits, 3);
+
+		long later = START + TimeUnit.MINUTES.toNanos(10);
+		assertTrue(bucket.tryConsume(limits, later).allowed);
+		assertTrue(bucket.tryConsume(limits, later).allowed);
+		assertTrue(bucket.tryConsume(limits, later).allowed);
+		assertFalse(bucket.tryConsume(limits, later).allowed);
+	}
+
+	@Test
+	void shouldEnforceHourLimitIndependently() {
+		Limits limits = new Limits(60, 5);
+		TokenBucket bucket = new TokenBucket(limits, START);
+
+		Probe first = bucket.tryConsume(limits, START);
+		assertRemaining(4, first);
+		drain(bucket, limits, 4);
+
+		Probe denied = bucket.tryConsume(limits, START);
+		assertFalse(denied.allowed);
+		// Dəqiqəlik bucket-də token qalıb, amma saatlıq boşdur: bir token 3600 / 5 = 720 saniyəyə dolur
+		assertEquals(720, denied.retryAfterSeconds);
+		assertFalse(bucket.tryConsume(limits, START + seconds(719)).allowed);
+		assertTrue(bucket.tryConsume(limits, START + seconds(720)).allowed);
+	}
+
+	@Test
+	void shouldReportPartialHourRefillInRetryAfter() {
+		Limits limits = new Limits(60, 5);
+		TokenBucket bucket = new TokenBucket(limits, START);
+		drain(bucket, limits, 5);
+
+		// 360 saniyədə yarım token dolub - qalan yarısı üçün daha 360 saniyə
+		Probe denied = bucket.tryConsume(limits, START + seconds(360));
+		assertFalse(denied.allowed);
+		assertEquals(360, denied.retryAfterSeconds);
+	}
+
+	@Test
+	void shouldNotChargeRejectedRequests() {
+		Limits limits = new Limits(2, 100);
+		TokenBucket bucket = new TokenBucket(limits, START);
+		drain(bucket, limits, 2);
+		for (int i = 0; i < 10; i++) {
+			assertFalse(bucket.tryConsume(limits, START + seconds(1)).allowed);
+		}
+
+		// 60 / 2 = 30 saniyədə bir token - rədd edilənlər borc yaratmayıb
+		assertTrue(bucket.tryConsume(limits, START + seconds(30)).allowed);
+	}
+
+	private static void drain(TokenBucket bucket, Limits limits, int count) {
+		for (int i = 0; i < count; i++) {
+			assertTrue(bucket.tryConsume(limits, START).allowed);
+		}
+	}
+
+	private static void assertRemaining(long expected, Probe probe) {
+		assertTrue(probe.allowed);
+		assertEquals(expected, probe.remaining);
+	}
+
+	private static long seconds(long value) {
+		return TimeUnit.SECONDS.toNanos(value);
+	}
+}
@@ -0,0 +1,107 @@
+package com.app.yolla.shared.transaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Kilid konfliktlərində təkrar: uğurlu təkrar, cəhdlərin bitməsi və açıq tranzaksiyada təkrarsız icra
+ */
+class LockRetryAspectTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final ProceedingJoinPoint pjp = mock(ProceedingJoinPoint.class);
+
+	private LockRetryAspect aspect;
+
+	@BeforeEach
+	void setUp() {
+		aspect = new LockRetryAspect();
+		ReflectionTestUtils.setField(aspect, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(aspect, "maxAttempts", 3);
+		ReflectionTestUtils.setField(aspect, "backoffMs", 0L);
+		ReflectionTestUtils.setField(aspect, "maxBackoffMs", 0L);
+		aspect.init();
+
+		Signature signature = mock(Signature.class);
+		when(signature.getName()).thenReturn("updateOrderStatus");
+		when(pjp.getSignature()).thenReturn(signature);
+	}
+
+	@Test
+	void shouldRetryOptimisticConflictAndReturnResult() throws Throwable {
+		when(pjp.proceed())
+				.thenThrow(new OptimisticLockingFailureException("version"))
+				.thenThrow(new PessimisticLockingFailureException("deadlock"))
+				.thenReturn("ok");
+
+		assertEquals("ok", aspect.retry(pjp));
+
+		verify(pjp, times(3)).proceed();
+		assertEquals(2.0, meterRegistry.get("lock.retry.attempts").counter().count());
+		assertEquals(1.0, conflicts("optimistic"));
+		assertEquals(1.0, conflicts("pessimistic"));
+		assertEquals(0.0, meterRegistry.get("lock.retry.exhausted").counter().count());
+	}
+
+	@Test
+	void shouldGiveUpAfterMaxAttempts() throws Throwable {
+		OptimisticLockingFailureException conflict = new OptimisticLockingFailureException("version");
+		when(pjp.proceed()).thenThrow(conflict);
+
+		OptimisticLockingFailureException thrown = assertThrows(OptimisticLockingFailureException.class,
+				() -> aspect.retry(pjp));
+
+		assertSame(conflict, thrown);
+		verify(pjp, times(3)).proceed();
+		assertEquals(3.0, conflicts("optimistic"));
+		assertEquals(2.0, meterRegistry.get("lock.retry.attempts").counter().count());
+		assertEquals(1.0, meterRegistry.get("lock.retry.exhausted").counter().count());
+	}
+
+	@Test
+	void shouldNotRetryOtherExceptions() throws Throwable {
+		when(pjp.proceed()).thenThrow(new IllegalStateException("boom"));
+
+		assertThrows(IllegalStateException.class, () -> aspect.retry(pjp));
+
+		verify(pjp, times(1)).proceed();
+		assertEquals(0.0, meterRegistry.get("lock.retry.attempts").counter().count());
+	}
+
+	@Test
+	void shouldNotRetryInsideActiveTransaction() throws Throwable {
+		when(pjp.proceed()).thenThrow(new OptimisticLockingFailureException("version"));
+
+		// Xarici tranzaksiyanın daxilində təkrar mənasızdır - xəta çağırana ötürülür
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		try {
+			assertThrows(OptimisticLockingFailureException.class, () -> aspect.retry(pjp));
+		} finally {
+			TransactionSynchronizationManager.setActualTransactionActive(false);
+		}
+
+		verify(pjp, times(1)).proceed();
+		assertEquals(0.0, conflicts("optimistic"));
+	}
+
+	private double conflicts(String type) {
+		return meterRegistry.get("lock.retry.conflicts").tag("type", type).counter().count();
+	}
+}